@@ -0,0 +1,122 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The benchmark of the {@link LabelDTO} comparison methods. <br>
+ * @author Julb.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabelDTOBenchmark {
+
+    /**
+     * The number of labels.
+     */
+    @Param({"1000"})
+    private int labelCount;
+
+    /**
+     * The labels.
+     */
+    private List<LabelDTO> labels;
+
+    /**
+     * The same labels, with other instances.
+     */
+    private List<LabelDTO> copies;
+
+    /**
+     * Generates the labels.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        labels = LabelGenerator.labels(labelCount);
+        copies = LabelGenerator.labels(labelCount);
+    }
+
+    /**
+     * Compares each label with its copy.
+     * @param blackhole the blackhole.
+     */
+    @Benchmark
+    public void equalsCopies(Blackhole blackhole) {
+        for (var i = 0; i < labelCount; i++) {
+            blackhole.consume(labels.get(i).equals(copies.get(i)));
+        }
+    }
+
+    /**
+     * Computes the hash code of each label.
+     * @param blackhole the blackhole.
+     */
+    @Benchmark
+    public void hashCodes(Blackhole blackhole) {
+        for (var i = 0; i < labelCount; i++) {
+            blackhole.consume(labels.get(i).hashCode());
+        }
+    }
+
+    /**
+     * Compares each label with the next one.
+     * @param blackhole the blackhole.
+     */
+    @Benchmark
+    public void compareToNext(Blackhole blackhole) {
+        for (var i = 1; i < labelCount; i++) {
+            blackhole.consume(labels.get(i - 1).compareTo(labels.get(i)));
+        }
+    }
+
+    /**
+     * Sorts the labels in a tree set, as done for the labels to create.
+     * @return the sorted labels.
+     */
+    @Benchmark
+    public TreeSet<LabelDTO> sort() {
+        return new TreeSet<>(labels);
+    }
+}
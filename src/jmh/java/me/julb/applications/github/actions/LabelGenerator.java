@@ -0,0 +1,133 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * The generator of synthetic labels used by the benchmarks. <br>
+ * Generated labels are deterministic for a given seed, with mixed-case names, colors with or without a leading
+ * {@code #} and optional descriptions, as found in real catalogs.
+ * @author Julb.
+ */
+final class LabelGenerator {
+
+    /**
+     * The seed of the random generator.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * The mapper used to write JSON.
+     */
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    /**
+     * The mapper used to write YAML.
+     */
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+    /**
+     * Hidden constructor.
+     */
+    private LabelGenerator() {
+        // Nothing to do.
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Generates source labels.
+     * @param count the number of labels.
+     * @return the labels, in generation order.
+     */
+    static List<LabelDTO> labels(int count) {
+        var random = new Random(SEED);
+        var labels = new ArrayList<LabelDTO>(count);
+        for (var i = 0; i < count; i++) {
+            var name = String.format("Component/%s-%d", random.nextBoolean() ? "API" : "web", i);
+            var color = String.format("%s%06x", random.nextBoolean() ? "#" : "", random.nextInt(0x1000000));
+            var description = random.nextInt(4) == 0 ? null : String.format("Issues related to component %d", i);
+            labels.add(new LabelDTO(name, color, description));
+        }
+        return labels;
+    }
+
+    /**
+     * Indexes the given labels by label key, as the action does after reading the sources.
+     * @param labels the labels.
+     * @return the labels indexed by label key.
+     */
+    static Map<LabelKey, LabelDTO> index(List<LabelDTO> labels) {
+        Map<LabelKey, LabelDTO> map = new HashMap<>();
+        labels.forEach(label -> map.put(label.key(), label));
+        return map;
+    }
+
+    /**
+     * Serializes the given labels as a label source.
+     * @param labels the labels.
+     * @param format the source format.
+     * @return the source content.
+     */
+    static byte[] catalog(List<LabelDTO> labels, LabelSourceParser.Format format) {
+        var objectMapper = format == LabelSourceParser.Format.YAML ? YAML_MAPPER : JSON_MAPPER;
+        try {
+            return objectMapper.writeValueAsBytes(labels);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Generates the existing labels of a repository from the source labels.<br>
+     * The first third is up-to-date, the second third differs by its color, the last third is absent from the
+     * repository and as many extra labels are present only in the repository.
+     * @param labels the source labels.
+     * @return the existing labels, indexed by label key.
+     */
+    static Map<LabelKey, ExistingLabel> existingLabels(List<LabelDTO> labels) {
+        Map<LabelKey, ExistingLabel> map = new HashMap<>();
+        var third = labels.size() / 3;
+        for (var i = 0; i < 2 * third; i++) {
+            var label = labels.get(i);
+            var color = i < third ? LabelDTO.normalizeColor(label.getColor()) : "000000";
+            map.put(label.key(), new ExistingLabel(i, "LA_" + i, label.getName(), color, label.getDescription()));
+        }
+        for (var i = 0; i < labels.size() - 2 * third; i++) {
+            var name = String.format("obsolete-%d", i);
+            map.put(LabelKey.of(name), new ExistingLabel(labels.size() + i, "LA_" + name, name, "ffffff", null));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The benchmark of the label source reading path of {@code getInputLabels}. <br>
+ * A generated source is parsed and merged in a map indexed by label key, as the action does for each source.
+ * @author Julb.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabelSourceParserBenchmark {
+
+    /**
+     * The number of labels in the source.
+     */
+    @Param({"100", "1000", "10000", "100000"})
+    private int labelCount;
+
+    /**
+     * The source extension.
+     */
+    @Param({"json", "yml"})
+    private String extension;
+
+    /**
+     * The source format.
+     */
+    private LabelSourceParser.Format format;
+
+    /**
+     * The source content.
+     */
+    private byte[] source;
+
+    /**
+     * Generates the source.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        format = LabelSourceParser.Format.of("labels." + extension);
+        source = LabelGenerator.catalog(LabelGenerator.labels(labelCount), format);
+    }
+
+    /**
+     * Parses and merges the source.
+     * @return the labels indexed by label key.
+     * @throws IOException if an error occurs.
+     */
+    @Benchmark
+    public Map<LabelKey, LabelDTO> parseAndMerge() throws IOException {
+        Map<LabelKey, LabelDTO> map = new HashMap<>();
+        LabelSourceParser.parse(
+                "benchmark", format, new ByteArrayInputStream(source), label -> map.put(label.key(), label));
+        return map;
+    }
+}
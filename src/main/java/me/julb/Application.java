@@ -23,6 +23,9 @@
  */
 package me.julb;
 
+import java.io.IOException;
+
+import me.julb.applications.github.actions.LabelWebhookServer;
 import me.julb.sdk.github.actions.spi.GitHubActionServiceLoader;
 
 import lombok.AccessLevel;
@@ -36,10 +39,16 @@ import lombok.RequiredArgsConstructor;
 public class Application {
 
     /**
-     * Main method.
+     * Main method.<br>
+     * With the "serve" argument, the webhook server is started instead of running the action once.
      * @param args the arguments.
+     * @throws IOException if the webhook server cannot be started.
      */
-    public static void main(String[] args) {
-        GitHubActionServiceLoader.getImplementation().orElseThrow().execute();
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "serve".equals(args[0])) {
+            LabelWebhookServer.serve();
+        } else {
+            GitHubActionServiceLoader.getImplementation().orElseThrow().execute();
+        }
     }
 }
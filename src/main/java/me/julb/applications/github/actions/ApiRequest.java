@@ -0,0 +1,283 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The authenticated request of the GitHub REST API, sent directly through a connector. <br>
+ * A request with a body sends it as JSON. A request answered with a rate limit response is sent again once the delay
+ * given by the response has elapsed, like the GitHub client does for its own requests.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class ApiRequest implements GitHubConnectorRequest {
+
+    /**
+     * The maximum number of times a request is sent again after a rate limit response.
+     */
+    static final int MAX_RATE_LIMIT_RETRIES = 3;
+
+    /**
+     * The delay before sending a request again, when a rate limit response gives no delay.
+     */
+    static final long DEFAULT_RATE_LIMIT_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The HTTP method.
+     */
+    @NonNull
+    private final String method;
+
+    /**
+     * The URL.
+     */
+    @NonNull
+    private final URL url;
+
+    /**
+     * The GitHub token, or <code>null</code> to send an unauthenticated request.
+     */
+    private final String token;
+
+    /**
+     * The JSON body, or <code>null</code> if none.
+     */
+    private final byte[] body;
+
+    /**
+     * Constructor of a request without body.
+     * @param method the HTTP method.
+     * @param url the URL.
+     * @param token the GitHub token.
+     */
+    ApiRequest(String method, URL url, String token) {
+        this(method, url, token, null);
+    }
+
+    /**
+     * Sends this request, again after each rate limit response, up to {@link #MAX_RATE_LIMIT_RETRIES} times.
+     * @param <T> the type of the result.
+     * @param connector the connector sending the request.
+     * @param sleeper the sleeper waiting before the request is sent again.
+     * @param accepted the predicate telling whether a status code is accepted.
+     * @param reader the reader of the accepted response.
+     * @return the result read from the accepted response.
+     * @throws IOException if the response is not accepted, or cannot be read.
+     */
+    <T> T send(@NonNull GitHubConnector connector, @NonNull RateLimitBudget.Sleeper sleeper,
+            @NonNull IntPredicate accepted, @NonNull ResponseReader<T> reader) throws IOException {
+        return send(this, connector, sleeper, accepted, reader);
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Sends the given request, again after each rate limit response, up to {@link #MAX_RATE_LIMIT_RETRIES} times.
+     * @param <T> the type of the result.
+     * @param request the request, such as an {@link ApiRequest} decorated with extra headers.
+     * @param connector the connector sending the request.
+     * @param sleeper the sleeper waiting before the request is sent again.
+     * @param accepted the predicate telling whether a status code is accepted.
+     * @param reader the reader of the accepted response.
+     * @return the result read from the accepted response.
+     * @throws IOException if the response is not accepted, or cannot be read.
+     */
+    static <T> T send(
+            @NonNull GitHubConnectorRequest request,
+            @NonNull GitHubConnector connector,
+            @NonNull RateLimitBudget.Sleeper sleeper,
+            @NonNull IntPredicate accepted,
+            @NonNull ResponseReader<T> reader)
+            throws IOException {
+        for (var retry = 0;; retry++) {
+            OptionalLong delayMillis;
+            try (var response = connector.send(request)) {
+                if (accepted.test(response.statusCode())) {
+                    return reader.read(response);
+                }
+                delayMillis = getRateLimitDelay(response, System.currentTimeMillis());
+                if (delayMillis.isEmpty() || retry >= MAX_RATE_LIMIT_RETRIES) {
+                    throw new HttpException(response);
+                }
+            }
+            try {
+                sleeper.sleep(delayMillis.getAsLong());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the delay to wait before sending a request again after the given response.<br>
+     * The {@code Retry-After} header is used first, then the {@code X-RateLimit-Reset} header. A rate limit response
+     * without any of them is retried after {@link #DEFAULT_RATE_LIMIT_DELAY_MILLIS}.
+     * @param response the response.
+     * @param nowMillis the current time, in milliseconds since the epoch.
+     * @return the delay in milliseconds, or empty if the response is not a rate limit response.
+     */
+    static OptionalLong getRateLimitDelay(@NonNull GitHubConnectorResponse response, long nowMillis) {
+        var remaining = MetricsRecordingConnector.parseRemaining(response.header("X-RateLimit-Remaining"));
+        var retryAfter = response.header("Retry-After");
+        if (!MetricsRecordingConnector.isRateLimited(response.statusCode(), remaining, retryAfter)) {
+            return OptionalLong.empty();
+        }
+
+        var retryAfterSeconds = parseLong(retryAfter);
+        if (retryAfterSeconds != null) {
+            return OptionalLong.of(TimeUnit.SECONDS.toMillis(Math.max(0, retryAfterSeconds)));
+        }
+        var resetSeconds = parseLong(response.header("X-RateLimit-Reset"));
+        if (resetSeconds != null) {
+            return OptionalLong.of(Math.max(0, TimeUnit.SECONDS.toMillis(resetSeconds) - nowMillis));
+        }
+        return OptionalLong.of(DEFAULT_RATE_LIMIT_DELAY_MILLIS);
+    }
+
+    /**
+     * Parses a numeric header.
+     * @param header the header value.
+     * @return the value, or <code>null</code> if the header is missing or invalid.
+     */
+    private static Long parseLong(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------ Overridden methods.
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String method() {
+        return method;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, List<String>> allHeaders() {
+        var headers = new LinkedHashMap<String, List<String>>();
+        if (token != null) {
+            headers.put("Authorization", List.of("token " + token));
+        }
+        headers.put("Accept", List.of("application/vnd.github.v3+json"));
+        headers.put("Accept-Encoding", List.of("gzip"));
+        if (hasBody()) {
+            headers.put("Content-Type", List.of(contentType()));
+        }
+        return headers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String header(String name) {
+        // @formatter:off
+        return allHeaders().entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(name))
+                .map(header -> header.getValue().get(0))
+                .findFirst()
+                .orElse(null);
+        // @formatter:on
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String contentType() {
+        return hasBody() ? "application/json" : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream body() {
+        return hasBody() ? new ByteArrayInputStream(body) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public URL url() {
+        return url;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    /**
+     * The reader of an accepted response.
+     * @param <T> the type of the result.
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface ResponseReader<T> {
+
+        /**
+         * Reads the given response.
+         * @param response the response.
+         * @return the result.
+         * @throws IOException if the response cannot be read.
+         */
+        T read(GitHubConnectorResponse response) throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * The files persisted by the caches and stores of the action. <br>
+ * A file is written to a temporary file of its directory first, then moved in place atomically, so that a concurrent
+ * reader never sees a partial file. A missing or unreadable file is read as absent.
+ * @author Julb.
+ */
+final class AtomicFiles {
+
+    /**
+     * Hidden constructor.
+     */
+    private AtomicFiles() {
+        // Nothing to do.
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Writes the given content in the given file, creating its directory if needed.
+     * @param file the file.
+     * @param content the content.
+     * @throws IOException if an error occurs.
+     */
+    static void write(@NonNull Path file, @NonNull byte[] content) throws IOException {
+        var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var tempFile = Files.createTempFile(directory, "entry", ".tmp");
+        try {
+            Files.write(tempFile, content);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Reads the given file with the given parser.
+     * @param <T> the type of the content.
+     * @param file the file.
+     * @param parser the parser of the content.
+     * @return the content, or empty if the file is missing or cannot be read or parsed.
+     */
+    static <T> Optional<T> read(@NonNull Path file, @NonNull Parser<T> parser) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(parser.parse(Files.readAllBytes(file)));
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The parser of the content of a file. <br>
+     * @param <T> the type of the content.
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface Parser<T> {
+
+        /**
+         * Parses the given content.
+         * @param content the content.
+         * @return the parsed content.
+         * @throws IOException if the content is invalid.
+         */
+        T parse(byte[] content) throws IOException;
+    }
+}
@@ -0,0 +1,474 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The store of the checkpoints of unfinished synchronizations. <br>
+ * Before the first write, the plan of a repository is written to its checkpoint file along with the fingerprint of the
+ * run. The file is then used as a journal: each operation is appended to it as soon as it has succeeded. When a
+ * run stops before the end of the plan, the next run with the same fingerprint resumes the operations left, without
+ * listing the labels nor computing the plan again. The checkpoint is removed once the plan is complete.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class CheckpointStore {
+
+    /**
+     * The version of the checkpoint format, changed when the persisted content changes.
+     */
+    private static final String CHECKPOINT_VERSION = "2";
+
+    /**
+     * The mapper used to read and write checkpoints.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The directory where the checkpoints are persisted.
+     */
+    @NonNull
+    private final Path directory;
+
+    /**
+     * The fingerprint of the labels and options of the run.
+     */
+    @NonNull
+    private final String fingerprint;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Writes the checkpoint of the given plan, replacing any previous checkpoint of the repository.
+     * @param repository the repository name, as {@code owner/name}.
+     * @param plan the plan.
+     * @return the journal of the operations of the plan.
+     * @throws IOException if an error occurs.
+     */
+    Journal open(@NonNull String repository, @NonNull SyncPlan plan) throws IOException {
+        // @formatter:off
+        var header = new Header(
+                CHECKPOINT_VERSION,
+                repository,
+                fingerprint,
+                plan.getLabelsToCreate().stream().map(LabelDTO::getName).toList(),
+                plan.getLabelsToUpdate().stream()
+                        .map(entry -> new Update(entry.getKey().getName(), Label.of(entry.getValue())))
+                        .toList(),
+                plan.getLabelsToDelete().stream().map(Label::of).toList());
+        // @formatter:on
+
+        // @formatter:off
+        AtomicFiles.write(
+                getCheckpointFile(repository),
+                (OBJECT_MAPPER.writeValueAsString(header) + "\n").getBytes(StandardCharsets.UTF_8));
+        // @formatter:on
+        return new Journal(getCheckpointFile(repository));
+    }
+
+    /**
+     * Reopens the journal of the given checkpoint to record the operations resumed.
+     * @param checkpoint the checkpoint.
+     * @return the journal.
+     * @throws IOException if an error occurs.
+     */
+    Journal reopen(@NonNull Checkpoint checkpoint) throws IOException {
+        return new Journal(getCheckpointFile(checkpoint.getHeader().getRepository()));
+    }
+
+    /**
+     * Reads the checkpoint of the given repository.<br>
+     * A checkpoint written with another fingerprint, or unreadable, is ignored: the repository is then reconciled.
+     * @param repository the repository name, as {@code owner/name}.
+     * @return the checkpoint, or <code>null</code> if there is no usable checkpoint.
+     */
+    Checkpoint read(@NonNull String repository) {
+        return AtomicFiles.read(getCheckpointFile(repository), content -> {
+            var lines = new String(content, StandardCharsets.UTF_8).lines().toList();
+            if (lines.isEmpty()) {
+                return null;
+            }
+            var header = OBJECT_MAPPER.readValue(lines.get(0), Header.class);
+            if (!CHECKPOINT_VERSION.equals(header.getVersion())
+                    || !repository.equals(header.getRepository())
+                    || !fingerprint.equals(header.getFingerprint())) {
+                return null;
+            }
+
+            var completions = new HashSet<Map.Entry<OperationType, String>>();
+            for (String line : lines.subList(1, lines.size())) {
+                readCompletion(line).ifPresent(completions::add);
+            }
+            return new Checkpoint(header, completions);
+        }).orElse(null);
+    }
+
+    /**
+     * Removes the checkpoint of the given repository, if any.
+     * @param repository the repository name, as {@code owner/name}.
+     * @throws IOException if an error occurs.
+     */
+    void discard(@NonNull String repository) throws IOException {
+        Files.deleteIfExists(getCheckpointFile(repository));
+    }
+
+    /**
+     * Gets the file holding the checkpoint of the given repository.
+     * @param repository the repository name.
+     * @return the checkpoint file.
+     */
+    Path getCheckpointFile(@NonNull String repository) {
+        var key = Hashing.sha256().hashString(repository, StandardCharsets.UTF_8);
+        return directory.resolve(key + ".jsonl");
+    }
+
+    /**
+     * Reads a completed operation of the journal.<br>
+     * A line cut by an interrupted write is ignored: the operation is then applied again, and found already applied.
+     * @param line the journal line.
+     * @return the type and name of the completed operation, or empty if the line is not readable.
+     */
+    private static Optional<Map.Entry<OperationType, String>> readCompletion(String line) {
+        try {
+            var completion = OBJECT_MAPPER.readValue(line, Completion.class);
+            if (completion.getType() == null || completion.getName() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(Map.entry(completion.getType(), completion.getName()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The type of a label operation. <br>
+     * @author Julb.
+     */
+    enum OperationType {
+        /**
+         * A label creation.
+         */
+        CREATE,
+
+        /**
+         * A label update.
+         */
+        UPDATE,
+
+        /**
+         * A label deletion.
+         */
+        DELETE;
+    }
+
+    /**
+     * The journal of the operations of a checkpoint. <br>
+     * Each operation recorded by the completion callbacks is appended to the checkpoint file and forced to the storage
+     * device before the next one, so that a run stopped at any point leaves every reported operation journaled.
+     * @author Julb.
+     */
+    static class Journal implements Closeable {
+
+        /**
+         * The channel writing at the end of the checkpoint file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Default constructor.
+         * @param checkpointFile the checkpoint file.
+         * @throws IOException if an error occurs.
+         */
+        Journal(@NonNull Path checkpointFile) throws IOException {
+            this.channel = FileChannel.open(checkpointFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            // Start on a new line if the last write was interrupted.
+            if (channel.size() > 0) {
+                var lastByte = ByteBuffer.allocate(1);
+                channel.read(lastByte, channel.size() - 1);
+                if (lastByte.get(0) != '\n') {
+                    channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+                }
+            }
+        }
+
+        /**
+         * Records a completed operation, appending it to the checkpoint file.
+         * @param type the operation type.
+         * @param name the name of the source label created or updated, or of the existing label deleted.
+         * @throws IOException if an error occurs.
+         */
+        void record(@NonNull OperationType type, @NonNull String name) throws IOException {
+            var line = OBJECT_MAPPER.writeValueAsString(new Completion(type, name)) + "\n";
+            var buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * A checkpoint read from the store. <br>
+     * @author Julb.
+     */
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    static class Checkpoint {
+
+        // @formatter:off
+        /**
+         * The header of the checkpoint.
+         * -- GETTER --
+         * Getter for {@link #header} property.
+         * @return the value.
+         */
+        // @formatter:on
+        @Getter
+        private final Header header;
+
+        /**
+         * The operations already completed, by type and name.
+         */
+        private final Set<Map.Entry<OperationType, String>> completions;
+
+        /**
+         * Gets the names of the labels left to create.
+         * @return the names of the labels.
+         */
+        List<String> getCreates() {
+            // @formatter:off
+            return header.getCreates().stream()
+                    .filter(name -> !completions.contains(Map.entry(OperationType.CREATE, name)))
+                    .toList();
+            // @formatter:on
+        }
+
+        /**
+         * Gets the labels left to update.
+         * @return the updates.
+         */
+        List<Update> getUpdates() {
+            // @formatter:off
+            return header.getUpdates().stream()
+                    .filter(update -> !completions.contains(Map.entry(OperationType.UPDATE, update.getName())))
+                    .toList();
+            // @formatter:on
+        }
+
+        /**
+         * Gets the existing labels left to delete.
+         * @return the existing labels.
+         */
+        List<Label> getDeletes() {
+            // @formatter:off
+            return header.getDeletes().stream()
+                    .filter(label -> !completions.contains(Map.entry(OperationType.DELETE, label.getName())))
+                    .toList();
+            // @formatter:on
+        }
+
+        /**
+         * Gets the number of operations left.
+         * @return the number of operations left.
+         */
+        int getRemainingCount() {
+            return getCreates().size() + getUpdates().size() + getDeletes().size();
+        }
+    }
+
+    /**
+     * The first line of a checkpoint file, holding the plan. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class Header {
+
+        /**
+         * The version of the checkpoint format.
+         */
+        private String version;
+
+        /**
+         * The repository name.
+         */
+        private String repository;
+
+        /**
+         * The fingerprint of the run which computed the plan.
+         */
+        private String fingerprint;
+
+        /**
+         * The names of the labels to create.
+         */
+        private List<String> creates;
+
+        /**
+         * The labels to update.
+         */
+        private List<Update> updates;
+
+        /**
+         * The existing labels to delete.
+         */
+        private List<Label> deletes;
+    }
+
+    /**
+     * A label update of the plan. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class Update {
+
+        /**
+         * The name of the source label.
+         */
+        private String name;
+
+        /**
+         * The existing label replaced by the source label.
+         */
+        private Label label;
+    }
+
+    /**
+     * An existing label of the plan. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class Label {
+
+        /**
+         * The identifier.
+         */
+        private long id;
+
+        /**
+         * The GraphQL node identifier.
+         */
+        private String nodeId;
+
+        /**
+         * The name.
+         */
+        private String name;
+
+        /**
+         * The color.
+         */
+        private String color;
+
+        /**
+         * The description.
+         */
+        private String description;
+
+        /**
+         * Creates the checkpoint of the given existing label.
+         * @param existingLabel the existing label.
+         * @return the checkpoint of the label.
+         */
+        static Label of(@NonNull ExistingLabel existingLabel) {
+            // @formatter:off
+            return new Label(
+                    existingLabel.getId(),
+                    existingLabel.getNodeId(),
+                    existingLabel.getName(),
+                    existingLabel.getColor(),
+                    existingLabel.getDescription());
+            // @formatter:on
+        }
+
+        /**
+         * Restores the existing label.
+         * @return the existing label.
+         */
+        ExistingLabel toExistingLabel() {
+            return new ExistingLabel(id, nodeId, name, color, description);
+        }
+    }
+
+    /**
+     * A completed operation of the journal. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class Completion {
+
+        /**
+         * The operation type.
+         */
+        private OperationType type;
+
+        /**
+         * The name of the source label created or updated, or of the existing label deleted.
+         */
+        private String name;
+    }
+}
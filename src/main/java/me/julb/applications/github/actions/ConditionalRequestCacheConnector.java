@@ -0,0 +1,377 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The connector sending conditional requests for the label listing. <br>
+ * The ETag, headers and body of each label list page are persisted in a cache directory. The next listing of the same
+ * page sends a {@code If-None-Match} header, and a {@code 304 Not Modified} response, which does not count against the
+ * rate limit, is answered with the persisted page. Other requests are forwarded as-is to the delegate connector.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class ConditionalRequestCacheConnector implements GitHubConnector {
+
+    /**
+     * The pattern matching the path of the label list of a repository.
+     */
+    private static final Pattern LABELS_PATH = Pattern.compile(".*/repos/[^/]+/[^/]+/labels/?");
+
+    /**
+     * The response headers not replayed from the cache: the persisted body is already decoded.
+     */
+    private static final Set<String> SKIPPED_HEADERS =
+            Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    /**
+     * The mapper used to read and write cache entries.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The connector sending the requests.
+     */
+    @NonNull
+    private final GitHubConnector delegate;
+
+    /**
+     * The directory where the cache entries are persisted.
+     */
+    @NonNull
+    private final Path cacheDirectory;
+
+    // @formatter:off
+    /**
+     * The number of requests answered from the cache.
+     * -- GETTER --
+     * Getter for {@link #hits} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final AtomicInteger hits = new AtomicInteger();
+
+    // @formatter:off
+    /**
+     * The number of cacheable requests answered by GitHub with a body.
+     * -- GETTER --
+     * Getter for {@link #misses} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        if (!isCacheable(request)) {
+            return delegate.send(request);
+        }
+
+        var cacheFile = getCacheFile(request.url());
+        var cacheEntry = readCacheEntry(cacheFile, request.url());
+
+        GitHubConnectorRequest sentRequest = request;
+        if (cacheEntry != null) {
+            sentRequest = new ConditionalRequest(request, cacheEntry.getEtag());
+        }
+
+        var response = delegate.send(sentRequest);
+        if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED && cacheEntry != null) {
+            // Replay the persisted page, with the fresh rate limit headers of the 304 response.
+            hits.incrementAndGet();
+            var headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(cacheEntry.getHeaders());
+            putReplayableHeaders(headers, response.allHeaders());
+            response.close();
+            return new CachedResponse(request, headers, cacheEntry.getBody().getBytes(StandardCharsets.UTF_8));
+        } else if (response.statusCode() == HttpURLConnection.HTTP_OK && response.header("ETag") != null) {
+            misses.incrementAndGet();
+            byte[] body;
+            try (var is = response.bodyStream()) {
+                body = is.readAllBytes();
+            } finally {
+                response.close();
+            }
+            var headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+            putReplayableHeaders(headers, response.allHeaders());
+            writeCacheEntry(
+                    cacheFile,
+                    new CacheEntry(
+                            request.url().toString(),
+                            response.header("ETag"),
+                            headers,
+                            new String(body, StandardCharsets.UTF_8)));
+            return new CachedResponse(request, headers, body);
+        } else {
+            return response;
+        }
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Checks if the given request lists the labels of a repository.<br>
+     * A request which is already conditional is sent as is, so that its sender gets the {@code 304 Not Modified}.
+     * @param request the request.
+     * @return <code>true</code> if the request is a label listing, <code>false</code> otherwise.
+     */
+    boolean isCacheable(@NonNull GitHubConnectorRequest request) {
+        return "GET".equals(request.method()) && LABELS_PATH.matcher(request.url().getPath()).matches()
+                && request.header("If-None-Match") == null;
+    }
+
+    /**
+     * Gets the file holding the cache entry of the given URL.
+     * @param url the URL.
+     * @return the cache file.
+     */
+    Path getCacheFile(@NonNull URL url) {
+        var key = Hashing.sha256().hashString(url.toString(), StandardCharsets.UTF_8);
+        return cacheDirectory.resolve(key + ".json");
+    }
+
+    /**
+     * Reads the cache entry of the given URL.<br>
+     * An unreadable entry is ignored: the page is then listed again.
+     * @param cacheFile the cache file.
+     * @param url the URL.
+     * @return the cache entry, or <code>null</code> if there is no usable entry.
+     */
+    private CacheEntry readCacheEntry(Path cacheFile, URL url) {
+        // @formatter:off
+        return AtomicFiles.read(cacheFile, content -> OBJECT_MAPPER.readValue(content, CacheEntry.class))
+                .filter(cacheEntry -> url.toString().equals(cacheEntry.getUrl())
+                        && cacheEntry.getEtag() != null
+                        && cacheEntry.getHeaders() != null
+                        && cacheEntry.getBody() != null)
+                .orElse(null);
+        // @formatter:on
+    }
+
+    /**
+     * Writes the cache entry in the given file.
+     * @param cacheFile the cache file.
+     * @param cacheEntry the cache entry.
+     * @throws IOException if an error occurs.
+     */
+    private void writeCacheEntry(Path cacheFile, CacheEntry cacheEntry) throws IOException {
+        AtomicFiles.write(cacheFile, OBJECT_MAPPER.writeValueAsBytes(cacheEntry));
+    }
+
+    /**
+     * Copies the headers that can be replayed with a persisted body.
+     * @param target the target headers.
+     * @param source the source headers.
+     */
+    private void putReplayableHeaders(Map<String, List<String>> target, Map<String, List<String>> source) {
+        for (Map.Entry<String, List<String>> header : source.entrySet()) {
+            if (header.getKey() != null && !SKIPPED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                target.put(header.getKey(), header.getValue());
+            }
+        }
+    }
+
+    /**
+     * The persisted label list page. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class CacheEntry {
+
+        /**
+         * The URL of the page.
+         */
+        private String url;
+
+        /**
+         * The ETag of the page.
+         */
+        private String etag;
+
+        /**
+         * The headers of the page response.
+         */
+        private Map<String, List<String>> headers;
+
+        /**
+         * The body of the page.
+         */
+        private String body;
+    }
+
+    /**
+     * The request decorated with the {@code If-None-Match} header. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor
+    static class ConditionalRequest implements GitHubConnectorRequest {
+
+        /**
+         * The decorated request.
+         */
+        private final GitHubConnectorRequest request;
+
+        /**
+         * The ETag of the persisted page.
+         */
+        private final String etag;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String method() {
+            return request.method();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, List<String>> allHeaders() {
+            var headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(request.allHeaders());
+            headers.put("If-None-Match", List.of(etag));
+            return headers;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String header(String name) {
+            if ("If-None-Match".equalsIgnoreCase(name)) {
+                return etag;
+            }
+            return request.header(name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String contentType() {
+            return request.contentType();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream body() {
+            return request.body();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public URL url() {
+            return request.url();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasBody() {
+            return request.hasBody();
+        }
+    }
+
+    /**
+     * The response replaying a page body already read. <br>
+     * @author Julb.
+     */
+    private static class CachedResponse extends GitHubConnectorResponse {
+
+        /**
+         * The body of the page.
+         */
+        private final byte[] body;
+
+        /**
+         * Default constructor.
+         * @param request the request.
+         * @param headers the response headers.
+         * @param body the body of the page.
+         */
+        CachedResponse(GitHubConnectorRequest request, Map<String, List<String>> headers, byte[] body) {
+            super(request, HttpURLConnection.HTTP_OK, headers);
+            this.body = body;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream bodyStream() {
+            return new ByteArrayInputStream(body);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            // Nothing to release.
+        }
+    }
+}
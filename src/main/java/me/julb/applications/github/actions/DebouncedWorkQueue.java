@@ -0,0 +1,185 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+
+import lombok.NonNull;
+
+/**
+ * The work queue coalescing bursts of work submitted for the same key. <br>
+ * The work of a key is run once no other work was submitted for that key during the debounce delay, or at the latest
+ * once the maximum delay after its first submission is elapsed. Work submitted meanwhile is merged into the pending
+ * work. Works are run one at a time, on a single thread.
+ * @param <K> the key type.
+ * @param <V> the work type.
+ * @author Julb.
+ */
+class DebouncedWorkQueue<K, V> implements Closeable {
+
+    /**
+     * The time waited for other work after a submission.
+     */
+    private final Duration delay;
+
+    /**
+     * The maximum time a work waits after its first submission.
+     */
+    private final Duration maxDelay;
+
+    /**
+     * The function merging a submitted work into the pending work of the same key.
+     */
+    private final BinaryOperator<V> merger;
+
+    /**
+     * The worker running a work.
+     */
+    private final BiConsumer<K, V> worker;
+
+    /**
+     * The scheduler running the works.
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * The pending works, indexed by key.
+     */
+    private final Map<K, Pending<V>> pendingWorks = new HashMap<>();
+
+    /**
+     * Default constructor.
+     * @param delay the time waited for other work after a submission.
+     * @param maxDelay the maximum time a work waits after its first submission.
+     * @param merger the function merging a submitted work into the pending work of the same key.
+     * @param worker the worker running a work, handling its own failures.
+     */
+    DebouncedWorkQueue(
+            @NonNull Duration delay,
+            @NonNull Duration maxDelay,
+            @NonNull BinaryOperator<V> merger,
+            @NonNull BiConsumer<K, V> worker) {
+        if (delay.isNegative() || maxDelay.compareTo(delay) < 0) {
+            throw new IllegalArgumentException(String.format("invalid delays: %s, %s", delay, maxDelay));
+        }
+        this.delay = delay;
+        this.maxDelay = maxDelay;
+        this.merger = merger;
+        this.worker = worker;
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Submits a work for the given key.
+     * @param key the key.
+     * @param work the work.
+     */
+    synchronized void submit(@NonNull K key, @NonNull V work) {
+        var now = System.nanoTime();
+        var pending = pendingWorks.get(key);
+        if (pending == null) {
+            pending = new Pending<>(work, now);
+            pendingWorks.put(key, pending);
+        } else {
+            pending.future.cancel(false);
+            pending.work = merger.apply(pending.work, work);
+        }
+
+        var runAt = Math.min(now + delay.toNanos(), pending.firstSubmission + maxDelay.toNanos());
+        pending.future = scheduler.schedule(() -> run(key), Math.max(0, runAt - now), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of keys with a pending work.
+     * @return the number of keys with a pending work.
+     */
+    synchronized int getPendingCount() {
+        return pendingWorks.size();
+    }
+
+    /**
+     * Runs the pending work of the given key, if not run yet.
+     * @param key the key.
+     */
+    private void run(K key) {
+        Pending<V> pending;
+        synchronized (this) {
+            pending = pendingWorks.remove(key);
+        }
+        if (pending != null) {
+            worker.accept(key, pending.work);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * A pending work. <br>
+     * @param <V> the work type.
+     * @author Julb.
+     */
+    private static class Pending<V> {
+
+        /**
+         * The work, merged with the works submitted since.
+         */
+        private V work;
+
+        /**
+         * The time of the first submission, in nanoseconds.
+         */
+        private final long firstSubmission;
+
+        /**
+         * The scheduled run of the work.
+         */
+        private ScheduledFuture<?> future;
+
+        /**
+         * Default constructor.
+         * @param work the work.
+         * @param firstSubmission the time of the first submission, in nanoseconds.
+         */
+        Pending(V work, long firstSubmission) {
+            this.work = work;
+            this.firstSubmission = firstSubmission;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.Objects;
+
+import org.kohsuke.github.GHLabel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The immutable projection of a label present in a repository. <br>
+ * Only the fields the synchronization reads are kept: unlike a {@link GHLabel}, the projection does not hold the
+ * GitHub API root, the URL nor the other fields of the listing, so that the existing labels of large repositories stay
+ * small while the plan is computed and applied. The write calls are built from the projection.
+ * @author Julb.
+ */
+@Getter
+class ExistingLabel {
+
+    // @formatter:off
+    /**
+     * The identifier.
+     * -- GETTER --
+     * Getter for {@link #id} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final long id;
+
+    // @formatter:off
+    /**
+     * The GraphQL node identifier.
+     * -- GETTER --
+     * Getter for {@link #nodeId} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final String nodeId;
+
+    // @formatter:off
+    /**
+     * The name.
+     * -- GETTER --
+     * Getter for {@link #name} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final String name;
+
+    // @formatter:off
+    /**
+     * The color.
+     * -- GETTER --
+     * Getter for {@link #color} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final String color;
+
+    // @formatter:off
+    /**
+     * The description.
+     * -- GETTER --
+     * Getter for {@link #description} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final String description;
+
+    /**
+     * The canonical key of the name, computed once as labels are looked up by key.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LabelKey key;
+
+    /**
+     * Default constructor.
+     * @param id the identifier.
+     * @param nodeId the GraphQL node identifier.
+     * @param name the name.
+     * @param color the color.
+     * @param description the description.
+     */
+    ExistingLabel(long id, String nodeId, @NonNull String name, String color, String description) {
+        this.id = id;
+        this.nodeId = nodeId;
+        this.name = name;
+        this.color = color;
+        this.description = description;
+        this.key = LabelKey.of(name);
+    }
+
+    /**
+     * Projects the given label.
+     * @param ghLabel the label.
+     * @return the projection of the label.
+     */
+    static ExistingLabel of(@NonNull GHLabel ghLabel) {
+        // @formatter:off
+        return new ExistingLabel(
+                ghLabel.getId(),
+                ghLabel.getNodeId(),
+                ghLabel.getName(),
+                ghLabel.getColor(),
+                ghLabel.getDescription());
+        // @formatter:on
+    }
+
+    /**
+     * Projects the given label document of the REST API.
+     * @param node the label document.
+     * @return the projection of the label.
+     */
+    static ExistingLabel of(@NonNull JsonNode node) {
+        // @formatter:off
+        return new ExistingLabel(
+                node.path("id").asLong(),
+                node.path("node_id").textValue(),
+                node.path("name").asText(),
+                node.path("color").textValue(),
+                node.path("description").textValue());
+        // @formatter:on
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the canonical key of the name.
+     * @return the label key.
+     */
+    LabelKey key() {
+        return key;
+    }
+
+    // ------------------------------------------ Overridden methods.
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (this.getClass() != obj.getClass()) {
+            return false;
+        }
+        ExistingLabel other = (ExistingLabel) obj;
+        // @formatter:off
+        return id == other.id
+                && Objects.equals(nodeId, other.nodeId)
+                && name.equals(other.name)
+                && Objects.equals(color, other.color)
+                && Objects.equals(description, other.description);
+        // @formatter:on
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nodeId, name, color, description);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("ExistingLabel[id=%d, name=%s]", id, name);
+    }
+}
@@ -0,0 +1,403 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The store of the fingerprints of the last successful synchronization of each repository. <br>
+ * A fingerprint hashes the labels to synchronize and the options changing the outcome. It is persisted with the
+ * {@code ETag} of each page of a label listing proven in sync, that is listed by a synchronization which had nothing to
+ * write. When the fingerprint of a run matches and every page is still answered with a {@code 304 Not Modified}, which
+ * does not count against the rate limit, the repository is known to be in sync and the reconciliation can be skipped.
+ * A repository with less than one page of labels is thus checked with a single conditional request. The requests are
+ * sent through the connector of the GitHub API, so that they are measured, retried after a rate limit response, and
+ * bounded by the read timeout like any other GitHub API request.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class FingerprintStore {
+
+    /**
+     * The number of labels listed per page, the maximum allowed by GitHub.
+     */
+    static final int PAGE_SIZE = 100;
+
+    /**
+     * The version of the fingerprint, changed when the hashed content changes.
+     */
+    private static final String FINGERPRINT_VERSION = "5";
+
+    /**
+     * The mapper used to read and write fingerprint entries.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The connector sending the conditional requests.
+     */
+    @NonNull
+    private final GitHubConnector connector;
+
+    /**
+     * The token used to authenticate.
+     */
+    @NonNull
+    private final String token;
+
+    /**
+     * The directory where the fingerprint entries are persisted.
+     */
+    @NonNull
+    private final Path directory;
+
+    /**
+     * The sleeper used to wait before sending a request again after a rate limit response.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RateLimitBudget.Sleeper sleeper = Thread::sleep;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Computes the fingerprint of the given labels and options.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param options the synchronization options.
+     * @return the fingerprint, as an hexadecimal SHA-256.
+     */
+    static String fingerprint(
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize, @NonNull SynchronizationOptions options) {
+        var hasher = Hashing.sha256().newHasher();
+        hasher.putString(FINGERPRINT_VERSION, StandardCharsets.UTF_8);
+        hasher.putBoolean(options.isSkipDelete());
+        for (LabelDTO label : new TreeMap<>(labelsToSynchronize).values()) {
+            putField(hasher, label.getName());
+            putField(hasher, label.getColor());
+            putField(hasher, label.getDescription());
+            hasher.putInt(label.getAliases().size());
+            label.getAliases().forEach(alias -> putField(hasher, alias));
+            hasher.putBoolean(label.isDelete());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Checks if the labels of the repository are unchanged since the synchronization recorded with the given
+     * fingerprint.
+     * @param repository the repository name, as {@code owner/name}.
+     * @param fingerprint the fingerprint of the run.
+     * @return <code>true</code> if the repository is in sync, <code>false</code> if it must be reconciled.
+     * @throws IOException if an error occurs.
+     */
+    boolean isUnchanged(@NonNull String repository, @NonNull String fingerprint) throws IOException {
+        var entry = readEntry(repository);
+        if (entry == null || !fingerprint.equals(entry.getFingerprint())) {
+            return false;
+        }
+
+        try {
+            var pages = entry.getPages();
+            for (var i = 0; i < pages.size(); i++) {
+                var request = new ConditionalRequestCacheConnector.ConditionalRequest(
+                        newRequest(pages.get(i).getUrl()), pages.get(i).getEtag());
+                var response = send(request);
+                if (response.getStatusCode() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    return false;
+                }
+                if (i == 0 && !hasPageCount(response.getLinks(), pages.size())) {
+                    return false;
+                }
+            }
+
+            // Labels added after a full last page are listed in a new page, which must still be empty. The cache
+            // connector sends it conditionally once it has been listed.
+            var lastPage = pages.get(pages.size() - 1);
+            if (lastPage.getLabelCount() >= PAGE_SIZE) {
+                var response = send(newRequest(getNextPageUrl(lastPage.getUrl(), pages.size())));
+                return response.getStatusCode() == HttpURLConnection.HTTP_OK && "[]".equals(response.getBody().trim());
+            }
+            return true;
+        } catch (HttpException e) {
+            // An unexpected response does not prove anything: the repository is reconciled.
+            return false;
+        }
+    }
+
+    /**
+     * Records the given fingerprint for the repository, with the {@code ETag} of each page of its label listing.<br>
+     * The pages must be listed by a synchronization which had nothing to write, so that they hold the labels in sync.
+     * Nothing is recorded if a page has no {@code ETag}.
+     * @param repository the repository name, as {@code owner/name}.
+     * @param fingerprint the fingerprint of the synchronization.
+     * @param listedPages the pages of the label listing, in page order.
+     * @throws IOException if an error occurs.
+     */
+    void record(
+            @NonNull String repository,
+            @NonNull String fingerprint,
+            @NonNull List<LabelListingFetcher.Page> listedPages)
+            throws IOException {
+        var pages = new ArrayList<Page>(listedPages.size());
+        for (LabelListingFetcher.Page listedPage : listedPages) {
+            if (listedPage.getEtag() == null) {
+                return;
+            }
+            pages.add(new Page(listedPage.getUrl(), listedPage.getEtag(), listedPage.getLabels().size()));
+        }
+        if (!pages.isEmpty()) {
+            writeEntry(repository, new Entry(repository, fingerprint, pages));
+        }
+    }
+
+    /**
+     * Gets the file holding the fingerprint entry of the given repository.
+     * @param repository the repository name.
+     * @return the entry file.
+     */
+    Path getEntryFile(@NonNull String repository) {
+        var key = Hashing.sha256().hashString(repository, StandardCharsets.UTF_8);
+        return directory.resolve(key + ".json");
+    }
+
+    /**
+     * Checks that the {@code Link} headers of the first page give the expected number of pages.<br>
+     * A response without {@code last} link, such as a {@code 304 Not Modified} without {@code Link} header, does not
+     * contradict the expected number.
+     * @param links the {@code Link} headers of the first page.
+     * @param pageCount the expected number of pages.
+     * @return <code>false</code> if the last page differs from the expected one, <code>true</code> otherwise.
+     */
+    static boolean hasPageCount(@NonNull List<String> links, int pageCount) {
+        // @formatter:off
+        return LabelListingFetcher.getLinkUrl(links, "last")
+                .map(LabelListingFetcher::getPageNumber)
+                .map(lastPage -> lastPage.isEmpty() || lastPage.getAsInt() == pageCount)
+                .orElse(true);
+        // @formatter:on
+    }
+
+    /**
+     * Gets the URL of the page following the last page of a listing.
+     * @param lastPageUrl the URL of the last page.
+     * @param pageCount the number of pages of the listing.
+     * @return the URL of the next page.
+     */
+    static String getNextPageUrl(@NonNull String lastPageUrl, int pageCount) {
+        if (LabelListingFetcher.getPageNumber(lastPageUrl).isPresent()) {
+            return LabelListingFetcher.getPageUrl(lastPageUrl, pageCount + 1);
+        }
+        return lastPageUrl + (lastPageUrl.contains("?") ? "&" : "?") + "page=" + (pageCount + 1);
+    }
+
+    /**
+     * Adds a nullable field to the fingerprint.
+     * @param hasher the hasher.
+     * @param value the field value.
+     */
+    private static void putField(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length());
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Creates a request to the given label listing page.
+     * @param url the URL of the page.
+     * @return the request.
+     * @throws IOException if the URL is invalid.
+     */
+    private ApiRequest newRequest(String url) throws IOException {
+        return new ApiRequest("GET", new URL(url), token);
+    }
+
+    /**
+     * Sends the given request, and reads its response.<br>
+     * A {@code 200 OK} or a {@code 304 Not Modified} response is accepted, and a rate limit response is sent again.
+     * @param request the request.
+     * @return the response, with its body read.
+     * @throws IOException if the response is not accepted, or cannot be read.
+     */
+    private Response send(GitHubConnectorRequest request) throws IOException {
+        // @formatter:off
+        return ApiRequest.send(
+                request,
+                connector,
+                sleeper,
+                statusCode -> statusCode == HttpURLConnection.HTTP_OK
+                        || statusCode == HttpURLConnection.HTTP_NOT_MODIFIED,
+                Response::of);
+        // @formatter:on
+    }
+
+    /**
+     * Reads the fingerprint entry of the given repository.<br>
+     * An unreadable entry is ignored: the repository is then reconciled.
+     * @param repository the repository name.
+     * @return the entry, or <code>null</code> if there is no usable entry.
+     */
+    private Entry readEntry(String repository) {
+        // @formatter:off
+        return AtomicFiles.read(getEntryFile(repository), content -> OBJECT_MAPPER.readValue(content, Entry.class))
+                .filter(entry -> repository.equals(entry.getRepository())
+                        && entry.getFingerprint() != null
+                        && entry.getPages() != null
+                        && !entry.getPages().isEmpty())
+                .orElse(null);
+        // @formatter:on
+    }
+
+    /**
+     * Writes the fingerprint entry of the given repository.
+     * @param repository the repository name.
+     * @param entry the entry.
+     * @throws IOException if an error occurs.
+     */
+    private void writeEntry(String repository, Entry entry) throws IOException {
+        AtomicFiles.write(getEntryFile(repository), OBJECT_MAPPER.writeValueAsBytes(entry));
+    }
+
+    /**
+     * The persisted fingerprint of a repository. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class Entry {
+
+        /**
+         * The repository name.
+         */
+        private String repository;
+
+        /**
+         * The fingerprint of the last successful synchronization.
+         */
+        private String fingerprint;
+
+        /**
+         * The pages of the label listing taken after the synchronization.
+         */
+        private List<Page> pages;
+    }
+
+    /**
+     * A page of the label listing. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class Page {
+
+        /**
+         * The URL of the page.
+         */
+        private String url;
+
+        /**
+         * The ETag of the page.
+         */
+        private String etag;
+
+        /**
+         * The number of labels of the page.
+         */
+        private int labelCount;
+    }
+
+    /**
+     * A response to a conditional request, with its body read. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    private static class Response {
+
+        /**
+         * The status code.
+         */
+        private final int statusCode;
+
+        /**
+         * The values of the {@code Link} headers.
+         */
+        @NonNull
+        private final List<String> links;
+
+        /**
+         * The body, empty if the page is not modified.
+         */
+        @NonNull
+        private final String body;
+
+        /**
+         * Reads the given response.
+         * @param response the response.
+         * @return the response read.
+         * @throws IOException if the body cannot be read.
+         */
+        static Response of(@NonNull GitHubConnectorResponse response) throws IOException {
+            var links = Optional.ofNullable(response.allHeaders().get("Link")).orElse(List.<String> of());
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                return new Response(response.statusCode(), links, "");
+            }
+            try (var is = response.bodyStream()) {
+                var body = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+                return new Response(response.statusCode(), links, body);
+            }
+        }
+    }
+}
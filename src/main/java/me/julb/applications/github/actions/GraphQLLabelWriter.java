@@ -0,0 +1,377 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+/**
+ * The writer applying label changes through batches of aliased GraphQL mutations. <br>
+ * Each batch is sent in a single request. Errors reported for an alias are mapped back to the label of the
+ * corresponding mutation.
+ * @author Julb.
+ */
+class GraphQLLabelWriter implements LabelWriter {
+
+    /**
+     * The media type enabling the label mutations preview.
+     */
+    static final String PREVIEW_MEDIA_TYPE = "application/vnd.github.bane-preview+json";
+
+    /**
+     * The JSON mapper.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The HTTP client.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * The GraphQL endpoint.
+     */
+    private final URI endpoint;
+
+    /**
+     * The token used to authenticate.
+     */
+    private final String token;
+
+    /**
+     * The node ID of the repository.
+     */
+    private final String repositoryId;
+
+    /**
+     * The maximum time waited for the response of a request.
+     */
+    private final Duration readTimeout;
+
+    // @formatter:off
+    /**
+     * The maximum number of mutations sent in one request.
+     * -- GETTER --
+     * Getter for {@link #batchSize} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final int batchSize;
+
+    /**
+     * The metrics of the run, if recorded.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RunMetrics runMetrics;
+
+    /**
+     * Default constructor.
+     * @param httpClient the HTTP client.
+     * @param endpoint the GraphQL endpoint.
+     * @param token the token used to authenticate.
+     * @param repositoryId the node ID of the repository.
+     * @param readTimeout the maximum time waited for the response of a request.
+     * @param batchSize the maximum number of mutations sent in one request.
+     */
+    GraphQLLabelWriter(
+            @NonNull HttpClient httpClient,
+            @NonNull URI endpoint,
+            @NonNull String token,
+            @NonNull String repositoryId,
+            @NonNull Duration readTimeout,
+            int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(String.format("batch size must be positive: %d", batchSize));
+        }
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+        this.token = token;
+        this.repositoryId = repositoryId;
+        this.readTimeout = readTimeout;
+        this.batchSize = batchSize;
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createLabels(@NonNull List<LabelDTO> labels, @NonNull Consumer<LabelDTO> onCreated)
+            throws IOException {
+        execute(labels, LabelDTO::getName, this::createLabelMutation, onCreated);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateLabels(
+            @NonNull List<Map.Entry<LabelDTO, ExistingLabel>> labels,
+            @NonNull Consumer<Map.Entry<LabelDTO, ExistingLabel>> onUpdated)
+            throws IOException {
+        execute(labels, entry -> entry.getValue().getName(), this::updateLabelMutation, onUpdated);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteLabels(@NonNull List<ExistingLabel> labels, @NonNull Consumer<ExistingLabel> onDeleted)
+            throws IOException {
+        execute(labels, ExistingLabel::getName, this::deleteLabelMutation, onDeleted);
+    }
+
+    /**
+     * Sends the mutations of the given items by batches.<br>
+     * The batches are sent sequentially and the first batch with errors stops the process.
+     * @param <T> the item type.
+     * @param items the items.
+     * @param nameFunction the function giving the label name of an item, for error reporting.
+     * @param mutationFunction the function giving the mutation of an item.
+     * @param onCompletion the callback invoked for each item processed successfully.
+     * @throws IOException if a mutation fails.
+     */
+    <T> void execute(
+            List<T> items,
+            Function<T, String> nameFunction,
+            Function<T, Mutation> mutationFunction,
+            Consumer<T> onCompletion)
+            throws IOException {
+        for (List<T> batch : Lists.partition(items, batchSize)) {
+            var mutations = new ArrayList<Mutation>(batch.size());
+            batch.forEach(item -> mutations.add(mutationFunction.apply(item)));
+
+            var errors = send(mutations);
+
+            for (var i = 0; i < batch.size(); i++) {
+                if (!errors.containsKey(i)) {
+                    onCompletion.accept(batch.get(i));
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                var message = new StringBuilder("graphql mutations failed:");
+                errors.forEach((index, error) -> message.append(String.format(
+                        " [label '%s': %s]", nameFunction.apply(batch.get(index)), error)));
+                throw new IOException(message.toString());
+            }
+        }
+    }
+
+    /**
+     * Sends the given mutations in one request.
+     * @param mutations the mutations.
+     * @return the error messages indexed by the position of the failed mutation.
+     * @throws IOException if the request fails as a whole.
+     */
+    Map<Integer, String> send(@NonNull List<Mutation> mutations) throws IOException {
+        // Build query with one alias per mutation.
+        var query = new StringBuilder("mutation(");
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (var i = 0; i < mutations.size(); i++) {
+            if (i > 0) {
+                query.append(", ");
+            }
+            query.append("$i").append(i).append(": ").append(mutations.get(i).getInputType()).append('!');
+            variables.put("i" + i, mutations.get(i).getInput());
+        }
+        query.append(") {");
+        for (var i = 0; i < mutations.size(); i++) {
+            // @formatter:off
+            query.append(" l").append(i).append(": ")
+                    .append(mutations.get(i).getName())
+                    .append("(input: $i").append(i).append(") { clientMutationId }");
+            // @formatter:on
+        }
+        query.append(" }");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("query", query.toString());
+        body.put("variables", variables);
+
+        // @formatter:off
+        var request = HttpRequest.newBuilder(endpoint)
+                .timeout(readTimeout)
+                .header("Authorization", "bearer " + token)
+                .header("Accept", PREVIEW_MEDIA_TYPE)
+                .header("Accept-Encoding", "gzip")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)))
+                .build();
+        // @formatter:on
+
+        HttpResponse<byte[]> response;
+        var startNanos = System.nanoTime();
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } finally {
+            if (runMetrics != null) {
+                runMetrics.recordCall("POST /graphql", System.nanoTime() - startNanos);
+            }
+        }
+
+        var responseBody = getBody(response);
+        if (response.statusCode() != 200) {
+            throw new IOException(String.format(
+                    "graphql request failed with status %d: %s", response.statusCode(), new String(responseBody)));
+        }
+
+        return getErrors(OBJECT_MAPPER.readTree(responseBody));
+    }
+
+    /**
+     * Gets the body of a response, decompressed according to its {@code Content-Encoding} header.
+     * @param response the response.
+     * @return the body.
+     * @throws IOException if the body cannot be decompressed.
+     */
+    private static byte[] getBody(HttpResponse<byte[]> response) throws IOException {
+        var contentEncoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if (!"gzip".equalsIgnoreCase(contentEncoding)) {
+            return response.body();
+        }
+        try (var is = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return is.readAllBytes();
+        }
+    }
+
+    /**
+     * Gets the errors of a GraphQL response, indexed by the position of the failed mutation.
+     * @param response the GraphQL response.
+     * @return the errors.
+     * @throws IOException if an error is not related to a mutation alias.
+     */
+    private Map<Integer, String> getErrors(JsonNode response) throws IOException {
+        Map<Integer, String> errors = new TreeMap<>();
+        for (JsonNode error : response.path("errors")) {
+            var alias = error.path("path").path(0).asText("");
+            if (!alias.matches("l\\d+")) {
+                throw new IOException(String.format("graphql request failed: %s", error.path("message").asText()));
+            }
+            errors.merge(Integer.valueOf(alias.substring(1)), error.path("message").asText(), (a, b) -> a + ", " + b);
+        }
+        return errors;
+    }
+
+    /**
+     * Gets the mutation creating the given label.
+     * @param label the label.
+     * @return the mutation.
+     */
+    private Mutation createLabelMutation(LabelDTO label) {
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("repositoryId", repositoryId);
+        input.put("name", label.getName());
+        input.put("color", LabelDTO.normalizeColor(label.getColor()));
+        if (label.getDescription() != null) {
+            input.put("description", label.getDescription());
+        }
+        return new Mutation("createLabel", "CreateLabelInput", input);
+    }
+
+    /**
+     * Gets the mutation updating the fields of the existing label which differ from the source label.
+     * @param entry the source label with its existing label.
+     * @return the mutation.
+     */
+    private Mutation updateLabelMutation(Map.Entry<LabelDTO, ExistingLabel> entry) {
+        var sourceLabel = entry.getKey();
+        var existingLabel = entry.getValue();
+
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("id", existingLabel.getNodeId());
+        if (!sourceLabel.hasSameName(existingLabel)) {
+            input.put("name", sourceLabel.getName());
+        }
+        if (!sourceLabel.hasSameColor(existingLabel)) {
+            input.put("color", LabelDTO.normalizeColor(sourceLabel.getColor()));
+        }
+        if (!sourceLabel.hasSameDescription(existingLabel)) {
+            input.put("description", LabelDTO.normalizeDescription(sourceLabel.getDescription()));
+        }
+        return new Mutation("updateLabel", "UpdateLabelInput", input);
+    }
+
+    /**
+     * Gets the mutation deleting the given label.
+     * @param existingLabel the label.
+     * @return the mutation.
+     */
+    private Mutation deleteLabelMutation(ExistingLabel existingLabel) {
+        return new Mutation("deleteLabel", "DeleteLabelInput", Map.of("id", existingLabel.getNodeId()));
+    }
+
+    /**
+     * A label mutation. <br>
+     * @author Julb.
+     */
+    @Getter
+    @AllArgsConstructor
+    static class Mutation {
+
+        /**
+         * The mutation name.
+         */
+        private final String name;
+
+        /**
+         * The GraphQL type of the mutation input.
+         */
+        private final String inputType;
+
+        /**
+         * The mutation input.
+         */
+        private final Map<String, Object> input;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The log of per-label lines, collapsed into groups, and of summary lines. <br>
+ * Lines are buffered in memory and a group is written at once through the GitHub Actions kit, so that label operations
+ * never wait for the output, and groups of repositories synchronized concurrently are not interleaved. Lines are only
+ * kept with the {@link LogVerbosity#DETAILED} verbosity. Summary lines, such as the count of labels of a phase, are
+ * written with any verbosity, as plain log lines rather than annotations.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class GroupedLog {
+
+    /**
+     * The GitHub Actions kit writing the groups.
+     */
+    @NonNull
+    private final GitHubActionsKit ghActionsKit;
+
+    // @formatter:off
+    /**
+     * The verbosity.
+     * -- GETTER --
+     * Getter for {@link #verbosity} property.
+     * @return the value.
+     * -- SETTER --
+     * Setter for {@link #verbosity} property.
+     * @param verbosity the value to set.
+     */
+    // @formatter:on
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    @NonNull
+    private LogVerbosity verbosity = LogVerbosity.DETAILED;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Writes a summary line, outside of any group.
+     * @param line the line.
+     */
+    synchronized void summary(@NonNull String line) {
+        ghActionsKit.info(line);
+    }
+
+    /**
+     * Creates a new group.
+     * @param title the title of the group.
+     * @return the group.
+     */
+    Group newGroup(@NonNull String title) {
+        return new Group(title);
+    }
+
+    /**
+     * A group of lines, used by one thread at a time. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    class Group {
+
+        /**
+         * The title of the group.
+         */
+        private final String title;
+
+        /**
+         * The lines not written yet.
+         */
+        private final List<String> lines = new ArrayList<>();
+
+        // @formatter:off
+        /**
+         * The number of lines added, whether kept or not.
+         * -- GETTER --
+         * Getter for {@link #count} property.
+         * @return the value.
+         */
+        // @formatter:on
+        @Getter
+        private int count;
+
+        /**
+         * Adds a line to the group.
+         * @param line the line.
+         */
+        void add(@NonNull String line) {
+            count++;
+            if (verbosity == LogVerbosity.DETAILED) {
+                lines.add(line);
+            }
+        }
+
+        /**
+         * Writes the lines added since the last flush in a collapsed group, if any.
+         */
+        void flush() {
+            if (lines.isEmpty()) {
+                return;
+            }
+            // The group spans several commands of the kit: groups of concurrent repositories must not overlap.
+            synchronized (GroupedLog.this) {
+                ghActionsKit.startGroup(title);
+                lines.forEach(ghActionsKit::info);
+                ghActionsKit.endGroup();
+            }
+            lines.clear();
+        }
+    }
+}
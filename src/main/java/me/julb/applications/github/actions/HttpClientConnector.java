@@ -0,0 +1,192 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The connector sending the GitHub API requests over a {@link HttpClient}. <br>
+ * The client negotiates HTTP/2 when the server supports it, so that concurrent requests are multiplexed over a single
+ * pooled connection, and falls back to HTTP/1.1 keep-alive connections otherwise. Responses are requested gzip
+ * compressed and decompressed when read. Unlike the default connector, PATCH requests are sent natively without any
+ * reflective access to the JDK internals.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class HttpClientConnector implements GitHubConnector {
+
+    /**
+     * The headers managed by the HTTP client itself, which cannot be set on a request.
+     */
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    /**
+     * The HTTP client.
+     */
+    @NonNull
+    private final HttpClient httpClient;
+
+    // @formatter:off
+    /**
+     * The maximum time waited for the response headers of a request.
+     * -- GETTER --
+     * Getter for {@link #readTimeout} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    @NonNull
+    private final Duration readTimeout;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates a HTTP client suited for the GitHub API.<br>
+     * The client prefers HTTP/2 and keeps its connections alive between requests.
+     * @param connectTimeout the maximum time waited for a connection to be established.
+     * @return the HTTP client.
+     */
+    static HttpClient newHttpClient(@NonNull Duration connectTimeout) {
+        // @formatter:off
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        // @formatter:on
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest connectorRequest) throws IOException {
+        var httpRequest = newHttpRequest(connectorRequest);
+        try {
+            var httpResponse = httpClient.send(httpRequest, BodyHandlers.ofInputStream());
+            return new HttpClientConnectorResponse(connectorRequest, httpResponse);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the HTTP request matching the given connector request.
+     * @param connectorRequest the connector request.
+     * @return the HTTP request.
+     * @throws IOException if the request body cannot be read.
+     */
+    HttpRequest newHttpRequest(GitHubConnectorRequest connectorRequest) throws IOException {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(connectorRequest.url().toURI()).timeout(readTimeout);
+        } catch (URISyntaxException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        for (var header : connectorRequest.allHeaders().entrySet()) {
+            if (header.getKey() != null && !RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                for (var value : header.getValue()) {
+                    if (value != null) {
+                        builder.header(header.getKey(), value);
+                    }
+                }
+            }
+        }
+        if (connectorRequest.header("Accept-Encoding") == null) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+
+        HttpRequest.BodyPublisher bodyPublisher;
+        if (connectorRequest.hasBody()) {
+            try (var body = connectorRequest.body()) {
+                bodyPublisher = BodyPublishers.ofByteArray(body.readAllBytes());
+            }
+        } else {
+            bodyPublisher = BodyPublishers.noBody();
+        }
+        return builder.method(connectorRequest.method(), bodyPublisher).build();
+    }
+
+    /**
+     * The response read from a {@link HttpResponse}. <br>
+     * The body is decompressed by the base class according to its {@code Content-Encoding} header.
+     * @author Julb.
+     */
+    static class HttpClientConnectorResponse extends GitHubConnectorResponse.ByteArrayResponse {
+
+        /**
+         * The HTTP response.
+         */
+        private final HttpResponse<InputStream> httpResponse;
+
+        /**
+         * Default constructor.
+         * @param connectorRequest the connector request.
+         * @param httpResponse the HTTP response.
+         */
+        HttpClientConnectorResponse(GitHubConnectorRequest connectorRequest, HttpResponse<InputStream> httpResponse) {
+            super(connectorRequest, httpResponse.statusCode(), httpResponse.headers().map());
+            this.httpResponse = httpResponse;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected InputStream rawBodyStream() throws IOException {
+            return httpResponse.body();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            super.close();
+            httpResponse.body().close();
+        }
+    }
+}
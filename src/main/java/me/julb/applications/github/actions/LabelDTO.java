@@ -23,10 +23,11 @@
  */
 package me.julb.applications.github.actions;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -38,7 +39,6 @@ import lombok.RequiredArgsConstructor;
  */
 @NoArgsConstructor
 @RequiredArgsConstructor
-@AllArgsConstructor
 @Getter
 public class LabelDTO implements Comparable<LabelDTO> {
 
@@ -83,14 +83,136 @@ public class LabelDTO implements Comparable<LabelDTO> {
     // @formatter:on
     private String description;
 
+    /**
+     * The previous names of the label, used to rename an existing label instead of replacing it.
+     */
+    private List<String> aliases;
+
+    // @formatter:off
+    /**
+     * The flag indicating if the label is a tombstone: the existing label of that name is deleted.
+     * -- GETTER --
+     * Getter for {@link #delete} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private boolean delete;
+
+    /**
+     * The canonical key of the name, computed on first use.
+     */
+    @Getter(AccessLevel.NONE)
+    private transient LabelKey key;
+
+    /**
+     * Constructor with aliases.
+     * @param name the name.
+     * @param color the color.
+     * @param description the description.
+     * @param aliases the previous names of the label.
+     */
+    public LabelDTO(@NonNull String name, @NonNull String color, String description, List<String> aliases) {
+        this.name = name;
+        this.color = color;
+        this.description = description;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Constructor without aliases.
+     * @param name the name.
+     * @param color the color.
+     * @param description the description.
+     */
+    public LabelDTO(@NonNull String name, @NonNull String color, String description) {
+        this(name, color, description, null);
+    }
+
     // ------------------------------------------ Utility methods.
 
     /**
-     * A method to use the lower-cased name for {@link Object#equals(Object)} and {@link Object#hashCode()}.
-     * @return the name in lowercase.
+     * Creates the tombstone of the given label name.
+     * @param name the name of the label to delete.
+     * @return the tombstone.
+     */
+    static LabelDTO tombstone(@NonNull String name) {
+        var tombstone = new LabelDTO();
+        tombstone.name = name;
+        tombstone.delete = true;
+        return tombstone;
+    }
+
+    /**
+     * Getter for {@link #aliases} property.
+     * @return the previous names of the label, or an empty list if none.
+     */
+    public List<String> getAliases() {
+        return Objects.requireNonNullElse(aliases, List.of());
+    }
+
+    /**
+     * Gets the canonical key of the name, used for {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     * @return the key of the name.
+     */
+    LabelKey key() {
+        var result = key;
+        if (result == null) {
+            result = LabelKey.of(name);
+            key = result;
+        }
+        return result;
+    }
+
+    /**
+     * Normalizes the given color for comparison: the leading {@code #} is removed and the result is lower-cased.
+     * @param color the color.
+     * @return the normalized color, or an empty string if the color is <code>null</code>.
+     */
+    static String normalizeColor(String color) {
+        if (color == null) {
+            return "";
+        }
+        var normalized = color.trim();
+        if (normalized.startsWith("#")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalizes the given description for comparison: a <code>null</code> description is the same as an empty one.
+     * @param description the description.
+     * @return the normalized description.
+     */
+    static String normalizeDescription(String description) {
+        return Objects.requireNonNullElse(description, "");
+    }
+
+    /**
+     * Checks if the existing label has the same name, with the exact case.
+     * @param existingLabel the existing label.
+     * @return <code>true</code> if the name is the same, <code>false</code> otherwise.
+     */
+    boolean hasSameName(@NonNull ExistingLabel existingLabel) {
+        return name.equals(existingLabel.getName());
+    }
+
+    /**
+     * Checks if the existing label has the same color, ignoring case and leading {@code #}.
+     * @param existingLabel the existing label.
+     * @return <code>true</code> if the color is the same, <code>false</code> otherwise.
+     */
+    boolean hasSameColor(@NonNull ExistingLabel existingLabel) {
+        return normalizeColor(color).equals(normalizeColor(existingLabel.getColor()));
+    }
+
+    /**
+     * Checks if the existing label has the same description, <code>null</code> being equivalent to empty.
+     * @param existingLabel the existing label.
+     * @return <code>true</code> if the description is the same, <code>false</code> otherwise.
      */
-    String nameLowerCase() {
-        return name.toLowerCase(Locale.ROOT);
+    boolean hasSameDescription(@NonNull ExistingLabel existingLabel) {
+        return normalizeDescription(description).equals(normalizeDescription(existingLabel.getDescription()));
     }
 
     // ------------------------------------------ Read methods.
@@ -114,7 +236,7 @@ public class LabelDTO implements Comparable<LabelDTO> {
             return false;
         }
         LabelDTO other = (LabelDTO) obj;
-        return Objects.equals(nameLowerCase(), other.nameLowerCase());
+        return key().equals(other.key());
     }
 
     /**
@@ -122,7 +244,7 @@ public class LabelDTO implements Comparable<LabelDTO> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(nameLowerCase());
+        return key().hashCode();
     }
 
     /**
@@ -130,6 +252,6 @@ public class LabelDTO implements Comparable<LabelDTO> {
      */
     @Override
     public int compareTo(LabelDTO o) {
-        return nameLowerCase().compareTo(o.nameLowerCase());
+        return key().compareTo(o.key());
     }
 }
@@ -0,0 +1,118 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.Locale;
+
+import lombok.NonNull;
+
+/**
+ * The canonical key of a label name. <br>
+ * GitHub label names are unique regardless of case: the key is the name lower-cased. Other differences, such as the
+ * Unicode form of the name, are kept, as GitHub keeps them apart. The key is computed once, along with its hash, so
+ * that keys can be compared and hashed without allocation.
+ * @author Julb.
+ */
+final class LabelKey implements Comparable<LabelKey> {
+
+    /**
+     * The normalized name.
+     */
+    private final String value;
+
+    /**
+     * The hash of the normalized name.
+     */
+    private final int hash;
+
+    /**
+     * Hidden constructor.
+     * @param value the normalized name.
+     */
+    private LabelKey(String value) {
+        this.value = value;
+        this.hash = value.hashCode();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates the key of the given label name.
+     * @param name the label name.
+     * @return the key.
+     */
+    static LabelKey of(@NonNull String name) {
+        return new LabelKey(normalize(name));
+    }
+
+    /**
+     * Normalizes the given label name.<br>
+     * The name is lower-cased, independently of the locale.
+     * @param name the label name.
+     * @return the normalized name.
+     */
+    static String normalize(@NonNull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // ------------------------------------------ Overridden methods.
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LabelKey other)) {
+            return false;
+        }
+        return hash == other.hash && value.equals(other.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(LabelKey o) {
+        return value.compareTo(o.value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return value;
+    }
+}
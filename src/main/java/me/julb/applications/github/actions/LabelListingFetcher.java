@@ -0,0 +1,322 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The fetcher listing the labels of a repository with concurrent page requests. <br>
+ * The first page is listed with the maximum page size. When its {@code Link} header gives the last page, the remaining
+ * pages are listed concurrently with the executor, and assembled in page order. Otherwise, the {@code next} pages are
+ * listed one after the other. Pages are sent through the given connector, so that they are cached and measured like
+ * any other GitHub API request. Labels are projected to {@link ExistingLabel} while each page is streamed. A page
+ * answered with a rate limit response is requested again once the delay given by the response has elapsed, like the
+ * GitHub client does for its own requests.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class LabelListingFetcher {
+
+    /**
+     * The pattern extracting the target and the relation of a link.
+     */
+    private static final Pattern LINK = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"([^\"]+)\"");
+
+    /**
+     * The pattern matching the page parameter of a page URL.
+     */
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("([?&])page=(\\d+)");
+
+    /**
+     * The mapper reading the pages.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The GitHub API.
+     */
+    @NonNull
+    private final GitHub ghApi;
+
+    /**
+     * The connector sending the page requests.
+     */
+    @NonNull
+    private final GitHubConnector connector;
+
+    /**
+     * The GitHub token.
+     */
+    @NonNull
+    private final String token;
+
+    // @formatter:off
+    /**
+     * The executor listing the pages concurrently.
+     * -- GETTER --
+     * Getter for {@link #executor} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    @NonNull
+    private final LabelOperationExecutor executor;
+
+    /**
+     * The sleeper used to wait before requesting a page again after a rate limit response.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RateLimitBudget.Sleeper sleeper = Thread::sleep;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Lists all labels of the given repository.
+     * @param repository the repository name, as {@code owner/name}.
+     * @return the labels, in page order.
+     * @throws IOException if a page cannot be listed.
+     */
+    List<ExistingLabel> listLabels(@NonNull String repository) throws IOException {
+        return getLabels(listPages(fetchFirstPage(repository)));
+    }
+
+    /**
+     * Lists the first page of the labels of the given repository.
+     * @param repository the repository name, as {@code owner/name}.
+     * @return the first page.
+     * @throws IOException if the page cannot be listed.
+     */
+    Page fetchFirstPage(@NonNull String repository) throws IOException {
+        // @formatter:off
+        return fetchPage(String.format("%s/repos/%s/labels?per_page=%d",
+                ghApi.getApiUrl().replaceFirst("/+$", ""),
+                repository,
+                RepositoryLabelSynchronizer.LIST_PAGE_SIZE));
+        // @formatter:on
+    }
+
+    /**
+     * Lists all labels, starting from the given first page.
+     * @param firstPage the first page.
+     * @return the labels, in page order.
+     * @throws IOException if a page cannot be listed.
+     */
+    List<ExistingLabel> listLabels(@NonNull Page firstPage) throws IOException {
+        return getLabels(listPages(firstPage));
+    }
+
+    /**
+     * Lists all pages, starting from the given first page.
+     * @param firstPage the first page.
+     * @return the pages, in page order.
+     * @throws IOException if a page cannot be listed.
+     */
+    List<Page> listPages(@NonNull Page firstPage) throws IOException {
+        List<Page> pages = new ArrayList<>();
+        pages.add(firstPage);
+
+        var lastPageUrl = getLinkUrl(firstPage.getLinks(), "last").orElse(null);
+        var lastPage = lastPageUrl != null ? getPageNumber(lastPageUrl) : OptionalInt.empty();
+        if (lastPage.isPresent()) {
+            // Total known: list the remaining pages concurrently.
+            var pageNumbers = IntStream.rangeClosed(2, lastPage.getAsInt()).boxed().collect(Collectors.toList());
+            var fetchedPages = new AtomicReferenceArray<Page>(lastPage.getAsInt() + 1);
+            executor.execute(
+                    pageNumbers,
+                    pageNumber -> fetchedPages.set(pageNumber, fetchPage(getPageUrl(lastPageUrl, pageNumber))),
+                    pageNumber -> {});
+            pageNumbers.forEach(pageNumber -> pages.add(fetchedPages.get(pageNumber)));
+        } else {
+            // Total unknown: follow the next pages.
+            var nextPageUrl = getLinkUrl(firstPage.getLinks(), "next");
+            while (nextPageUrl.isPresent()) {
+                var page = fetchPage(nextPageUrl.get());
+                pages.add(page);
+                nextPageUrl = getLinkUrl(page.getLinks(), "next");
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Gets the labels of the given pages.
+     * @param pages the pages.
+     * @return the labels, in page order.
+     */
+    static List<ExistingLabel> getLabels(@NonNull List<Page> pages) {
+        List<ExistingLabel> labels = new ArrayList<>(pages.size() * RepositoryLabelSynchronizer.LIST_PAGE_SIZE);
+        pages.forEach(page -> labels.addAll(page.getLabels()));
+        return labels;
+    }
+
+    /**
+     * Lists the labels of the given page.<br>
+     * A rate limit response is retried up to {@link ApiRequest#MAX_RATE_LIMIT_RETRIES} times, after the delay it gives.
+     * @param url the URL of the page.
+     * @return the page.
+     * @throws IOException if the page cannot be listed.
+     */
+    Page fetchPage(@NonNull String url) throws IOException {
+        // @formatter:off
+        return new ApiRequest("GET", new URL(url), token).send(
+                connector,
+                sleeper,
+                statusCode -> statusCode == HttpURLConnection.HTTP_OK,
+                response -> readPage(url, response));
+        // @formatter:on
+    }
+
+    /**
+     * Reads the labels of the given page response.
+     * @param url the URL of the page.
+     * @param response the successful response.
+     * @return the page.
+     * @throws IOException if the page cannot be read.
+     */
+    private static Page readPage(String url, GitHubConnectorResponse response) throws IOException {
+        List<ExistingLabel> labels = new ArrayList<>(RepositoryLabelSynchronizer.LIST_PAGE_SIZE);
+        try (var parser = OBJECT_MAPPER.createParser(response.bodyStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException(String.format("invalid label page '%s': an array is expected", url));
+            }
+            // Project each label while streaming the page, without binding the whole page.
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException(String.format("invalid label page '%s': a label is expected", url));
+                }
+                JsonNode node = OBJECT_MAPPER.readTree(parser);
+                labels.add(ExistingLabel.of(node));
+            }
+        }
+        var links = Optional.ofNullable(response.allHeaders().get("Link")).orElse(List.of());
+        return new Page(url, response.header("ETag"), labels, links);
+    }
+
+    /**
+     * Gets the target of the link with the given relation.
+     * @param links the values of the {@code Link} headers.
+     * @param relation the relation, such as {@code next} or {@code last}.
+     * @return the target of the link, or empty if there is no such link.
+     */
+    static Optional<String> getLinkUrl(@NonNull List<String> links, @NonNull String relation) {
+        for (String link : links) {
+            var matcher = LINK.matcher(link);
+            while (matcher.find()) {
+                if (relation.equals(matcher.group(2))) {
+                    return Optional.of(matcher.group(1));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the page number of the given page URL.
+     * @param url the URL of the page.
+     * @return the page number, or empty if the URL has no page parameter.
+     */
+    static OptionalInt getPageNumber(@NonNull String url) {
+        var matcher = PAGE_PARAMETER.matcher(url);
+        if (matcher.find()) {
+            return OptionalInt.of(Integer.parseInt(matcher.group(2)));
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Gets the URL of the given page, derived from the URL of another page.
+     * @param url the URL of another page.
+     * @param pageNumber the page number.
+     * @return the URL of the page.
+     */
+    static String getPageUrl(@NonNull String url, int pageNumber) {
+        return PAGE_PARAMETER.matcher(url).replaceFirst("$1page=" + pageNumber);
+    }
+
+    /**
+     * A page of labels. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    static class Page {
+
+        /**
+         * The URL of the page.
+         */
+        private final String url;
+
+        /**
+         * The {@code ETag} of the page, or <code>null</code> if none.
+         */
+        private final String etag;
+
+        /**
+         * The labels of the page.
+         */
+        private final List<ExistingLabel> labels;
+
+        /**
+         * The values of the {@code Link} headers of the page.
+         */
+        private final List<String> links;
+
+        /**
+         * Gets the number of pages of the listing, when this page is the first one.
+         * @return the number of pages, or empty if a next page is advertised without the last one.
+         */
+        OptionalInt getPageCount() {
+            var lastPageUrl = getLinkUrl(links, "last");
+            if (lastPageUrl.isPresent()) {
+                return getPageNumber(lastPageUrl.get());
+            }
+            return getLinkUrl(links, "next").isPresent() ? OptionalInt.empty() : OptionalInt.of(1);
+        }
+    }
+}
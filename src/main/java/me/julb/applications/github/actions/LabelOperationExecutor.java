@@ -0,0 +1,189 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The executor applying label operations with a bounded concurrency. <br>
+ * Operations are dispatched to at most {@link #getParallelism()} workers. Each completion is reported by the worker as
+ * soon as its operation has succeeded, one completion at a time, so that a completion is never held back by slower
+ * operations. The first failure stops the dispatch of remaining operations, and failures are reported in the order of
+ * the given items.
+ * @author Julb.
+ */
+class LabelOperationExecutor {
+
+    // @formatter:off
+    /**
+     * The maximum number of operations running at the same time.
+     * -- GETTER --
+     * Getter for {@link #parallelism} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final int parallelism;
+
+    /**
+     * Default constructor.
+     * @param parallelism the maximum number of operations running at the same time.
+     */
+    LabelOperationExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("parallelism must be positive: %d", parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Applies the given operation on all items.
+     * @param <T> the item type.
+     * @param items the items to process.
+     * @param operation the operation to apply on each item.
+     * @param onCompletion the callback invoked by the worker, one item at a time, as soon as an item is processed
+     *        successfully. A failure of the callback is reported as a failure of the item.
+     * @throws IOException if an operation fails. Other failures are attached as suppressed exceptions.
+     */
+    <T> void execute(@NonNull List<T> items, @NonNull Operation<T> operation, @NonNull Consumer<T> onCompletion)
+            throws IOException {
+        var failures = new AtomicReferenceArray<Exception>(items.size());
+        var cursor = new AtomicInteger();
+        var halted = new AtomicBoolean();
+        var completionLock = new Object();
+
+        Runnable worker = () -> {
+            int index;
+            while (!halted.get() && (index = cursor.getAndIncrement()) < items.size()) {
+                try {
+                    operation.apply(items.get(index));
+                    synchronized (completionLock) {
+                        onCompletion.accept(items.get(index));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failures.set(index, e);
+                    halted.set(true);
+                }
+            }
+        };
+
+        var workers = Math.min(parallelism, items.size());
+        if (workers <= 1) {
+            worker.run();
+        } else {
+            runWorkers(worker, workers);
+        }
+
+        // Report failures in a deterministic order.
+        Exception failure = null;
+        for (var i = 0; i < items.size(); i++) {
+            if (failures.get(i) != null) {
+                if (failure == null) {
+                    failure = failures.get(i);
+                } else {
+                    failure.addSuppressed(failures.get(i));
+                }
+            }
+        }
+
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Runs the given worker on the given number of threads and waits for their completion.
+     * @param worker the worker.
+     * @param workers the number of threads.
+     * @throws IOException if the wait is interrupted.
+     */
+    private void runWorkers(Runnable worker, int workers) throws IOException {
+        var executorService = newExecutorService(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (var i = 0; i < workers; i++) {
+                futures.add(executorService.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the executor service used to run the workers.<br>
+     * Virtual threads are used when the runtime supports them, a fixed thread pool otherwise.
+     * @param threads the number of threads required.
+     * @return the executor service.
+     */
+    static ExecutorService newExecutorService(int threads) {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    /**
+     * An operation applied on a label item. <br>
+     * @param <T> the item type.
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface Operation<T> {
+
+        /**
+         * Applies the operation on the given item.
+         * @param item the item.
+         * @throws IOException if an error occurs.
+         */
+        void apply(T item) throws IOException;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * The engine reconciling the labels to synchronize with the existing labels of a repository. <br>
+ * Both inputs are indexed by label key. Each source label is matched with a single lookup in the existing
+ * labels, and each alias of a label to create with a single lookup in the same index: the plan is computed in linear
+ * time of the labels and aliases, and only the operations kept in the plan are sorted.
+ * @author Julb.
+ */
+final class LabelReconciler {
+
+    /**
+     * Hidden constructor.
+     */
+    private LabelReconciler() {
+        // Nothing to do.
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Computes the plan bringing the existing labels in line with the labels to synchronize.<br>
+     * An existing label which is not synchronized but matches an alias of a label to create is renamed instead of being
+     * deleted and created again. An existing label matching a tombstone is deleted, even if the other existing labels
+     * are kept.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param existingLabels the existing labels, indexed by label key.
+     * @param skipDelete <code>true</code> to keep the existing labels which are not synchronized.
+     * @return the plan.
+     */
+    static SyncPlan reconcile(
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize,
+            @NonNull Map<LabelKey, ExistingLabel> existingLabels,
+            boolean skipDelete) {
+        var namesToCreate = new HashSet<LabelKey>();
+        var updates = new ArrayList<Map.Entry<LabelKey, ExistingLabel>>();
+        var namesUpToDate = new ArrayList<LabelKey>();
+        var namesToDelete = new ArrayList<LabelKey>();
+        for (Map.Entry<LabelKey, LabelDTO> entry : labelsToSynchronize.entrySet()) {
+            var existingLabel = existingLabels.get(entry.getKey());
+            if (entry.getValue().isDelete()) {
+                if (existingLabel != null) {
+                    namesToDelete.add(entry.getKey());
+                }
+            } else if (existingLabel == null) {
+                namesToCreate.add(entry.getKey());
+            } else if (isUpToDate(entry.getValue(), existingLabel)) {
+                namesUpToDate.add(entry.getKey());
+            } else {
+                updates.add(Map.entry(entry.getKey(), existingLabel));
+            }
+        }
+
+        // Labels to create matching an unmatched existing label through an alias rename it instead.
+        var remainingNamesToCreate = new ArrayList<LabelKey>(namesToCreate.size());
+        var renamedNames = new HashSet<LabelKey>();
+        for (LabelKey name : sortedNamesToCreate(namesToCreate)) {
+            var renamedName = getRenamedName(labelsToSynchronize.get(name), labelsToSynchronize, existingLabels);
+            if (renamedName != null && renamedNames.add(renamedName)) {
+                updates.add(Map.entry(name, existingLabels.get(renamedName)));
+            } else {
+                remainingNamesToCreate.add(name);
+            }
+        }
+
+        // Existing labels left unmatched are deleted.
+        var matchedCount = updates.size() + namesUpToDate.size() + namesToDelete.size();
+        if (!skipDelete && matchedCount < existingLabels.size()) {
+            for (LabelKey name : existingLabels.keySet()) {
+                if (!labelsToSynchronize.containsKey(name) && !renamedNames.contains(name)) {
+                    namesToDelete.add(name);
+                }
+            }
+        }
+
+        // Sort operations by name for the output only.
+        updates.sort(Map.Entry.comparingByKey());
+        Collections.sort(namesUpToDate);
+        Collections.sort(namesToDelete);
+
+        List<Map.Entry<LabelDTO, ExistingLabel>> labelsToUpdate = new ArrayList<>(updates.size());
+        for (Map.Entry<LabelKey, ExistingLabel> update : updates) {
+            labelsToUpdate.add(Map.entry(labelsToSynchronize.get(update.getKey()), update.getValue()));
+        }
+
+        // @formatter:off
+        return new SyncPlan(
+                remainingNamesToCreate.stream().map(labelsToSynchronize::get).toList(),
+                labelsToUpdate,
+                namesUpToDate.stream().map(labelsToSynchronize::get).toList(),
+                namesToDelete.stream().map(existingLabels::get).toList());
+        // @formatter:on
+    }
+
+    /**
+     * Sorts the names of the labels to create.<br>
+     * Aliases are resolved in that order so that a conflict between aliases is always resolved the same way.
+     * @param namesToCreate the names of the labels to create.
+     * @return the sorted names.
+     */
+    private static List<LabelKey> sortedNamesToCreate(Set<LabelKey> namesToCreate) {
+        var names = new ArrayList<>(namesToCreate);
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Gets the existing label renamed to the given label.<br>
+     * Aliases are looked up in declaration order in the existing labels, which index is used as the alias index: the
+     * lookup costs one hash access per alias. Existing labels which are synchronized under their own name, or deleted
+     * by a tombstone, are never renamed.
+     * @param label the label to create.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param existingLabels the existing labels, indexed by label key.
+     * @return the key of the existing label to rename, or <code>null</code> if none.
+     */
+    static LabelKey getRenamedName(
+            @NonNull LabelDTO label,
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize,
+            @NonNull Map<LabelKey, ExistingLabel> existingLabels) {
+        for (String alias : label.getAliases()) {
+            var name = LabelKey.of(alias);
+            if (existingLabels.containsKey(name) && !labelsToSynchronize.containsKey(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the existing label already matches the source label.<br>
+     * Colors are compared ignoring case and leading {@code #}, <code>null</code> and empty descriptions are equivalent,
+     * and names must match with the exact case.
+     * @param sourceLabel the source label.
+     * @param existingLabel the existing label.
+     * @return <code>true</code> if no update is required, <code>false</code> otherwise.
+     */
+    static boolean isUpToDate(@NonNull LabelDTO sourceLabel, @NonNull ExistingLabel existingLabel) {
+        // @formatter:off
+        return sourceLabel.hasSameName(existingLabel)
+                && sourceLabel.hasSameColor(existingLabel)
+                && sourceLabel.hasSameDescription(existingLabel);
+        // @formatter:on
+    }
+}
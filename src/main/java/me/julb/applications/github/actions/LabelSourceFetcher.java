@@ -0,0 +1,271 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The fetcher downloading remote label sources. <br>
+ * All URLs are downloaded concurrently over the given HTTP client, with gzip compression. Repeated URLs are downloaded
+ * once. When a cache directory is provided, the {@code ETag} and {@code Last-Modified} validators of each source are
+ * persisted with its content and sent back on the next download, so that an unchanged source is answered with a
+ * {@code 304 Not Modified}.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class LabelSourceFetcher {
+
+    /**
+     * The connect timeout of the shared HTTP client.
+     */
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The timeout of a source download.
+     */
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * The HTTP client shared by all fetchers.
+     */
+    // @formatter:off
+    static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    // @formatter:on
+
+    /**
+     * The mapper used to read and write cache entries.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The HTTP client.
+     */
+    @NonNull
+    private final HttpClient httpClient;
+
+    /**
+     * The directory where the sources are cached, or <code>null</code> to disable the cache.
+     */
+    private final Path cacheDirectory;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Downloads the given URLs concurrently.
+     * @param urls the URLs.
+     * @return the content of each distinct URL, in the order of the given URLs.
+     * @throws IOException if a download fails.
+     */
+    Map<String, byte[]> fetch(@NonNull Collection<String> urls) throws IOException {
+        Map<String, CompletableFuture<byte[]>> downloads = new LinkedHashMap<>();
+        for (String url : new LinkedHashSet<>(urls)) {
+            downloads.put(url, fetchAsync(url));
+        }
+
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<byte[]>> download : downloads.entrySet()) {
+                contents.put(download.getKey(), download.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            downloads.values().forEach(download -> download.cancel(true));
+        }
+        return contents;
+    }
+
+    /**
+     * Downloads the given URL.
+     * @param url the URL.
+     * @return the future content.
+     */
+    private CompletableFuture<byte[]> fetchAsync(String url) {
+        var cacheFile = getCacheFile(url);
+        var cacheEntry = readCacheEntry(cacheFile, url);
+
+        // @formatter:off
+        var requestBuilder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        // @formatter:on
+        if (cacheEntry != null && cacheEntry.getEtag() != null) {
+            requestBuilder.header("If-None-Match", cacheEntry.getEtag());
+        }
+        if (cacheEntry != null && cacheEntry.getLastModified() != null) {
+            requestBuilder.header("If-Modified-Since", cacheEntry.getLastModified());
+        }
+
+        // @formatter:off
+        return httpClient.sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        return handleResponse(url, response, cacheFile, cacheEntry);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+        // @formatter:on
+    }
+
+    /**
+     * Gets the content of a source from its download response.
+     * @param url the URL.
+     * @param response the response.
+     * @param cacheFile the cache file.
+     * @param cacheEntry the cache entry sent as validator, or <code>null</code>.
+     * @return the content.
+     * @throws IOException if the download failed.
+     */
+    private byte[] handleResponse(String url, HttpResponse<byte[]> response, Path cacheFile, CacheEntry cacheEntry)
+            throws IOException {
+        if (response.statusCode() == 304 && cacheEntry != null) {
+            return cacheEntry.getBody();
+        } else if (response.statusCode() != 200) {
+            throw new IOException(String.format("fetch of '%s' failed with status %d.", url, response.statusCode()));
+        }
+
+        var body = response.body();
+        if ("gzip".equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(""))) {
+            try (var is = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = is.readAllBytes();
+            }
+        }
+
+        var etag = response.headers().firstValue("ETag").orElse(null);
+        var lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        if (cacheFile != null && (etag != null || lastModified != null)) {
+            writeCacheEntry(cacheFile, new CacheEntry(url, etag, lastModified, body));
+        }
+        return body;
+    }
+
+    /**
+     * Gets the file holding the cache entry of the given URL.
+     * @param url the URL.
+     * @return the cache file, or <code>null</code> if the cache is disabled.
+     */
+    Path getCacheFile(@NonNull String url) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        return cacheDirectory.resolve(Hashing.sha256().hashString(url, StandardCharsets.UTF_8) + ".json");
+    }
+
+    /**
+     * Reads the cache entry of the given URL.<br>
+     * An unreadable entry is ignored: the source is then downloaded again.
+     * @param cacheFile the cache file.
+     * @param url the URL.
+     * @return the cache entry, or <code>null</code> if there is no usable entry.
+     */
+    private CacheEntry readCacheEntry(Path cacheFile, String url) {
+        if (cacheFile == null) {
+            return null;
+        }
+        // @formatter:off
+        return AtomicFiles.read(cacheFile, content -> OBJECT_MAPPER.readValue(content, CacheEntry.class))
+                .filter(cacheEntry -> url.equals(cacheEntry.getUrl()) && cacheEntry.getBody() != null)
+                .orElse(null);
+        // @formatter:on
+    }
+
+    /**
+     * Writes the cache entry in the given file.
+     * @param cacheFile the cache file.
+     * @param cacheEntry the cache entry.
+     * @throws IOException if an error occurs.
+     */
+    private void writeCacheEntry(Path cacheFile, CacheEntry cacheEntry) throws IOException {
+        AtomicFiles.write(cacheFile, OBJECT_MAPPER.writeValueAsBytes(cacheEntry));
+    }
+
+    /**
+     * The persisted source. <br>
+     * @author Julb.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    static class CacheEntry {
+
+        /**
+         * The URL of the source.
+         */
+        private String url;
+
+        /**
+         * The ETag of the source.
+         */
+        private String etag;
+
+        /**
+         * The last modification date of the source.
+         */
+        private String lastModified;
+
+        /**
+         * The content of the source.
+         */
+        private byte[] body;
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import org.apache.commons.io.FilenameUtils;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The streaming parser of label sources. <br>
+ * A source is a JSON or YAML array of labels. Labels are read one by one and handed over to a consumer, so that the
+ * memory used does not depend on the size of the source. The readers are built once and shared.
+ * @author Julb.
+ */
+final class LabelSourceParser {
+
+    /**
+     * Hidden constructor.
+     */
+    private LabelSourceParser() {
+        // Nothing to do.
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Parses the given source and hands over each label to the consumer, in source order.
+     * @param labelSource the label source name, for error reporting.
+     * @param format the source format.
+     * @param is the source stream.
+     * @param consumer the consumer of labels.
+     * @return the number of labels read.
+     * @throws IOException if the source cannot be read or is invalid, with the line and column of the error.
+     */
+    static int parse(
+            @NonNull String labelSource,
+            @NonNull Format format,
+            @NonNull InputStream is,
+            @NonNull Consumer<LabelDTO> consumer)
+            throws IOException {
+        return parse(labelSource, format, is, (label, line, column) -> consumer.accept(label));
+    }
+
+    /**
+     * Parses the given source and hands over each label to the consumer with its position, in source order.
+     * @param labelSource the label source name, for error reporting.
+     * @param format the source format.
+     * @param is the source stream.
+     * @param consumer the consumer of labels and positions.
+     * @return the number of labels read.
+     * @throws IOException if the source cannot be read or is invalid, with the line and column of the error.
+     */
+    static int parse(
+            @NonNull String labelSource,
+            @NonNull Format format,
+            @NonNull InputStream is,
+            @NonNull LocatedLabelConsumer consumer)
+            throws IOException {
+        var reader = format.getReader();
+        try (var parser = reader.createParser(is)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw invalidSource(labelSource, parser.currentLocation(), "an array of labels is expected");
+            }
+
+            var count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw invalidSource(labelSource, parser.currentLocation(), "a label object is expected");
+                }
+                var location = parser.currentTokenLocation();
+                consumer.accept(reader.readValue(parser), location.getLineNr(), location.getColumnNr());
+                count++;
+            }
+            return count;
+        } catch (JsonProcessingException e) {
+            throw invalidSource(labelSource, e.getLocation(), e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Builds the exception reporting an invalid source.
+     * @param labelSource the label source name.
+     * @param location the location of the error, if known.
+     * @param message the error message.
+     * @return the exception.
+     */
+    private static IOException invalidSource(String labelSource, JsonLocation location, String message) {
+        if (location == null || location.getLineNr() < 0) {
+            return new IOException(String.format("invalid label source '%s': %s", labelSource, message));
+        }
+        return new IOException(String.format(
+                "invalid label source '%s' at line %d, column %d: %s",
+                labelSource,
+                location.getLineNr(),
+                location.getColumnNr(),
+                message));
+    }
+
+    /**
+     * The consumer of labels read from a source, with their position. <br>
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface LocatedLabelConsumer {
+
+        /**
+         * Consumes the given label.
+         * @param label the label.
+         * @param line the line of the label in the source, starting at 1, or -1 if unknown.
+         * @param column the column of the label in the source, starting at 1, or -1 if unknown.
+         */
+        void accept(LabelDTO label, int line, int column);
+    }
+
+    /**
+     * The format of a label source. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    enum Format {
+        /**
+         * A JSON source.
+         */
+        JSON(new ObjectMapper().readerFor(LabelDTO.class)),
+
+        /**
+         * A YAML source.
+         */
+        YAML(new ObjectMapper(new YAMLFactory()).readerFor(LabelDTO.class));
+
+        // @formatter:off
+        /**
+         * The shared reader of labels.
+         * -- GETTER --
+         * Getter for {@link #reader} property.
+         * @return the value.
+         */
+        // @formatter:on
+        @Getter
+        private final ObjectReader reader;
+
+        /**
+         * Gets the format of the given source from its extension.
+         * @param labelSource the label source.
+         * @return the format.
+         * @throws IllegalArgumentException if the extension is not supported.
+         */
+        static Format of(@NonNull String labelSource) {
+            var extension = FilenameUtils.getExtension(labelSource);
+            if ("yaml".equalsIgnoreCase(extension) || "yml".equalsIgnoreCase(extension)) {
+                return YAML;
+            } else if ("json".equalsIgnoreCase(extension)) {
+                return JSON;
+            } else {
+                throw new IllegalArgumentException(labelSource);
+            }
+        }
+    }
+}
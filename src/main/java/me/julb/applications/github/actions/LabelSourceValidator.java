@@ -0,0 +1,196 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The validator of the labels of one source, run before any write. <br>
+ * A label rejected by GitHub would fail the synchronization midway, once the previous operations are spent: all the
+ * problems of a source are collected in a single pass instead, each with its position in the source. Suspicious
+ * content accepted by GitHub, such as a malformed emoji shortcode, is collected as a warning which does not fail the
+ * run.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class LabelSourceValidator {
+
+    /**
+     * The maximum length of a label name, in characters.
+     */
+    static final int MAX_NAME_LENGTH = 50;
+
+    /**
+     * The maximum length of a label description, in characters.
+     */
+    static final int MAX_DESCRIPTION_LENGTH = 100;
+
+    /**
+     * The pattern of a color: six hexadecimal digits, with an optional leading {@code #}.
+     */
+    private static final Pattern COLOR = Pattern.compile("#?[0-9a-fA-F]{6}");
+
+    /**
+     * The pattern of an emoji shortcode candidate, such as {@code :bug:}.
+     */
+    private static final Pattern SHORTCODE = Pattern.compile(":([^:\\s]+):");
+
+    /**
+     * The pattern of a well-formed emoji shortcode name.
+     */
+    private static final Pattern SHORTCODE_NAME = Pattern.compile("[a-z0-9_+\\-]+");
+
+    /**
+     * The label source name.
+     */
+    @NonNull
+    private final String labelSource;
+
+    /**
+     * The position of the labels already validated, indexed by label key.
+     */
+    private final Map<LabelKey, String> positions = new HashMap<>();
+
+    // @formatter:off
+    /**
+     * The problems found, in source order.
+     * -- GETTER --
+     * Getter for {@link #problems} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final List<String> problems = new ArrayList<>();
+
+    // @formatter:off
+    /**
+     * The warnings found, in source order.
+     * -- GETTER --
+     * Getter for {@link #warnings} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final List<String> warnings = new ArrayList<>();
+
+    /**
+     * The number of labels validated.
+     */
+    private int count;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Validates the given label, read at the given position of the source.<br>
+     * Tombstones have no color nor description: only their name is validated.
+     * @param label the label.
+     * @param line the line of the label in the source, or -1 if unknown.
+     * @param column the column of the label in the source, or -1 if unknown.
+     */
+    void validate(@NonNull LabelDTO label, int line, int column) {
+        count++;
+        var position = line > 0 ? String.format("line %d, column %d", line, column) : "label " + count;
+
+        var name = label.getName();
+        if (name == null || name.isBlank()) {
+            addProblem(position, "label name is missing.");
+            return;
+        }
+        if (name.codePointCount(0, name.length()) > MAX_NAME_LENGTH) {
+            addProblem(position, String.format(
+                    "label '%s' name is longer than %d characters.", name, MAX_NAME_LENGTH));
+        }
+        validateShortcodes(position, name, name);
+
+        var duplicatePosition = positions.putIfAbsent(label.key(), position);
+        if (duplicatePosition != null) {
+            addProblem(position, String.format(
+                    "label '%s' is a duplicate of the label at %s.", name, duplicatePosition));
+        }
+
+        if (label.isDelete()) {
+            return;
+        }
+
+        var color = label.getColor();
+        if (color == null) {
+            addProblem(position, String.format("label '%s' color is missing.", name));
+        } else if (!COLOR.matcher(color).matches()) {
+            addProblem(position, String.format("label '%s' color '%s' is not a hexadecimal color.", name, color));
+        }
+
+        var description = label.getDescription();
+        if (description != null) {
+            if (description.codePointCount(0, description.length()) > MAX_DESCRIPTION_LENGTH) {
+                addProblem(position, String.format(
+                        "label '%s' description is longer than %d characters.", name, MAX_DESCRIPTION_LENGTH));
+            }
+            validateShortcodes(position, name, description);
+        }
+    }
+
+    /**
+     * Checks the emoji shortcodes of the given text: shortcode names are lower-case letters, digits, {@code _},
+     * {@code +} or {@code -}. GitHub accepts any text, so a malformed shortcode is only a warning.
+     * @param position the position of the label.
+     * @param name the name of the label.
+     * @param text the name or description of the label.
+     */
+    private void validateShortcodes(String position, String name, String text) {
+        var matcher = SHORTCODE.matcher(text);
+        while (matcher.find()) {
+            if (!SHORTCODE_NAME.matcher(matcher.group(1)).matches()) {
+                warnings.add(format(position, String.format(
+                        "label '%s' has a malformed emoji shortcode '%s'.", name, matcher.group())));
+            }
+        }
+    }
+
+    /**
+     * Adds a problem found at the given position.
+     * @param position the position of the label.
+     * @param message the problem.
+     */
+    private void addProblem(String position, String message) {
+        problems.add(format(position, message));
+    }
+
+    /**
+     * Formats a problem or warning found at the given position.
+     * @param position the position of the label.
+     * @param message the problem or warning.
+     * @return the message, prefixed by the source and the position.
+     */
+    private String format(String position, String message) {
+        return String.format("'%s' %s: %s", labelSource, position, message);
+    }
+}
@@ -0,0 +1,491 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The server correcting the label drift of repositories from GitHub webhook deliveries. <br>
+ * The labels and options are read once from the action inputs and kept in memory. A {@code label} event reconciles
+ * the label of the event in its repository, looked up by name. A {@code push} event on the default branch of the
+ * source repository reloads the label sources, and reconciles all the repositories if the labels changed. Deliveries
+ * are authenticated with the {@code X-Hub-Signature-256} header, and bursts are coalesced per repository by a
+ * debounced work queue.
+ * @author Julb.
+ */
+public class LabelWebhookServer implements Closeable {
+
+    /**
+     * The default port of the server.
+     */
+    static final int DEFAULT_PORT = 8080;
+
+    /**
+     * The default time waited for other deliveries of the same repository, in seconds.
+     */
+    static final int DEFAULT_DEBOUNCE = 5;
+
+    /**
+     * The factor between the debounce delay and the maximum time a reconciliation waits.
+     */
+    static final int MAX_DEBOUNCE_FACTOR = 10;
+
+    /**
+     * The header holding the signature of the delivery.
+     */
+    static final String SIGNATURE_HEADER = "X-Hub-Signature-256";
+
+    /**
+     * The header holding the event of the delivery.
+     */
+    static final String EVENT_HEADER = "X-GitHub-Event";
+
+    /**
+     * The work queue key of the label sources reload, which is not a repository name.
+     */
+    private static final String SOURCES_KEY = "";
+
+    /**
+     * The mapper reading the payloads.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The action synchronizing the repositories.
+     */
+    private final ManageLabelGitHubAction action;
+
+    /**
+     * The GitHub action kit.
+     */
+    private final GitHubActionsKit ghActionsKit;
+
+    /**
+     * The function signing the deliveries with the webhook secret.
+     */
+    private final HashFunction signatureFunction;
+
+    /**
+     * The queue of reconciliations, indexed by repository name.
+     */
+    private final DebouncedWorkQueue<String, Work> workQueue;
+
+    /**
+     * The name of the repository holding the label sources, or <code>null</code> if push events are ignored.
+     */
+    private final String sourceRepository;
+
+    /**
+     * The HTTP server, once started.
+     */
+    private HttpServer httpServer;
+
+    /**
+     * The label sources.
+     */
+    private String[] labelSources;
+
+    /**
+     * The synchronization options.
+     */
+    private SynchronizationOptions options;
+
+    /**
+     * The names of the repositories to synchronize, indexed by lower-cased name.
+     */
+    private Map<String, String> repositoryNames;
+
+    /**
+     * The labels to synchronize, indexed by label key.
+     */
+    private volatile Map<LabelKey, LabelDTO> labelsToSynchronize;
+
+    /**
+     * The fingerprint of the labels and options.
+     */
+    private volatile String fingerprint;
+
+    /**
+     * Default constructor.
+     * @param action the action synchronizing the repositories.
+     * @param ghActionsKit the GitHub action kit.
+     * @param secret the webhook secret.
+     * @param debounce the time waited for other deliveries of the same repository.
+     * @param sourceRepository the name of the repository holding the label sources, or <code>null</code> to ignore
+     * push events.
+     */
+    LabelWebhookServer(
+            @NonNull ManageLabelGitHubAction action,
+            @NonNull GitHubActionsKit ghActionsKit,
+            @NonNull String secret,
+            @NonNull Duration debounce,
+            String sourceRepository) {
+        if (secret.isEmpty()) {
+            throw new IllegalArgumentException("webhook secret must not be empty");
+        }
+        this.action = action;
+        this.ghActionsKit = ghActionsKit;
+        this.signatureFunction = Hashing.hmacSha256(secret.getBytes(StandardCharsets.UTF_8));
+        this.sourceRepository = sourceRepository;
+        this.workQueue = new DebouncedWorkQueue<>(
+                debounce, debounce.multipliedBy(MAX_DEBOUNCE_FACTOR), Work::merge, this::run);
+    }
+
+    /**
+     * Starts the server from the action inputs, and the "WEBHOOK_SECRET", "WEBHOOK_PORT", "WEBHOOK_DEBOUNCE" and
+     * "WEBHOOK_SOURCE_REPOSITORY" environment variables.<br>
+     * The source repository defaults to the "GITHUB_REPOSITORY" environment variable. The server runs until the JVM
+     * exits.
+     * @throws IOException if the labels cannot be read or the server cannot be started.
+     */
+    public static void serve() throws IOException {
+        var ghActionsKit = GitHubActionsKit.INSTANCE;
+        var port = ghActionsKit.getEnv("WEBHOOK_PORT").map(Integer::parseInt).orElse(DEFAULT_PORT);
+        var debounce = ghActionsKit.getEnv("WEBHOOK_DEBOUNCE").map(Integer::parseInt).orElse(DEFAULT_DEBOUNCE);
+        var sourceRepository = ghActionsKit.getEnv("WEBHOOK_SOURCE_REPOSITORY")
+                .or(() -> ghActionsKit.getEnv("GITHUB_REPOSITORY"))
+                .orElse(null);
+
+        // @formatter:off
+        var server = new LabelWebhookServer(
+                new ManageLabelGitHubAction(),
+                ghActionsKit,
+                ghActionsKit.getRequiredEnv("WEBHOOK_SECRET"),
+                Duration.ofSeconds(debounce),
+                sourceRepository);
+        // @formatter:on
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start(new InetSocketAddress(port));
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Reads the labels and options, starts listening and schedules the reconciliation of all the repositories, to
+     * correct the drift accumulated while the server was down.
+     * @param address the address to listen to.
+     * @throws IOException if the labels cannot be read or the server cannot be started.
+     */
+    void start(@NonNull InetSocketAddress address) throws IOException {
+        action.connectApi();
+        labelSources = action.getInputFrom();
+        repositoryNames = new LinkedHashMap<>();
+        for (String repositoryName : action.resolveRepositories(action.getInputRepositories())) {
+            repositoryNames.put(repositoryName.toLowerCase(Locale.ROOT), repositoryName);
+        }
+        // @formatter:off
+        options = action.newSynchronizationOptions(
+                action.getInputSkipDelete(),
+                action.getInputParallelism(),
+                action.getInputRateLimitStrategy(),
+                action.getInputWriteBackend(),
+                action.getInputGraphQLBatchSize());
+        // @formatter:on
+        labelsToSynchronize = Collections.unmodifiableMap(action.getInputLabels(labelSources));
+        fingerprint = FingerprintStore.fingerprint(labelsToSynchronize, options);
+
+        httpServer = HttpServer.create(address, 0);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+        ghActionsKit.notice(String.format(
+                "webhook server listening on port %d for %d repositories.", getPort(), repositoryNames.size()));
+
+        repositoryNames.values().forEach(repositoryName -> workQueue.submit(repositoryName, Work.all()));
+    }
+
+    /**
+     * Gets the port the server listens to.
+     * @return the port.
+     */
+    int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Handles a webhook delivery.
+     * @param exchange the exchange.
+     * @throws IOException if an error occurs.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            var body = exchange.getRequestBody().readAllBytes();
+            if (!isSignatureValid(body, exchange.getRequestHeaders().getFirst(SIGNATURE_HEADER))) {
+                ghActionsKit.warning("webhook delivery rejected: invalid signature.");
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+
+            JsonNode payload;
+            try {
+                payload = OBJECT_MAPPER.readTree(body);
+            } catch (JsonProcessingException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            var event = Objects.requireNonNullElse(exchange.getRequestHeaders().getFirst(EVENT_HEADER), "");
+            exchange.sendResponseHeaders(onEvent(event, payload), -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Schedules the reconciliation required by the given event.
+     * @param event the event.
+     * @param payload the payload of the event.
+     * @return the response status: 202 if a reconciliation is scheduled, 200 or 204 otherwise.
+     */
+    int onEvent(@NonNull String event, @NonNull JsonNode payload) {
+        switch (event) {
+            case "ping":
+                return 200;
+            case "label":
+                return onLabelEvent(payload);
+            case "push":
+                return onPushEvent(payload);
+            default:
+                return 204;
+        }
+    }
+
+    /**
+     * Schedules the reconciliation of the label of a {@code label} event, and of its previous name if renamed.
+     * @param payload the payload of the event.
+     * @return the response status: 202 if a reconciliation is scheduled, 204 if the repository is not synchronized.
+     */
+    private int onLabelEvent(JsonNode payload) {
+        var fullName = payload.path("repository").path("full_name").asText("");
+        var repositoryName = repositoryNames.get(fullName.toLowerCase(Locale.ROOT));
+        var name = payload.path("label").path("name").asText("");
+        if (repositoryName == null || name.isEmpty()) {
+            return 204;
+        }
+
+        var names = new HashSet<String>();
+        names.add(name);
+        var previousName = payload.path("changes").path("name").path("from");
+        if (previousName.isTextual()) {
+            names.add(previousName.asText());
+        }
+        ghActionsKit.debug(String.format(
+                "[%s] label event '%s' on %s.", repositoryName, payload.path("action").asText(), names));
+        workQueue.submit(repositoryName, Work.labels(names));
+        return 202;
+    }
+
+    /**
+     * Schedules the reload of the label sources on a {@code push} event on the default branch of the source
+     * repository.
+     * @param payload the payload of the event.
+     * @return the response status: 202 if the reload is scheduled, 204 if the push is not on the default branch of the
+     * source repository.
+     */
+    private int onPushEvent(JsonNode payload) {
+        var fullName = payload.path("repository").path("full_name").asText("");
+        if (sourceRepository == null || !sourceRepository.equalsIgnoreCase(fullName)) {
+            return 204;
+        }
+        var defaultBranch = payload.path("repository").path("default_branch").asText("");
+        if (defaultBranch.isEmpty() || !payload.path("ref").asText("").equals("refs/heads/" + defaultBranch)) {
+            return 204;
+        }
+        workQueue.submit(SOURCES_KEY, Work.all());
+        return 202;
+    }
+
+    /**
+     * Runs a reconciliation of the work queue.
+     * @param key the repository name, or the key of the label sources reload.
+     * @param work the work.
+     */
+    private void run(String key, Work work) {
+        try {
+            if (SOURCES_KEY.equals(key)) {
+                reloadLabels();
+            } else if (work.isAll()) {
+                action.synchronizeRepository(key, labelsToSynchronize, options, null, null);
+            } else {
+                action.synchronizeRepositoryLabels(key, labelsToSynchronize, options, work.getLabelNames());
+            }
+        } catch (RuntimeException e) {
+            ghActionsKit.error(String.format("[%s] reconciliation failed: %s", key, e.getMessage()));
+        }
+    }
+
+    /**
+     * Reloads the label sources, and schedules the reconciliation of all the repositories if the labels changed.<br>
+     * The labels in memory are kept if the sources cannot be read or are invalid.
+     */
+    private void reloadLabels() {
+        try {
+            var labels = Collections.unmodifiableMap(action.getInputLabels(labelSources));
+            var labelsFingerprint = FingerprintStore.fingerprint(labels, options);
+            if (labelsFingerprint.equals(fingerprint)) {
+                ghActionsKit.notice("labels unchanged, reconciliation skipped.");
+                return;
+            }
+
+            labelsToSynchronize = labels;
+            fingerprint = labelsFingerprint;
+            ghActionsKit.notice(String.format(
+                    "labels changed, %d repositories scheduled for reconciliation.", repositoryNames.size()));
+            repositoryNames.values().forEach(repositoryName -> workQueue.submit(repositoryName, Work.all()));
+        } catch (IOException e) {
+            ghActionsKit.error(String.format("labels not reloaded: %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Checks the signature of a delivery: the HMAC-SHA256 of the body with the webhook secret, in constant time.
+     * @param body the body of the delivery.
+     * @param signature the signature header, as {@code sha256=<hex>}, or <code>null</code> if missing.
+     * @return <code>true</code> if the signature is valid, <code>false</code> otherwise.
+     */
+    boolean isSignatureValid(@NonNull byte[] body, String signature) {
+        if (signature == null) {
+            return false;
+        }
+        // @formatter:off
+        return MessageDigest.isEqual(
+                sign(body).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+        // @formatter:on
+    }
+
+    /**
+     * Signs the given delivery body.
+     * @param body the body of the delivery.
+     * @return the signature, as {@code sha256=<hex>}.
+     */
+    String sign(@NonNull byte[] body) {
+        return "sha256=" + signatureFunction.hashBytes(body);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        workQueue.close();
+    }
+
+    /**
+     * The reconciliation of a repository: all its labels, or only some of them. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class Work {
+
+        /**
+         * The reconciliation of all the labels.
+         */
+        private static final Work ALL = new Work(null);
+
+        // @formatter:off
+        /**
+         * The names of the labels to reconcile, or <code>null</code> for all the labels.
+         * -- GETTER --
+         * Getter for {@link #labelNames} property.
+         * @return the value.
+         */
+        // @formatter:on
+        @Getter
+        private final Set<String> labelNames;
+
+        /**
+         * Gets the reconciliation of all the labels.
+         * @return the reconciliation of all the labels.
+         */
+        static Work all() {
+            return ALL;
+        }
+
+        /**
+         * Gets the reconciliation of the given labels.
+         * @param labelNames the names of the labels.
+         * @return the reconciliation of the given labels.
+         */
+        static Work labels(@NonNull Set<String> labelNames) {
+            return new Work(Set.copyOf(labelNames));
+        }
+
+        /**
+         * Checks if all the labels are reconciled.
+         * @return <code>true</code> if all the labels are reconciled, <code>false</code> otherwise.
+         */
+        boolean isAll() {
+            return labelNames == null;
+        }
+
+        /**
+         * Merges the given reconciliation into this one.
+         * @param other the other reconciliation.
+         * @return the reconciliation of the labels of both.
+         */
+        Work merge(@NonNull Work other) {
+            if (isAll() || other.isAll()) {
+                return ALL;
+            }
+            var names = new HashSet<>(labelNames);
+            names.addAll(other.labelNames);
+            return new Work(Collections.unmodifiableSet(names));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The writer applying label changes to a repository. <br>
+ * Implementations report each successful operation through the given callback, in the order of the given items, and
+ * throw on the first failed operation.
+ * @author Julb.
+ */
+interface LabelWriter {
+
+    /**
+     * Creates the given labels.
+     * @param labels the labels to create.
+     * @param onCreated the callback invoked for each label created.
+     * @throws IOException if an error occurs.
+     */
+    void createLabels(List<LabelDTO> labels, Consumer<LabelDTO> onCreated) throws IOException;
+
+    /**
+     * Updates the given labels, sending only the fields which differ from the existing label.
+     * @param labels the source labels with their existing label.
+     * @param onUpdated the callback invoked for each label updated.
+     * @throws IOException if an error occurs.
+     */
+    void updateLabels(
+            List<Map.Entry<LabelDTO, ExistingLabel>> labels, Consumer<Map.Entry<LabelDTO, ExistingLabel>> onUpdated)
+            throws IOException;
+
+    /**
+     * Deletes the given labels.
+     * @param labels the labels to delete.
+     * @param onDeleted the callback invoked for each label deleted.
+     * @throws IOException if an error occurs.
+     */
+    void deleteLabels(List<ExistingLabel> labels, Consumer<ExistingLabel> onDeleted) throws IOException;
+}
@@ -0,0 +1,128 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import lombok.NonNull;
+
+/**
+ * The planner choosing how the existing labels of a repository are read. <br>
+ * When the existing labels which are not synchronized are kept, only the synchronized labels, their aliases and the
+ * tombstones matter. They can then be looked up by name, with one call each, instead of listing all pages of the
+ * repository. Both costs are estimated once the first page is listed, and the cheaper strategy is chosen. Writes cost
+ * the same with both strategies and are not part of the estimate.
+ * @author Julb.
+ */
+final class ListingCostPlanner {
+
+    /**
+     * Hidden constructor.
+     */
+    private ListingCostPlanner() {
+        // Nothing to do.
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the names to look up to read all the existing labels the synchronization depends on.<br>
+     * Labels already known are not looked up. The aliases of a label are looked up too, as the label may have to
+     * rename one of them.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param knownLabels the existing labels already known, indexed by label key.
+     * @return the names to look up, as declared, without duplicates.
+     */
+    static List<String> getNamesToLookUp(
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize, @NonNull Map<LabelKey, ExistingLabel> knownLabels) {
+        var names = new LinkedHashMap<LabelKey, String>();
+        for (LabelDTO label : labelsToSynchronize.values()) {
+            if (knownLabels.containsKey(label.key())) {
+                continue;
+            }
+            names.putIfAbsent(label.key(), label.getName());
+            if (!label.isDelete()) {
+                for (String alias : label.getAliases()) {
+                    var aliasKey = LabelKey.of(alias);
+                    if (!knownLabels.containsKey(aliasKey)) {
+                        names.putIfAbsent(aliasKey, alias);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(names.values());
+    }
+
+    /**
+     * Estimates the number of calls required to list the remaining pages.
+     * @param pageCount the number of pages, or empty if unknown.
+     * @return the number of calls, or {@link Integer#MAX_VALUE} if unknown.
+     */
+    static int estimateListingCost(@NonNull OptionalInt pageCount) {
+        return pageCount.isPresent() ? pageCount.getAsInt() - 1 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Estimates the number of calls required to look up the given names.
+     * @param namesToLookUp the names to look up.
+     * @return the number of calls.
+     */
+    static int estimateLookUpCost(@NonNull List<String> namesToLookUp) {
+        return namesToLookUp.size();
+    }
+
+    /**
+     * Chooses the cheaper strategy to read the existing labels the synchronization depends on.<br>
+     * The remaining pages are listed when their number is unknown, and on a tie.
+     * @param pageCount the number of pages, or empty if unknown.
+     * @param namesToLookUp the names to look up.
+     * @return the strategy.
+     */
+    static Strategy choose(@NonNull OptionalInt pageCount, @NonNull List<String> namesToLookUp) {
+        if (pageCount.isEmpty() || estimateLookUpCost(namesToLookUp) >= estimateListingCost(pageCount)) {
+            return Strategy.LISTING;
+        }
+        return Strategy.LOOK_UP;
+    }
+
+    /**
+     * The strategy reading the existing labels. <br>
+     * @author Julb.
+     */
+    enum Strategy {
+        /**
+         * Lists all pages of the repository.
+         */
+        LISTING,
+
+        /**
+         * Looks up the labels by name.
+         */
+        LOOK_UP;
+    }
+}
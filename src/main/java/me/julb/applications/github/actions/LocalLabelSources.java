@@ -0,0 +1,189 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.NonNull;
+
+/**
+ * The local label sources. <br>
+ * A local source is either a file path or a glob expanded against the working directory. A path naming an existing
+ * file is read as is, even if it contains glob characters. Large files are read through a memory mapping instead of
+ * being copied through a read buffer.
+ * @author Julb.
+ */
+final class LocalLabelSources {
+
+    /**
+     * The size from which a file is memory-mapped, in bytes.
+     */
+    static final long MAPPING_THRESHOLD = 1024L * 1024L;
+
+    /**
+     * Hidden constructor.
+     */
+    private LocalLabelSources() {
+        // Nothing to do.
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Checks if the given local source is a glob.<br>
+     * A source naming an existing file, such as {@code labels[prod].yml}, is a literal path and not a glob.
+     * @param labelSource the local source.
+     * @return <code>true</code> if the source contains glob characters and is not an existing file, <code>false</code>
+     * otherwise.
+     */
+    static boolean isGlob(@NonNull String labelSource) {
+        if (!ManageLabelGitHubAction.GLOB_CHARACTERS.matcher(labelSource).find()) {
+            return false;
+        }
+        try {
+            return !Files.exists(Path.of(labelSource));
+        } catch (InvalidPathException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Expands the given glob into the paths of the matching files, sorted lexicographically.<br>
+     * Only the directory before the first glob character is walked. A double star followed by a separator matches zero
+     * or more directories, so that the files directly under the walked directory are matched too.
+     * @param glob the glob.
+     * @return the paths of the matching files.
+     * @throws IOException if no file matches or the directory cannot be walked.
+     */
+    static List<String> expand(@NonNull String glob) throws IOException {
+        var globStart = ManageLabelGitHubAction.GLOB_CHARACTERS.matcher(glob);
+        var baseEnd = globStart.find() ? glob.lastIndexOf('/', globStart.start()) : glob.lastIndexOf('/');
+        var baseDirectory = baseEnd < 0 ? Path.of("") : Path.of(baseEnd == 0 ? "/" : glob.substring(0, baseEnd));
+
+        var fileSystem = FileSystems.getDefault();
+        var matcher = fileSystem.getPathMatcher("glob:" + glob);
+        var zeroDirectoryMatcher = fileSystem.getPathMatcher("glob:" + glob.replace("**/", ""));
+
+        List<String> paths = List.of();
+        if (Files.isDirectory(baseDirectory)) {
+            try (var stream = Files.walk(baseDirectory)) {
+                // @formatter:off
+                paths = stream
+                        .filter(Files::isRegularFile)
+                        .filter(path -> matcher.matches(path) || zeroDirectoryMatcher.matches(path))
+                        .map(Path::toString)
+                        .sorted()
+                        .collect(Collectors.toList());
+                // @formatter:on
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new FileNotFoundException(String.format("no label source matches '%s'", glob));
+        }
+        return paths;
+    }
+
+    /**
+     * Opens the given local file.<br>
+     * Files from {@link #MAPPING_THRESHOLD} bytes are memory-mapped.
+     * @param path the path of the file.
+     * @return the stream of the file content.
+     * @throws IOException if the file cannot be opened.
+     */
+    static InputStream open(@NonNull Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            throw new FileNotFoundException(path.toString());
+        }
+        var size = Files.size(path);
+        if (size < MAPPING_THRESHOLD || size > Integer.MAX_VALUE) {
+            return Files.newInputStream(path);
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * The stream reading a byte buffer. <br>
+     * @author Julb.
+     */
+    static class ByteBufferInputStream extends InputStream {
+
+        /**
+         * The buffer read.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Default constructor.
+         * @param buffer the buffer to read, from its position to its limit.
+         */
+        ByteBufferInputStream(@NonNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            var count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -23,31 +23,48 @@
  */
 package me.julb.applications.github.actions;
 
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import org.apache.commons.io.FilenameUtils;
-import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
-
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import com.google.common.collect.Sets;
+import org.kohsuke.github.PagedIterable;
+import org.kohsuke.github.connector.GitHubConnector;
 
 import me.julb.sdk.github.actions.kit.GitHubActionsKit;
 import me.julb.sdk.github.actions.spi.GitHubActionProvider;
@@ -62,6 +79,41 @@ import lombok.Setter;
  */
 public class ManageLabelGitHubAction implements GitHubActionProvider {
 
+    /**
+     * The default number of label operations applied concurrently.
+     */
+    static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The default number of repositories synchronized concurrently.
+     */
+    static final int DEFAULT_REPOSITORY_PARALLELISM = 4;
+
+    /**
+     * The default number of mutations sent in one GraphQL request.
+     */
+    static final int DEFAULT_GRAPHQL_BATCH_SIZE = 50;
+
+    /**
+     * The default connect timeout of the GitHub API client, in seconds.
+     */
+    static final int DEFAULT_CONNECT_TIMEOUT = 10;
+
+    /**
+     * The default read timeout of the GitHub API requests, in seconds.
+     */
+    static final int DEFAULT_READ_TIMEOUT = 60;
+
+    /**
+     * The pattern detecting glob characters in a repository name.
+     */
+    static final Pattern GLOB_CHARACTERS = Pattern.compile("[*?\\[{]");
+
+    /**
+     * The pattern detecting a HTTP/HTTPS label source.
+     */
+    private static final Pattern REMOTE_SOURCE = Pattern.compile("^[hH][tT][tT][pP][sS]?://.*");
+
     /**
      * The GitHub action kit.
      */
@@ -75,10 +127,50 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
     private GitHub ghApi;
 
     /**
-     * The GitHub repository.
+     * The connector sending conditional requests for the label listing, if a cache directory is provided.
+     */
+    private ConditionalRequestCacheConnector listingCacheConnector;
+
+    /**
+     * The HTTP client shared by the requests sent to the GitHub API, once connected.
+     */
+    private HttpClient apiHttpClient;
+
+    /**
+     * The connector sending the requests to the GitHub API, once connected.
+     */
+    private GitHubConnector apiConnector;
+
+    /**
+     * The metrics of the run.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RunMetrics runMetrics = new RunMetrics();
+
+    /**
+     * The log of per-label, per-source and summary lines, written with the GitHub Actions kit of the action if none is
+     * set.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private GroupedLog log;
+
+    /**
+     * The budget of label operations of the run.
      */
     @Setter(AccessLevel.PACKAGE)
-    private GHRepository ghRepository;
+    @NonNull
+    private OperationBudget operationBudget = OperationBudget.unlimited();
+
+    /**
+     * The rate limit budget shared by the repositories of the run, once created.
+     */
+    private RateLimitBudget rateLimitBudget;
+
+    /**
+     * The label listings started before reconciliation, indexed by repository name.
+     */
+    private final Map<String, CompletableFuture<List<LabelListingFetcher.Page>>> prefetchedListings =
+            new ConcurrentHashMap<>();
 
     /**
      * {@inheritDoc}
@@ -86,52 +178,107 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
     @Override
     public void execute() {
         try {
+            var startDate = Instant.now();
+
             // Get inputs
             var labelSourcesFrom = getInputFrom();
+            var repositoryPatterns = getInputRepositories();
+            var repositoryParallelism = getInputRepositoryParallelism();
             var labelSkipDeletion = getInputSkipDelete();
+            var parallelism = getInputParallelism();
+            var rateLimitStrategy = getInputRateLimitStrategy();
+            var writeBackend = getInputWriteBackend();
+            var graphQLBatchSize = getInputGraphQLBatchSize();
+            var maxOperations = getInputMaxOperations();
+            var deadline = getInputDeadline();
+            var logVerbosity = getInputLogVerbosity();
 
             // Trace parameters
+            // @formatter:off
             ghActionsKit.debug(String.format(
-                    "parameters: [from: %s, skipDeletion: %s]", Arrays.toString(labelSourcesFrom), labelSkipDeletion));
-
-            // Read GitHub repository.
-            connectApi();
-
-            // Retrieve repository
-            ghRepository = ghApi.getRepository(ghActionsKit.getGitHubRepository());
-
-            // Get label from sources.
-            var labelsToSynchronize = getInputLabels(labelSourcesFrom);
+                    "parameters: [from: %s, repositories: %s, repositoryParallelism: %d, skipDeletion: %s, "
+                            + "parallelism: %d, rateLimitStrategy: %s, writeBackend: %s, graphQLBatchSize: %d, "
+                            + "maxOperations: %s, deadline: %s, logVerbosity: %s]",
+                    Arrays.toString(labelSourcesFrom),
+                    Arrays.toString(repositoryPatterns),
+                    repositoryParallelism,
+                    labelSkipDeletion,
+                    parallelism,
+                    rateLimitStrategy,
+                    writeBackend,
+                    graphQLBatchSize,
+                    maxOperations.map(String::valueOf).orElse("none"),
+                    deadline.map(Duration::toString).orElse("none"),
+                    logVerbosity));
+            // @formatter:on
+            getLog().setVerbosity(logVerbosity);
 
-            // Get existing labels in repository.
-            var existingGHLabels = getGHLabels();
+            // Limit the operations of the run.
+            // @formatter:off
+            operationBudget = new OperationBudget(
+                    maxOperations.orElse(OperationBudget.UNLIMITED),
+                    deadline.map(startDate::plus).orElse(null));
+            // @formatter:on
 
-            // Get labels to create
-            var labelNamesToCreate = Sets.difference(labelsToSynchronize.keySet(), existingGHLabels.keySet());
-            var labelsToCreate = new TreeSet<LabelDTO>();
-            for (String labelNameToCreate : labelNamesToCreate) {
-                labelsToCreate.add(labelsToSynchronize.get(labelNameToCreate));
+            // Connect to GitHub and resolve repositories while the labels are read from sources, once for all
+            // repositories. The listings of the first repositories to reconcile are started as soon as the repositories
+            // are resolved, when they are sure to be needed. These read-only requests may thus be sent before the
+            // sources are validated. Reconciliation, and any write, starts when both stages are done.
+            List<String> repositoryNames;
+            Map<LabelKey, LabelDTO> labelsToSynchronize;
+            var stageExecutorService = LabelOperationExecutor.newExecutorService(2);
+            var listingExecutorService = LabelOperationExecutor.newExecutorService(repositoryParallelism);
+            try {
+                // @formatter:off
+                var repositoriesStage = runStage(() -> {
+                    try (var timer = runMetrics.start(RunMetrics.Phase.CONNECT)) {
+                        connectApi();
+                    }
+                    var names = resolveRepositories(repositoryPatterns);
+                    if (isListingPrefetchable(labelSkipDeletion)) {
+                        prefetchListings(
+                                names.subList(0, Math.min(repositoryParallelism, names.size())),
+                                parallelism,
+                                listingExecutorService);
+                    }
+                    return names;
+                }, stageExecutorService);
+                var labelsStage = runStage(() -> {
+                    try (var timer = runMetrics.start(RunMetrics.Phase.SOURCES)) {
+                        return Collections.unmodifiableMap(getInputLabels(labelSourcesFrom));
+                    }
+                }, stageExecutorService);
+                // @formatter:on
+                repositoryNames = awaitStage(repositoriesStage);
+                labelsToSynchronize = awaitStage(labelsStage);
+            } catch (IOException | RuntimeException e) {
+                listingExecutorService.shutdownNow();
+                throw e;
+            } finally {
+                stageExecutorService.shutdownNow();
             }
-            createLabels(labelsToCreate);
 
-            // Get labels to update
-            var labelNamesToUpdate = Sets.intersection(labelsToSynchronize.keySet(), existingGHLabels.keySet());
-            var labelsToUpdate = new TreeMap<LabelDTO, GHLabel>();
-            for (String labelNameToUpdate : labelNamesToUpdate) {
-                labelsToUpdate.put(labelsToSynchronize.get(labelNameToUpdate), existingGHLabels.get(labelNameToUpdate));
+            // @formatter:off
+            var options = newSynchronizationOptions(
+                    labelSkipDeletion, parallelism, rateLimitStrategy, writeBackend, graphQLBatchSize);
+            // @formatter:on
+
+            // Synchronize repositories.
+            List<SynchronizationResult> results;
+            try {
+                results = synchronizeRepositories(repositoryNames, labelsToSynchronize, options, repositoryParallelism);
+            } finally {
+                listingExecutorService.shutdownNow();
+                prefetchedListings.clear();
             }
-            updateLabels(labelsToUpdate);
-
-            // Get labels to delete
-            if (!labelSkipDeletion) {
-                var labelNamesToDelete = Sets.difference(existingGHLabels.keySet(), labelsToSynchronize.keySet());
-                var labelsToDelete = new ArrayList<GHLabel>();
-                for (String labelNameToDelete : labelNamesToDelete) {
-                    labelsToDelete.add(existingGHLabels.get(labelNameToDelete));
-                }
-                deleteLabels(labelsToDelete);
+            if (listingCacheConnector != null) {
+                ghActionsKit.debug(String.format(
+                        "label listing cache: %d hits, %d misses.",
+                        listingCacheConnector.getHits().get(),
+                        listingCacheConnector.getMisses().get()));
             }
-
+            reportMetrics();
+            reportResults(results);
         } catch (Exception e) {
             throw new CompletionException(e);
         }
@@ -139,6 +286,79 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
 
     // ------------------------------------------ Utility methods.
 
+    /**
+     * Runs the given stage of the action asynchronously.
+     * @param <T> the stage result type.
+     * @param stage the stage.
+     * @param executor the executor running the stage.
+     * @return the future result of the stage.
+     */
+    static <T> CompletableFuture<T> runStage(@NonNull Stage<T> stage, @NonNull Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return stage.run();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Waits for the result of the given stage.
+     * @param <T> the stage result type.
+     * @param stage the future result of the stage.
+     * @return the result of the stage.
+     * @throws IOException if the stage fails with an {@link IOException}, or if the wait is interrupted. Unchecked
+     * failures of the stage are rethrown as is.
+     */
+    static <T> T awaitStage(@NonNull CompletableFuture<T> stage) throws IOException {
+        try {
+            return stage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            } else if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Checks if the label listings of the repositories can be started before the labels are read from sources.<br>
+     * A listing is only sure to be needed when all existing labels are reconciled and no cache directory is provided:
+     * with deletion skipped, the labels may be looked up by name instead, and with a cache directory, a repository may
+     * be skipped as unchanged or resumed from a checkpoint.
+     * @param skipDeletion <code>true</code> if the deletion of labels is skipped.
+     * @return <code>true</code> if the listings can be started early, <code>false</code> otherwise.
+     */
+    boolean isListingPrefetchable(boolean skipDeletion) {
+        return apiConnector != null && !skipDeletion && getInputCacheDir().isEmpty();
+    }
+
+    /**
+     * Starts the label listing of the given repositories, used by their synchronization instead of listing again.
+     * @param repositoryNames the names of the repositories.
+     * @param parallelism the maximum number of pages listed concurrently for one repository.
+     * @param executorService the executor service running the listings.
+     */
+    void prefetchListings(
+            @NonNull List<String> repositoryNames, int parallelism, @NonNull ExecutorService executorService) {
+        var labelListingFetcher = newLabelListingFetcher(parallelism);
+        for (String repositoryName : repositoryNames) {
+            // @formatter:off
+            prefetchedListings.put(repositoryName, runStage(
+                    () -> labelListingFetcher.listPages(labelListingFetcher.fetchFirstPage(repositoryName)),
+                    executorService));
+            // @formatter:on
+        }
+    }
+
     /**
      * Gets the "from" input.
      * @return the "from" input.
@@ -147,6 +367,32 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
         return ghActionsKit.getRequiredMultilineInput("from");
     }
 
+    /**
+     * Gets the "repositories" input.
+     * @return the "repositories" input, or the current repository if not provided.
+     */
+    String[] getInputRepositories() {
+        return ghActionsKit.getMultilineInput("repositories").orElseGet(() -> new String[] {
+            ghActionsKit.getGitHubRepository()
+        });
+    }
+
+    /**
+     * Gets the "repository_parallelism" input.
+     * @return the "repository_parallelism" input.
+     */
+    int getInputRepositoryParallelism() {
+        // @formatter:off
+        var value = ghActionsKit.getInput("repository_parallelism")
+                .map(Integer::valueOf)
+                .orElse(DEFAULT_REPOSITORY_PARALLELISM);
+        // @formatter:on
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("repository_parallelism must be positive: %d", value));
+        }
+        return value;
+    }
+
     /**
      * Gets the "skip_delete" input.
      * @return the "skip_delete" input.
@@ -155,6 +401,179 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
         return ghActionsKit.getBooleanInput("skip_delete").orElse(Boolean.FALSE);
     }
 
+    /**
+     * Gets the "cache_dir" input.
+     * @return the "cache_dir" input.
+     */
+    Optional<String> getInputCacheDir() {
+        return ghActionsKit.getInput("cache_dir");
+    }
+
+    /**
+     * Gets the "parallelism" input.
+     * @return the "parallelism" input.
+     */
+    int getInputParallelism() {
+        var value = ghActionsKit.getInput("parallelism").map(Integer::valueOf).orElse(DEFAULT_PARALLELISM);
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("parallelism must be positive: %d", value));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the "rate_limit_strategy" input.
+     * @return the "rate_limit_strategy" input.
+     */
+    RateLimitStrategy getInputRateLimitStrategy() {
+        // @formatter:off
+        return ghActionsKit.getInput("rate_limit_strategy")
+                .map(value -> RateLimitStrategy.valueOf(value.toUpperCase(Locale.ROOT)))
+                .orElse(RateLimitStrategy.FAIL);
+        // @formatter:on
+    }
+
+    /**
+     * Gets the "log_verbosity" input.
+     * @return the "log_verbosity" input.
+     */
+    LogVerbosity getInputLogVerbosity() {
+        // @formatter:off
+        return ghActionsKit.getInput("log_verbosity")
+                .map(value -> LogVerbosity.valueOf(value.toUpperCase(Locale.ROOT)))
+                .orElse(LogVerbosity.DETAILED);
+        // @formatter:on
+    }
+
+    /**
+     * Gets the "write_backend" input.
+     * @return the "write_backend" input.
+     */
+    LabelWriteBackend getInputWriteBackend() {
+        // @formatter:off
+        return ghActionsKit.getInput("write_backend")
+                .map(value -> LabelWriteBackend.valueOf(value.toUpperCase(Locale.ROOT)))
+                .orElse(LabelWriteBackend.REST);
+        // @formatter:on
+    }
+
+    /**
+     * Gets the "graphql_batch_size" input.
+     * @return the "graphql_batch_size" input.
+     */
+    int getInputGraphQLBatchSize() {
+        // @formatter:off
+        var value = ghActionsKit.getInput("graphql_batch_size")
+                .map(Integer::valueOf)
+                .orElse(DEFAULT_GRAPHQL_BATCH_SIZE);
+        // @formatter:on
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("graphql_batch_size must be positive: %d", value));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the "max_operations" input.
+     * @return the "max_operations" input.
+     */
+    Optional<Integer> getInputMaxOperations() {
+        var value = ghActionsKit.getInput("max_operations").map(Integer::valueOf);
+        if (value.isPresent() && value.get() < 1) {
+            throw new IllegalArgumentException(String.format("max_operations must be positive: %d", value.get()));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the "deadline" input, the time after the start of the run after which no label operation is started.
+     * @return the "deadline" input.
+     */
+    Optional<Duration> getInputDeadline() {
+        var value = ghActionsKit.getInput("deadline").map(Integer::valueOf);
+        if (value.isPresent() && value.get() < 1) {
+            throw new IllegalArgumentException(String.format("deadline must be positive: %d", value.get()));
+        }
+        return value.map(Duration::ofSeconds);
+    }
+
+    /**
+     * Gets the "connect_timeout" input.
+     * @return the "connect_timeout" input.
+     */
+    Duration getInputConnectTimeout() {
+        return getTimeoutInput("connect_timeout", DEFAULT_CONNECT_TIMEOUT);
+    }
+
+    /**
+     * Gets the "read_timeout" input.
+     * @return the "read_timeout" input.
+     */
+    Duration getInputReadTimeout() {
+        return getTimeoutInput("read_timeout", DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * Gets a timeout input expressed in seconds.
+     * @param name the input name.
+     * @param defaultValue the default value, in seconds.
+     * @return the timeout.
+     */
+    private Duration getTimeoutInput(String name, int defaultValue) {
+        var value = ghActionsKit.getInput(name).map(Integer::valueOf).orElse(defaultValue);
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("%s must be positive: %d", name, value));
+        }
+        return Duration.ofSeconds(value);
+    }
+
+    /**
+     * Gets the URL of the GraphQL endpoint.
+     * @return the URL of the GraphQL endpoint.
+     */
+    String getGraphQLUrl() {
+        return ghActionsKit.getEnv("GITHUB_GRAPHQL_URL").orElseGet(() -> {
+            var apiUrl = ghActionsKit.getGitHubApiUrl().replaceFirst("/+$", "");
+            if (apiUrl.endsWith("/api/v3")) {
+                return apiUrl.substring(0, apiUrl.length() - "/v3".length()) + "/graphql";
+            }
+            return apiUrl + "/graphql";
+        });
+    }
+
+    /**
+     * Creates the synchronization options.
+     * @param skipDelete <code>true</code> to keep the existing labels which are not synchronized.
+     * @param parallelism the maximum number of label operations applied concurrently.
+     * @param rateLimitStrategy the strategy applied when the rate limit budget is too small.
+     * @param writeBackend the backend used to write labels.
+     * @param graphQLBatchSize the maximum number of mutations sent in one GraphQL request.
+     * @return the synchronization options.
+     */
+    SynchronizationOptions newSynchronizationOptions(
+            boolean skipDelete,
+            int parallelism,
+            @NonNull RateLimitStrategy rateLimitStrategy,
+            @NonNull LabelWriteBackend writeBackend,
+            int graphQLBatchSize) {
+        // @formatter:off
+        var optionsBuilder = SynchronizationOptions.builder()
+                .skipDelete(skipDelete)
+                .parallelism(parallelism)
+                .rateLimitStrategy(rateLimitStrategy)
+                .writeBackend(writeBackend)
+                .graphQLBatchSize(graphQLBatchSize)
+                .token(ghActionsKit.getRequiredEnv("GITHUB_TOKEN"));
+        // @formatter:on
+        if (writeBackend == LabelWriteBackend.GRAPHQL) {
+            // @formatter:off
+            optionsBuilder.graphQLUrl(getGraphQLUrl())
+                    .readTimeout(getInputReadTimeout());
+            // @formatter:on
+        }
+        return optionsBuilder.build();
+    }
+
     /**
      * Connects to GitHub API.
      * @throws IOException if an error occurs.
@@ -166,54 +585,185 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
         var githubToken = ghActionsKit.getRequiredEnv("GITHUB_TOKEN");
 
         // @formatter:off
-        ghApi = Optional.ofNullable(ghApi)
-                .orElse(new GitHubBuilder()
-                        .withEndpoint(ghActionsKit.getGitHubApiUrl())
-                        .withOAuthToken(githubToken)
-                        .build());
+        var ghApiBuilder = new GitHubBuilder()
+                .withEndpoint(ghActionsKit.getGitHubApiUrl())
+                .withOAuthToken(githubToken);
+        // @formatter:on
+
+        // Send requests over a pooled HTTP/2 client.
+        apiHttpClient = HttpClientConnector.newHttpClient(getInputConnectTimeout());
+        GitHubConnector connector = new HttpClientConnector(apiHttpClient, getInputReadTimeout());
+
+        // Send conditional requests for the label listing when a cache directory is provided.
+        var cacheDirectory = getInputCacheDir();
+        if (cacheDirectory.isPresent()) {
+            listingCacheConnector = new ConditionalRequestCacheConnector(connector, Path.of(cacheDirectory.get()));
+            connector = listingCacheConnector;
+        }
+        apiConnector = new MetricsRecordingConnector(connector, runMetrics);
+        ghApiBuilder.withConnector(apiConnector);
+
+        ghApi = Optional.ofNullable(ghApi).orElse(ghApiBuilder.build());
         ghApi.checkApiUrlValidity();
         ghActionsKit.debug("github api url connection: ok.");
-        // @formatter:on
     }
 
     /**
-     * Gets all {@link GHLabel} present in the repository.
-     * @return all {@link GHLabel} present in the repository.
+     * Resolves the repositories to synchronize.<br>
+     * Each pattern is either a {@code owner/name} repository, or a {@code owner/glob} expanded against the repositories
+     * of the owner. Repositories are returned in declaration order, matches of a glob being sorted by name.
+     * @param repositoryPatterns the repository patterns.
+     * @return the names of the repositories, as {@code owner/name}.
      * @throws IOException if an error occurs.
      */
-    Map<String, LabelDTO> getInputLabels(@NonNull String[] labelSources) throws IOException {
-        // Get JSON and YAML deserializer.
-        var jsonObjectMapper = new ObjectMapper();
-        var yamlObjectMapper = new ObjectMapper(new YAMLFactory());
+    List<String> resolveRepositories(@NonNull String[] repositoryPatterns) throws IOException {
+        Set<String> repositoryNames = new LinkedHashSet<>();
+        for (String repositoryPattern : repositoryPatterns) {
+            var pattern = repositoryPattern.trim();
+            if (pattern.isEmpty()) {
+                continue;
+            }
 
-        Map<String, LabelDTO> map = new TreeMap<>();
+            var parts = pattern.split("/", 2);
+            if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+                throw new IllegalArgumentException(repositoryPattern);
+            }
 
+            if (!GLOB_CHARACTERS.matcher(parts[1]).find()) {
+                repositoryNames.add(pattern);
+            } else {
+                var matcher = FileSystems.getDefault().getPathMatcher("glob:" + parts[1]);
+                var matchingNames = new TreeSet<String>();
+                for (GHRepository ghRepository : listOwnerRepositories(parts[0])) {
+                    if (matcher.matches(Path.of(ghRepository.getName()))) {
+                        matchingNames.add(ghRepository.getFullName());
+                    }
+                }
+                ghActionsKit.debug(String.format("repositories matching '%s': %s", pattern, matchingNames));
+                repositoryNames.addAll(matchingNames);
+            }
+        }
+        return new ArrayList<>(repositoryNames);
+    }
+
+    /**
+     * Lists the repositories of the given owner, organization or user.
+     * @param owner the owner.
+     * @return the repositories of the owner.
+     * @throws IOException if an error occurs.
+     */
+    PagedIterable<GHRepository> listOwnerRepositories(@NonNull String owner) throws IOException {
+        try {
+            return ghApi.getOrganization(owner).listRepositories();
+        } catch (GHFileNotFoundException e) {
+            return ghApi.getUser(owner).listRepositories();
+        }
+    }
+
+    /**
+     * Gets the labels of the given sources.<br>
+     * A local glob is replaced by its matching files, in lexicographic order. Sources are parsed in parallel and merged
+     * in that order, so that the label of the last source wins. Labels are validated while parsed, and all the invalid
+     * labels are reported as errors before any write.
+     * @param labelSources the label sources, as paths, globs or HTTP/HTTPS URLs.
+     * @return the labels, indexed by label key.
+     * @throws IOException if an error occurs, or if a label is invalid.
+     */
+    Map<LabelKey, LabelDTO> getInputLabels(@NonNull String[] labelSources) throws IOException {
+        // Expand local globs, in lexicographic order, in place of their entry.
+        var sources = new ArrayList<String>(labelSources.length);
         for (String labelSource : labelSources) {
-            ghActionsKit.notice(String.format("processing source '%s'.", labelSource));
-
-            // Determine object mapper.
-            ObjectMapper objectMapper;
-            var extension = FilenameUtils.getExtension(labelSource);
-            if ("yaml".equalsIgnoreCase(extension) || "yml".equalsIgnoreCase(extension)) {
-                objectMapper = yamlObjectMapper;
-            } else if ("json".equalsIgnoreCase(extension)) {
-                objectMapper = jsonObjectMapper;
+            if (!isRemoteSource(labelSource) && LocalLabelSources.isGlob(labelSource)) {
+                sources.addAll(LocalLabelSources.expand(labelSource));
             } else {
-                throw new IllegalArgumentException(labelSource);
+                sources.add(labelSource);
             }
+        }
 
-            // Get input stream.
-            try (var is = getInputStream(labelSource)) {
-                // Read and get labels.
-                var labels = objectMapper.readValue(is, new TypeReference<ArrayList<LabelDTO>>() {});
-                labels.forEach(label -> map.put(label.nameLowerCase(), label));
-                ghActionsKit.notice(String.format("%d labels fetched.", labels.size()));
+        // Determine formats before any download.
+        var formats = new ArrayList<LabelSourceParser.Format>(sources.size());
+        var remoteSources = new ArrayList<String>();
+        for (String labelSource : sources) {
+            formats.add(LabelSourceParser.Format.of(labelSource));
+            if (isRemoteSource(labelSource)) {
+                remoteSources.add(labelSource);
             }
         }
 
+        // Download remote sources concurrently, once per URL.
+        Map<String, byte[]> remoteContents = Map.of();
+        if (!remoteSources.isEmpty()) {
+            remoteContents = newLabelSourceFetcher().fetch(remoteSources);
+        }
+
+        // Parse and validate sources in parallel on the common fork-join pool, each in its own list.
+        var contents = remoteContents;
+        var validators = sources.stream().map(LabelSourceValidator::new).collect(Collectors.toList());
+        List<List<LabelDTO>> parsedSources;
+        try {
+            // @formatter:off
+            parsedSources = IntStream.range(0, sources.size())
+                    .parallel()
+                    .mapToObj(i -> parseLabelSource(
+                            sources.get(i), formats.get(i), contents.get(sources.get(i)), validators.get(i)))
+                    .collect(Collectors.toList());
+            // @formatter:on
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Report all the invalid labels at once, before any write.
+        var problems = new ArrayList<String>();
+        validators.forEach(validator -> {
+            validator.getWarnings().forEach(ghActionsKit::warning);
+            problems.addAll(validator.getProblems());
+        });
+        if (!problems.isEmpty()) {
+            problems.forEach(ghActionsKit::error);
+            throw new IOException(String.format("%d invalid labels found in sources.", problems.size()));
+        }
+
+        // Merge in declared order so that the last source wins.
+        Map<LabelKey, LabelDTO> map = new HashMap<>();
+        var sourcesLog = getLog().newGroup("label sources");
+        var fetched = 0;
+        for (var i = 0; i < sources.size(); i++) {
+            var labels = parsedSources.get(i);
+            for (LabelDTO label : labels) {
+                map.put(label.key(), label);
+            }
+            sourcesLog.add(String.format("source '%s': %d labels fetched.", sources.get(i), labels.size()));
+            fetched += labels.size();
+        }
+        sourcesLog.flush();
+        getLog().summary(String.format("%d labels fetched from %d sources.", fetched, sources.size()));
+
         return map;
     }
 
+    /**
+     * Parses the given label source.
+     * @param labelSource the label source.
+     * @param format the source format.
+     * @param remoteContent the downloaded content of a remote source, or <code>null</code> for a local source.
+     * @param validator the validator of the labels of the source.
+     * @return the labels, in source order.
+     * @throws UncheckedIOException if the source cannot be read or is invalid.
+     */
+    private List<LabelDTO> parseLabelSource(
+            String labelSource, LabelSourceParser.Format format, byte[] remoteContent, LabelSourceValidator validator) {
+        var labels = new ArrayList<LabelDTO>();
+        try (var is = remoteContent != null ? new ByteArrayInputStream(remoteContent) : getInputStream(labelSource)) {
+            LabelSourceParser.parse(labelSource, format, is, (label, line, column) -> {
+                validator.validate(label, line, column);
+                labels.add(label);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return labels;
+    }
+
     /**
      * Gets the input stream according to the given source.
      * @param labelSource the label source.
@@ -221,72 +771,420 @@ public class ManageLabelGitHubAction implements GitHubActionProvider {
      * @throws IOException if an error occurs.
      */
     InputStream getInputStream(@NonNull String labelSource) throws IOException {
-        if (Pattern.matches("^[hH][tT][tT][pP][sS]?://.*", labelSource)) {
-            return new URL(labelSource).openStream();
+        if (isRemoteSource(labelSource)) {
+            return new ByteArrayInputStream(newLabelSourceFetcher().fetch(List.of(labelSource)).get(labelSource));
         } else {
-            return new FileInputStream(labelSource);
+            return LocalLabelSources.open(Path.of(labelSource));
         }
     }
 
     /**
-     * Gets all {@link GHLabel} present in the repository.
-     * @return all {@link GHLabel} present in the repository.
+     * Checks if the given source is a HTTP/HTTPS URL.
+     * @param labelSource the label source.
+     * @return <code>true</code> if the source is remote, <code>false</code> otherwise.
+     */
+    boolean isRemoteSource(@NonNull String labelSource) {
+        return REMOTE_SOURCE.matcher(labelSource).matches();
+    }
+
+    /**
+     * Creates the fetcher downloading the remote sources.<br>
+     * The sources are cached in the "sources" sub-directory of the "cache_dir" input, if provided.
+     * @return the fetcher.
+     */
+    LabelSourceFetcher newLabelSourceFetcher() {
+        // @formatter:off
+        var cacheDirectory = getInputCacheDir()
+                .map(directory -> Path.of(directory, "sources"))
+                .orElse(null);
+        // @formatter:on
+        return new LabelSourceFetcher(LabelSourceFetcher.HTTP_CLIENT, cacheDirectory);
+    }
+
+    /**
+     * Creates the store of the fingerprints of the last successful synchronizations.<br>
+     * The fingerprints are persisted in the "fingerprints" sub-directory of the "cache_dir" input, if provided.
+     * @return the store, or <code>null</code> if no cache directory is provided.
+     */
+    FingerprintStore newFingerprintStore() {
+        // @formatter:off
+        var connector = Optional.ofNullable(apiConnector)
+                .orElseGet(() -> new HttpClientConnector(LabelSourceFetcher.HTTP_CLIENT, getInputReadTimeout()));
+        return getInputCacheDir()
+                .map(directory -> new FingerprintStore(
+                        connector, ghActionsKit.getRequiredEnv("GITHUB_TOKEN"), Path.of(directory, "fingerprints")))
+                .orElse(null);
+        // @formatter:on
+    }
+
+    /**
+     * Creates the checkpoint store of the run, if a cache directory is provided.
+     * @param fingerprint the fingerprint of the labels and options.
+     * @return the checkpoint store, or <code>null</code> if no cache directory is provided.
+     */
+    CheckpointStore newCheckpointStore(@NonNull String fingerprint) {
+        // @formatter:off
+        return getInputCacheDir()
+                .map(directory -> new CheckpointStore(Path.of(directory, "checkpoints"), fingerprint))
+                .orElse(null);
+        // @formatter:on
+    }
+
+    /**
+     * Synchronizes the given repositories concurrently with the given labels.<br>
+     * A failure in one repository does not stop the synchronization of the others. When a cache directory is provided,
+     * repositories unchanged since their last synchronization with the same labels and options are skipped.
+     * @param repositoryNames the names of the repositories.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param options the synchronization options.
+     * @param repositoryParallelism the maximum number of repositories synchronized concurrently.
+     * @return the results, in repositories order.
      * @throws IOException if an error occurs.
      */
-    Map<String, GHLabel> getGHLabels() throws IOException {
+    List<SynchronizationResult> synchronizeRepositories(
+            @NonNull List<String> repositoryNames,
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize,
+            @NonNull SynchronizationOptions options,
+            int repositoryParallelism)
+            throws IOException {
+        var fingerprintStore = newFingerprintStore();
+        var fingerprint = fingerprintStore != null ? FingerprintStore.fingerprint(labelsToSynchronize, options) : null;
 
-        Map<String, GHLabel> map = new TreeMap<>();
-        for (GHLabel ghLabel : ghRepository.listLabels()) {
-            map.put(ghLabel.getName().toLowerCase(Locale.ROOT), ghLabel);
+        var results = new TreeMap<String, SynchronizationResult>();
+        // @formatter:off
+        new LabelOperationExecutor(repositoryParallelism).execute(
+                repositoryNames,
+                repositoryName -> {
+                    var result = synchronizeRepository(
+                            repositoryName, labelsToSynchronize, options, fingerprintStore, fingerprint);
+                    synchronized (results) {
+                        results.put(repositoryName, result);
+                    }
+                },
+                repositoryName -> {});
+        // @formatter:on
+
+        var orderedResults = new ArrayList<SynchronizationResult>();
+        repositoryNames.forEach(repositoryName -> orderedResults.add(results.get(repositoryName)));
+        return orderedResults;
+    }
+
+    /**
+     * Synchronizes one repository with the given labels.<br>
+     * When a checkpoint of a previous run with the same fingerprint is left, its plan is resumed. When the fingerprint
+     * store proves that the repository is unchanged since its last synchronization with the same fingerprint, the
+     * reconciliation is skipped. Otherwise, the fingerprint is recorded with the pages listed by the synchronization
+     * when it had nothing to write, so that the next run can prove the repository unchanged. The repository is not
+     * synchronized at all if the operation budget of the run is exhausted.
+     * @param repositoryName the name of the repository.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param options the synchronization options.
+     * @param fingerprintStore the fingerprint store, or <code>null</code> to always reconcile.
+     * @param fingerprint the fingerprint of the labels and options, or <code>null</code> to always reconcile.
+     * @return the result, holding the failure if the synchronization failed.
+     */
+    SynchronizationResult synchronizeRepository(
+            @NonNull String repositoryName,
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize,
+            @NonNull SynchronizationOptions options,
+            FingerprintStore fingerprintStore,
+            String fingerprint) {
+        try {
+            if (operationBudget.isExhausted()) {
+                getLog().summary(String.format(
+                        "[%s] operation budget exhausted, synchronization deferred to a later run.", repositoryName));
+                return SynchronizationResult.postponed(repositoryName);
+            }
+
+            var checkpointStore = fingerprint != null ? newCheckpointStore(fingerprint) : null;
+            var checkpoint = checkpointStore != null ? checkpointStore.read(repositoryName) : null;
+            if (checkpoint != null && options.getWriteBackend() == LabelWriteBackend.GRAPHQL) {
+                // The GraphQL writer cannot tell an operation already applied from a conflicting one.
+                ghActionsKit.warning(String.format(
+                        "[%s] checkpoint not resumed with the GraphQL write backend, labels reconciled again.",
+                        repositoryName));
+                checkpointStore.discard(repositoryName);
+                checkpoint = null;
+            }
+            if (checkpoint == null && fingerprintStore != null && fingerprint != null) {
+                try (var timer = runMetrics.start(RunMetrics.Phase.LISTING)) {
+                    if (fingerprintStore.isUnchanged(repositoryName, fingerprint)) {
+                        getLog().summary(String.format(
+                                "[%s] labels unchanged since last synchronization, reconciliation skipped.",
+                                repositoryName));
+                        return SynchronizationResult.unchanged(repositoryName, labelsToSynchronize.size());
+                    }
+                }
+            }
+
+            var ghRepository = ghApi.getRepository(repositoryName);
+            var synchronizer = newSynchronizer(ghRepository, options);
+            synchronizer.setCheckpointStore(checkpointStore);
+            synchronizer.setPrefetchedListing(prefetchedListings.remove(repositoryName));
+            SynchronizationResult result;
+            if (checkpoint != null) {
+                result = synchronizer.resume(labelsToSynchronize, checkpoint);
+            } else {
+                result = synchronizer.synchronize(labelsToSynchronize);
+            }
+            var listedPages = synchronizer.getListedPages();
+            if (result.isComplete() && !result.hasWrites() && listedPages != null && fingerprintStore != null
+                    && fingerprint != null) {
+                recordFingerprint(fingerprintStore, repositoryName, fingerprint, listedPages);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            ghActionsKit.error(String.format("[%s] synchronization failed: %s", repositoryName, e.getMessage()));
+            return SynchronizationResult.failed(repositoryName, e);
         }
+    }
 
-        return map;
+    /**
+     * Synchronizes only the labels of the given names in one repository.<br>
+     * The labels are looked up by name: the existing labels of other names are neither listed nor changed.
+     * @param repositoryName the name of the repository.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param options the synchronization options.
+     * @param names the names of the labels to synchronize.
+     * @return the result, holding the failure if the synchronization failed.
+     */
+    SynchronizationResult synchronizeRepositoryLabels(
+            @NonNull String repositoryName,
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize,
+            @NonNull SynchronizationOptions options,
+            @NonNull Collection<String> names) {
+        try {
+            var synchronizer = newSynchronizer(ghApi.getRepository(repositoryName), options);
+            return synchronizer.synchronizeLabels(labelsToSynchronize, names);
+        } catch (IOException | RuntimeException e) {
+            ghActionsKit.error(String.format("[%s] synchronization failed: %s", repositoryName, e.getMessage()));
+            return SynchronizationResult.failed(repositoryName, e);
+        }
     }
 
     /**
-     * Create the given labels in the repository.
-     * @param labelsToCreate the labels to create.
-     * @throws IOException if an error occurs.
+     * Records the fingerprint of a successful synchronization.<br>
+     * A failure only disables the fast path of the next run for that repository.
+     * @param fingerprintStore the fingerprint store.
+     * @param repositoryName the name of the repository.
+     * @param fingerprint the fingerprint of the labels and options.
+     * @param listedPages the pages of the label listing of the synchronization.
      */
-    void createLabels(@NonNull Collection<LabelDTO> labelsToCreate) throws IOException {
-        for (LabelDTO label : labelsToCreate) {
-            this.ghActionsKit.notice(String.format("creating label '%s'", label.getName()));
-            ghRepository.createLabel(label.getName(), label.getColor(), label.getDescription());
+    private void recordFingerprint(
+            FingerprintStore fingerprintStore,
+            String repositoryName,
+            String fingerprint,
+            List<LabelListingFetcher.Page> listedPages) {
+        try {
+            fingerprintStore.record(repositoryName, fingerprint, listedPages);
+        } catch (IOException e) {
+            ghActionsKit.warning(
+                    String.format("[%s] fingerprint not recorded: %s", repositoryName, e.getMessage()));
         }
     }
 
     /**
-     * Updates the given labels in the repository.
-     * @param labelsToUpdate the labels to update.
-     * @throws IOException if an error occurs.
+     * Creates the synchronizer of the given repository.<br>
+     * The synchronizers of the run share one rate limit budget. Once connected, they share the HTTP client of the
+     * GitHub API, and the labels are listed with concurrent page requests, bounded by the "parallelism" input.
+     * @param ghRepository the repository.
+     * @param options the synchronization options.
+     * @return the synchronizer.
+     */
+    RepositoryLabelSynchronizer newSynchronizer(
+            @NonNull GHRepository ghRepository, @NonNull SynchronizationOptions options) {
+        var synchronizer = new RepositoryLabelSynchronizer(ghActionsKit, ghApi, ghRepository, options);
+        synchronizer.setRunMetrics(runMetrics);
+        synchronizer.setOperationBudget(operationBudget);
+        synchronizer.setRateLimitBudget(getRateLimitBudget(options.getRateLimitStrategy()));
+        synchronizer.setLog(getLog());
+        synchronizer.setHttpClient(apiHttpClient);
+        synchronizer.setApiConnector(apiConnector);
+        if (apiConnector != null) {
+            synchronizer.setLabelListingFetcher(newLabelListingFetcher(options.getParallelism()));
+        }
+        return synchronizer;
+    }
+
+    /**
+     * Creates the fetcher listing the labels through the connector of the GitHub API.
+     * @param parallelism the maximum number of pages listed concurrently.
+     * @return the fetcher.
+     */
+    private LabelListingFetcher newLabelListingFetcher(int parallelism) {
+        // @formatter:off
+        return new LabelListingFetcher(
+                ghApi,
+                apiConnector,
+                ghActionsKit.getRequiredEnv("GITHUB_TOKEN"),
+                new LabelOperationExecutor(parallelism));
+        // @formatter:on
+    }
+
+    /**
+     * Gets the rate limit budget shared by the repositories of the run, created with the first synchronizer.
+     * @param rateLimitStrategy the strategy applied when the rate limit budget is too small.
+     * @return the rate limit budget.
+     */
+    private synchronized RateLimitBudget getRateLimitBudget(RateLimitStrategy rateLimitStrategy) {
+        if (rateLimitBudget == null) {
+            rateLimitBudget = new RateLimitBudget(ghApi, rateLimitStrategy);
+        }
+        return rateLimitBudget;
+    }
+
+    /**
+     * Reports the metrics of the run as action outputs and in the step summary, if any.
+     * @throws IOException if the step summary cannot be written.
      */
-    void updateLabels(@NonNull Map<LabelDTO, GHLabel> labelsToUpdate) throws IOException {
-        for (Map.Entry<LabelDTO, GHLabel> entry : labelsToUpdate.entrySet()) {
-            var sourceLabel = entry.getKey();
-            var ghLabel = entry.getValue();
+    void reportMetrics() throws IOException {
+        ghActionsKit.setOutput("metrics", runMetrics.toJson());
+        ghActionsKit.setOutput("api_calls", runMetrics.getCallCount());
+        ghActionsKit.setOutput("retries", runMetrics.getRetryCount());
+        setNullableOutput("rate_limit_remaining_before", runMetrics.getRateLimitRemainingBefore());
+        setNullableOutput("rate_limit_remaining_after", runMetrics.getRateLimitRemainingAfter());
+        appendStepSummary(runMetrics.toMarkdown());
+    }
 
-            // Trace
-            this.ghActionsKit.notice(String.format("updating label '%s'", ghLabel.getName()));
+    /**
+     * Appends the given Markdown to the step summary, if any.
+     * @param markdown the Markdown.
+     * @return <code>true</code> if the step summary is written, <code>false</code> if there is no step summary.
+     * @throws IOException if the step summary cannot be written.
+     */
+    private boolean appendStepSummary(String markdown) throws IOException {
+        var stepSummary = ghActionsKit.getEnv("GITHUB_STEP_SUMMARY");
+        if (stepSummary.isEmpty()) {
+            return false;
+        }
+        // @formatter:off
+        Files.writeString(
+                Path.of(stepSummary.get()),
+                markdown,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        // @formatter:on
+        return true;
+    }
 
+    /**
+     * Sets an output which may be missing.
+     * @param name the output name.
+     * @param value the output value, or <code>null</code> to set an empty output.
+     */
+    private void setNullableOutput(String name, Integer value) {
+        if (value != null) {
+            ghActionsKit.setOutput(name, value);
+        } else {
+            ghActionsKit.setEmptyOutput(name);
+        }
+    }
+
+    /**
+     * Reports the results of the synchronization as a table in the step summary, or in the log if there is no step
+     * summary, and as a single notice for the run.
+     * @param results the results.
+     * @throws IOException if a repository failed to synchronize, or if the step summary cannot be written.
+     */
+    void reportResults(@NonNull List<SynchronizationResult> results) throws IOException {
+        var table = new StringBuilder();
+        table.append("| Repository | Created | Updated | Up-to-date | Deleted | Status |\n");
+        table.append("|------------|---------|---------|------------|---------|--------|\n");
+
+        IOException failure = null;
+        var created = 0;
+        var updated = 0;
+        var deleted = 0;
+        var incomplete = 0;
+        var failed = 0;
+        for (SynchronizationResult result : results) {
+            created += result.getCreated();
+            updated += result.getUpdated();
+            deleted += result.getDeleted();
             // @formatter:off
-            ghLabel.update()
-                    .name(sourceLabel.getName())
-                    .color(sourceLabel.getColor())
-                    .description(sourceLabel.getDescription())
-                    .done();
+            table.append(String.format("| %s | %d | %d | %d | %d | %s |%n",
+                    result.getRepository(),
+                    result.getCreated(),
+                    result.getUpdated(),
+                    result.getUpToDate(),
+                    result.getDeleted(),
+                    getStatus(result)));
             // @formatter:on
+
+            if (!result.isSuccessful()) {
+                failed++;
+                if (failure == null) {
+                    failure = new IOException(
+                            String.format("repository '%s' failed to synchronize.", result.getRepository()),
+                            result.getFailure());
+                } else {
+                    failure.addSuppressed(result.getFailure());
+                }
+            } else if (!result.isComplete()) {
+                incomplete++;
+            }
+        }
+        if (!appendStepSummary(table.toString())) {
+            table.toString().lines().forEach(getLog()::summary);
+        }
+        // @formatter:off
+        ghActionsKit.notice(String.format(
+                "%d repositories synchronized (%d incomplete, %d failed): %d labels created, %d updated, %d deleted.",
+                results.size(),
+                incomplete,
+                failed,
+                created,
+                updated,
+                deleted));
+        // @formatter:on
+
+        if (failure != null) {
+            throw failure;
         }
     }
 
     /**
-     * Deletes the given labels from the repository.
-     * @param labelsToDelete the labels to create.
-     * @throws IOException if an error occurs.
+     * Gets the log of per-label, per-source and summary lines.
+     * @return the log set for the run, or a log created with the GitHub Actions kit if none.
      */
-    void deleteLabels(@NonNull Collection<GHLabel> labelsToDelete) throws IOException {
-        for (GHLabel label : labelsToDelete) {
-            this.ghActionsKit.notice(String.format("deleting label '%s'", label.getName()));
-            label.delete();
+    private synchronized GroupedLog getLog() {
+        if (log == null) {
+            log = new GroupedLog(ghActionsKit);
         }
+        return log;
+    }
+
+    /**
+     * Gets the status of the given result, as reported.
+     * @param result the result.
+     * @return the status.
+     */
+    private static String getStatus(SynchronizationResult result) {
+        if (!result.isSuccessful()) {
+            return "failed";
+        } else if (result.isComplete()) {
+            return "ok";
+        } else if (result.getDeferred() > 0) {
+            return String.format("partial, %d deferred", result.getDeferred());
+        } else {
+            return "deferred";
+        }
+    }
+
+    /**
+     * A stage of the action, run asynchronously. <br>
+     * @param <T> the stage result type.
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface Stage<T> {
+
+        /**
+         * Runs the stage.
+         * @return the stage result.
+         * @throws IOException if an error occurs.
+         */
+        T run() throws IOException;
     }
 }
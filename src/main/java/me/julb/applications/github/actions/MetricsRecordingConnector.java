@@ -0,0 +1,188 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The connector recording the API calls in the run metrics. <br>
+ * Each call is recorded under an operation made of the method and the path template, with the latency until the
+ * response headers are received. The remaining core rate limit is read from the response headers. A call is counted as
+ * a retry when it sends again a request whose previous attempt failed with a connection error or a rate limit
+ * response, so that the last attempt of a request given up on is not counted.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class MetricsRecordingConnector implements GitHubConnector {
+
+    /**
+     * The HTTP status returned when too many requests are sent.
+     */
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The pattern matching the repository part of a path, after the optional API prefix.
+     */
+    private static final Pattern REPOSITORY_PATH = Pattern.compile("^.*?/repos/[^/]+/[^/]+");
+
+    /**
+     * The pattern matching the owner part of a path, after the optional API prefix.
+     */
+    private static final Pattern OWNER_PATH = Pattern.compile("^.*?/(orgs|users)/[^/]+");
+
+    /**
+     * The pattern matching the label name part of a path.
+     */
+    private static final Pattern LABEL_PATH = Pattern.compile("/labels/[^/]+");
+
+    /**
+     * The connector sending the requests.
+     */
+    @NonNull
+    private final GitHubConnector delegate;
+
+    /**
+     * The metrics of the run.
+     */
+    @NonNull
+    private final RunMetrics runMetrics;
+
+    /**
+     * The number of failed attempts not sent again yet, indexed by request as {@code METHOD URL}. Concurrent requests
+     * to the same URL, such as label creations, share their count.
+     */
+    private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        var operation = getOperation(request);
+        var attempt = String.format("%s %s", request.method(), request.url());
+        var retried = new AtomicBoolean();
+        failedAttempts.computeIfPresent(attempt, (key, count) -> {
+            retried.set(true);
+            return count > 1 ? count - 1 : null;
+        });
+        if (retried.get()) {
+            runMetrics.recordRetry();
+        }
+
+        var startNanos = System.nanoTime();
+        GitHubConnectorResponse response;
+        try {
+            response = delegate.send(request);
+        } catch (IOException e) {
+            runMetrics.recordCall(operation, System.nanoTime() - startNanos);
+            if (isRetriedConnectionError(e)) {
+                failedAttempts.merge(attempt, 1, Integer::sum);
+            }
+            throw e;
+        }
+        runMetrics.recordCall(operation, System.nanoTime() - startNanos);
+
+        var remaining = parseRemaining(response.header("X-RateLimit-Remaining"));
+        if (remaining != null) {
+            runMetrics.recordRateLimitRemaining(remaining);
+        }
+        if (isRateLimited(response.statusCode(), remaining, response.header("Retry-After"))) {
+            failedAttempts.merge(attempt, 1, Integer::sum);
+        }
+        return response;
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the operation of the given request.<br>
+     * Owners, repositories and label names are replaced by placeholders, so that calls are grouped by endpoint.
+     * @param request the request.
+     * @return the operation, as {@code METHOD /path/template}.
+     */
+    String getOperation(@NonNull GitHubConnectorRequest request) {
+        var path = request.url().getPath();
+        path = REPOSITORY_PATH.matcher(path).replaceFirst("/repos/{owner}/{repo}");
+        path = OWNER_PATH.matcher(path).replaceFirst("/$1/{owner}");
+        path = LABEL_PATH.matcher(path).replaceFirst("/labels/{name}");
+        return String.format("%s %s", request.method(), path.isEmpty() ? "/" : path);
+    }
+
+    /**
+     * Checks if the given failure is a transient connection error, which the client retries.<br>
+     * Other failures, such as an unknown host or a request timeout, are not retried.
+     * @param e the failure.
+     * @return <code>true</code> if the failure is retried, <code>false</code> otherwise.
+     */
+    static boolean isRetriedConnectionError(@NonNull IOException e) {
+        return e instanceof SocketException || e instanceof SocketTimeoutException || e instanceof SSLHandshakeException;
+    }
+
+    /**
+     * Checks if the given response is a rate limit response, which the client retries.
+     * @param statusCode the status code.
+     * @param remaining the remaining core rate limit, or <code>null</code> if not provided.
+     * @param retryAfter the "Retry-After" header, or <code>null</code> if not provided.
+     * @return <code>true</code> if the response is a rate limit response, <code>false</code> otherwise.
+     */
+    static boolean isRateLimited(int statusCode, Integer remaining, String retryAfter) {
+        if (statusCode == HTTP_TOO_MANY_REQUESTS) {
+            return true;
+        }
+        return statusCode == HttpURLConnection.HTTP_FORBIDDEN
+                && (retryAfter != null || Integer.valueOf(0).equals(remaining));
+    }
+
+    /**
+     * Parses the remaining core rate limit header.
+     * @param header the header value.
+     * @return the number of calls remaining, or <code>null</code> if the header is missing or invalid.
+     */
+    static Integer parseRemaining(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
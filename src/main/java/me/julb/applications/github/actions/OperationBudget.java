@@ -0,0 +1,159 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+/**
+ * The budget of label operations of a run. <br>
+ * The budget is shared by all repositories: operations are acquired before being applied, until the maximum number of
+ * operations is reached or the deadline has passed. Operations already started are never interrupted, so that the run
+ * stops cleanly between two operations.
+ * @author Julb.
+ */
+class OperationBudget {
+
+    /**
+     * The maximum number of operations of an unlimited budget.
+     */
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    // @formatter:off
+    /**
+     * The maximum number of operations of the run.
+     * -- GETTER --
+     * Getter for {@link #maxOperations} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final int maxOperations;
+
+    // @formatter:off
+    /**
+     * The date after which no operation is started, or <code>null</code> if none.
+     * -- GETTER --
+     * Getter for {@link #deadline} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final Instant deadline;
+
+    /**
+     * The number of operations which can still be acquired.
+     */
+    private final AtomicInteger remaining;
+
+    /**
+     * The clock used to check the deadline.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    @NonNull
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Default constructor.
+     * @param maxOperations the maximum number of operations of the run.
+     * @param deadline the date after which no operation is started, or <code>null</code> if none.
+     */
+    OperationBudget(int maxOperations, Instant deadline) {
+        if (maxOperations < 1) {
+            throw new IllegalArgumentException(String.format("max_operations must be positive: %d", maxOperations));
+        }
+        this.maxOperations = maxOperations;
+        this.deadline = deadline;
+        this.remaining = new AtomicInteger(maxOperations);
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates a budget without limit.
+     * @return the budget.
+     */
+    static OperationBudget unlimited() {
+        return new OperationBudget(UNLIMITED, null);
+    }
+
+    /**
+     * Checks if the budget limits the operations of the run.
+     * @return <code>true</code> if a maximum number of operations or a deadline is set, <code>false</code> otherwise.
+     */
+    boolean isLimited() {
+        return maxOperations != UNLIMITED || deadline != null;
+    }
+
+    /**
+     * Gets the number of operations which can still be acquired, ignoring the deadline.
+     * @return the number of operations.
+     */
+    int getRemaining() {
+        return remaining.get();
+    }
+
+    /**
+     * Checks if no operation can be acquired anymore.
+     * @return <code>true</code> if no operation is left or the deadline has passed, <code>false</code> otherwise.
+     */
+    boolean isExhausted() {
+        return remaining.get() == 0 || isPastDeadline();
+    }
+
+    /**
+     * Acquires up to the given number of operations.
+     * @param operations the number of operations requested.
+     * @return the number of operations acquired, <code>0</code> if the budget is exhausted.
+     */
+    int acquire(int operations) {
+        if (operations <= 0 || isPastDeadline()) {
+            return 0;
+        }
+        if (maxOperations == UNLIMITED) {
+            return operations;
+        }
+        while (true) {
+            var current = remaining.get();
+            var acquired = Math.min(current, operations);
+            if (remaining.compareAndSet(current, current - acquired)) {
+                return acquired;
+            }
+        }
+    }
+
+    /**
+     * Checks if the deadline has passed.
+     * @return <code>true</code> if the deadline has passed, <code>false</code> otherwise.
+     */
+    private boolean isPastDeadline() {
+        return deadline != null && !clock.instant().isBefore(deadline);
+    }
+}
@@ -0,0 +1,310 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHub;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The budget of API calls available in the core rate limit. <br>
+ * The budget is shared by all repositories of a run: each repository reserves the write calls of its plan before the
+ * first write, then each write call acquires one unit of the reservation. A plan is checked against the calls remaining
+ * in the core rate limit minus the calls reserved by the plans still being applied. The core rate limit is requested
+ * outside of the lock of the budget, so that a slow request never blocks the repositories acquiring their calls, and is
+ * then published under the lock.
+ * @author Julb.
+ */
+class RateLimitBudget {
+
+    /**
+     * The delay added after the rate limit reset date before calling the API again.
+     */
+    static final long RESET_MARGIN_MILLIS = 1000L;
+
+    /**
+     * The GitHub API.
+     */
+    private final GitHub ghApi;
+
+    // @formatter:off
+    /**
+     * The strategy applied when the budget is too small.
+     * -- GETTER --
+     * Getter for {@link #strategy} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final RateLimitStrategy strategy;
+
+    /**
+     * The sleeper used to wait for the rate limit reset. By default, it waits on the budget, so that the other
+     * repositories can acquire and release their reservations meanwhile.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private Sleeper sleeper = this::wait;
+
+    /**
+     * The number of calls remaining in the current rate limit window.
+     */
+    private int remaining;
+
+    /**
+     * The number of calls reserved by the plans being applied, and not acquired yet.
+     */
+    private int reserved;
+
+    /**
+     * The limit of calls for a rate limit window.
+     */
+    private int limit;
+
+    /**
+     * The reset date of the current rate limit window.
+     */
+    private Date resetDate;
+
+    /**
+     * The number of calls acquired since the budget was created.
+     */
+    private long acquired;
+
+    /**
+     * Default constructor.
+     * @param ghApi the GitHub API.
+     * @param strategy the strategy applied when the budget is too small.
+     */
+    RateLimitBudget(@NonNull GitHub ghApi, @NonNull RateLimitStrategy strategy) {
+        this.ghApi = ghApi;
+        this.strategy = strategy;
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Reserves the given number of calls for a plan, waiting for the reset or failing according to the strategy when
+     * the calls available are not enough.
+     * @param requiredCalls the number of calls required by the plan.
+     * @return the reservation, to close once the plan is applied.
+     * @throws IOException if the budget is too small and the strategy does not allow to go on.
+     */
+    Reservation reserve(int requiredCalls) throws IOException {
+        while (true) {
+            var snapshot = fetch();
+            synchronized (this) {
+                publish(snapshot);
+                if (requiredCalls <= getAvailable() || strategy == RateLimitStrategy.SPLIT) {
+                    reserved += requiredCalls;
+                    return new Reservation(requiredCalls);
+                } else if (strategy != RateLimitStrategy.WAIT) {
+                    throw new IOException(String.format(
+                            "rate limit budget exceeded: %d calls required, %d remaining and %d reserved until %s.",
+                            requiredCalls, remaining, reserved, resetDate));
+                } else if (requiredCalls > limit) {
+                    throw new IOException(String.format(
+                            "rate limit budget exceeded: %d calls required, limit is %d per window.",
+                            requiredCalls, limit));
+                }
+                waitForReset();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of calls remaining in the budget.
+     * @return the number of calls remaining in the budget.
+     */
+    synchronized int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Gets the number of calls reserved by the plans being applied, and not acquired yet.
+     * @return the number of calls reserved.
+     */
+    synchronized int getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Gets the number of calls which can still be reserved.
+     * @return the number of calls remaining and not reserved.
+     */
+    private int getAvailable() {
+        return remaining - reserved;
+    }
+
+    /**
+     * Acquires one call from the budget.<br>
+     * With the {@link RateLimitStrategy#SPLIT} strategy, waits for the reset when the budget is exhausted.
+     * @throws IOException if the wait is interrupted.
+     */
+    private void acquire() throws IOException {
+        while (true) {
+            synchronized (this) {
+                if (remaining > 0 || strategy != RateLimitStrategy.SPLIT) {
+                    remaining--;
+                    acquired++;
+                    return;
+                }
+                waitForReset();
+            }
+            var snapshot = fetch();
+            synchronized (this) {
+                publish(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Requests the core rate limit tracked by the GitHub API.<br>
+     * It must not be called with the lock of the budget held, as it may send a request.
+     * @return the snapshot of the core rate limit.
+     * @throws IOException if an error occurs.
+     */
+    private Snapshot fetch() throws IOException {
+        long acquiredBefore;
+        synchronized (this) {
+            acquiredBefore = acquired;
+        }
+        return new Snapshot(ghApi.getRateLimit().getCore(), acquiredBefore);
+    }
+
+    /**
+     * Publishes the given snapshot of the core rate limit in the budget.<br>
+     * The calls acquired while the snapshot was requested are deducted, as they may not be counted by it yet.
+     * @param snapshot the snapshot.
+     */
+    private void publish(Snapshot snapshot) {
+        remaining = snapshot.core.getRemaining() - (int) (acquired - snapshot.acquiredBefore);
+        limit = snapshot.core.getLimit();
+        resetDate = snapshot.core.getResetDate();
+    }
+
+    /**
+     * Waits until the reset of the rate limit window, or until a reservation is released.<br>
+     * It must be called with the lock of the budget held: the default sleeper releases it while waiting.
+     * @throws IOException if the wait is interrupted.
+     */
+    private void waitForReset() throws IOException {
+        var waitMillis = Math.max(0L, resetDate.getTime() - System.currentTimeMillis()) + RESET_MARGIN_MILLIS;
+        try {
+            sleeper.sleep(waitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    /**
+     * The core rate limit requested from the GitHub API. <br>
+     * @author Julb.
+     */
+    @RequiredArgsConstructor
+    private static class Snapshot {
+
+        /**
+         * The core rate limit.
+         */
+        private final GHRateLimit.Record core;
+
+        /**
+         * The number of calls acquired from the budget before the core rate limit was requested.
+         */
+        private final long acquiredBefore;
+    }
+
+    /**
+     * The calls reserved by a plan. <br>
+     * The calls not acquired when the reservation is closed are released for the plans of the other repositories.
+     * @author Julb.
+     */
+    final class Reservation implements AutoCloseable {
+
+        /**
+         * The number of calls reserved and not acquired yet.
+         */
+        private int unacquired;
+
+        /**
+         * Default constructor.
+         * @param calls the number of calls reserved.
+         */
+        private Reservation(int calls) {
+            this.unacquired = calls;
+        }
+
+        /**
+         * Acquires one call of the reservation.<br>
+         * With the {@link RateLimitStrategy#SPLIT} strategy, waits for the reset when the budget is exhausted.
+         * @throws IOException if the wait is interrupted.
+         */
+        void acquire() throws IOException {
+            synchronized (RateLimitBudget.this) {
+                if (unacquired > 0) {
+                    unacquired--;
+                    reserved--;
+                }
+            }
+            RateLimitBudget.this.acquire();
+        }
+
+        /**
+         * Releases the calls of the reservation which were not acquired.
+         */
+        @Override
+        public void close() {
+            synchronized (RateLimitBudget.this) {
+                reserved -= unacquired;
+                unacquired = 0;
+                RateLimitBudget.this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * A sleeper to wait for a given duration. <br>
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+
+        /**
+         * Sleeps for the given duration.
+         * @param millis the duration in milliseconds.
+         * @throws InterruptedException if the sleep is interrupted.
+         */
+        void sleep(long millis) throws InterruptedException;
+    }
+}
@@ -0,0 +1,778 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.connector.GitHubConnector;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The synchronizer of the labels of one repository. <br>
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class RepositoryLabelSynchronizer {
+
+    /**
+     * The page size used when listing labels, the maximum accepted by GitHub.
+     */
+    static final int LIST_PAGE_SIZE = 100;
+
+    /**
+     * The GitHub action kit.
+     */
+    @NonNull
+    private final GitHubActionsKit ghActionsKit;
+
+    /**
+     * The GitHub API.
+     */
+    @NonNull
+    private final GitHub ghApi;
+
+    /**
+     * The GitHub repository.
+     */
+    @NonNull
+    private final GHRepository ghRepository;
+
+    /**
+     * The synchronization options.
+     */
+    @NonNull
+    private final SynchronizationOptions options;
+
+    /**
+     * The rate limit budget of the run, or <code>null</code> to create one for the repository.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RateLimitBudget rateLimitBudget;
+
+    /**
+     * The calls reserved in the rate limit budget for the plan being applied, if planned.
+     */
+    private RateLimitBudget.Reservation rateLimitReservation;
+
+    /**
+     * The HTTP client of the run sending the GraphQL requests, or <code>null</code> to create one for the repository.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private HttpClient httpClient;
+
+    /**
+     * The connector of the GitHub API sending the REST write requests, or <code>null</code> to send them with the HTTP
+     * client.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private GitHubConnector apiConnector;
+
+    /**
+     * The writer applying label changes.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private LabelWriter labelWriter;
+
+    /**
+     * The fetcher listing the label pages concurrently, or <code>null</code> to list them through the repository.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private LabelListingFetcher labelListingFetcher;
+
+    /**
+     * The listing of all the existing labels started before the synchronization, if any.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private CompletableFuture<List<LabelListingFetcher.Page>> prefetchedListing;
+
+    // @formatter:off
+    /**
+     * The pages of the last listing of all the existing labels through the fetcher, if any.
+     * -- GETTER --
+     * Getter for {@link #listedPages} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private List<LabelListingFetcher.Page> listedPages;
+
+    /**
+     * The metrics of the run.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RunMetrics runMetrics = new RunMetrics();
+
+    /**
+     * The budget of label operations of the run.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    @NonNull
+    private OperationBudget operationBudget = OperationBudget.unlimited();
+
+    /**
+     * The store where the plan and its completed operations are journaled, or <code>null</code> if none.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private CheckpointStore checkpointStore;
+
+    /**
+     * The journal of the plan being applied, if any.
+     */
+    private CheckpointStore.Journal journal;
+
+    /**
+     * Flag indicating if the plan being applied is resumed from a checkpoint, so that its operations may already be
+     * applied.
+     */
+    private boolean resuming;
+
+    /**
+     * The log of per-label and summary lines, written with the GitHub Actions kit of the synchronizer if none is set.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private GroupedLog log;
+
+    /**
+     * The group of the phase being applied, if any.
+     */
+    private GroupedLog.Group phaseLog;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Synchronizes the labels of the repository with the given labels.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @return the synchronization result.
+     * @throws IOException if an error occurs.
+     */
+    SynchronizationResult synchronize(@NonNull Map<LabelKey, LabelDTO> labelsToSynchronize) throws IOException {
+        // Get existing labels in repository.
+        Map<LabelKey, ExistingLabel> existingLabels;
+        try (var timer = runMetrics.start(RunMetrics.Phase.LISTING)) {
+            existingLabels = getExistingLabels(labelsToSynchronize);
+        }
+
+        // Compute the plan.
+        var plan = LabelReconciler.reconcile(labelsToSynchronize, existingLabels, options.isSkipDelete());
+
+        // Journal the plan before the first write.
+        if (checkpointStore != null && plan.getWriteCount() > 0) {
+            journal = checkpointStore.open(getRepositoryName(), plan);
+        }
+        return applyPlan(plan, existingLabels.size());
+    }
+
+    /**
+     * Synchronizes only the labels of the given names, looked up by name instead of listed.<br>
+     * The synchronized labels of these names or aliases, and the existing labels of these names, are reconciled as in
+     * a full synchronization: an existing label of one of these names which is not synchronized is deleted, unless
+     * deletion is skipped.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param names the names of the labels to synchronize.
+     * @return the synchronization result.
+     * @throws IOException if an error occurs.
+     */
+    SynchronizationResult synchronizeLabels(
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize, @NonNull Collection<String> names)
+            throws IOException {
+        var keys = new HashSet<LabelKey>();
+        names.forEach(name -> keys.add(LabelKey.of(name)));
+
+        // Select the labels of the given names, and the labels they could be renamed from or to.
+        Map<LabelKey, LabelDTO> affectedLabels = new HashMap<>();
+        Map<LabelKey, String> namesToLookUp = new LinkedHashMap<>();
+        names.forEach(name -> namesToLookUp.putIfAbsent(LabelKey.of(name), name));
+        for (LabelDTO label : labelsToSynchronize.values()) {
+            var aliases = label.getAliases();
+            if (keys.contains(label.key()) || aliases.stream().map(LabelKey::of).anyMatch(keys::contains)) {
+                affectedLabels.put(label.key(), label);
+                namesToLookUp.putIfAbsent(label.key(), label.getName());
+                aliases.forEach(alias -> namesToLookUp.putIfAbsent(LabelKey.of(alias), alias));
+            }
+        }
+
+        Map<LabelKey, ExistingLabel> existingLabels;
+        try (var timer = runMetrics.start(RunMetrics.Phase.LISTING)) {
+            existingLabels = lookUpLabels(new ArrayList<>(namesToLookUp.values()));
+        }
+
+        var plan = LabelReconciler.reconcile(affectedLabels, existingLabels, options.isSkipDelete());
+        return applyPlan(plan, 0);
+    }
+
+    /**
+     * Resumes the plan of the given checkpoint, without listing the existing labels.<br>
+     * An operation applied by the previous run but not journaled, as the run stopped in between, is applied again: a
+     * label already created, renamed or deleted is then reported as such instead of failing. Only the REST writer
+     * replays operations, so checkpoints are never resumed with the GraphQL backend. The checkpoint is removed if an
+     * operation fails, as the existing labels may have changed since the plan was computed: the next run then
+     * reconciles the repository from a fresh listing.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param checkpoint the checkpoint, written with the same labels and options.
+     * @return the synchronization result.
+     * @throws IOException if an error occurs.
+     */
+    SynchronizationResult resume(
+            @NonNull Map<LabelKey, LabelDTO> labelsToSynchronize, @NonNull CheckpointStore.Checkpoint checkpoint)
+            throws IOException {
+        summary(String.format("resuming %d operations from checkpoint.", checkpoint.getRemainingCount()));
+        try {
+            var labelsToCreate = new ArrayList<LabelDTO>();
+            for (String name : checkpoint.getCreates()) {
+                labelsToCreate.add(getCheckpointLabel(labelsToSynchronize, name));
+            }
+            var labelsToUpdate = new ArrayList<Map.Entry<LabelDTO, ExistingLabel>>();
+            for (CheckpointStore.Update update : checkpoint.getUpdates()) {
+                // @formatter:off
+                labelsToUpdate.add(Map.entry(
+                        getCheckpointLabel(labelsToSynchronize, update.getName()),
+                        update.getLabel().toExistingLabel()));
+                // @formatter:on
+            }
+            var labelsToDelete = new ArrayList<ExistingLabel>();
+            for (CheckpointStore.Label label : checkpoint.getDeletes()) {
+                labelsToDelete.add(label.toExistingLabel());
+            }
+
+            if (checkpointStore != null) {
+                journal = checkpointStore.reopen(checkpoint);
+            }
+            resuming = true;
+            return applyPlan(new SyncPlan(labelsToCreate, labelsToUpdate, List.of(), labelsToDelete), 0);
+        } catch (IOException | RuntimeException e) {
+            if (checkpointStore != null) {
+                checkpointStore.discard(getRepositoryName());
+            }
+            throw e;
+        } finally {
+            resuming = false;
+        }
+    }
+
+    /**
+     * Gets the source label of an operation of a checkpoint.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @param name the name of the label.
+     * @return the source label.
+     * @throws IOException if the label is not synchronized anymore.
+     */
+    private static LabelDTO getCheckpointLabel(Map<LabelKey, LabelDTO> labelsToSynchronize, String name)
+            throws IOException {
+        var label = labelsToSynchronize.get(LabelKey.of(name));
+        if (label == null) {
+            throw new IOException(String.format("label '%s' of the checkpoint is not synchronized.", name));
+        }
+        return label;
+    }
+
+    /**
+     * Applies the given plan, as long as the operation budget of the run allows it.<br>
+     * The journal, if any, is completed when all the operations are applied, and kept for a later run otherwise.
+     * @param plan the plan.
+     * @param existingLabels the number of existing labels listed to compute the plan.
+     * @return the synchronization result.
+     * @throws IOException if an error occurs.
+     */
+    private SynchronizationResult applyPlan(SyncPlan plan, int existingLabels) throws IOException {
+        int created;
+        int updated;
+        var deleted = 0;
+        try {
+            // Check the core rate limit budget before the first REST write.
+            if (options.getWriteBackend() == LabelWriteBackend.REST) {
+                planRateLimitBudget(
+                        existingLabels,
+                        plan.getLabelsToCreate().size(),
+                        plan.getLabelsToUpdate().size(),
+                        plan.getLabelsToDelete().size());
+            }
+            labelWriter = newLabelWriter();
+
+            // Apply plan.
+            try (var timer = runMetrics.start(RunMetrics.Phase.CREATE)) {
+                created = applyPhase("created", plan.getLabelsToCreate(), this::createLabels);
+            }
+            try (var timer = runMetrics.start(RunMetrics.Phase.UPDATE)) {
+                updated = applyPhase("updated", plan.getLabelsToUpdate(), this::updateLabels);
+            }
+            if (!plan.getLabelsUpToDate().isEmpty()) {
+                summary(String.format("%d labels up-to-date, update skipped.", plan.getLabelsUpToDate().size()));
+            }
+            if (!options.isSkipDelete() || !plan.getLabelsToDelete().isEmpty()) {
+                try (var timer = runMetrics.start(RunMetrics.Phase.DELETE)) {
+                    deleted = applyPhase("deleted", plan.getLabelsToDelete(), this::deleteLabels);
+                }
+            }
+        } finally {
+            if (rateLimitReservation != null) {
+                rateLimitReservation.close();
+                rateLimitReservation = null;
+            }
+            if (journal != null) {
+                journal.close();
+            }
+        }
+
+        var deferred = plan.getWriteCount() - created - updated - deleted;
+        if (deferred > 0) {
+            summary(String.format("operation budget exhausted, %d operations deferred to a later run.", deferred));
+        } else if (journal != null) {
+            checkpointStore.discard(getRepositoryName());
+        }
+
+        // @formatter:off
+        return new SynchronizationResult(
+                getRepositoryName(),
+                created,
+                updated,
+                plan.getLabelsUpToDate().size(),
+                deleted,
+                deferred,
+                deferred == 0,
+                null);
+        // @formatter:on
+    }
+
+    /**
+     * Applies the operations of a phase, and logs them in a group followed by a summary line.
+     * @param <T> the operation item type.
+     * @param operation the past participle of the operation, such as "created".
+     * @param items the operation items.
+     * @param writer the writer applying a chunk of operations.
+     * @return the number of items applied.
+     * @throws IOException if an error occurs.
+     */
+    private <T> int applyPhase(String operation, List<T> items, ChunkWriter<T> writer) throws IOException {
+        phaseLog = getLog().newGroup(String.format("%s labels %s", logPrefix(), operation));
+        try {
+            return applyWithinBudget(items, writer);
+        } catch (UncheckedIOException e) {
+            // Journal failure raised from a completion callback.
+            throw e.getCause();
+        } finally {
+            phaseLog.flush();
+            if (!items.isEmpty()) {
+                summary(String.format("%d labels %s.", phaseLog.getCount(), operation));
+            }
+            phaseLog = null;
+        }
+    }
+
+    /**
+     * Applies the given operations, as long as the operation budget of the run allows it.<br>
+     * When the budget is limited or the operations are journaled, operations are applied in chunks: the budget is
+     * acquired for each chunk, and at most one chunk of operations is applied but not journaled yet if the run stops.
+     * Otherwise, all operations are applied at once.
+     * @param <T> the operation item type.
+     * @param items the operation items.
+     * @param writer the writer applying a chunk of items.
+     * @return the number of items applied.
+     * @throws IOException if an error occurs.
+     */
+    private <T> int applyWithinBudget(List<T> items, ChunkWriter<T> writer) throws IOException {
+        if (!operationBudget.isLimited() && journal == null) {
+            writer.write(items);
+            return items.size();
+        }
+
+        var applied = 0;
+        while (applied < items.size()) {
+            var acquired = operationBudget.acquire(Math.min(getChunkSize(), items.size() - applied));
+            if (acquired == 0) {
+                break;
+            }
+            writer.write(items.subList(applied, applied + acquired));
+            applied += acquired;
+        }
+        return applied;
+    }
+
+    /**
+     * Gets the number of operations applied per chunk: one GraphQL request, or one operation per REST worker.
+     * @return the number of operations per chunk.
+     */
+    int getChunkSize() {
+        if (options.getWriteBackend() == LabelWriteBackend.GRAPHQL) {
+            return options.getGraphQLBatchSize();
+        } else {
+            return options.getParallelism();
+        }
+    }
+
+    /**
+     * Gets the name of the repository.
+     * @return the name of the repository, as {@code owner/name}.
+     */
+    String getRepositoryName() {
+        return ghRepository.getFullName();
+    }
+
+    /**
+     * Gets the labels present in the repository the synchronization depends on.<br>
+     * All labels are listed, unless the existing labels which are not synchronized are kept: the synchronized labels,
+     * their aliases and the tombstones are then looked up by name when it costs fewer calls than listing the pages
+     * left after the first one.
+     * @param labelsToSynchronize the labels to synchronize, indexed by label key.
+     * @return the labels present in the repository, indexed by label key.
+     * @throws IOException if an error occurs.
+     */
+    Map<LabelKey, ExistingLabel> getExistingLabels(@NonNull Map<LabelKey, LabelDTO> labelsToSynchronize)
+            throws IOException {
+        if (labelListingFetcher == null || !options.isSkipDelete()) {
+            return getAllLabels();
+        }
+
+        var firstPage = labelListingFetcher.fetchFirstPage(getRepositoryName());
+        var map = indexByKey(firstPage.getLabels());
+        var pageCount = firstPage.getPageCount();
+        var namesToLookUp = ListingCostPlanner.getNamesToLookUp(labelsToSynchronize, map);
+        var strategy = ListingCostPlanner.choose(pageCount, namesToLookUp);
+        ghActionsKit.debug(String.format(
+                "%s listing cost: [listing: %s, lookUp: %d, strategy: %s]",
+                logPrefix(),
+                pageCount.isPresent() ? String.valueOf(ListingCostPlanner.estimateListingCost(pageCount)) : "unknown",
+                ListingCostPlanner.estimateLookUpCost(namesToLookUp),
+                strategy));
+
+        if (strategy == ListingCostPlanner.Strategy.LOOK_UP) {
+            map.putAll(lookUpLabels(namesToLookUp));
+            return map;
+        }
+        listedPages = labelListingFetcher.listPages(firstPage);
+        return indexByKey(LabelListingFetcher.getLabels(listedPages));
+    }
+
+    /**
+     * Looks up the given labels by name, concurrently.
+     * @param names the names of the labels.
+     * @return the labels found, indexed by label key.
+     * @throws IOException if an error occurs.
+     */
+    Map<LabelKey, ExistingLabel> lookUpLabels(@NonNull List<String> names) throws IOException {
+        Map<LabelKey, ExistingLabel> map = new ConcurrentHashMap<>();
+        // @formatter:off
+        new LabelOperationExecutor(options.getParallelism()).execute(names, name -> {
+            try {
+                putByKey(map, ExistingLabel.of(ghRepository.getLabel(name)));
+            } catch (FileNotFoundException e) {
+                // The label does not exist.
+            }
+        }, name -> {});
+        // @formatter:on
+        return new HashMap<>(map);
+    }
+
+    /**
+     * Indexes the given labels by label key.
+     * @param existingLabels the labels.
+     * @return the labels, indexed by label key.
+     * @throws IOException if two labels have the same key.
+     */
+    private static Map<LabelKey, ExistingLabel> indexByKey(Iterable<ExistingLabel> existingLabels) throws IOException {
+        Map<LabelKey, ExistingLabel> map = new HashMap<>();
+        for (ExistingLabel existingLabel : existingLabels) {
+            putByKey(map, existingLabel);
+        }
+        return map;
+    }
+
+    /**
+     * Adds the given label to the labels indexed by label key.<br>
+     * Two existing labels with the same key are reported instead of keeping only one of them, which would never be
+     * updated nor deleted.
+     * @param map the labels, indexed by label key.
+     * @param existingLabel the label to add.
+     * @throws IOException if a label with the same key is already indexed.
+     */
+    static void putByKey(@NonNull Map<LabelKey, ExistingLabel> map, @NonNull ExistingLabel existingLabel)
+            throws IOException {
+        var otherLabel = map.putIfAbsent(existingLabel.key(), existingLabel);
+        if (otherLabel != null) {
+            // @formatter:off
+            throw new IOException(String.format(
+                    "existing labels '%s' and '%s' have the same name regardless of case.",
+                    otherLabel.getName(), existingLabel.getName()));
+            // @formatter:on
+        }
+    }
+
+    /**
+     * Gets all labels present in the repository.<br>
+     * A listing started before the synchronization is awaited instead of listing again. Labels listed through the
+     * repository are projected page after page, so that only one page of {@link GHLabel} is held at a time.
+     * @return all labels present in the repository, indexed by label key.
+     * @throws IOException if an error occurs.
+     */
+    Map<LabelKey, ExistingLabel> getAllLabels() throws IOException {
+        if (prefetchedListing != null) {
+            listedPages = ManageLabelGitHubAction.awaitStage(prefetchedListing);
+            prefetchedListing = null;
+            return indexByKey(LabelListingFetcher.getLabels(listedPages));
+        }
+        if (labelListingFetcher != null) {
+            listedPages = labelListingFetcher.listPages(labelListingFetcher.fetchFirstPage(getRepositoryName()));
+            return indexByKey(LabelListingFetcher.getLabels(listedPages));
+        }
+
+        Map<LabelKey, ExistingLabel> map = new HashMap<>();
+        for (GHLabel ghLabel : ghRepository.listLabels().withPageSize(LIST_PAGE_SIZE)) {
+            putByKey(map, ExistingLabel.of(ghLabel));
+        }
+        return map;
+    }
+
+    /**
+     * Computes the API calls required by the plan and reserves them in the rate limit budget of the run.<br>
+     * Existing labels are already listed at this point: the list pages are reported but only write calls are
+     * reserved.
+     * @param existingLabels the number of existing labels.
+     * @param creates the number of labels to create.
+     * @param updates the number of labels to update.
+     * @param deletes the number of labels to delete.
+     * @throws IOException if the budget is too small and the strategy does not allow to go on.
+     */
+    void planRateLimitBudget(int existingLabels, int creates, int updates, int deletes) throws IOException {
+        var listPages = (existingLabels + LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE;
+        var writes = Math.min(creates + updates + deletes, operationBudget.getRemaining());
+        ghActionsKit.debug(String.format(
+                "%s plan: [listPages: %d, creates: %d, updates: %d, deletes: %d]",
+                logPrefix(), listPages, creates, updates, deletes));
+
+        if (writes == 0) {
+            return;
+        }
+
+        if (rateLimitBudget == null) {
+            rateLimitBudget = new RateLimitBudget(ghApi, options.getRateLimitStrategy());
+        }
+        rateLimitReservation = rateLimitBudget.reserve(writes);
+        ghActionsKit.debug(String.format(
+                "%s rate limit budget: [required: %d, remaining: %d, reserved: %d]",
+                logPrefix(), writes, rateLimitBudget.getRemaining(), rateLimitBudget.getReserved()));
+    }
+
+    /**
+     * Creates the writer applying label changes with the backend of the options.
+     * @return the label writer.
+     */
+    LabelWriter newLabelWriter() {
+        if (options.getWriteBackend() == LabelWriteBackend.GRAPHQL) {
+            // @formatter:off
+            var graphQLLabelWriter = new GraphQLLabelWriter(
+                    getHttpClient(),
+                    URI.create(options.getGraphQLUrl()),
+                    options.getToken(),
+                    ghRepository.getNodeId(),
+                    options.getReadTimeout(),
+                    options.getGraphQLBatchSize());
+            // @formatter:on
+            graphQLLabelWriter.setRunMetrics(runMetrics);
+            return graphQLLabelWriter;
+        } else {
+            // @formatter:off
+            var restLabelWriter = new RestLabelWriter(
+                    ghApi,
+                    ghRepository,
+                    Optional.ofNullable(apiConnector)
+                            .orElseGet(() -> new HttpClientConnector(getHttpClient(), options.getReadTimeout())),
+                    options.getToken(),
+                    new LabelOperationExecutor(options.getParallelism()),
+                    rateLimitReservation);
+            // @formatter:on
+            restLabelWriter.setIdempotent(resuming);
+            return restLabelWriter;
+        }
+    }
+
+    /**
+     * Gets the HTTP client sending the requests of the writers, created for the repository if none is set.
+     * @return the HTTP client.
+     */
+    private HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClientConnector.newHttpClient(
+                    Duration.ofSeconds(ManageLabelGitHubAction.DEFAULT_CONNECT_TIMEOUT));
+        }
+        return httpClient;
+    }
+
+    /**
+     * Gets the writer applying label changes.
+     * @return the writer set for the run, or a writer created from the options if none.
+     */
+    private LabelWriter getLabelWriter() {
+        return Optional.ofNullable(labelWriter).orElseGet(this::newLabelWriter);
+    }
+
+    /**
+     * Create the given labels in the repository.
+     * @param labelsToCreate the labels to create.
+     * @throws IOException if an error occurs.
+     */
+    void createLabels(@NonNull List<LabelDTO> labelsToCreate) throws IOException {
+        // @formatter:off
+        getLabelWriter().createLabels(labelsToCreate, label -> {
+            logOperation(String.format("label '%s' created.", label.getName()));
+            journal(CheckpointStore.OperationType.CREATE, label.getName());
+        });
+        // @formatter:on
+    }
+
+    /**
+     * Updates the given labels in the repository.<br>
+     * Only the fields which differ from the existing label are sent, so a label matched through an alias is renamed.
+     * @param labelsToUpdate the labels to update.
+     * @throws IOException if an error occurs.
+     */
+    void updateLabels(@NonNull List<Map.Entry<LabelDTO, ExistingLabel>> labelsToUpdate) throws IOException {
+        // @formatter:off
+        getLabelWriter().updateLabels(labelsToUpdate, entry -> {
+            logOperation(getUpdateMessage(entry.getKey(), entry.getValue()));
+            journal(CheckpointStore.OperationType.UPDATE, entry.getKey().getName());
+        });
+        // @formatter:on
+    }
+
+    /**
+     * Gets the message logged when a label is updated.
+     * @param label the label.
+     * @param existingLabel the existing label it replaced.
+     * @return the message.
+     */
+    private String getUpdateMessage(LabelDTO label, ExistingLabel existingLabel) {
+        if (label.key().equals(existingLabel.key())) {
+            return String.format("label '%s' updated.", label.getName());
+        } else {
+            return String.format("label '%s' renamed to '%s'.", existingLabel.getName(), label.getName());
+        }
+    }
+
+    /**
+     * Deletes the given labels from the repository.
+     * @param labelsToDelete the labels to create.
+     * @throws IOException if an error occurs.
+     */
+    void deleteLabels(@NonNull List<ExistingLabel> labelsToDelete) throws IOException {
+        // @formatter:off
+        getLabelWriter().deleteLabels(labelsToDelete, label -> {
+            logOperation(String.format("label '%s' deleted.", label.getName()));
+            journal(CheckpointStore.OperationType.DELETE, label.getName());
+        });
+        // @formatter:on
+    }
+
+    /**
+     * Records a completed operation in the journal, if any.
+     * @param type the operation type.
+     * @param name the name of the label.
+     * @throws UncheckedIOException if the operation cannot be journaled.
+     */
+    private void journal(CheckpointStore.OperationType type, String name) {
+        if (journal != null) {
+            try {
+                journal.record(type, name);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Logs a label operation in the group of the phase being applied, if any.
+     * @param message the message.
+     */
+    private void logOperation(String message) {
+        if (phaseLog != null) {
+            phaseLog.add(message);
+        }
+    }
+
+    /**
+     * Logs a summary line prefixed with the repository name.
+     * @param message the message.
+     */
+    private void summary(String message) {
+        getLog().summary(String.format("%s %s", logPrefix(), message));
+    }
+
+    /**
+     * Gets the log of per-label and summary lines.
+     * @return the log set for the run, or a log created with the GitHub Actions kit if none.
+     */
+    private GroupedLog getLog() {
+        if (log == null) {
+            log = new GroupedLog(ghActionsKit);
+        }
+        return log;
+    }
+
+    /**
+     * Gets the prefix of the log messages.
+     * @return the prefix of the log messages.
+     */
+    private String logPrefix() {
+        return String.format("[%s]", getRepositoryName());
+    }
+
+    /**
+     * The writer applying a chunk of operations. <br>
+     * @param <T> the operation item type.
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface ChunkWriter<T> {
+
+        /**
+         * Applies the operations of the given items.
+         * @param items the items.
+         * @throws IOException if an error occurs.
+         */
+        void write(List<T> items) throws IOException;
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.connector.GitHubConnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The writer applying label changes with one REST call per operation. <br>
+ * Updates and deletions are sent directly to the URL of the existing label through the connector of the GitHub API, so
+ * that they are measured like any other GitHub API request, and a rate limit response is sent again once the delay
+ * it gives has elapsed. When the operations may already be applied, a label already created or already deleted is
+ * reported as such, once its fields are brought in line with the source label: a label already created, or already
+ * renamed, by an interrupted run is looked up by its name.
+ * @author Julb.
+ */
+@RequiredArgsConstructor
+class RestLabelWriter implements LabelWriter {
+
+    /**
+     * The HTTP status returned when a request fails validation.
+     */
+    static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+
+    /**
+     * The mapper writing the label documents.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The GitHub API.
+     */
+    @NonNull
+    private final GitHub ghApi;
+
+    /**
+     * The GitHub repository.
+     */
+    @NonNull
+    private final GHRepository ghRepository;
+
+    /**
+     * The connector sending the update and delete requests.
+     */
+    @NonNull
+    private final GitHubConnector connector;
+
+    /**
+     * The GitHub token, or <code>null</code> to send unauthenticated requests.
+     */
+    private final String token;
+
+    /**
+     * The executor dispatching the calls.
+     */
+    @NonNull
+    private final LabelOperationExecutor executor;
+
+    /**
+     * The calls reserved in the rate limit budget, acquired by each call, or <code>null</code> if not planned.
+     */
+    private final RateLimitBudget.Reservation rateLimitReservation;
+
+    /**
+     * Flag indicating if the operations may already be applied, such as the operations resumed from a checkpoint.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private boolean idempotent;
+
+    /**
+     * The sleeper used to wait before sending a request again after a rate limit response.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private RateLimitBudget.Sleeper sleeper = Thread::sleep;
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createLabels(@NonNull List<LabelDTO> labels, @NonNull Consumer<LabelDTO> onCreated)
+            throws IOException {
+        // @formatter:off
+        executor.execute(labels, label -> {
+            acquireRateLimitBudget();
+            try {
+                // @formatter:off
+                ghRepository.createLabel(
+                        label.getName(), LabelDTO.normalizeColor(label.getColor()), label.getDescription());
+                // @formatter:on
+            } catch (HttpException e) {
+                if (!idempotent || !isAlreadyExists(e)) {
+                    throw e;
+                }
+                replayUpdate(label, e);
+            }
+        }, onCreated);
+        // @formatter:on
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateLabels(
+            @NonNull List<Map.Entry<LabelDTO, ExistingLabel>> labels,
+            @NonNull Consumer<Map.Entry<LabelDTO, ExistingLabel>> onUpdated)
+            throws IOException {
+        // @formatter:off
+        executor.execute(labels, entry -> {
+            acquireRateLimitBudget();
+            updateLabel(entry.getKey(), entry.getValue());
+        }, onUpdated);
+        // @formatter:on
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteLabels(@NonNull List<ExistingLabel> labels, @NonNull Consumer<ExistingLabel> onDeleted)
+            throws IOException {
+        // @formatter:off
+        executor.execute(labels, label -> {
+            acquireRateLimitBudget();
+            send(new ApiRequest("DELETE", getLabelUrl(label), token), idempotent);
+        }, onDeleted);
+        // @formatter:on
+    }
+
+    /**
+     * Updates the fields of the existing label which differ from the source label.
+     * @param sourceLabel the source label.
+     * @param existingLabel the existing label.
+     * @throws IOException if an error occurs.
+     */
+    void updateLabel(@NonNull LabelDTO sourceLabel, @NonNull ExistingLabel existingLabel) throws IOException {
+        try {
+            patchLabel(sourceLabel, existingLabel);
+        } catch (HttpException e) {
+            if (!idempotent || sourceLabel.hasSameName(existingLabel)
+                    || !isNotFound(e.getResponseCode())) {
+                throw e;
+            }
+            // The label may already be renamed by the interrupted run.
+            replayUpdate(sourceLabel, e);
+        }
+    }
+
+    /**
+     * Brings the label of the name of the given source label in line with it, when its operation may already be
+     * applied.
+     * @param sourceLabel the source label.
+     * @param failure the failure of the operation, thrown if the label does not exist.
+     * @throws IOException if an error occurs.
+     */
+    private void replayUpdate(LabelDTO sourceLabel, HttpException failure) throws IOException {
+        ExistingLabel currentLabel;
+        try {
+            currentLabel = ExistingLabel.of(ghRepository.getLabel(sourceLabel.getName()));
+        } catch (FileNotFoundException e) {
+            throw failure;
+        }
+        if (!LabelReconciler.isUpToDate(sourceLabel, currentLabel)) {
+            patchLabel(sourceLabel, currentLabel);
+        }
+    }
+
+    /**
+     * Sends the fields of the existing label which differ from the source label.
+     * @param sourceLabel the source label.
+     * @param existingLabel the existing label.
+     * @throws IOException if an error occurs.
+     */
+    private void patchLabel(LabelDTO sourceLabel, ExistingLabel existingLabel) throws IOException {
+        var fields = new LinkedHashMap<String, Object>();
+        if (!sourceLabel.hasSameName(existingLabel)) {
+            fields.put("new_name", sourceLabel.getName());
+        }
+        if (!sourceLabel.hasSameColor(existingLabel)) {
+            fields.put("color", LabelDTO.normalizeColor(sourceLabel.getColor()));
+        }
+        if (!sourceLabel.hasSameDescription(existingLabel)) {
+            fields.put("description", LabelDTO.normalizeDescription(sourceLabel.getDescription()));
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+        var body = OBJECT_MAPPER.writeValueAsBytes(fields);
+        send(new ApiRequest("PATCH", getLabelUrl(existingLabel), token, body), false);
+    }
+
+    /**
+     * Gets the URL of the given existing label.<br>
+     * The URL is derived from the repository and the label name, as returned by the REST API.
+     * @param existingLabel the existing label.
+     * @return the URL of the label.
+     * @throws IOException if an error occurs.
+     */
+    URL getLabelUrl(@NonNull ExistingLabel existingLabel) throws IOException {
+        // @formatter:off
+        return new URL(String.format("%s/repos/%s/labels/%s",
+                ghApi.getApiUrl().replaceFirst("/+$", ""),
+                ghRepository.getFullName(),
+                URLEncoder.encode(existingLabel.getName(), StandardCharsets.UTF_8).replace("+", "%20")));
+        // @formatter:on
+    }
+
+    /**
+     * Sends the given write request.<br>
+     * A rate limit response is sent again up to {@link ApiRequest#MAX_RATE_LIMIT_RETRIES} times, after the
+     * delay it gives.
+     * @param request the request.
+     * @param notFoundIgnored <code>true</code> to accept a label which does not exist, <code>false</code> otherwise.
+     * @throws IOException if the request fails.
+     */
+    private void send(ApiRequest request, boolean notFoundIgnored) throws IOException {
+        // @formatter:off
+        request.send(
+                connector,
+                sleeper,
+                statusCode -> isSuccessful(statusCode) || (notFoundIgnored && isNotFound(statusCode)),
+                response -> null);
+        // @formatter:on
+    }
+
+    /**
+     * Checks if the given status code reports a label which does not exist.
+     * @param statusCode the status code.
+     * @return <code>true</code> if the label does not exist, <code>false</code> otherwise.
+     */
+    private static boolean isNotFound(int statusCode) {
+        return statusCode == HttpURLConnection.HTTP_NOT_FOUND;
+    }
+
+    /**
+     * Checks if the given status code reports a successful request.
+     * @param statusCode the status code.
+     * @return <code>true</code> if the request is successful, <code>false</code> otherwise.
+     */
+    private static boolean isSuccessful(int statusCode) {
+        return statusCode >= HttpURLConnection.HTTP_OK && statusCode < HttpURLConnection.HTTP_MULT_CHOICE;
+    }
+
+    /**
+     * Checks if the given failure reports a label which already exists.
+     * @param e the failure.
+     * @return <code>true</code> if the label already exists, <code>false</code> otherwise.
+     */
+    static boolean isAlreadyExists(@NonNull HttpException e) {
+        // @formatter:off
+        return e.getResponseCode() == HTTP_UNPROCESSABLE_ENTITY
+                && e.getMessage() != null
+                && e.getMessage().contains("already_exists");
+        // @formatter:on
+    }
+
+    /**
+     * Acquires one call from the rate limit budget, if planned.
+     * @throws IOException if an error occurs.
+     */
+    private void acquireRateLimitBudget() throws IOException {
+        if (rateLimitReservation != null) {
+            rateLimitReservation.acquire();
+        }
+    }
+}
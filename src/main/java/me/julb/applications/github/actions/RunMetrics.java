@@ -0,0 +1,428 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The metrics of one run of the action. <br>
+ * Records the wall time spent in each phase, the latency of each API call grouped by operation, the retried calls and
+ * the core rate limit remaining before and after the run. The time of the repository phases is summed across
+ * repositories synchronized concurrently. All methods are thread-safe.
+ * @author Julb.
+ */
+class RunMetrics {
+
+    /**
+     * The mapper used to write the metrics as JSON.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * The wall time of each phase, in nanoseconds.
+     */
+    private final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+
+    /**
+     * The latencies of the API calls, in nanoseconds, indexed by operation.
+     */
+    private final Map<String, List<Long>> callNanos = new TreeMap<>();
+
+    /**
+     * The number of API calls which were retried.
+     */
+    private final AtomicInteger retries = new AtomicInteger();
+
+    /**
+     * The core rate limit remaining when the first API response was received.
+     */
+    private Integer rateLimitRemainingBefore;
+
+    /**
+     * The core rate limit remaining when the last API response was received.
+     */
+    private Integer rateLimitRemainingAfter;
+
+    /**
+     * Default constructor.
+     */
+    RunMetrics() {
+        for (Phase phase : Phase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Starts timing the given phase.<br>
+     * The time is recorded when the returned timer is closed.
+     * @param phase the phase.
+     * @return the timer.
+     */
+    PhaseTimer start(@NonNull Phase phase) {
+        var startNanos = System.nanoTime();
+        return () -> recordPhase(phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records time spent in the given phase.
+     * @param phase the phase.
+     * @param nanos the time, in nanoseconds.
+     */
+    void recordPhase(@NonNull Phase phase, long nanos) {
+        phaseNanos.get(phase).add(nanos);
+    }
+
+    /**
+     * Records an API call.
+     * @param operation the operation, as {@code METHOD /path/template}.
+     * @param nanos the latency, in nanoseconds.
+     */
+    synchronized void recordCall(@NonNull String operation, long nanos) {
+        callNanos.computeIfAbsent(operation, key -> new ArrayList<>()).add(nanos);
+    }
+
+    /**
+     * Records an API call which is retried.
+     */
+    void recordRetry() {
+        retries.incrementAndGet();
+    }
+
+    /**
+     * Records the core rate limit remaining reported by an API response.
+     * @param remaining the number of calls remaining.
+     */
+    synchronized void recordRateLimitRemaining(int remaining) {
+        if (rateLimitRemainingBefore == null) {
+            rateLimitRemainingBefore = remaining;
+        }
+        rateLimitRemainingAfter = remaining;
+    }
+
+    /**
+     * Gets the wall time spent in the given phase.
+     * @param phase the phase.
+     * @return the time, in milliseconds.
+     */
+    long getPhaseMillis(@NonNull Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(phaseNanos.get(phase).sum());
+    }
+
+    /**
+     * Gets the total number of API calls.
+     * @return the total number of API calls.
+     */
+    synchronized int getCallCount() {
+        return callNanos.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Gets the number of API calls which were retried.
+     * @return the number of API calls which were retried.
+     */
+    int getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Gets the core rate limit remaining before the run.
+     * @return the number of calls remaining, or <code>null</code> if no API response was received.
+     */
+    synchronized Integer getRateLimitRemainingBefore() {
+        return rateLimitRemainingBefore;
+    }
+
+    /**
+     * Gets the core rate limit remaining after the run.
+     * @return the number of calls remaining, or <code>null</code> if no API response was received.
+     */
+    synchronized Integer getRateLimitRemainingAfter() {
+        return rateLimitRemainingAfter;
+    }
+
+    /**
+     * Gets the statistics of the API calls, per operation.
+     * @return the statistics, sorted by operation.
+     */
+    synchronized List<OperationStats> getOperationStats() {
+        var stats = new ArrayList<OperationStats>();
+        for (Map.Entry<String, List<Long>> entry : callNanos.entrySet()) {
+            var latencies = new ArrayList<>(entry.getValue());
+            Collections.sort(latencies);
+            // @formatter:off
+            stats.add(new OperationStats(
+                    entry.getKey(),
+                    latencies.size(),
+                    percentileMillis(latencies, 50),
+                    percentileMillis(latencies, 90),
+                    percentileMillis(latencies, 99),
+                    percentileMillis(latencies, 100)));
+            // @formatter:on
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the given percentile of sorted latencies, with the nearest-rank method.
+     * @param sortedNanos the latencies, in nanoseconds, sorted in ascending order.
+     * @param percentile the percentile, between 1 and 100.
+     * @return the percentile, in milliseconds.
+     */
+    static long percentileMillis(@NonNull List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0L;
+        }
+        var rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.size());
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(rank, 1) - 1));
+    }
+
+    /**
+     * Writes the metrics as Markdown tables, for the step summary.
+     * @return the Markdown tables.
+     */
+    String toMarkdown() {
+        var markdown = new StringBuilder();
+        markdown.append("### Run metrics\n\n");
+        markdown.append("| Phase | Wall time (ms) |\n");
+        markdown.append("|-------|----------------|\n");
+        for (Phase phase : Phase.values()) {
+            markdown.append(String.format("| %s | %d |%n", phase.getKey(), getPhaseMillis(phase)));
+        }
+
+        markdown.append("\n| Operation | Calls | p50 (ms) | p90 (ms) | p99 (ms) | Max (ms) |\n");
+        markdown.append("|-----------|-------|----------|----------|----------|----------|\n");
+        for (OperationStats stats : getOperationStats()) {
+            // @formatter:off
+            markdown.append(String.format("| `%s` | %d | %d | %d | %d | %d |%n",
+                    stats.getOperation(),
+                    stats.getCalls(),
+                    stats.getP50Millis(),
+                    stats.getP90Millis(),
+                    stats.getP99Millis(),
+                    stats.getMaxMillis()));
+            // @formatter:on
+        }
+
+        markdown.append("\n| API calls | Retries | Rate limit remaining before | Rate limit remaining after |\n");
+        markdown.append("|-----------|---------|-----------------------------|----------------------------|\n");
+        // @formatter:off
+        markdown.append(String.format("| %d | %d | %s | %s |%n",
+                getCallCount(),
+                getRetryCount(),
+                formatNullable(getRateLimitRemainingBefore()),
+                formatNullable(getRateLimitRemainingAfter())));
+        // @formatter:on
+        return markdown.toString();
+    }
+
+    /**
+     * Writes the metrics as JSON, for the action outputs.
+     * @return the JSON document.
+     * @throws JsonProcessingException if an error occurs.
+     */
+    String toJson() throws JsonProcessingException {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            phases.put(phase.getKey(), getPhaseMillis(phase));
+        }
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats stats : getOperationStats()) {
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("calls", stats.getCalls());
+            operation.put("p50", stats.getP50Millis());
+            operation.put("p90", stats.getP90Millis());
+            operation.put("p99", stats.getP99Millis());
+            operation.put("max", stats.getMaxMillis());
+            operations.put(stats.getOperation(), operation);
+        }
+
+        Map<String, Object> rateLimit = new LinkedHashMap<>();
+        rateLimit.put("before", getRateLimitRemainingBefore());
+        rateLimit.put("after", getRateLimitRemainingAfter());
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("phases", phases);
+        document.put("operations", operations);
+        document.put("calls", getCallCount());
+        document.put("retries", getRetryCount());
+        document.put("rateLimitRemaining", rateLimit);
+        return OBJECT_MAPPER.writeValueAsString(document);
+    }
+
+    /**
+     * Formats a value which may be missing.
+     * @param value the value.
+     * @return the value, or {@code n/a} if missing.
+     */
+    private static String formatNullable(Integer value) {
+        return value != null ? value.toString() : "n/a";
+    }
+
+    /**
+     * The phases of a run. <br>
+     * @author Julb.
+     */
+    enum Phase {
+        /**
+         * Connection to the GitHub API.
+         */
+        CONNECT,
+
+        /**
+         * Fetch and parse of the label sources.
+         */
+        SOURCES,
+
+        /**
+         * Listing of the existing labels.
+         */
+        LISTING,
+
+        /**
+         * Creation of the labels.
+         */
+        CREATE,
+
+        /**
+         * Update of the labels.
+         */
+        UPDATE,
+
+        /**
+         * Deletion of the labels.
+         */
+        DELETE;
+
+        /**
+         * Gets the key of the phase in the reports.
+         * @return the lower-cased name of the phase.
+         */
+        String getKey() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * A timer recording the time of a phase when closed. <br>
+     * @author Julb.
+     */
+    @FunctionalInterface
+    interface PhaseTimer extends AutoCloseable {
+
+        /**
+         * Stops the timer and records the time of the phase.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * The latency statistics of one operation. <br>
+     * @author Julb.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class OperationStats {
+
+        // @formatter:off
+        /**
+         * The operation, as {@code METHOD /path/template}.
+         * -- GETTER --
+         * Getter for {@link #operation} property.
+         * @return the value.
+         */
+        // @formatter:on
+        private final String operation;
+
+        // @formatter:off
+        /**
+         * The number of calls.
+         * -- GETTER --
+         * Getter for {@link #calls} property.
+         * @return the value.
+         */
+        // @formatter:on
+        private final int calls;
+
+        // @formatter:off
+        /**
+         * The median latency, in milliseconds.
+         * -- GETTER --
+         * Getter for {@link #p50Millis} property.
+         * @return the value.
+         */
+        // @formatter:on
+        private final long p50Millis;
+
+        // @formatter:off
+        /**
+         * The 90th percentile latency, in milliseconds.
+         * -- GETTER --
+         * Getter for {@link #p90Millis} property.
+         * @return the value.
+         */
+        // @formatter:on
+        private final long p90Millis;
+
+        // @formatter:off
+        /**
+         * The 99th percentile latency, in milliseconds.
+         * -- GETTER --
+         * Getter for {@link #p99Millis} property.
+         * @return the value.
+         */
+        // @formatter:on
+        private final long p99Millis;
+
+        // @formatter:off
+        /**
+         * The maximum latency, in milliseconds.
+         * -- GETTER --
+         * Getter for {@link #maxMillis} property.
+         * @return the value.
+         */
+        // @formatter:on
+        private final long maxMillis;
+    }
+}
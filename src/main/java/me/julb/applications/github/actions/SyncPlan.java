@@ -0,0 +1,107 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The immutable plan bringing the labels of a repository in line with the labels to synchronize. <br>
+ * Each list is sorted by label key.
+ * @author Julb.
+ */
+@Getter
+class SyncPlan {
+
+    // @formatter:off
+    /**
+     * The labels to create.
+     * -- GETTER --
+     * Getter for {@link #labelsToCreate} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final List<LabelDTO> labelsToCreate;
+
+    // @formatter:off
+    /**
+     * The labels to update, with the existing label they replace.
+     * -- GETTER --
+     * Getter for {@link #labelsToUpdate} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final List<Map.Entry<LabelDTO, ExistingLabel>> labelsToUpdate;
+
+    // @formatter:off
+    /**
+     * The labels already up-to-date.
+     * -- GETTER --
+     * Getter for {@link #labelsUpToDate} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final List<LabelDTO> labelsUpToDate;
+
+    // @formatter:off
+    /**
+     * The existing labels to delete.
+     * -- GETTER --
+     * Getter for {@link #labelsToDelete} property.
+     * @return the value.
+     */
+    // @formatter:on
+    private final List<ExistingLabel> labelsToDelete;
+
+    /**
+     * Default constructor.
+     * @param labelsToCreate the labels to create.
+     * @param labelsToUpdate the labels to update, with the existing label they replace.
+     * @param labelsUpToDate the labels already up-to-date.
+     * @param labelsToDelete the existing labels to delete.
+     */
+    SyncPlan(
+            @NonNull List<LabelDTO> labelsToCreate,
+            @NonNull List<Map.Entry<LabelDTO, ExistingLabel>> labelsToUpdate,
+            @NonNull List<LabelDTO> labelsUpToDate,
+            @NonNull List<ExistingLabel> labelsToDelete) {
+        this.labelsToCreate = List.copyOf(labelsToCreate);
+        this.labelsToUpdate = List.copyOf(labelsToUpdate);
+        this.labelsUpToDate = List.copyOf(labelsUpToDate);
+        this.labelsToDelete = List.copyOf(labelsToDelete);
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the number of write operations of the plan.
+     * @return the number of labels to create, update and delete.
+     */
+    int getWriteCount() {
+        return labelsToCreate.size() + labelsToUpdate.size() + labelsToDelete.size();
+    }
+}
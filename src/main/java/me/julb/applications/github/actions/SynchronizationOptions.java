@@ -0,0 +1,87 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The options of a repository labels synchronization. <br>
+ * @author Julb.
+ */
+@Builder
+@Getter
+class SynchronizationOptions {
+
+    /**
+     * <code>true</code> to keep the existing labels which are not in the sources.
+     */
+    private final boolean skipDelete;
+
+    /**
+     * The maximum number of label operations applied concurrently.
+     */
+    @Builder.Default
+    private final int parallelism = 1;
+
+    /**
+     * The strategy applied when the rate limit budget is too small.
+     */
+    @NonNull
+    @Builder.Default
+    private final RateLimitStrategy rateLimitStrategy = RateLimitStrategy.FAIL;
+
+    /**
+     * The backend used to write labels.
+     */
+    @NonNull
+    @Builder.Default
+    private final LabelWriteBackend writeBackend = LabelWriteBackend.REST;
+
+    /**
+     * The maximum number of mutations sent in one GraphQL request.
+     */
+    @Builder.Default
+    private final int graphQLBatchSize = ManageLabelGitHubAction.DEFAULT_GRAPHQL_BATCH_SIZE;
+
+    /**
+     * The URL of the GraphQL endpoint, required by the GraphQL backend.
+     */
+    private final String graphQLUrl;
+
+    /**
+     * The token used to authenticate the GraphQL requests and the REST write requests, required by the GraphQL backend.
+     */
+    private final String token;
+
+    /**
+     * The maximum time waited for the response of a GraphQL request.
+     */
+    @NonNull
+    @Builder.Default
+    private final Duration readTimeout = Duration.ofSeconds(ManageLabelGitHubAction.DEFAULT_READ_TIMEOUT);
+}
@@ -0,0 +1,140 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The result of a repository labels synchronization. <br>
+ * @author Julb.
+ */
+@AllArgsConstructor
+@Getter
+class SynchronizationResult {
+
+    /**
+     * The repository name, as {@code owner/name}.
+     */
+    @NonNull
+    private final String repository;
+
+    /**
+     * The number of labels created.
+     */
+    private final int created;
+
+    /**
+     * The number of labels updated.
+     */
+    private final int updated;
+
+    /**
+     * The number of labels already up-to-date.
+     */
+    private final int upToDate;
+
+    /**
+     * The number of labels deleted.
+     */
+    private final int deleted;
+
+    /**
+     * The number of operations of the plan left for a later run.
+     */
+    private final int deferred;
+
+    /**
+     * <code>true</code> if all the operations of the plan were applied, <code>false</code> if the synchronization
+     * stopped before.
+     */
+    private final boolean complete;
+
+    /**
+     * The failure which stopped the synchronization, or <code>null</code> if successful.
+     */
+    private final Exception failure;
+
+    /**
+     * Constructor of a synchronization which applied all the operations of its plan, unless it failed.
+     * @param repository the repository name, as {@code owner/name}.
+     * @param created the number of labels created.
+     * @param updated the number of labels updated.
+     * @param upToDate the number of labels already up-to-date.
+     * @param deleted the number of labels deleted.
+     * @param failure the failure which stopped the synchronization, or <code>null</code> if successful.
+     */
+    SynchronizationResult(
+            @NonNull String repository, int created, int updated, int upToDate, int deleted, Exception failure) {
+        this(repository, created, updated, upToDate, deleted, 0, failure == null, failure);
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates the result of a failed synchronization.
+     * @param repository the repository name.
+     * @param failure the failure.
+     * @return the result.
+     */
+    static SynchronizationResult failed(@NonNull String repository, @NonNull Exception failure) {
+        return new SynchronizationResult(repository, 0, 0, 0, 0, failure);
+    }
+
+    /**
+     * Creates the result of a synchronization skipped because the repository is unchanged.
+     * @param repository the repository name.
+     * @param upToDate the number of labels to synchronize, all up-to-date.
+     * @return the result.
+     */
+    static SynchronizationResult unchanged(@NonNull String repository, int upToDate) {
+        return new SynchronizationResult(repository, 0, 0, upToDate, 0, null);
+    }
+
+    /**
+     * Creates the result of a synchronization not started because the operation budget of the run is exhausted.
+     * @param repository the repository name.
+     * @return the result.
+     */
+    static SynchronizationResult postponed(@NonNull String repository) {
+        return new SynchronizationResult(repository, 0, 0, 0, 0, 0, false, null);
+    }
+
+    /**
+     * Checks if the synchronization succeeded.
+     * @return <code>true</code> if the synchronization succeeded, <code>false</code> otherwise.
+     */
+    boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * Checks if the synchronization wrote labels.
+     * @return <code>true</code> if labels were created, updated or deleted, <code>false</code> otherwise.
+     */
+    boolean hasWrites() {
+        return created + updated + deleted > 0;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * Test class for {@link ApiRequest} class. <br>
+ * @author Julb.
+ */
+class ApiRequestTest {
+
+    /**
+     * The URL of the label requested.
+     */
+    private static final String LABEL_URL = "https://api.github.com/repos/octocat/Hello-World/labels/a";
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendRateLimited_thenSendAgainAfterDelay() throws Exception {
+        var rateLimitedResponses = new AtomicInteger(2);
+        var delays = new ArrayList<Long>();
+        var request = new ApiRequest("DELETE", new URL(LABEL_URL), "token");
+
+        // @formatter:off
+        var statusCode = request.send(
+                newConnector(rateLimitedResponses),
+                delays::add,
+                status -> status == 204,
+                GitHubConnectorResponse::statusCode);
+        // @formatter:on
+
+        assertThat(statusCode).isEqualTo(204);
+        assertThat(delays).containsExactly(5_000L, 5_000L);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendRateLimitedTooManyTimes_thenThrowHttpException() throws Exception {
+        var rateLimitedResponses = new AtomicInteger(ApiRequest.MAX_RATE_LIMIT_RETRIES + 1);
+        var delays = new ArrayList<Long>();
+        var request = new ApiRequest("DELETE", new URL(LABEL_URL), "token");
+
+        var connector = newConnector(rateLimitedResponses);
+        var e = assertThrows(HttpException.class,
+                () -> request.send(connector, delays::add, status -> status == 204, response -> null));
+
+        assertThat(e.getResponseCode()).isEqualTo(403);
+        assertThat(delays).hasSize(ApiRequest.MAX_RATE_LIMIT_RETRIES);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetHeaders_thenAuthenticateAndDescribeBody() throws Exception {
+        var url = new URL(LABEL_URL);
+
+        var request = new ApiRequest("PATCH", url, "token", "{}".getBytes());
+        assertThat(request.header("authorization")).isEqualTo("token token");
+        assertThat(request.header("Content-Type")).isEqualTo("application/json");
+        assertThat(request.hasBody()).isTrue();
+
+        var anonymousRequest = new ApiRequest("GET", url, null);
+        assertThat(anonymousRequest.header("Authorization")).isNull();
+        assertThat(anonymousRequest.header("Content-Type")).isNull();
+        assertThat(anonymousRequest.body()).isNull();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetRateLimitDelay_thenUseRetryAfterThenReset() throws Exception {
+        var response = mock(GitHubConnectorResponse.class);
+        when(response.statusCode()).thenReturn(403);
+        when(response.header("X-RateLimit-Remaining")).thenReturn("0");
+        when(response.header("X-RateLimit-Reset")).thenReturn("1000");
+        assertThat(ApiRequest.getRateLimitDelay(response, 990_000L)).isEqualTo(OptionalLong.of(10_000L));
+        assertThat(ApiRequest.getRateLimitDelay(response, 1_010_000L)).isEqualTo(OptionalLong.of(0L));
+
+        when(response.header("Retry-After")).thenReturn("5");
+        assertThat(ApiRequest.getRateLimitDelay(response, 990_000L)).isEqualTo(OptionalLong.of(5_000L));
+
+        var forbidden = mock(GitHubConnectorResponse.class);
+        when(forbidden.statusCode()).thenReturn(403);
+        when(forbidden.header("X-RateLimit-Remaining")).thenReturn("42");
+        assertThat(ApiRequest.getRateLimitDelay(forbidden, 0L)).isEmpty();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates a connector answering with a rate limit response the given number of times, then with no content.
+     * @param rateLimitedResponses the number of rate limit responses.
+     * @return the connector.
+     */
+    private static GitHubConnector newConnector(AtomicInteger rateLimitedResponses) {
+        return request -> {
+            var rateLimited = rateLimitedResponses.getAndDecrement() > 0;
+            Map<String, List<String>> headers = rateLimited ? Map.of("Retry-After", List.of("5")) : Map.of();
+            return new GitHubConnectorResponse.ByteArrayResponse(request, rateLimited ? 403 : 204, headers) {
+                @Override
+                protected InputStream rawBodyStream() {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for {@link AtomicFiles} class. <br>
+ * @author Julb.
+ */
+class AtomicFilesTest {
+
+    /**
+     * The directory holding the files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenWrite_thenFileReplacedWithoutTemporaryFileLeft() throws Exception {
+        var file = directory.resolve("sub").resolve("entry.json");
+
+        AtomicFiles.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        AtomicFiles.write(file, "second".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(AtomicFiles.read(file, content -> new String(content, StandardCharsets.UTF_8))).hasValue("second");
+        try (var files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReadMissingOrUnparsableFile_thenReturnEmpty() throws Exception {
+        var file = directory.resolve("entry.json");
+        assertThat(AtomicFiles.read(file, content -> content)).isEmpty();
+
+        Files.writeString(file, "{");
+        assertThat(AtomicFiles.read(file, content -> {
+            throw new IOException("invalid content");
+        })).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for {@link CheckpointStore} class. <br>
+ * @author Julb.
+ */
+class CheckpointStoreTest {
+
+    /**
+     * The directory holding the checkpoints.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenOpenAndRecord_thenReadOperationsLeft() throws Exception {
+        var checkpointStore = new CheckpointStore(directory, "f1");
+        try (var journal = checkpointStore.open("octocat/Hello-World", newPlan())) {
+            journal.record(CheckpointStore.OperationType.CREATE, "bug");
+            journal.record(CheckpointStore.OperationType.DELETE, "wontfix");
+        }
+
+        var checkpoint = checkpointStore.read("octocat/Hello-World");
+
+        assertThat(checkpoint).isNotNull();
+        assertThat(checkpoint.getCreates()).containsExactly("docs");
+        assertThat(checkpoint.getUpdates()).extracting(CheckpointStore.Update::getName).containsExactly("feature");
+        assertThat(checkpoint.getUpdates().get(0).getLabel().getName()).isEqualTo("enhancement");
+        assertThat(checkpoint.getDeletes()).isEmpty();
+        assertThat(checkpoint.getRemainingCount()).isEqualTo(2);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReadOtherFingerprintOrRepository_thenReturnNull() throws Exception {
+        new CheckpointStore(directory, "f1").open("octocat/Hello-World", newPlan()).close();
+
+        assertThat(new CheckpointStore(directory, "f2").read("octocat/Hello-World")).isNull();
+        assertThat(new CheckpointStore(directory, "f1").read("octocat/Spoon-Knife")).isNull();
+
+        Files.writeString(new CheckpointStore(directory, "f1").getCheckpointFile("octocat/Hello-World"), "{");
+        assertThat(new CheckpointStore(directory, "f1").read("octocat/Hello-World")).isNull();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReopenAfterInterruptedWrite_thenIgnorePartialLine() throws Exception {
+        var checkpointStore = new CheckpointStore(directory, "f1");
+        checkpointStore.open("octocat/Hello-World", newPlan()).close();
+        var checkpointFile = checkpointStore.getCheckpointFile("octocat/Hello-World");
+        Files.writeString(checkpointFile, "{\"type\":\"CRE", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        var checkpoint = checkpointStore.read("octocat/Hello-World");
+        assertThat(checkpoint.getRemainingCount()).isEqualTo(4);
+        try (var journal = checkpointStore.reopen(checkpoint)) {
+            journal.record(CheckpointStore.OperationType.UPDATE, "feature");
+        }
+
+        assertThat(checkpointStore.read("octocat/Hello-World").getRemainingCount()).isEqualTo(3);
+
+        checkpointStore.discard("octocat/Hello-World");
+        assertThat(checkpointFile).doesNotExist();
+        assertThat(checkpointStore.read("octocat/Hello-World")).isNull();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenLabelToExistingLabel_thenRestoreFields() throws Exception {
+        var existingLabel = new ExistingLabel(42L, "MDU6TGFiZWw0Mg==", "bug", "ff0000", "Something is broken");
+
+        assertThat(CheckpointStore.Label.of(existingLabel).toExistingLabel()).isEqualTo(existingLabel);
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates a plan with two creates, an update and a delete.
+     * @return the plan.
+     */
+    private static SyncPlan newPlan() {
+        var existingEnhancement = new ExistingLabel(1, "LA_1", "enhancement", "a2eeef", null);
+        var existingWontfix = new ExistingLabel(2, "LA_2", "wontfix", "ffffff", null);
+        // @formatter:off
+        return new SyncPlan(
+                List.of(new LabelDTO("bug", "ff0000"), new LabelDTO("docs", "0000ff")),
+                List.of(Map.entry(
+                        new LabelDTO("feature", "00ff00", null, List.of("enhancement")), existingEnhancement)),
+                List.of(),
+                List.of(existingWontfix));
+        // @formatter:on
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * Test class for {@link ConditionalRequestCacheConnector} class. <br>
+ * @author Julb.
+ */
+class ConditionalRequestCacheConnectorTest {
+
+    /**
+     * The label list URL.
+     */
+    private static final String LABELS_URL = "https://api.github.com/repos/octocat/Hello-World/labels?per_page=30";
+
+    /**
+     * The cache directory.
+     */
+    @TempDir
+    Path cacheDirectory;
+
+    /**
+     * The requests sent to GitHub.
+     */
+    private List<GitHubConnectorRequest> sentRequests;
+
+    /**
+     * The responses returned by GitHub, in order.
+     */
+    private List<GitHubConnectorResponse> responses;
+
+    /**
+     * The connector to test.
+     */
+    private ConditionalRequestCacheConnector connector;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        sentRequests = new ArrayList<>();
+        responses = new ArrayList<>();
+        connector = new ConditionalRequestCacheConnector(
+                request -> {
+                    sentRequests.add(request);
+                    return responses.remove(0);
+                },
+                cacheDirectory);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsWithoutCache_thenSendUnconditionalRequestAndPersistPage() throws Exception {
+        var request = mockRequest("GET", LABELS_URL);
+        responses.add(newResponse(request, 200, Map.of("ETag", List.of("\"v1\"")), "[{\"name\":\"bug\"}]"));
+
+        var response = connector.send(request);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(read(response.bodyStream())).isEqualTo("[{\"name\":\"bug\"}]");
+        assertThat(sentRequests.get(0).header("If-None-Match")).isNull();
+        assertThat(Files.exists(connector.getCacheFile(new URL(LABELS_URL)))).isTrue();
+        assertThat(connector.getMisses().get()).isEqualTo(1);
+        assertThat(connector.getHits().get()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsNotModified_thenReplayPersistedPage() throws Exception {
+        var request = mockRequest("GET", LABELS_URL);
+        // @formatter:off
+        responses.add(newResponse(request, 200, Map.of(
+                "ETag", List.of("\"v1\""),
+                "Link", List.of("<https://api.github.com/repositories/1/labels?page=2>; rel=\"next\""),
+                "X-RateLimit-Remaining", List.of("4999")), "[{\"name\":\"bug\"}]"));
+        responses.add(newResponse(request, 304, Map.of(
+                "ETag", List.of("\"v1\""),
+                "X-RateLimit-Remaining", List.of("4998")), ""));
+        // @formatter:on
+
+        connector.send(request);
+        var response = connector.send(request);
+
+        assertThat(sentRequests.get(1).header("If-None-Match")).isEqualTo("\"v1\"");
+        assertThat(sentRequests.get(1).allHeaders()).containsEntry("If-None-Match", List.of("\"v1\""));
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(read(response.bodyStream())).isEqualTo("[{\"name\":\"bug\"}]");
+        assertThat(response.header("Link")).contains("rel=\"next\"");
+        assertThat(response.header("X-RateLimit-Remaining")).isEqualTo("4998");
+        assertThat(connector.getHits().get()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsModified_thenReplaceCachedPage() throws Exception {
+        var request = mockRequest("GET", LABELS_URL);
+        responses.add(newResponse(request, 200, Map.of("ETag", List.of("\"v1\"")), "[{\"name\":\"bug\"}]"));
+        responses.add(newResponse(request, 200, Map.of("ETag", List.of("\"v2\"")), "[{\"name\":\"feature\"}]"));
+        responses.add(newResponse(request, 304, Map.of(), ""));
+
+        connector.send(request);
+        connector.send(request);
+        var response = connector.send(request);
+
+        assertThat(sentRequests.get(2).header("If-None-Match")).isEqualTo("\"v2\"");
+        assertThat(read(response.bodyStream())).isEqualTo("[{\"name\":\"feature\"}]");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCacheEntryCorrupted_thenSendUnconditionalRequest() throws Exception {
+        var request = mockRequest("GET", LABELS_URL);
+        Files.writeString(connector.getCacheFile(new URL(LABELS_URL)), "{not json");
+        responses.add(newResponse(request, 200, Map.of("ETag", List.of("\"v1\"")), "[]"));
+
+        var response = connector.send(request);
+
+        assertThat(sentRequests.get(0).header("If-None-Match")).isNull();
+        assertThat(read(response.bodyStream())).isEqualTo("[]");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRequestNotLabelListing_thenForwardAsIs() throws Exception {
+        var request = mockRequest("GET", "https://api.github.com/repos/octocat/Hello-World");
+        var expected = newResponse(request, 200, Map.of("ETag", List.of("\"v1\"")), "{}");
+        responses.add(expected);
+
+        assertThat(connector.send(request)).isSameAs(expected);
+        assertThat(sentRequests.get(0)).isSameAs(request);
+        assertThat(cacheDirectory).isEmptyDirectory();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsAlreadyConditional_thenForwardAsIs() throws Exception {
+        var request = mockRequest("GET", LABELS_URL);
+        when(request.header("If-None-Match")).thenReturn("\"v1\"");
+        var expected = newResponse(request, 304, Map.of("ETag", List.of("\"v1\"")), "");
+        responses.add(expected);
+
+        assertThat(connector.send(request)).isSameAs(expected);
+        assertThat(sentRequests.get(0)).isSameAs(request);
+        assertThat(cacheDirectory).isEmptyDirectory();
+        assertThat(connector.getHits().get()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenIsCacheable_thenOnlyLabelListings() throws Exception {
+        assertThat(connector.isCacheable(mockRequest("GET", LABELS_URL))).isTrue();
+        assertThat(connector.isCacheable(mockRequest("POST", LABELS_URL))).isFalse();
+        assertThat(connector.isCacheable(mockRequest("GET", LABELS_URL.replace("labels?", "labels/bug?"))))
+                .isFalse();
+        assertThat(connector.isCacheable(mockRequest("GET", "https://ghe.local/api/v3/repos/octocat/repo/labels")))
+                .isTrue();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Mocks a request.
+     * @param method the HTTP method.
+     * @param url the URL.
+     * @return the request.
+     * @throws Exception if an error occurs.
+     */
+    private GitHubConnectorRequest mockRequest(String method, String url) throws Exception {
+        var request = mock(GitHubConnectorRequest.class);
+        when(request.method()).thenReturn(method);
+        when(request.url()).thenReturn(new URL(url));
+        return request;
+    }
+
+    /**
+     * Creates a response.
+     * @param request the request.
+     * @param statusCode the status code.
+     * @param headers the headers.
+     * @param body the body.
+     * @return the response.
+     */
+    private GitHubConnectorResponse newResponse(
+            GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers, String body) {
+        return new GitHubConnectorResponse.ByteArrayResponse(request, statusCode, headers) {
+            @Override
+            protected InputStream rawBodyStream() {
+                return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    /**
+     * Reads the given stream.
+     * @param is the stream.
+     * @return the content.
+     * @throws Exception if an error occurs.
+     */
+    private String read(InputStream is) throws Exception {
+        return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
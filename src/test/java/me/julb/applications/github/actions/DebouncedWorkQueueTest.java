@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link DebouncedWorkQueue} class. <br>
+ * @author Julb.
+ */
+class DebouncedWorkQueueTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSubmitBurst_thenWorksMergedPerKey() throws Exception {
+        var runs = Collections.synchronizedList(new ArrayList<String>());
+        var done = new CountDownLatch(2);
+        // @formatter:off
+        try (var queue = new DebouncedWorkQueue<String, String>(
+                Duration.ofMillis(200),
+                Duration.ofSeconds(10),
+                (pending, work) -> pending + "," + work,
+                (key, work) -> {
+                    runs.add(key + "=" + work);
+                    done.countDown();
+                })) {
+            // @formatter:on
+            queue.submit("repo1", "a");
+            queue.submit("repo2", "c");
+            queue.submit("repo1", "b");
+            assertThat(queue.getPendingCount()).isEqualTo(2);
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(runs).containsExactlyInAnyOrder("repo1=a,b", "repo2=c");
+            assertThat(queue.getPendingCount()).isZero();
+        }
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSubmitContinuously_thenRunAfterMaxDelay() throws Exception {
+        var done = new CountDownLatch(1);
+        // @formatter:off
+        try (var queue = new DebouncedWorkQueue<String, String>(
+                Duration.ofMillis(300),
+                Duration.ofMillis(600),
+                (pending, work) -> pending + work,
+                (key, work) -> done.countDown())) {
+            // @formatter:on
+            // Each submission comes before the end of the debounce delay.
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (done.getCount() > 0 && System.nanoTime() < deadline) {
+                queue.submit("repo1", "x");
+                Thread.sleep(50);
+            }
+
+            assertThat(done.getCount()).isZero();
+        }
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenMaxDelayLowerThanDelay_thenThrowIllegalArgumentException() throws Exception {
+        // @formatter:off
+        assertThrows(IllegalArgumentException.class, () -> new DebouncedWorkQueue<String, String>(
+                Duration.ofSeconds(2), Duration.ofSeconds(1), (pending, work) -> work, (key, work) -> {}));
+        // @formatter:on
+    }
+}
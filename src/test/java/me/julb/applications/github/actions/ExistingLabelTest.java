@@ -0,0 +1,74 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHLabel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link ExistingLabel} class. <br>
+ * @author Julb.
+ */
+class ExistingLabelTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenOfJsonNode_thenKeepProjectedFieldsOnly() throws Exception {
+        // @formatter:off
+        var node = new ObjectMapper().readTree("{\"id\": 208045946, \"node_id\": \"MDU6TGFiZWwyMDgwNDU5NDY=\", "
+                + "\"url\": \"https://api.github.com/repos/octocat/Hello-World/labels/bug\", \"name\": \"Bug\", "
+                + "\"description\": null, \"color\": \"f29513\", \"default\": true}");
+        // @formatter:on
+
+        var existingLabel = ExistingLabel.of(node);
+
+        assertThat(existingLabel)
+                .isEqualTo(new ExistingLabel(208045946L, "MDU6TGFiZWwyMDgwNDU5NDY=", "Bug", "f29513", null));
+        assertThat(existingLabel.key()).isEqualTo(LabelKey.of("bug"));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenOfGHLabel_thenKeepProjectedFields() throws Exception {
+        var ghLabel = mock(GHLabel.class);
+        when(ghLabel.getId()).thenReturn(42L);
+        when(ghLabel.getNodeId()).thenReturn("LA_42");
+        when(ghLabel.getName()).thenReturn("docs");
+        when(ghLabel.getColor()).thenReturn("0000ff");
+        when(ghLabel.getDescription()).thenReturn("Documentation");
+
+        assertThat(ExistingLabel.of(ghLabel))
+                .isEqualTo(new ExistingLabel(42L, "LA_42", "docs", "0000ff", "Documentation"));
+    }
+}
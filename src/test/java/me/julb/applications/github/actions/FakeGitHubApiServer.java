@@ -0,0 +1,692 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A local stand-in for the label endpoints of the GitHub REST API. <br>
+ * Serves the API root, the rate limit, the repositories and the labels of each repository with the pagination,
+ * {@code ETag} and rate limit headers of GitHub. The latency, the default page size and the injection of secondary
+ * rate limit responses are configurable. Requests are counted per operation, as {@code METHOD /path/template}.
+ * @author Julb.
+ */
+class FakeGitHubApiServer implements AutoCloseable {
+
+    /**
+     * The maximum page size accepted by GitHub.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * The page size used by GitHub when the request does not provide one.
+     */
+    static final int DEFAULT_PAGE_SIZE = 30;
+
+    /**
+     * The pattern matching the path of a repository.
+     */
+    private static final Pattern REPOSITORY_PATH = Pattern.compile("^/repos/([^/]+)/([^/]+)$");
+
+    /**
+     * The pattern matching the path of the labels of a repository.
+     */
+    private static final Pattern LABELS_PATH = Pattern.compile("^/repos/([^/]+)/([^/]+)/labels/?$");
+
+    /**
+     * The pattern matching the path of one label of a repository.
+     */
+    private static final Pattern LABEL_PATH = Pattern.compile("^/repos/([^/]+)/([^/]+)/labels/([^/]+)$");
+
+    /**
+     * The pattern extracting a query parameter.
+     */
+    private static final Pattern QUERY_PARAMETER = Pattern.compile("(?:^|&)([^=&]+)=([^&]*)");
+
+    /**
+     * The JSON mapper.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static {
+        // Disable Nagle's algorithm so that responses written in two parts are not stalled by delayed ACKs. Only
+        // effective if no HTTP server was created before: the build sets it for the whole test run.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The executor handling the requests.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The labels of each repository, indexed by full name then by lower-cased label name.
+     */
+    private final Map<String, TreeMap<String, Map<String, Object>>> repositories = new ConcurrentHashMap<>();
+
+    /**
+     * The number of requests received, indexed by operation.
+     */
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    /**
+     * The number of requests being handled.
+     */
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    // @formatter:off
+    /**
+     * The maximum number of requests handled at the same time.
+     * -- GETTER --
+     * Getter for {@link #maxConcurrentRequests} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+    /**
+     * The number of write requests received.
+     */
+    private final AtomicInteger writeCount = new AtomicInteger();
+
+    /**
+     * The sequence of the label identifiers.
+     */
+    private final AtomicLong labelIds = new AtomicLong();
+
+    // @formatter:off
+    /**
+     * The number of secondary rate limit responses sent.
+     * -- GETTER --
+     * Getter for {@link #secondaryRateLimitCount} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final AtomicInteger secondaryRateLimitCount = new AtomicInteger();
+
+    // @formatter:off
+    /**
+     * The number of calls remaining in the core rate limit.
+     * -- GETTER --
+     * Getter for {@link #rateLimitRemaining} property.
+     * @return the value.
+     */
+    // @formatter:on
+    @Getter
+    private final AtomicInteger rateLimitRemaining;
+
+    // @formatter:off
+    /**
+     * The latency added to each response, in milliseconds.
+     * -- SETTER --
+     * Setter for {@link #latencyMillis} property.
+     * @param latencyMillis the value to set.
+     */
+    // @formatter:on
+    @Setter
+    private volatile long latencyMillis;
+
+    // @formatter:off
+    /**
+     * The page size used when the request does not provide one.
+     * -- SETTER --
+     * Setter for {@link #defaultPageSize} property.
+     * @param defaultPageSize the value to set.
+     */
+    // @formatter:on
+    @Setter
+    private volatile int defaultPageSize = DEFAULT_PAGE_SIZE;
+
+    // @formatter:off
+    /**
+     * The period of the secondary rate limit responses, in write requests, or 0 to disable them.
+     * -- SETTER --
+     * Setter for {@link #secondaryRateLimitPeriod} property.
+     * @param secondaryRateLimitPeriod the value to set.
+     */
+    // @formatter:on
+    @Setter
+    private volatile int secondaryRateLimitPeriod;
+
+    /**
+     * The limit of calls of the core rate limit.
+     */
+    private final int rateLimit;
+
+    /**
+     * Default constructor.
+     * @param rateLimit the limit of calls of the core rate limit.
+     * @param threads the number of threads handling the requests.
+     * @throws IOException if the server cannot be started.
+     */
+    FakeGitHubApiServer(int rateLimit, int threads) throws IOException {
+        this.rateLimit = rateLimit;
+        this.rateLimitRemaining = new AtomicInteger(rateLimit);
+        this.executorService = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(executorService);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the URL of the API.
+     * @return the URL of the API.
+     */
+    String getUrl() {
+        return String.format("http://localhost:%d", server.getAddress().getPort());
+    }
+
+    /**
+     * Adds an empty repository.
+     * @param repository the repository, as {@code owner/name}.
+     */
+    void addRepository(String repository) {
+        repositories.putIfAbsent(repository, new TreeMap<>());
+    }
+
+    /**
+     * Adds or replaces a label of a repository.
+     * @param repository the repository, as {@code owner/name}.
+     * @param name the label name.
+     * @param color the label color.
+     * @param description the label description.
+     */
+    void putLabel(String repository, String name, String color, String description) {
+        var labels = repositories.computeIfAbsent(repository, key -> new TreeMap<>());
+        synchronized (labels) {
+            labels.put(name.toLowerCase(Locale.ROOT), newLabel(repository, name, color, description));
+        }
+    }
+
+    /**
+     * Gets the labels of a repository.
+     * @param repository the repository, as {@code owner/name}.
+     * @return the labels, as {@link LabelDTO}, sorted by lower-cased name.
+     */
+    List<LabelDTO> getLabels(String repository) {
+        var labels = repositories.get(repository);
+        var result = new ArrayList<LabelDTO>();
+        synchronized (labels) {
+            for (Map<String, Object> label : labels.values()) {
+                // @formatter:off
+                result.add(new LabelDTO(
+                        (String) label.get("name"),
+                        (String) label.get("color"),
+                        (String) label.get("description")));
+                // @formatter:on
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of requests received for the given operation.
+     * @param operation the operation, as {@code METHOD /path/template}.
+     * @return the number of requests.
+     */
+    int getRequestCount(String operation) {
+        var count = requestCounts.get(operation);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Gets the total number of requests received.
+     * @return the total number of requests.
+     */
+    int getRequestCount() {
+        return requestCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * Resets the request counters.
+     */
+    void resetRequestCounts() {
+        requestCounts.clear();
+        maxConcurrentRequests.set(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Handles a request.
+     * @param exchange the exchange.
+     * @throws IOException if an error occurs.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        maxConcurrentRequests.accumulateAndGet(inFlightRequests.incrementAndGet(), Math::max);
+        try {
+            if (latencyMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            }
+
+            var method = exchange.getRequestMethod();
+            var path = exchange.getRequestURI().getRawPath();
+            var requestBody = exchange.getRequestBody().readAllBytes();
+            var repositoryMatcher = REPOSITORY_PATH.matcher(path);
+            var labelsMatcher = LABELS_PATH.matcher(path);
+            var labelMatcher = LABEL_PATH.matcher(path);
+
+            if ("/".equals(path)) {
+                count("GET /");
+                sendJson(exchange, 200, Map.of("rate_limit_url", getUrl() + "/rate_limit"));
+            } else if ("/user".equals(path)) {
+                count("GET /user");
+                sendJson(exchange, 200, Map.of("login", "octocat"));
+            } else if ("/rate_limit".equals(path)) {
+                count("GET /rate_limit");
+                sendJson(exchange, 200, getRateLimit());
+            } else if (repositoryMatcher.matches()) {
+                count(method + " /repos/{owner}/{repo}");
+                getRepository(exchange, repositoryMatcher.group(1), repositoryMatcher.group(2));
+            } else if (labelsMatcher.matches()) {
+                count(method + " /repos/{owner}/{repo}/labels");
+                var repository = labelsMatcher.group(1) + "/" + labelsMatcher.group(2);
+                if ("POST".equals(method)) {
+                    createLabel(exchange, repository, requestBody);
+                } else {
+                    listLabels(exchange, repository);
+                }
+            } else if (labelMatcher.matches()) {
+                count(method + " /repos/{owner}/{repo}/labels/{name}");
+                var repository = labelMatcher.group(1) + "/" + labelMatcher.group(2);
+                var name = URLDecoder.decode(labelMatcher.group(3), StandardCharsets.UTF_8);
+                if ("PATCH".equals(method)) {
+                    updateLabel(exchange, repository, name, requestBody);
+                } else if ("DELETE".equals(method)) {
+                    deleteLabel(exchange, repository, name);
+                } else if ("GET".equals(method)) {
+                    getLabel(exchange, repository, name);
+                } else {
+                    sendJson(exchange, 405, Map.of("message", "Method Not Allowed"));
+                }
+            } else {
+                count(method + " " + path);
+                sendJson(exchange, 404, Map.of("message", "Not Found"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            sendJson(exchange, 500, Map.of("message", String.valueOf(e.getMessage())));
+        } finally {
+            inFlightRequests.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    /**
+     * Answers a repository.
+     * @param exchange the exchange.
+     * @param owner the owner.
+     * @param name the name.
+     * @throws IOException if an error occurs.
+     */
+    private void getRepository(HttpExchange exchange, String owner, String name) throws IOException {
+        var repository = owner + "/" + name;
+        if (!repositories.containsKey(repository)) {
+            sendJson(exchange, 404, Map.of("message", "Not Found"));
+            return;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", Math.abs(repository.hashCode()));
+        body.put("node_id", "R_" + Integer.toHexString(repository.hashCode()));
+        body.put("name", name);
+        body.put("full_name", repository);
+        body.put("owner", Map.of("login", owner));
+        body.put("url", getUrl() + "/repos/" + repository);
+        sendJson(exchange, 200, body);
+    }
+
+    /**
+     * Answers a page of the labels of a repository, sorted by lower-cased name.
+     * @param exchange the exchange.
+     * @param repository the repository.
+     * @throws IOException if an error occurs.
+     */
+    private void listLabels(HttpExchange exchange, String repository) throws IOException {
+        var labels = repositories.get(repository);
+        if (labels == null) {
+            sendJson(exchange, 404, Map.of("message", "Not Found"));
+            return;
+        }
+
+        var parameters = getQueryParameters(exchange);
+        var pageSize = Math.min(MAX_PAGE_SIZE, Integer.parseInt(parameters.getOrDefault("per_page", "0")));
+        pageSize = pageSize > 0 ? pageSize : defaultPageSize;
+        var page = Math.max(1, Integer.parseInt(parameters.getOrDefault("page", "1")));
+
+        List<Map<String, Object>> content;
+        int lastPage;
+        synchronized (labels) {
+            var all = new ArrayList<>(labels.values());
+            lastPage = Math.max(1, (all.size() + pageSize - 1) / pageSize);
+            var from = Math.min(all.size(), (page - 1) * pageSize);
+            content = new ArrayList<>(all.subList(from, Math.min(all.size(), from + pageSize)));
+        }
+
+        if (page < lastPage) {
+            // @formatter:off
+            exchange.getResponseHeaders().add("Link", String.format(
+                    "<%s/repos/%s/labels?per_page=%d&page=%d>; rel=\"next\", "
+                            + "<%s/repos/%s/labels?per_page=%d&page=%d>; rel=\"last\"",
+                    getUrl(), repository, pageSize, page + 1,
+                    getUrl(), repository, pageSize, lastPage));
+            // @formatter:on
+        }
+
+        var body = OBJECT_MAPPER.writeValueAsBytes(content);
+        var etag = "W/\"" + Hashing.sha256().hashBytes(body) + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            // Conditional requests answered with a 304 do not count against the rate limit.
+            addRateLimitHeaders(exchange, false);
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    /**
+     * Creates a label.
+     * @param exchange the exchange.
+     * @param repository the repository.
+     * @param requestBody the request body.
+     * @throws IOException if an error occurs.
+     */
+    private void createLabel(HttpExchange exchange, String repository, byte[] requestBody) throws IOException {
+        if (isSecondaryRateLimited(exchange)) {
+            return;
+        }
+        var request = OBJECT_MAPPER.readTree(requestBody);
+        var labels = repositories.get(repository);
+        var name = request.path("name").asText();
+        synchronized (labels) {
+            if (labels.containsKey(name.toLowerCase(Locale.ROOT))) {
+                sendJson(exchange, 422, Map.of("message", "Validation Failed"));
+                return;
+            }
+            var label = newLabel(repository, name, textOrNull(request, "color"), textOrNull(request, "description"));
+            labels.put(name.toLowerCase(Locale.ROOT), label);
+            sendJson(exchange, 201, label);
+        }
+    }
+
+    /**
+     * Answers a label.
+     * @param exchange the exchange.
+     * @param repository the repository.
+     * @param name the label name.
+     * @throws IOException if an error occurs.
+     */
+    private void getLabel(HttpExchange exchange, String repository, String name) throws IOException {
+        var label = repositories.get(repository).get(name.toLowerCase(Locale.ROOT));
+        if (label == null) {
+            sendJson(exchange, 404, Map.of("message", "Not Found"));
+            return;
+        }
+        sendJson(exchange, 200, label);
+    }
+
+    /**
+     * Updates a label.
+     * @param exchange the exchange.
+     * @param repository the repository.
+     * @param name the current label name.
+     * @param requestBody the request body.
+     * @throws IOException if an error occurs.
+     */
+    private void updateLabel(HttpExchange exchange, String repository, String name, byte[] requestBody)
+            throws IOException {
+        if (isSecondaryRateLimited(exchange)) {
+            return;
+        }
+        var request = OBJECT_MAPPER.readTree(requestBody);
+        var labels = repositories.get(repository);
+        synchronized (labels) {
+            var label = labels.remove(name.toLowerCase(Locale.ROOT));
+            if (label == null) {
+                sendJson(exchange, 404, Map.of("message", "Not Found"));
+                return;
+            }
+            var newName = request.has("new_name") ? textOrNull(request, "new_name") : textOrNull(request, "name");
+            // @formatter:off
+            var updated = newLabel(
+                    repository,
+                    newName != null ? newName : (String) label.get("name"),
+                    request.has("color") ? textOrNull(request, "color") : (String) label.get("color"),
+                    request.has("description")
+                            ? textOrNull(request, "description")
+                            : (String) label.get("description"));
+            // @formatter:on
+            labels.put(((String) updated.get("name")).toLowerCase(Locale.ROOT), updated);
+            sendJson(exchange, 200, updated);
+        }
+    }
+
+    /**
+     * Deletes a label.
+     * @param exchange the exchange.
+     * @param repository the repository.
+     * @param name the label name.
+     * @throws IOException if an error occurs.
+     */
+    private void deleteLabel(HttpExchange exchange, String repository, String name) throws IOException {
+        if (isSecondaryRateLimited(exchange)) {
+            return;
+        }
+        var labels = repositories.get(repository);
+        synchronized (labels) {
+            if (labels.remove(name.toLowerCase(Locale.ROOT)) == null) {
+                sendJson(exchange, 404, Map.of("message", "Not Found"));
+                return;
+            }
+        }
+        addRateLimitHeaders(exchange, true);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    /**
+     * Answers a write request with a secondary rate limit response, once every configured period.
+     * @param exchange the exchange.
+     * @return <code>true</code> if the request was answered, <code>false</code> otherwise.
+     * @throws IOException if an error occurs.
+     */
+    private boolean isSecondaryRateLimited(HttpExchange exchange) throws IOException {
+        var period = secondaryRateLimitPeriod;
+        if (period <= 0 || writeCount.incrementAndGet() % period != 0) {
+            return false;
+        }
+        secondaryRateLimitCount.incrementAndGet();
+        exchange.getResponseHeaders().add("Retry-After", "0");
+        sendJson(exchange, 403, Map.of("message", "You have exceeded a secondary rate limit."));
+        return true;
+    }
+
+    /**
+     * Builds the rate limit document.
+     * @return the rate limit document.
+     */
+    private Map<String, Object> getRateLimit() {
+        // @formatter:off
+        Map<String, Object> core = Map.of(
+                "limit", rateLimit,
+                "remaining", Math.max(0, rateLimitRemaining.get()),
+                "reset", getResetEpochSeconds(),
+                "used", rateLimit - Math.max(0, rateLimitRemaining.get()));
+        // @formatter:on
+        Map<String, Object> resources = new LinkedHashMap<>();
+        resources.put("core", core);
+        resources.put("search", core);
+        resources.put("graphql", core);
+        resources.put("integration_manifest", core);
+        return Map.of("resources", resources, "rate", core);
+    }
+
+    /**
+     * Builds a label document.
+     * @param repository the repository.
+     * @param name the label name.
+     * @param color the label color.
+     * @param description the label description.
+     * @return the label document.
+     */
+    private Map<String, Object> newLabel(String repository, String name, String color, String description) {
+        var encodedName = URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+        Map<String, Object> label = new LinkedHashMap<>();
+        label.put("id", labelIds.incrementAndGet());
+        label.put("node_id", "LA_" + labelIds.get());
+        label.put("url", String.format("%s/repos/%s/labels/%s", getUrl(), repository, encodedName));
+        label.put("name", name);
+        label.put("color", color);
+        label.put("description", description);
+        label.put("default", false);
+        return label;
+    }
+
+    /**
+     * Sends a JSON response.
+     * @param exchange the exchange.
+     * @param status the status.
+     * @param body the body.
+     * @throws IOException if an error occurs.
+     */
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, OBJECT_MAPPER.writeValueAsBytes(body));
+    }
+
+    /**
+     * Sends a response with the rate limit headers.
+     * @param exchange the exchange.
+     * @param status the status.
+     * @param body the body.
+     * @throws IOException if an error occurs.
+     */
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        addRateLimitHeaders(exchange, !exchange.getRequestURI().getPath().equals("/rate_limit"));
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Adds the rate limit headers.
+     * @param exchange the exchange.
+     * @param counted <code>true</code> if the request counts against the rate limit.
+     */
+    private void addRateLimitHeaders(HttpExchange exchange, boolean counted) {
+        var remaining = counted ? rateLimitRemaining.decrementAndGet() : rateLimitRemaining.get();
+        var headers = exchange.getResponseHeaders();
+        headers.add("X-RateLimit-Limit", String.valueOf(rateLimit));
+        headers.add("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
+        headers.add("X-RateLimit-Used", String.valueOf(rateLimit - Math.max(0, remaining)));
+        headers.add("X-RateLimit-Reset", String.valueOf(getResetEpochSeconds()));
+        headers.add("X-RateLimit-Resource", "core");
+    }
+
+    /**
+     * Gets the reset date of the rate limit window.
+     * @return the reset date, in epoch seconds.
+     */
+    private long getResetEpochSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + TimeUnit.HOURS.toSeconds(1);
+    }
+
+    /**
+     * Counts a request.
+     * @param operation the operation.
+     */
+    private void count(String operation) {
+        requestCounts.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Gets the query parameters of a request.
+     * @param exchange the exchange.
+     * @return the query parameters.
+     */
+    private static Map<String, String> getQueryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        var query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            var matcher = QUERY_PARAMETER.matcher(query);
+            while (matcher.find()) {
+                parameters.put(matcher.group(1), URLDecoder.decode(matcher.group(2), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Gets a text field which may be null.
+     * @param node the JSON node.
+     * @param field the field name.
+     * @return the text, or <code>null</code> if missing or null.
+     */
+    private static String textOrNull(JsonNode node, String field) {
+        var value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
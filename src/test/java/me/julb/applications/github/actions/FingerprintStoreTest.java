@@ -0,0 +1,378 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test class for {@link FingerprintStore} class. <br>
+ * @author Julb.
+ */
+class FingerprintStoreTest {
+
+    /**
+     * The repository.
+     */
+    private static final String REPOSITORY = "octocat/Hello-World";
+
+    /**
+     * The pattern extracting the page number of a query.
+     */
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("(?:^|&)page=(\\d+)");
+
+    /**
+     * The fingerprint directory.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * The local API server.
+     */
+    private HttpServer server;
+
+    /**
+     * The label listing pages served, indexed by page number.
+     */
+    private Map<String, String> pages;
+
+    /**
+     * The request headers received by the server.
+     */
+    private List<Headers> requests;
+
+    /**
+     * The store to test.
+     */
+    private FingerprintStore fingerprintStore;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        pages = new ConcurrentHashMap<>();
+        requests = Collections.synchronizedList(new ArrayList<>());
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/repos/" + REPOSITORY + "/labels", exchange -> {
+            requests.add(exchange.getRequestHeaders());
+            var matcher = PAGE_PARAMETER.matcher(exchange.getRequestURI().getQuery());
+            var pageNumber = matcher.find() ? matcher.group(1) : "1";
+            var page = pages.getOrDefault(pageNumber, "[]");
+
+            var etag = getEtag(page);
+            exchange.getResponseHeaders().add("ETag", etag);
+            var nextPage = String.valueOf(Integer.parseInt(pageNumber) + 1);
+            if (pages.containsKey(nextPage)) {
+                exchange.getResponseHeaders().add("Link", String.format(
+                        "<%s/repos/%s/labels?per_page=100&page=%s>; rel=\"next\", "
+                                + "<%s/repos/%s/labels?per_page=100&page=%d>; rel=\"last\"",
+                        getApiUrl(), REPOSITORY, nextPage, getApiUrl(), REPOSITORY, pages.size()));
+            }
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            var body = page.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        var connector = new HttpClientConnector(HttpClient.newHttpClient(), Duration.ofSeconds(10));
+        fingerprintStore = new FingerprintStore(connector, "token", directory);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFingerprint_thenDependOnLabelsAndSkipDeleteOnly() throws Exception {
+        var labels = new LinkedHashMap<LabelKey, LabelDTO>();
+        labels.put(LabelKey.of("bug"), new LabelDTO("bug", "d73a4a", "Something isn't working"));
+        labels.put(LabelKey.of("feature"), new LabelDTO("feature", "a2eeef"));
+        var reordered = new LinkedHashMap<LabelKey, LabelDTO>();
+        reordered.put(LabelKey.of("feature"), new LabelDTO("feature", "a2eeef"));
+        reordered.put(LabelKey.of("bug"), new LabelDTO("bug", "d73a4a", "Something isn't working"));
+        var recolored = new LinkedHashMap<>(labels);
+        recolored.put(LabelKey.of("feature"), new LabelDTO("feature", "000000"));
+        var aliased = new LinkedHashMap<>(labels);
+        aliased.put(LabelKey.of("feature"), new LabelDTO("feature", "a2eeef", null, List.of("enhancement")));
+
+        var options = SynchronizationOptions.builder().build();
+        var fingerprint = FingerprintStore.fingerprint(labels, options);
+
+        assertThat(fingerprint).hasSize(64);
+        assertThat(FingerprintStore.fingerprint(reordered, options)).isEqualTo(fingerprint);
+        assertThat(FingerprintStore.fingerprint(labels, SynchronizationOptions.builder().parallelism(8).build()))
+                .isEqualTo(fingerprint);
+        assertThat(FingerprintStore.fingerprint(labels, SynchronizationOptions.builder().skipDelete(true).build()))
+                .isNotEqualTo(fingerprint);
+        assertThat(FingerprintStore.fingerprint(recolored, options)).isNotEqualTo(fingerprint);
+        assertThat(FingerprintStore.fingerprint(aliased, options)).isNotEqualTo(fingerprint);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRecordedAndListingUnchanged_thenUnchangedWithConditionalRequests() throws Exception {
+        pages.put("1", "[{\"name\":\"bug\"}]");
+        pages.put("2", "[{\"name\":\"feature\"}]");
+
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1), listedPage(2)));
+        requests.clear();
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isTrue();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getFirst("If-None-Match")).startsWith("W/\"");
+        assertThat(requests.get(0).getFirst("Authorization")).isEqualTo("token token");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSinglePageUnchanged_thenUnchangedWithOneConditionalRequest() throws Exception {
+        pages.put("1", "[{\"name\":\"bug\"}]");
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isTrue();
+        assertThat(requests).hasSize(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListingChanged_thenChanged() throws Exception {
+        pages.put("1", "[{\"name\":\"bug\"}]");
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+
+        pages.put("1", "[{\"name\":\"bug\"},{\"name\":\"manual\"}]");
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPageAddedAfterUnchangedPages_thenChanged() throws Exception {
+        pages.put("1", "[{\"name\":\"bug\"}]");
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+
+        pages.put("2", "[{\"name\":\"manual\"}]");
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenLastPageFull_thenNextPageChecked() throws Exception {
+        // @formatter:off
+        pages.put("1", IntStream.range(0, FingerprintStore.PAGE_SIZE)
+                .mapToObj(i -> "{\"name\":\"label" + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]")));
+        // @formatter:on
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isTrue();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).getFirst("If-None-Match")).isNull();
+
+        pages.put("2", "[{\"name\":\"manual\"}]");
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenLastPageFullAndListingCached_thenNextPageCheckedConditionally() throws Exception {
+        // @formatter:off
+        pages.put("1", IntStream.range(0, FingerprintStore.PAGE_SIZE)
+                .mapToObj(i -> "{\"name\":\"label" + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]")));
+        // @formatter:on
+        var httpClientConnector = new HttpClientConnector(HttpClient.newHttpClient(), Duration.ofSeconds(10));
+        var connector = new ConditionalRequestCacheConnector(httpClientConnector, directory.resolve("cache"));
+        fingerprintStore = new FingerprintStore(connector, "token", directory);
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isTrue();
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isTrue();
+        assertThat(requests).hasSize(4);
+        assertThat(requests.get(3).getFirst("If-None-Match")).isEqualTo(getEtag("[]"));
+        assertThat(connector.getHits().get()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPageAnsweredWithError_thenChanged() throws Exception {
+        pages.put("1", "[{\"name\":\"bug\"}]");
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+        server.removeContext("/repos/" + REPOSITORY + "/labels");
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRecordPageWithoutEtag_thenNothingRecorded() throws Exception {
+        var page = new LabelListingFetcher.Page(getApiUrl(), null, List.of(), List.of());
+
+        fingerprintStore.record(REPOSITORY, "f1", List.of(page));
+
+        assertThat(fingerprintStore.getEntryFile(REPOSITORY)).doesNotExist();
+        assertThat(requests).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFingerprintDiffers_thenChangedWithoutRequest() throws Exception {
+        pages.put("1", "[]");
+        fingerprintStore.record(REPOSITORY, "f1", List.of(listedPage(1)));
+
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f2")).isFalse();
+        assertThat(requests).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenNoEntryOrCorruptedEntry_thenChanged() throws Exception {
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isFalse();
+
+        Files.createDirectories(directory);
+        Files.writeString(fingerprintStore.getEntryFile(REPOSITORY), "{not json");
+        assertThat(fingerprintStore.isUnchanged(REPOSITORY, "f1")).isFalse();
+        assertThat(requests).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenHasPageCount_thenCompareLastLink() throws Exception {
+        // @formatter:off
+        var links = List.of("<https://api.github.com/repositories/1/labels?page=2>; rel=\"next\", "
+                + "<https://api.github.com/repositories/1/labels?page=5>; rel=\"last\"");
+        // @formatter:on
+        assertThat(FingerprintStore.hasPageCount(links, 5)).isTrue();
+        assertThat(FingerprintStore.hasPageCount(links, 4)).isFalse();
+        assertThat(FingerprintStore.hasPageCount(List.of(), 1)).isTrue();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetNextPageUrl_thenAddOrReplacePageParameter() throws Exception {
+        assertThat(FingerprintStore.getNextPageUrl("https://api.github.com/repos/o/r/labels?per_page=100", 1))
+                .isEqualTo("https://api.github.com/repos/o/r/labels?per_page=100&page=2");
+        assertThat(FingerprintStore.getNextPageUrl("https://api.github.com/repos/o/r/labels?per_page=100&page=3", 3))
+                .isEqualTo("https://api.github.com/repos/o/r/labels?per_page=100&page=4");
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the URL of the local API server.
+     * @return the URL of the local API server.
+     */
+    private String getApiUrl() {
+        return String.format("http://localhost:%d", server.getAddress().getPort());
+    }
+
+    /**
+     * Gets the {@code ETag} the local API server sends for the given page.
+     * @param page the page body.
+     * @return the {@code ETag}.
+     */
+    private static String getEtag(String page) {
+        return "W/\"" + Integer.toHexString(page.hashCode()) + "\"";
+    }
+
+    /**
+     * Creates the page listed by a synchronization, as served by the local API server.
+     * @param pageNumber the page number.
+     * @return the page.
+     */
+    private LabelListingFetcher.Page listedPage(int pageNumber) {
+        var page = pages.get(String.valueOf(pageNumber));
+        var labelCount = page.equals("[]") ? 0 : page.split("\\},\\{").length;
+        // @formatter:off
+        var url = String.format("%s/repos/%s/labels?per_page=100%s",
+                getApiUrl(), REPOSITORY, pageNumber > 1 ? "&page=" + pageNumber : "");
+        var labels = IntStream.range(0, labelCount)
+                .mapToObj(i -> new ExistingLabel(i, null, "label" + i, null, null))
+                .collect(Collectors.toList());
+        // @formatter:on
+        return new LabelListingFetcher.Page(url, getEtag(page), labels, List.of());
+    }
+}
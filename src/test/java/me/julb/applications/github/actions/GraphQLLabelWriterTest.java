@@ -0,0 +1,244 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test class for {@link GraphQLLabelWriter} class. <br>
+ * @author Julb.
+ */
+class GraphQLLabelWriterTest {
+
+    /**
+     * The JSON mapper.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * The local GraphQL server.
+     */
+    private HttpServer server;
+
+    /**
+     * The batches received by the server.
+     */
+    private List<JsonNode> batches;
+
+    /**
+     * The function giving the response of the server for a batch.
+     */
+    private Function<JsonNode, String> responder;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        batches = Collections.synchronizedList(new ArrayList<>());
+        responder = batch -> "{\"data\": {}}";
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            var batch = objectMapper.readTree(exchange.getRequestBody());
+            batches.add(batch);
+            var response = responder.apply(batch).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateLabels_thenMutationsSentByBatches() throws Exception {
+        var labels = new ArrayList<LabelDTO>();
+        for (var i = 0; i < 5; i++) {
+            labels.add(new LabelDTO("label" + i, "#00AAFF", i == 0 ? "desc" : null));
+        }
+        var created = new ArrayList<LabelDTO>();
+
+        newWriter(2).createLabels(labels, created::add);
+
+        assertThat(created).containsExactlyElementsOf(labels);
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0).path("query").asText())
+                .isEqualTo("mutation($i0: CreateLabelInput!, $i1: CreateLabelInput!) {"
+                        + " l0: createLabel(input: $i0) { clientMutationId }"
+                        + " l1: createLabel(input: $i1) { clientMutationId } }");
+        var input = batches.get(0).path("variables").path("i0");
+        assertThat(input.path("repositoryId").asText()).isEqualTo("R_1");
+        assertThat(input.path("name").asText()).isEqualTo("label0");
+        assertThat(input.path("color").asText()).isEqualTo("00aaff");
+        assertThat(input.path("description").asText()).isEqualTo("desc");
+        assertThat(batches.get(2).path("variables").size()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUpdateLabels_thenOnlyChangedFieldsSent() throws Exception {
+        var existingLabel = new ExistingLabel(1, "LA_1", "label1", "ffffff", "desc");
+        var updated = new ArrayList<Map.Entry<LabelDTO, ExistingLabel>>();
+
+        var entry = Map.entry(new LabelDTO("label1", "000000", "desc"), existingLabel);
+        newWriter(10).updateLabels(List.of(entry), updated::add);
+
+        assertThat(updated).containsExactly(entry);
+        var input = batches.get(0).path("variables").path("i0");
+        assertThat(input.path("id").asText()).isEqualTo("LA_1");
+        assertThat(input.path("color").asText()).isEqualTo("000000");
+        assertThat(input.has("name")).isFalse();
+        assertThat(input.has("description")).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenDeleteLabelsWithAliasError_thenErrorMappedToLabel() throws Exception {
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "ffffff", null);
+        var existingLabel2 = new ExistingLabel(2, "LA_2", "label2", "ffffff", null);
+        var existingLabel3 = new ExistingLabel(3, "LA_3", "label3", "ffffff", null);
+        responder = batch -> "{\"data\": {\"l0\": {}, \"l1\": null}, "
+                + "\"errors\": [{\"path\": [\"l1\"], \"message\": \"Could not resolve to a node\"}]}";
+        var deleted = new ArrayList<ExistingLabel>();
+
+        var writer = newWriter(2);
+        var labels = List.of(existingLabel1, existingLabel2, existingLabel3);
+        var exception = assertThrows(IOException.class, () -> writer.deleteLabels(labels, deleted::add));
+
+        assertThat(exception.getMessage()).contains("label 'label2': Could not resolve to a node");
+        assertThat(deleted).containsExactly(existingLabel1);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).path("query").asText()).contains("l1: deleteLabel(input: $i1)");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRequestError_thenThrowIOException() throws Exception {
+        responder = batch -> "{\"errors\": [{\"message\": \"Bad credentials\"}]}";
+
+        var writer = newWriter(2);
+        var labels = List.of(new LabelDTO("label1", "000000"));
+        assertThrows(IOException.class, () -> writer.createLabels(labels, label -> {}));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenBatchSizeNotPositive_thenThrowIllegalArgumentException() {
+        var httpClient = HttpClient.newHttpClient();
+        var endpoint = URI.create("http://localhost/graphql");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new GraphQLLabelWriter(httpClient, endpoint, "token", "R_1", Duration.ofSeconds(1), 0));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResponseStalled_thenThrowHttpTimeoutException() throws Exception {
+        var release = new CountDownLatch(1);
+        server.createContext("/stalled", exchange -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+
+        // @formatter:off
+        var writer = new GraphQLLabelWriter(
+                HttpClient.newHttpClient(),
+                URI.create(String.format("http://localhost:%d/stalled", server.getAddress().getPort())),
+                "token",
+                "R_1",
+                Duration.ofMillis(200),
+                2);
+        // @formatter:on
+        var labels = List.of(new LabelDTO("label1", "000000"));
+        try {
+            assertThrows(HttpTimeoutException.class, () -> writer.createLabels(labels, label -> {}));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Creates a writer targeting the local server.
+     * @param batchSize the batch size.
+     * @return the writer.
+     */
+    private GraphQLLabelWriter newWriter(int batchSize) {
+        // @formatter:off
+        return new GraphQLLabelWriter(
+                HttpClient.newHttpClient(),
+                URI.create(String.format("http://localhost:%d/graphql", server.getAddress().getPort())),
+                "token",
+                "R_1",
+                Duration.ofSeconds(5),
+                batchSize);
+        // @formatter:on
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+/**
+ * Test class for {@link GroupedLog} class. <br>
+ * @author Julb.
+ */
+@ExtendWith(MockitoExtension.class)
+class GroupedLogTest {
+
+    /**
+     * A mock for GitHub action kit.
+     */
+    @Mock
+    private GitHubActionsKit ghActionsKitMock;
+
+    /**
+     * The class under test.
+     */
+    private GroupedLog log;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        log = new GroupedLog(ghActionsKitMock);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenAddLines_thenWrittenInGroupOnFlush() throws Exception {
+        var group = log.newGroup("[octocat/Hello-World] labels created");
+        group.add("label 'bug' created.");
+        group.add("label 'docs' created.");
+
+        verifyNoInteractions(ghActionsKitMock);
+
+        group.flush();
+        group.flush();
+
+        var inOrder = inOrder(ghActionsKitMock);
+        inOrder.verify(ghActionsKitMock).startGroup("[octocat/Hello-World] labels created");
+        inOrder.verify(ghActionsKitMock).info("label 'bug' created.");
+        inOrder.verify(ghActionsKitMock).info("label 'docs' created.");
+        inOrder.verify(ghActionsKitMock).endGroup();
+        verifyNoMoreInteractions(ghActionsKitMock);
+        assertThat(group.getCount()).isEqualTo(2);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSummaryVerbosity_thenLinesCountedNotWritten() throws Exception {
+        log.setVerbosity(LogVerbosity.SUMMARY);
+
+        var group = log.newGroup("label sources");
+        group.add("source 'labels.yml': 3 labels fetched.");
+        group.flush();
+
+        verifyNoInteractions(ghActionsKitMock);
+        assertThat(group.getCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSummaryVerbosityAndSummaryLine_thenWrittenOutsideGroup() throws Exception {
+        log.setVerbosity(LogVerbosity.SUMMARY);
+
+        log.summary("[octocat/Hello-World] 3 labels created.");
+
+        verify(ghActionsKitMock).info("[octocat/Hello-World] 3 labels created.");
+        verifyNoMoreInteractions(ghActionsKitMock);
+    }
+}
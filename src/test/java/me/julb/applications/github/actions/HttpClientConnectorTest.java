@@ -0,0 +1,217 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test class for {@link HttpClientConnector} class. <br>
+ * @author Julb.
+ */
+class HttpClientConnectorTest {
+
+    /**
+     * The label updated.
+     */
+    private static final String LABEL = "{\"name\":\"bug\",\"color\":\"d73a4a\"}";
+
+    /**
+     * The local API server.
+     */
+    private HttpServer server;
+
+    /**
+     * The method of the last request received.
+     */
+    private AtomicReference<String> receivedMethod;
+
+    /**
+     * The headers of the last request received.
+     */
+    private AtomicReference<Headers> receivedHeaders;
+
+    /**
+     * The body of the last request received.
+     */
+    private AtomicReference<String> receivedBody;
+
+    /**
+     * The connector to test.
+     */
+    private HttpClientConnector connector;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        receivedMethod = new AtomicReference<>();
+        receivedHeaders = new AtomicReference<>();
+        receivedBody = new AtomicReference<>();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/repos/octocat/Hello-World/labels/bug", exchange -> {
+            receivedMethod.set(exchange.getRequestMethod());
+            receivedHeaders.set(exchange.getRequestHeaders());
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            var compressed = new ByteArrayOutputStream();
+            try (var gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(LABEL.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().add("X-RateLimit-Remaining", "4999");
+            exchange.sendResponseHeaders(200, compressed.size());
+            exchange.getResponseBody().write(compressed.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        var httpClient = HttpClientConnector.newHttpClient(Duration.ofSeconds(5));
+        connector = new HttpClientConnector(httpClient, Duration.ofMillis(500));
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenNewHttpClient_thenPreferHttp2() throws Exception {
+        var httpClient = HttpClientConnector.newHttpClient(Duration.ofSeconds(3));
+
+        assertThat(httpClient.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(httpClient.connectTimeout()).contains(Duration.ofSeconds(3));
+        assertThat(connector.getReadTimeout()).isEqualTo(Duration.ofMillis(500));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendPatch_thenForwardRequestAndDecompressResponse() throws Exception {
+        var request = newRequest("PATCH", "/repos/octocat/Hello-World/labels/bug", "{\"color\":\"d73a4a\"}");
+
+        try (var response = connector.send(request)) {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.header("X-RateLimit-Remaining")).isEqualTo("4999");
+            assertThat(new String(response.bodyStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LABEL);
+        }
+
+        assertThat(receivedMethod.get()).isEqualTo("PATCH");
+        assertThat(receivedBody.get()).isEqualTo("{\"color\":\"d73a4a\"}");
+        assertThat(receivedHeaders.get().getFirst("Authorization")).isEqualTo("token secret");
+        assertThat(receivedHeaders.get().getFirst("Accept-Encoding")).isEqualTo("gzip");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendDeleteWithoutBody_thenSendEmptyRequest() throws Exception {
+        var request = newRequest("DELETE", "/repos/octocat/Hello-World/labels/bug", null);
+
+        try (var response = connector.send(request)) {
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+
+        assertThat(receivedMethod.get()).isEqualTo("DELETE");
+        assertThat(receivedBody.get()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResponseSlowerThanReadTimeout_thenThrowHttpTimeoutException() throws Exception {
+        var request = newRequest("GET", "/slow", null);
+
+        assertThrows(HttpTimeoutException.class, () -> connector.send(request));
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates a connector request to the local server.
+     * @param method the method.
+     * @param path the path.
+     * @param body the body, or <code>null</code> if none.
+     * @return the connector request.
+     * @throws Exception if an error occurs.
+     */
+    private GitHubConnectorRequest newRequest(String method, String path, String body) throws Exception {
+        var request = mock(GitHubConnectorRequest.class);
+        var url = new URL(String.format("http://localhost:%d%s", server.getAddress().getPort(), path));
+        // @formatter:off
+        Map<String, List<String>> headers = Map.of(
+                "Authorization", List.of("token secret"),
+                "Content-Length", List.of("42"));
+        // @formatter:on
+        when(request.method()).thenReturn(method);
+        when(request.url()).thenReturn(url);
+        when(request.allHeaders()).thenReturn(headers);
+        when(request.hasBody()).thenReturn(body != null);
+        if (body != null) {
+            when(request.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link LabelKey} class. <br>
+ * @author Julb.
+ */
+class LabelKeyTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenKeyOfAsciiNames_thenIgnoreCase() throws Exception {
+        assertThat(LabelKey.of("Type: Bug")).isEqualTo(LabelKey.of("type: bug")).hasToString("type: bug");
+        assertThat(LabelKey.of("Type: Bug")).hasSameHashCodeAs(LabelKey.of("TYPE: BUG"));
+        assertThat(LabelKey.of("bug")).isNotEqualTo(LabelKey.of("bugs")).isNotEqualTo("bug");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenKeyOfUnicodeNames_thenOnlyIgnoreCase() throws Exception {
+        assertThat(LabelKey.of("ÉTUDE")).isEqualTo(LabelKey.of("étude"));
+        assertThat(LabelKey.of("🐛 Bug")).isEqualTo(LabelKey.of("🐛 bug"));
+        // Unicode forms are not folded.
+        assertThat(LabelKey.of("Cafe\u0301")).isNotEqualTo(LabelKey.of("CAF\u00c9"));
+        assertThat(LabelKey.of("ＢＵＧ")).isNotEqualTo(LabelKey.of("bug"));
+        assertThat(LabelKey.of("Straße")).isNotEqualTo(LabelKey.of("STRASSE"));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCompareKeys_thenCompareNormalizedNames() throws Exception {
+        assertThat(LabelKey.of("B")).isGreaterThan(LabelKey.of("a"));
+        assertThat(LabelKey.of("Été")).isEqualByComparingTo(LabelKey.of("été"));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileUnicodeNames_thenMatchExistingLabelRegardlessOfCase() throws Exception {
+        var existingLabel = new ExistingLabel(1, "LA_1", "\u00e9tude", "000000", null);
+
+        var label = new LabelDTO("\u00c9tude", "ffffff");
+        var plan = LabelReconciler.reconcile(
+                Map.of(label.key(), label), Map.of(existingLabel.key(), existingLabel), false);
+
+        assertThat(plan.getLabelsToCreate()).isEmpty();
+        assertThat(plan.getLabelsToDelete()).isEmpty();
+        assertThat(plan.getLabelsToUpdate()).containsExactly(Map.entry(label, existingLabel));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenKeyOfNull_thenThrowNullPointerException() throws Exception {
+        assertThrows(NullPointerException.class, () -> LabelKey.of(null));
+    }
+}
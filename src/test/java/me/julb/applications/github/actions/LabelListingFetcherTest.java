@@ -0,0 +1,313 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test class for {@link LabelListingFetcher} class. <br>
+ * @author Julb.
+ */
+class LabelListingFetcherTest {
+
+    /**
+     * The repository.
+     */
+    private static final String REPOSITORY = "octocat/Hello-World";
+
+    /**
+     * The pattern extracting the page number of a query.
+     */
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("(?:^|&)page=(\\d+)");
+
+    /**
+     * The local API server.
+     */
+    private HttpServer server;
+
+    /**
+     * The label listing pages served, indexed by page number.
+     */
+    private Map<Integer, List<String>> pages;
+
+    /**
+     * Flag indicating if the last page is advertised in the Link header.
+     */
+    private volatile boolean lastLink;
+
+    /**
+     * The number of requests still answered with a rate limit response.
+     */
+    private AtomicInteger rateLimitedResponses;
+
+    /**
+     * The page numbers requested.
+     */
+    private List<Integer> requestedPages;
+
+    /**
+     * The GitHub API.
+     */
+    private GitHub ghApi;
+
+    /**
+     * The connector to the local API server.
+     */
+    private HttpClientConnector connector;
+
+    /**
+     * The fetcher to test.
+     */
+    private LabelListingFetcher fetcher;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        pages = new ConcurrentHashMap<>();
+        requestedPages = Collections.synchronizedList(new ArrayList<>());
+        lastLink = true;
+        rateLimitedResponses = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/repos/" + REPOSITORY + "/labels", exchange -> {
+            var matcher = PAGE_PARAMETER.matcher(exchange.getRequestURI().getQuery());
+            var pageNumber = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            requestedPages.add(pageNumber);
+            if (!"token secret".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(401, -1);
+                exchange.close();
+                return;
+            }
+            if (rateLimitedResponses.getAndDecrement() > 0) {
+                exchange.getResponseHeaders().add("Retry-After", "2");
+                exchange.sendResponseHeaders(429, -1);
+                exchange.close();
+                return;
+            }
+
+            var link = new ArrayList<String>();
+            if (pages.containsKey(pageNumber + 1)) {
+                link.add(String.format("<%s?per_page=100&page=%d>; rel=\"next\"", getLabelsUrl(), pageNumber + 1));
+            }
+            if (lastLink && pages.size() > 1) {
+                link.add(String.format("<%s?per_page=100&page=%d>; rel=\"last\"", getLabelsUrl(), pages.size()));
+            }
+            if (!link.isEmpty()) {
+                exchange.getResponseHeaders().add("Link", String.join(", ", link));
+            }
+            // @formatter:off
+            var body = pages.get(pageNumber).stream()
+                    .map(name -> String.format("{\"id\":%d,\"node_id\":\"LA_%s\",\"url\":\"%s/%s\",\"name\":\"%s\","
+                            + "\"color\":\"ffffff\",\"description\":null,\"default\":false}",
+                            Math.abs(name.hashCode()), name, getLabelsUrl(), name, name))
+                    .collect(Collectors.joining(",", "[", "]"))
+                    .getBytes(StandardCharsets.UTF_8);
+            // @formatter:on
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        ghApi = mock(GitHub.class);
+        when(ghApi.getApiUrl()).thenReturn(String.format("http://localhost:%d/", server.getAddress().getPort()));
+        var httpClient = HttpClientConnector.newHttpClient(Duration.ofSeconds(5));
+        connector = new HttpClientConnector(httpClient, Duration.ofSeconds(5));
+        fetcher = new LabelListingFetcher(ghApi, connector, "secret", new LabelOperationExecutor(4));
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsWithLastPage_thenFetchRemainingPagesAndKeepPageOrder() throws Exception {
+        for (var i = 1; i <= 6; i++) {
+            pages.put(i, List.of("label-" + i + "-a", "label-" + i + "-b"));
+        }
+
+        var labels = fetcher.listLabels(REPOSITORY);
+
+        assertThat(labels).extracting(ExistingLabel::getName).containsExactly(
+                "label-1-a", "label-1-b", "label-2-a", "label-2-b", "label-3-a", "label-3-b",
+                "label-4-a", "label-4-b", "label-5-a", "label-5-b", "label-6-a", "label-6-b");
+        // @formatter:off
+        assertThat(labels.get(0)).isEqualTo(new ExistingLabel(
+                Math.abs("label-1-a".hashCode()), "LA_label-1-a", "label-1-a", "ffffff", null));
+        // @formatter:on
+        assertThat(requestedPages).hasSize(6).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsWithoutLastPage_thenFollowNextPages() throws Exception {
+        lastLink = false;
+        pages.put(1, List.of("bug"));
+        pages.put(2, List.of("feature"));
+        pages.put(3, List.of("question"));
+
+        assertThat(fetcher.listLabels(REPOSITORY)).extracting(ExistingLabel::getName)
+                .containsExactly("bug", "feature", "question");
+        assertThat(requestedPages).containsExactly(1, 2, 3);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsOfSinglePage_thenFetchOnePage() throws Exception {
+        pages.put(1, List.of("bug", "feature"));
+
+        assertThat(fetcher.listLabels(REPOSITORY)).extracting(ExistingLabel::getName).containsExactly("bug", "feature");
+        assertThat(requestedPages).containsExactly(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFetchFirstPage_thenGetPageCount() throws Exception {
+        pages.put(1, List.of("bug"));
+        assertThat(fetcher.fetchFirstPage(REPOSITORY).getPageCount()).isEqualTo(OptionalInt.of(1));
+
+        pages.put(2, List.of("feature"));
+        pages.put(3, List.of("question"));
+        assertThat(fetcher.fetchFirstPage(REPOSITORY).getPageCount()).isEqualTo(OptionalInt.of(3));
+
+        lastLink = false;
+        assertThat(fetcher.fetchFirstPage(REPOSITORY).getPageCount()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsUnauthorized_thenThrowHttpException() throws Exception {
+        pages.put(1, List.of("bug"));
+        var unauthorizedFetcher = new LabelListingFetcher(ghApi, connector, "invalid", new LabelOperationExecutor(1));
+
+        var exception = assertThrows(HttpException.class, () -> unauthorizedFetcher.listLabels(REPOSITORY));
+        assertThat(exception.getResponseCode()).isEqualTo(401);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsRateLimited_thenRetryAfterDelay() throws Exception {
+        pages.put(1, List.of("bug"));
+        rateLimitedResponses.set(2);
+        var delays = Collections.synchronizedList(new ArrayList<Long>());
+        fetcher.setSleeper(delays::add);
+
+        assertThat(fetcher.listLabels(REPOSITORY)).extracting(ExistingLabel::getName).containsExactly("bug");
+        assertThat(requestedPages).containsExactly(1, 1, 1);
+        assertThat(delays).containsExactly(2000L, 2000L);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenListLabelsRateLimitedTooManyTimes_thenThrowHttpException() throws Exception {
+        pages.put(1, List.of("bug"));
+        rateLimitedResponses.set(ApiRequest.MAX_RATE_LIMIT_RETRIES + 1);
+        fetcher.setSleeper(millis -> {});
+
+        var exception = assertThrows(HttpException.class, () -> fetcher.listLabels(REPOSITORY));
+        assertThat(exception.getResponseCode()).isEqualTo(429);
+        assertThat(requestedPages).hasSize(ApiRequest.MAX_RATE_LIMIT_RETRIES + 1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetLinkUrl_thenReturnTargetOfRelation() throws Exception {
+        var links = List.of("<https://api.github.com/x?page=2>; rel=\"next\", <https://api.github.com/x?page=9>; "
+                + "rel=\"last\"");
+
+        assertThat(LabelListingFetcher.getLinkUrl(links, "next")).contains("https://api.github.com/x?page=2");
+        assertThat(LabelListingFetcher.getLinkUrl(links, "last")).contains("https://api.github.com/x?page=9");
+        assertThat(LabelListingFetcher.getLinkUrl(links, "prev")).isEmpty();
+        assertThat(LabelListingFetcher.getLinkUrl(List.of(), "next")).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetPageNumberAndUrl_thenIgnorePerPageParameter() throws Exception {
+        var url = "https://api.github.com/repositories/1/labels?per_page=100&page=7";
+
+        assertThat(LabelListingFetcher.getPageNumber(url)).isEqualTo(OptionalInt.of(7));
+        assertThat(LabelListingFetcher.getPageNumber("https://api.github.com/x?per_page=100")).isEmpty();
+        assertThat(LabelListingFetcher.getPageUrl(url, 3))
+                .isEqualTo("https://api.github.com/repositories/1/labels?per_page=100&page=3");
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the URL of the label listing of the local server.
+     * @return the URL.
+     */
+    private String getLabelsUrl() {
+        return String.format("http://localhost:%d/repos/%s/labels", server.getAddress().getPort(), REPOSITORY);
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link LabelOperationExecutor} class. <br>
+ * @author Julb.
+ */
+class LabelOperationExecutorTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteInParallel_thenAllItemsProcessedAndReportedOnce() throws Exception {
+        var items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+        var processed = Collections.synchronizedList(new ArrayList<Integer>());
+        var completed = new ArrayList<Integer>();
+        var reporting = new AtomicInteger();
+        var maxReporting = new AtomicInteger();
+
+        new LabelOperationExecutor(8).execute(items, processed::add, item -> {
+            maxReporting.accumulateAndGet(reporting.incrementAndGet(), Math::max);
+            completed.add(item);
+            reporting.decrementAndGet();
+        });
+
+        assertThat(processed).containsExactlyInAnyOrderElementsOf(items);
+        assertThat(completed).containsExactlyInAnyOrderElementsOf(items);
+        assertThat(maxReporting.get()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteInParallel_thenCompletionReportedBeforeSlowerOperations() throws Exception {
+        var fastItemReported = new CountDownLatch(1);
+        var slowItemReleased = new ArrayList<Boolean>();
+
+        new LabelOperationExecutor(2).execute(
+                List.of(0, 1),
+                item -> {
+                    if (item == 0) {
+                        try {
+                            slowItemReleased.add(fastItemReported.await(5, TimeUnit.SECONDS));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                },
+                item -> {
+                    if (item == 1) {
+                        fastItemReported.countDown();
+                    }
+                });
+
+        assertThat(slowItemReleased).containsExactly(true);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteInParallel_thenConcurrencyBounded() throws Exception {
+        var items = IntStream.range(0, 40).boxed().collect(Collectors.toList());
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        new LabelOperationExecutor(3).execute(
+                items,
+                item -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                },
+                item -> {});
+
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenOperationFails_thenStopDispatchAndThrowFirstFailure() throws Exception {
+        var items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        var completed = new ArrayList<Integer>();
+
+        var executor = new LabelOperationExecutor(1);
+        var exception = assertThrows(
+                IOException.class,
+                () -> executor.execute(
+                        items,
+                        item -> {
+                            if (item == 3) {
+                                throw new IOException("failure " + item);
+                            }
+                        },
+                        completed::add));
+
+        assertThat(exception).hasMessage("failure 3");
+        assertThat(completed).containsExactly(0, 1, 2);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSeveralOperationsFail_thenFailuresAggregatedInOrder() throws Exception {
+        var items = List.of(0, 1, 2, 3);
+
+        var executor = new LabelOperationExecutor(4);
+        var exception = assertThrows(
+                IOException.class,
+                () -> executor.execute(
+                        items,
+                        item -> {
+                            throw new IOException("failure " + item);
+                        },
+                        item -> {}));
+
+        assertThat(exception).hasMessage("failure 0");
+        assertThat(exception.getSuppressed().length + 1).isBetween(1, 4);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParallelismNotPositive_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LabelOperationExecutor(0));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteNull_thenThrowNullPointerException() {
+        var executor = new LabelOperationExecutor(1);
+        assertThrows(NullPointerException.class, () -> executor.execute(null, item -> {}, item -> {}));
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link LabelReconciler} class. <br>
+ * @author Julb.
+ */
+class LabelReconcilerTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcile_thenPlanSortedOperations() throws Exception {
+        var labelA = new LabelDTO("a", "000000");
+        var labelB = new LabelDTO("B", "111111");
+        var labelC = new LabelDTO("c", "222222", "desc");
+        var labelD = new LabelDTO("d", "333333");
+        var labelE = new LabelDTO("E", "444444");
+        var existingC = newExistingLabel("c", "222222", "desc");
+        var existingD = newExistingLabel("D", "333333", null);
+        var existingE = newExistingLabel("E", "ffffff", null);
+        var existingX = newExistingLabel("x", "555555", null);
+        var existingY = newExistingLabel("Y", "666666", null);
+
+        var labelsToSynchronize = index(labelE, labelD, labelC, labelB, labelA);
+        var existingLabels = new HashMap<LabelKey, ExistingLabel>();
+        existingLabels.put(LabelKey.of("y"), existingY);
+        existingLabels.put(LabelKey.of("x"), existingX);
+        existingLabels.put(LabelKey.of("e"), existingE);
+        existingLabels.put(LabelKey.of("d"), existingD);
+        existingLabels.put(LabelKey.of("c"), existingC);
+
+        var plan = LabelReconciler.reconcile(labelsToSynchronize, existingLabels, false);
+
+        assertThat(plan.getLabelsToCreate()).containsExactly(labelA, labelB);
+        // @formatter:off
+        assertThat(plan.getLabelsToUpdate())
+                .containsExactly(Map.entry(labelD, existingD), Map.entry(labelE, existingE));
+        // @formatter:on
+        assertThat(plan.getLabelsUpToDate()).containsExactly(labelC);
+        assertThat(plan.getLabelsToDelete()).containsExactly(existingX, existingY);
+        assertThat(plan.getWriteCount()).isEqualTo(6);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithSkipDelete_thenNoDeletionPlanned() throws Exception {
+        var existingX = newExistingLabel("x", "555555", null);
+
+        var plan = LabelReconciler.reconcile(Map.of(), Map.of(LabelKey.of("x"), existingX), true);
+
+        assertThat(plan.getLabelsToDelete()).isEmpty();
+        assertThat(plan.getWriteCount()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcile_thenPlanImmutable() throws Exception {
+        var plan = LabelReconciler.reconcile(index(new LabelDTO("a", "000000")), Map.of(), false);
+
+        var labelsToCreate = plan.getLabelsToCreate();
+        var label = new LabelDTO("b", "000000");
+        assertThrows(UnsupportedOperationException.class, () -> labelsToCreate.add(label));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithAlias_thenRenameInsteadOfDeleteAndCreate() throws Exception {
+        var labelBug = new LabelDTO("type: bug", "ff0000", null, List.of("bug", "Defect"));
+        var labelDocs = new LabelDTO("type: docs", "0000ff", null, List.of("documentation"));
+        var existingBug = newExistingLabel("Bug", "ff0000", null);
+        var existingDefect = newExistingLabel("defect", "ff0000", null);
+        var existingOther = newExistingLabel("other", "ffffff", null);
+
+        // @formatter:off
+        var plan = LabelReconciler.reconcile(
+                index(labelBug, labelDocs),
+                Map.of(
+                        LabelKey.of("bug"), existingBug,
+                        LabelKey.of("defect"), existingDefect,
+                        LabelKey.of("other"), existingOther),
+                false);
+        // @formatter:on
+
+        assertThat(plan.getLabelsToCreate()).containsExactly(labelDocs);
+        assertThat(plan.getLabelsToUpdate()).containsExactly(Map.entry(labelBug, existingBug));
+        assertThat(plan.getLabelsToDelete()).containsExactly(existingDefect, existingOther);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithAliasAndSkipDelete_thenRenameOnly() throws Exception {
+        var labelBug = new LabelDTO("type: bug", "ff0000", null, List.of("bug"));
+        var existingBug = newExistingLabel("bug", "ff0000", null);
+        var existingOther = newExistingLabel("other", "ffffff", null);
+
+        var plan = LabelReconciler.reconcile(
+                index(labelBug), Map.of(LabelKey.of("bug"), existingBug, LabelKey.of("other"), existingOther), true);
+
+        assertThat(plan.getLabelsToCreate()).isEmpty();
+        assertThat(plan.getLabelsToUpdate()).containsExactly(Map.entry(labelBug, existingBug));
+        assertThat(plan.getLabelsToDelete()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithAliasOfExistingLabel_thenKeepNameMatch() throws Exception {
+        var labelBug = new LabelDTO("bug", "ff0000");
+        var labelDefect = new LabelDTO("defect", "ff0000", null, List.of("bug"));
+        var existingBug = newExistingLabel("bug", "ff0000", null);
+
+        var plan = LabelReconciler.reconcile(
+                index(labelBug, labelDefect), Map.of(LabelKey.of("bug"), existingBug), false);
+
+        assertThat(plan.getLabelsToCreate()).containsExactly(labelDefect);
+        assertThat(plan.getLabelsUpToDate()).containsExactly(labelBug);
+        assertThat(plan.getLabelsToUpdate()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithAliasConflict_thenLowestNameWins() throws Exception {
+        var labelA = new LabelDTO("a", "000000", null, List.of("Old"));
+        var labelB = new LabelDTO("b", "000000", null, List.of("old"));
+        var existingOld = newExistingLabel("old", "000000", null);
+
+        var plan = LabelReconciler.reconcile(index(labelB, labelA), Map.of(LabelKey.of("old"), existingOld), false);
+
+        assertThat(plan.getLabelsToUpdate()).containsExactly(Map.entry(labelA, existingOld));
+        assertThat(plan.getLabelsToCreate()).containsExactly(labelB);
+        assertThat(plan.getLabelsToDelete()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithTombstones_thenDeleteExistingOnesEvenWithSkipDelete() throws Exception {
+        var tombstoneWontfix = LabelDTO.tombstone("wontfix");
+        var tombstoneMissing = LabelDTO.tombstone("missing");
+        var existingWontfix = newExistingLabel("WontFix", "ffffff", null);
+        var existingOther = newExistingLabel("other", "ffffff", null);
+
+        var plan = LabelReconciler.reconcile(
+                index(tombstoneWontfix, tombstoneMissing),
+                Map.of(LabelKey.of("wontfix"), existingWontfix, LabelKey.of("other"), existingOther),
+                true);
+
+        assertThat(plan.getLabelsToCreate()).isEmpty();
+        assertThat(plan.getLabelsToUpdate()).isEmpty();
+        assertThat(plan.getLabelsUpToDate()).isEmpty();
+        assertThat(plan.getLabelsToDelete()).containsExactly(existingWontfix);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileWithTombstoneOfAlias_thenDeleteInsteadOfRename() throws Exception {
+        var labelBug = new LabelDTO("type: bug", "ff0000", null, List.of("bug"));
+        var tombstoneBug = LabelDTO.tombstone("bug");
+        var existingBug = newExistingLabel("bug", "ff0000", null);
+
+        var plan = LabelReconciler.reconcile(
+                index(labelBug, tombstoneBug), Map.of(LabelKey.of("bug"), existingBug), false);
+
+        assertThat(plan.getLabelsToCreate()).containsExactly(labelBug);
+        assertThat(plan.getLabelsToUpdate()).isEmpty();
+        assertThat(plan.getLabelsToDelete()).containsExactly(existingBug);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReconcileNull_thenThrowNullPointerException() throws Exception {
+        Map<LabelKey, LabelDTO> labels = Map.of();
+        assertThrows(NullPointerException.class, () -> LabelReconciler.reconcile(null, Map.of(), false));
+        assertThrows(NullPointerException.class, () -> LabelReconciler.reconcile(labels, null, false));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenIsUpToDate_thenCompareNormalizedFields() throws Exception {
+        var existingLabel = newExistingLabel("Label1", "00aaff", "");
+
+        assertThat(LabelReconciler.isUpToDate(new LabelDTO("Label1", "#00AAFF"), existingLabel)).isTrue();
+        assertThat(LabelReconciler.isUpToDate(new LabelDTO("Label1", "00aaff", ""), existingLabel)).isTrue();
+        assertThat(LabelReconciler.isUpToDate(new LabelDTO("label1", "00aaff"), existingLabel)).isFalse();
+        assertThat(LabelReconciler.isUpToDate(new LabelDTO("Label1", "00aafe"), existingLabel)).isFalse();
+        assertThat(LabelReconciler.isUpToDate(new LabelDTO("Label1", "00aaff", "desc"), existingLabel)).isFalse();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Indexes the given labels by lower-cased name.
+     * @param labels the labels.
+     * @return the labels indexed by lower-cased name.
+     */
+    private Map<LabelKey, LabelDTO> index(LabelDTO... labels) {
+        var map = new HashMap<LabelKey, LabelDTO>();
+        for (LabelDTO label : List.of(labels)) {
+            map.put(label.key(), label);
+        }
+        return map;
+    }
+
+    /**
+     * Builds an existing label.
+     * @param name the name.
+     * @param color the color.
+     * @param description the description.
+     * @return the existing label.
+     */
+    private ExistingLabel newExistingLabel(String name, String color, String description) {
+        return new ExistingLabel(0, "LA_" + name, name, color, description);
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test class for {@link LabelSourceFetcher} class. <br>
+ * @author Julb.
+ */
+class LabelSourceFetcherTest {
+
+    /**
+     * The cache directory.
+     */
+    @TempDir
+    Path cacheDirectory;
+
+    /**
+     * The local source server.
+     */
+    private HttpServer server;
+
+    /**
+     * The sources served, indexed by path.
+     */
+    private Map<String, String> sources;
+
+    /**
+     * The request headers received by the server.
+     */
+    private List<Headers> requests;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        sources = new ConcurrentHashMap<>();
+        requests = Collections.synchronizedList(new ArrayList<>());
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestHeaders());
+            var source = sources.get(exchange.getRequestURI().getPath());
+            if (source == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+
+            var etag = "\"" + Integer.toHexString(source.hashCode()) + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            var body = source.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.getResponseHeaders().add("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+            if ("gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+                var bos = new ByteArrayOutputStream();
+                try (var gzip = new GZIPOutputStream(bos)) {
+                    gzip.write(body);
+                }
+                body = bos.toByteArray();
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFetch_thenDownloadDistinctUrlsInOrder() throws Exception {
+        sources.put("/a.yml", "- name: a");
+        sources.put("/b.json", "[]");
+
+        var contents = newFetcher(null).fetch(List.of(url("/b.json"), url("/a.yml"), url("/b.json")));
+
+        assertThat(contents).containsOnlyKeys(url("/b.json"), url("/a.yml"));
+        assertThat(contents.keySet()).containsExactly(url("/b.json"), url("/a.yml"));
+        assertThat(new String(contents.get(url("/a.yml")), StandardCharsets.UTF_8)).isEqualTo("- name: a");
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getFirst("Accept-Encoding")).isEqualTo("gzip");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFetchWithCache_thenSendValidatorsAndReuseContent() throws Exception {
+        sources.put("/a.yml", "- name: a");
+
+        newFetcher(cacheDirectory).fetch(List.of(url("/a.yml")));
+        var contents = newFetcher(cacheDirectory).fetch(List.of(url("/a.yml")));
+
+        assertThat(new String(contents.get(url("/a.yml")), StandardCharsets.UTF_8)).isEqualTo("- name: a");
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getFirst("If-None-Match")).isNull();
+        assertThat(requests.get(1).getFirst("If-None-Match")).isNotNull();
+        assertThat(requests.get(1).getFirst("If-Modified-Since")).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFetchWithCacheAndSourceChanged_thenDownloadNewContent() throws Exception {
+        sources.put("/a.yml", "- name: a");
+        newFetcher(cacheDirectory).fetch(List.of(url("/a.yml")));
+
+        sources.put("/a.yml", "- name: b");
+        var contents = newFetcher(cacheDirectory).fetch(List.of(url("/a.yml")));
+
+        assertThat(new String(contents.get(url("/a.yml")), StandardCharsets.UTF_8)).isEqualTo("- name: b");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFetchMissingSource_thenThrowIOException() throws Exception {
+        sources.put("/a.yml", "- name: a");
+        var fetcher = newFetcher(null);
+        var urls = List.of(url("/a.yml"), url("/missing.yml"));
+
+        var e = assertThrows(IOException.class, () -> fetcher.fetch(urls));
+        assertThat(e.getMessage()).contains("missing.yml").contains("404");
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Creates the fetcher to test.
+     * @param directory the cache directory.
+     * @return the fetcher.
+     */
+    private LabelSourceFetcher newFetcher(Path directory) {
+        return new LabelSourceFetcher(LabelSourceFetcher.HTTP_CLIENT, directory);
+    }
+
+    /**
+     * Gets the URL of the given path on the local server.
+     * @param path the path.
+     * @return the URL.
+     */
+    private String url(String path) {
+        return String.format("http://localhost:%d%s", server.getAddress().getPort(), path);
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link LabelSourceParser} class. <br>
+ * @author Julb.
+ */
+class LabelSourceParserTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseJson_thenLabelsInSourceOrder() throws Exception {
+        var labels = new ArrayList<LabelDTO>();
+
+        var count = LabelSourceParser.parse(
+                "labels.json",
+                LabelSourceParser.Format.JSON,
+                getClass().getResourceAsStream("/labels/labels.json"),
+                labels::add);
+
+        assertThat(count).isEqualTo(labels.size()).isPositive();
+        assertThat(labels.get(0).getName()).isEqualTo("label1");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseYaml_thenLabelsInSourceOrder() throws Exception {
+        var labels = new ArrayList<LabelDTO>();
+
+        var count = LabelSourceParser.parse(
+                "labels.yml",
+                LabelSourceParser.Format.YAML,
+                getClass().getResourceAsStream("/labels/labels.yml"),
+                labels::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(labels).extracting(LabelDTO::getName).containsExactly("label4", "label5", "label6");
+        assertThat(labels.get(1).getDescription()).isEqualTo("label5 desc");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseAliases_thenLabelsWithAliases() throws Exception {
+        var source = "- name: \"type: bug\"\n  color: ff0000\n  aliases: [bug, defect]\n"
+                + "- name: docs\n  color: 0000ff\n";
+        var labels = new ArrayList<LabelDTO>();
+
+        LabelSourceParser.parse(
+                "source",
+                LabelSourceParser.Format.YAML,
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)),
+                labels::add);
+
+        assertThat(labels.get(0).getAliases()).containsExactly("bug", "defect");
+        assertThat(labels.get(1).getAliases()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseTombstone_thenLabelToDelete() throws Exception {
+        var source = "- name: wontfix\n  delete: true\n- name: docs\n  color: 0000ff\n";
+        var labels = new ArrayList<LabelDTO>();
+
+        LabelSourceParser.parse(
+                "source",
+                LabelSourceParser.Format.YAML,
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)),
+                labels::add);
+
+        assertThat(labels.get(0).isDelete()).isTrue();
+        assertThat(labels.get(0).getColor()).isNull();
+        assertThat(labels.get(1).isDelete()).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseInvalidJson_thenThrowIOExceptionWithLocation() throws Exception {
+        var source = "[\n  {\"name\": \"label1\", \"color\": \"000000\"},\n"
+                + "  {\"name\": \"label2\" \"color\": \"ffffff\"}\n]";
+
+        var e = assertThrows(IOException.class, () -> parse(LabelSourceParser.Format.JSON, source));
+        assertThat(e.getMessage()).startsWith("invalid label source 'source' at line 3, column ");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseInvalidYaml_thenThrowIOExceptionWithLocation() throws Exception {
+        var source = "- name: label1\n  color: 000000\n- name: [label2\n";
+
+        var e = assertThrows(IOException.class, () -> parse(LabelSourceParser.Format.YAML, source));
+        assertThat(e.getMessage()).startsWith("invalid label source 'source' at line ");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseNotAnArray_thenThrowIOException() throws Exception {
+        var e = assertThrows(
+                IOException.class, () -> parse(LabelSourceParser.Format.JSON, "{\"name\": \"label1\"}"));
+        assertThat(e.getMessage()).isEqualTo(
+                "invalid label source 'source' at line 1, column 2: an array of labels is expected");
+
+        e = assertThrows(IOException.class, () -> parse(LabelSourceParser.Format.JSON, "[\"label1\"]"));
+        assertThat(e.getMessage()).contains("a label object is expected");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseWithPositions_thenLabelsWithLineAndColumn() throws Exception {
+        var source = "- name: bug\n  color: ff0000\n- name: docs\n  color: 0000ff\n";
+        var positions = new ArrayList<String>();
+
+        LabelSourceParser.parse(
+                "source",
+                LabelSourceParser.Format.YAML,
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)),
+                (label, line, column) -> positions.add(label.getName() + "@" + line + ":" + column));
+
+        assertThat(positions).containsExactly("bug@1:3", "docs@3:3");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenParseLargeCatalog_thenStreamAllLabels() throws Exception {
+        var labelCount = 50_000;
+        var consumed = new AtomicInteger();
+
+        var count = LabelSourceParser.parse(
+                "large.json",
+                LabelSourceParser.Format.JSON,
+                generateCatalog(labelCount),
+                label -> consumed.incrementAndGet());
+
+        assertThat(count).isEqualTo(labelCount);
+        assertThat(consumed.get()).isEqualTo(labelCount);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetFormat_thenDetermineFromExtension() throws Exception {
+        assertThat(LabelSourceParser.Format.of("labels.yml")).isEqualTo(LabelSourceParser.Format.YAML);
+        assertThat(LabelSourceParser.Format.of("labels.YAML")).isEqualTo(LabelSourceParser.Format.YAML);
+        assertThat(LabelSourceParser.Format.of("https://mirror/labels.json")).isEqualTo(LabelSourceParser.Format.JSON);
+        assertThrows(IllegalArgumentException.class, () -> LabelSourceParser.Format.of("labels.txt"));
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Parses the given source content.
+     * @param format the format.
+     * @param source the source content.
+     * @return the number of labels read.
+     * @throws IOException if an error occurs.
+     */
+    private int parse(LabelSourceParser.Format format, String source) throws IOException {
+        return LabelSourceParser.parse(
+                "source", format, new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), label -> {});
+    }
+
+    /**
+     * Generates a JSON catalog lazily, without holding it in memory.
+     * @param labelCount the number of labels.
+     * @return the catalog stream.
+     */
+    private InputStream generateCatalog(int labelCount) {
+        var chunks = new Enumeration<InputStream>() {
+            private int index = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return index <= labelCount;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String chunk;
+                if (index == -1) {
+                    chunk = "[";
+                } else if (index == labelCount) {
+                    chunk = "]";
+                } else {
+                    chunk = String.format(
+                            "%s{\"name\": \"component/%d\", \"color\": \"00aaff\"}", index == 0 ? "" : ",", index);
+                }
+                index++;
+                return new ByteArrayInputStream(chunk.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(chunks);
+    }
+}
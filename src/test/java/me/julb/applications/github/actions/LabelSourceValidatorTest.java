@@ -0,0 +1,89 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link LabelSourceValidator} class. <br>
+ * @author Julb.
+ */
+class LabelSourceValidatorTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenValidateValidLabels_thenNoProblem() throws Exception {
+        var validator = new LabelSourceValidator("labels.yml");
+
+        validator.validate(new LabelDTO(":bug: bug", "#FF0000", "Something isn't working :+1:"), 1, 3);
+        validator.validate(new LabelDTO("type: docs", "0000ff", null), 4, 3);
+        validator.validate(LabelDTO.tombstone("wontfix"), 6, 3);
+
+        assertThat(validator.getProblems()).isEmpty();
+        assertThat(validator.getWarnings()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenValidateInvalidLabels_thenAllProblemsWithPosition() throws Exception {
+        var validator = new LabelSourceValidator("labels.yml");
+
+        validator.validate(new LabelDTO("x".repeat(51), "ff0000", "d".repeat(101)), 1, 3);
+        validator.validate(new LabelDTO("bug", "red", null), 4, 3);
+        validator.validate(new LabelDTO("docs :Book:", "0000ff", null), 7, 3);
+        validator.validate(new LabelDTO("BUG", "ff0000", null), 9, 3);
+        validator.validate(LabelDTO.tombstone(" "), 11, 3);
+
+        // @formatter:off
+        assertThat(validator.getProblems()).containsExactly(
+                "'labels.yml' line 1, column 3: label '" + "x".repeat(51) + "' name is longer than 50 characters.",
+                "'labels.yml' line 1, column 3: label '" + "x".repeat(51)
+                        + "' description is longer than 100 characters.",
+                "'labels.yml' line 4, column 3: label 'bug' color 'red' is not a hexadecimal color.",
+                "'labels.yml' line 9, column 3: label 'BUG' is a duplicate of the label at line 4, column 3.",
+                "'labels.yml' line 11, column 3: label name is missing.");
+        // @formatter:on
+        assertThat(validator.getWarnings()).containsExactly(
+                "'labels.yml' line 7, column 3: label 'docs :Book:' has a malformed emoji shortcode ':Book:'.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenValidateLengthsInCharacters_thenSupplementaryCharactersCountedOnce() throws Exception {
+        var validator = new LabelSourceValidator("labels.json");
+
+        validator.validate(new LabelDTO("\uD83D\uDC1B".repeat(50), "ff0000", null), -1, -1);
+        validator.validate(new LabelDTO("\uD83D\uDC1B".repeat(51), "ff0000", null), -1, -1);
+
+        assertThat(validator.getProblems()).singleElement().asString().startsWith("'labels.json' label 2: label '");
+    }
+}
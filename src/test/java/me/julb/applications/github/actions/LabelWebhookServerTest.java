@@ -0,0 +1,331 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+/**
+ * Test class for {@link LabelWebhookServer} class. <br>
+ * @author Julb.
+ */
+@ExtendWith(MockitoExtension.class)
+class LabelWebhookServerTest {
+
+    /**
+     * The repository synchronized by the server.
+     */
+    private static final String REPOSITORY = "octocat/Hello-World";
+
+    /**
+     * The repository holding the label sources.
+     */
+    private static final String SOURCE_REPOSITORY = "octocat/labels";
+
+    /**
+     * The class under test.
+     */
+    private LabelWebhookServer server = null;
+
+    /**
+     * The action synchronizing the repositories.
+     */
+    private ManageLabelGitHubAction githubAction = null;
+
+    /**
+     * A mock for GitHub action kit.
+     */
+    @Mock
+    private GitHubActionsKit ghActionsKitMock;
+
+    /**
+     * The labels of the sources.
+     */
+    private Map<LabelKey, LabelDTO> labels = null;
+
+    /**
+     * The client posting the deliveries.
+     */
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        labels = Map.of(LabelKey.of("bug"), new LabelDTO("bug", "d73a4a", null, List.of("defect")));
+
+        githubAction = spy(new ManageLabelGitHubAction());
+        githubAction.setGhActionsKit(ghActionsKitMock);
+
+        server = new LabelWebhookServer(githubAction, ghActionsKitMock, "It's a Secret to Everybody",
+                Duration.ofMillis(200), SOURCE_REPOSITORY);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPostLabelEventsBurst_thenLabelsReconciledOnce() throws Exception {
+        doReturn(labels).when(githubAction).getInputLabels(any());
+        doReturn(SynchronizationResult.unchanged(REPOSITORY, 1))
+                .when(githubAction)
+                .synchronizeRepositoryLabels(anyString(), any(), any(), any());
+        start();
+
+        assertThat(post("label", labelPayload(REPOSITORY, "bug", null))).isEqualTo(202);
+        assertThat(post("label", labelPayload(REPOSITORY, "docs", "documentation"))).isEqualTo(202);
+        assertThat(post("label", labelPayload(REPOSITORY, "bug", null))).isEqualTo(202);
+
+        // @formatter:off
+        verify(githubAction, timeout(5000)).synchronizeRepositoryLabels(
+                eq(REPOSITORY), eq(labels), any(), eq(Set.of("bug", "docs", "documentation")));
+        verify(githubAction, after(500).times(1)).synchronizeRepositoryLabels(anyString(), any(), any(), any());
+        // @formatter:on
+        verify(githubAction, times(1)).synchronizeRepository(anyString(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPostUnauthenticatedOrUnrelatedDeliveries_thenNothingReconciled() throws Exception {
+        doReturn(labels).when(githubAction).getInputLabels(any());
+        start();
+
+        var payload = labelPayload(REPOSITORY, "bug", null);
+        assertThat(send("label", payload, null)).isEqualTo(401);
+        assertThat(send("label", payload, "sha256=0000")).isEqualTo(401);
+        assertThat(send("label", payload, server.sign("{}".getBytes(StandardCharsets.UTF_8)))).isEqualTo(401);
+        assertThat(post("label", "{not json")).isEqualTo(400);
+        assertThat(post("label", labelPayload("octocat/Spoon-Knife", "bug", null))).isEqualTo(204);
+        assertThat(post("issues", payload)).isEqualTo(204);
+        assertThat(post("ping", "{\"zen\": \"Keep it logically awesome.\"}")).isEqualTo(200);
+        // @formatter:off
+        var getResponse = httpClient.send(
+                HttpRequest.newBuilder(uri()).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        // @formatter:on
+        assertThat(getResponse.statusCode()).isEqualTo(405);
+
+        verify(githubAction, after(500).never()).synchronizeRepositoryLabels(anyString(), any(), any(), any());
+        verify(ghActionsKitMock, times(3)).warning("webhook delivery rejected: invalid signature.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPostPushOnDefaultBranch_thenChangedLabelsReconciled() throws Exception {
+        var changedLabels = Map.of(LabelKey.of("bug"), new LabelDTO("bug", "ff0000"));
+        doReturn(labels).doReturn(labels).doReturn(changedLabels).when(githubAction).getInputLabels(any());
+        start();
+
+        assertThat(post("push", pushPayload(SOURCE_REPOSITORY, "refs/heads/feature"))).isEqualTo(204);
+        assertThat(post("push", pushPayload(SOURCE_REPOSITORY, "refs/heads/main"))).isEqualTo(202);
+        verify(ghActionsKitMock, timeout(5000)).notice("labels unchanged, reconciliation skipped.");
+
+        assertThat(post("push", pushPayload("Octocat/Labels", "refs/heads/main"))).isEqualTo(202);
+        verify(ghActionsKitMock, timeout(5000)).notice("labels changed, 1 repositories scheduled for reconciliation.");
+        // @formatter:off
+        verify(githubAction, timeout(5000)).synchronizeRepository(
+                eq(REPOSITORY), eq(changedLabels), any(), isNull(), isNull());
+        // @formatter:on
+        verify(githubAction, times(3)).getInputLabels(any());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPostPushFromOtherRepository_thenLabelsNotReloaded() throws Exception {
+        doReturn(labels).when(githubAction).getInputLabels(any());
+        start();
+
+        assertThat(post("push", pushPayload(REPOSITORY, "refs/heads/main"))).isEqualTo(204);
+        assertThat(post("push", pushPayload("octocat/labels-fork", "refs/heads/main"))).isEqualTo(204);
+
+        verify(githubAction, after(500).times(1)).getInputLabels(any());
+        verify(ghActionsKitMock, never()).notice("labels unchanged, reconciliation skipped.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSign_thenGitHubSignature() throws Exception {
+        var body = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        var signature = "sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17";
+
+        assertThat(server.sign(body)).isEqualTo(signature);
+        assertThat(server.isSignatureValid(body, signature)).isTrue();
+        assertThat(server.isSignatureValid(body, signature.toUpperCase())).isFalse();
+        assertThat(server.isSignatureValid(body, null)).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenEmptySecret_thenThrowIllegalArgumentException() throws Exception {
+        // @formatter:off
+        assertThatThrownBy(
+                () -> new LabelWebhookServer(githubAction, ghActionsKitMock, "", Duration.ofSeconds(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        // @formatter:on
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Starts the server and waits for the initial reconciliation of the repository.
+     * @throws Exception if an error occurs.
+     */
+    private void start() throws Exception {
+        doNothing().when(githubAction).connectApi();
+        doReturn(new String[] {"labels.yml"}).when(githubAction).getInputFrom();
+        doReturn(new String[] {REPOSITORY}).when(githubAction).getInputRepositories();
+        doReturn(List.of(REPOSITORY)).when(githubAction).resolveRepositories(any());
+        doReturn(SynchronizationResult.unchanged(REPOSITORY, 1))
+                .when(githubAction)
+                .synchronizeRepository(anyString(), any(), any(), any(), any());
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        // @formatter:off
+        verify(githubAction, timeout(5000)).synchronizeRepository(
+                eq(REPOSITORY), eq(labels), any(), isNull(), isNull());
+        // @formatter:on
+    }
+
+    /**
+     * Gets the URI of the server.
+     * @return the URI of the server.
+     */
+    private URI uri() {
+        return URI.create(String.format("http://127.0.0.1:%d/", server.getPort()));
+    }
+
+    /**
+     * Posts a signed delivery.
+     * @param event the event.
+     * @param payload the payload.
+     * @return the response status.
+     * @throws Exception if an error occurs.
+     */
+    private int post(String event, String payload) throws Exception {
+        return send(event, payload, server.sign(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Posts a delivery.
+     * @param event the event.
+     * @param payload the payload.
+     * @param signature the signature, or <code>null</code> for an unsigned delivery.
+     * @return the response status.
+     * @throws Exception if an error occurs.
+     */
+    private int send(String event, String payload, String signature) throws Exception {
+        // @formatter:off
+        var request = HttpRequest.newBuilder(uri())
+                .header(LabelWebhookServer.EVENT_HEADER, event)
+                .POST(HttpRequest.BodyPublishers.ofString(payload));
+        // @formatter:on
+        if (signature != null) {
+            request.header(LabelWebhookServer.SIGNATURE_HEADER, signature);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Builds the payload of a {@code label} event.
+     * @param repository the repository full name.
+     * @param name the label name.
+     * @param previousName the previous label name, or <code>null</code> if not renamed.
+     * @return the payload.
+     */
+    private String labelPayload(String repository, String name, String previousName) {
+        // @formatter:off
+        var changes = previousName == null
+                ? ""
+                : String.format(", \"changes\": {\"name\": {\"from\": \"%s\"}}", previousName);
+        return String.format(
+                "{\"action\": \"%s\", \"label\": {\"name\": \"%s\"}, \"repository\": {\"full_name\": \"%s\"}%s}",
+                previousName == null ? "created" : "edited", name, repository, changes);
+        // @formatter:on
+    }
+
+    /**
+     * Builds the payload of a {@code push} event.
+     * @param repository the repository of the event.
+     * @param ref the pushed ref.
+     * @return the payload.
+     */
+    private String pushPayload(String repository, String ref) {
+        // @formatter:off
+        return String.format(
+                "{\"ref\": \"%s\", \"repository\": {\"full_name\": \"%s\", \"default_branch\": \"main\"}}",
+                ref, repository);
+        // @formatter:on
+    }
+}
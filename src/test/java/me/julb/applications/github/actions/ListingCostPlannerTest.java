@@ -0,0 +1,83 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ListingCostPlanner} class. <br>
+ * @author Julb.
+ */
+class ListingCostPlannerTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetNamesToLookUp_thenSkipKnownLabelsAndKeepAliasesOfLabelsOnly() throws Exception {
+        var labels = new LinkedHashMap<LabelKey, LabelDTO>();
+        labels.put(LabelKey.of("type: bug"), new LabelDTO("type: bug", "ff0000", null, List.of("Bug", "defect")));
+        labels.put(LabelKey.of("docs"), new LabelDTO("docs", "0000ff", null, List.of("documentation")));
+        labels.put(LabelKey.of("wontfix"), LabelDTO.tombstone("WontFix"));
+        labels.put(LabelKey.of("feature"), new LabelDTO("feature", "00ff00", null, List.of("bug")));
+
+        var names = ListingCostPlanner.getNamesToLookUp(labels, Map.of(
+                LabelKey.of("docs"), new ExistingLabel(1, "LA_1", "docs", "0000ff", null),
+                LabelKey.of("defect"), new ExistingLabel(2, "LA_2", "defect", "ff0000", null)));
+
+        assertThat(names).containsExactly("type: bug", "Bug", "WontFix", "feature");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenEstimateCosts_thenCountRemainingPagesAndLookUps() throws Exception {
+        assertThat(ListingCostPlanner.estimateListingCost(OptionalInt.of(50))).isEqualTo(49);
+        assertThat(ListingCostPlanner.estimateListingCost(OptionalInt.empty())).isEqualTo(Integer.MAX_VALUE);
+        assertThat(ListingCostPlanner.estimateLookUpCost(List.of("a", "b"))).isEqualTo(2);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenChoose_thenPickCheaperStrategy() throws Exception {
+        var names = List.of("a", "b", "c");
+
+        assertThat(ListingCostPlanner.choose(OptionalInt.of(50), names)).isEqualTo(ListingCostPlanner.Strategy.LOOK_UP);
+        assertThat(ListingCostPlanner.choose(OptionalInt.of(4), names)).isEqualTo(ListingCostPlanner.Strategy.LISTING);
+        assertThat(ListingCostPlanner.choose(OptionalInt.of(1), List.of()))
+                .isEqualTo(ListingCostPlanner.Strategy.LISTING);
+        assertThat(ListingCostPlanner.choose(OptionalInt.empty(), names))
+                .isEqualTo(ListingCostPlanner.Strategy.LISTING);
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for {@link LocalLabelSources} class. <br>
+ * @author Julb.
+ */
+class LocalLabelSourcesTest {
+
+    /**
+     * The directory holding the sources.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenIsGlob_thenDetectGlobCharacters() throws Exception {
+        assertThat(LocalLabelSources.isGlob(".github/labels/**/*.yml")).isTrue();
+        assertThat(LocalLabelSources.isGlob("labels/team-?.{yml,json}")).isTrue();
+        assertThat(LocalLabelSources.isGlob(".github/config/labels.yml")).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenIsGlobOfExistingLiteralPath_thenNotGlob() throws Exception {
+        write("labels[prod].yml");
+        write("labels{team}.yml");
+
+        assertThat(LocalLabelSources.isGlob(directory + "/labels[prod].yml")).isFalse();
+        assertThat(LocalLabelSources.isGlob(directory + "/labels{team}.yml")).isFalse();
+        assertThat(LocalLabelSources.isGlob(directory + "/labels[dev].yml")).isTrue();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExpand_thenMatchingFilesSortedLexicographically() throws Exception {
+        write("labels/team-b/b.yml");
+        write("labels/team-a/z.yml");
+        write("labels/team-a/a.yml");
+        write("labels/root.yml");
+        write("labels/team-a/ignored.json");
+        write("other/c.yml");
+
+        var paths = LocalLabelSources.expand(directory + "/labels/**/*.yml");
+
+        // @formatter:off
+        assertThat(paths).containsExactly(
+                directory + "/labels/root.yml",
+                directory + "/labels/team-a/a.yml",
+                directory + "/labels/team-a/z.yml",
+                directory + "/labels/team-b/b.yml");
+        // @formatter:on
+        assertThat(LocalLabelSources.expand(directory + "/labels/team-?/*.{yml,json}")).hasSize(4);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExpandWithoutMatch_thenThrowFileNotFoundException() throws Exception {
+        write("labels/a.json");
+
+        var glob = directory + "/labels/*.yml";
+        var e = assertThrows(FileNotFoundException.class, () -> LocalLabelSources.expand(glob));
+        assertThat(e.getMessage()).isEqualTo(String.format("no label source matches '%s'", glob));
+
+        var missingDirectoryGlob = directory + "/missing/*.yml";
+        assertThrows(FileNotFoundException.class, () -> LocalLabelSources.expand(missingDirectoryGlob));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenOpenSmallAndLargeFiles_thenReadWholeContent() throws Exception {
+        var small = "- name: bug\n  color: ff0000\n";
+        var smallFile = directory.resolve("small.yml");
+        Files.writeString(smallFile, small, StandardCharsets.UTF_8);
+
+        var large = new StringBuilder();
+        while (large.length() <= LocalLabelSources.MAPPING_THRESHOLD) {
+            large.append(small);
+        }
+        var largeFile = directory.resolve("large.yml");
+        Files.writeString(largeFile, large, StandardCharsets.UTF_8);
+
+        try (var is = LocalLabelSources.open(smallFile)) {
+            assertThat(is).isNotInstanceOf(LocalLabelSources.ByteBufferInputStream.class);
+            assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(small);
+        }
+        try (var is = LocalLabelSources.open(largeFile)) {
+            assertThat(is).isInstanceOf(LocalLabelSources.ByteBufferInputStream.class);
+            assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(large.toString());
+        }
+
+        var missingFile = directory.resolve("missing.yml");
+        assertThrows(FileNotFoundException.class, () -> LocalLabelSources.open(missingFile));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReadByteBufferInputStream_thenReadUntilLimit() throws Exception {
+        var is = new LocalLabelSources.ByteBufferInputStream(ByteBuffer.wrap(new byte[] {1, (byte) 0xff, 3}));
+        var bytes = new byte[2];
+
+        assertThat(is.available()).isEqualTo(3);
+        assertThat(is.read()).isEqualTo(1);
+        assertThat(is.read(bytes, 0, 0)).isZero();
+        assertThat(is.read(bytes, 0, 2)).isEqualTo(2);
+        assertThat(bytes).containsExactly((byte) 0xff, 3);
+        assertThat(is.read()).isEqualTo(-1);
+        assertThat(is.read(bytes, 0, 2)).isEqualTo(-1);
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Writes an empty label source.
+     * @param path the path of the source, relative to the directory.
+     * @throws Exception if an error occurs.
+     */
+    private void write(String path) throws Exception {
+        var file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "[]", StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+/**
+ * End-to-end performance tests of {@link ManageLabelGitHubAction} against a {@link FakeGitHubApiServer}. <br>
+ * Each test runs the whole action over HTTP and asserts the requests sent and their concurrency.
+ * @author Julb.
+ */
+class ManageLabelGitHubActionPerformanceTest {
+
+    /**
+     * The synchronized repository.
+     */
+    private static final String REPOSITORY = "octocat/labels";
+
+    /**
+     * The working directory.
+     */
+    @TempDir
+    Path workingDirectory;
+
+    /**
+     * The fake GitHub API.
+     */
+    private FakeGitHubApiServer server;
+
+    /**
+     * A mock for GitHub action kit.
+     */
+    private GitHubActionsKit ghActionsKitMock;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeGitHubApiServer(1_000_000, 16);
+        server.addRepository(REPOSITORY);
+
+        ghActionsKitMock = mock(GitHubActionsKit.class);
+        when(ghActionsKitMock.getGitHubApiUrl()).thenReturn(server.getUrl());
+        when(ghActionsKitMock.getRequiredEnv("GITHUB_TOKEN")).thenReturn("token");
+        when(ghActionsKitMock.getMultilineInput("repositories")).thenReturn(Optional.of(new String[] {REPOSITORY}));
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteOnLargeUpToDateRepository_thenOnlyListingRequests() throws Exception {
+        var labels = newLabels(20_000, "ff0000");
+        labels.forEach(label -> server.putLabel(REPOSITORY, label.getName(), label.getColor(), null));
+        withSource(labels);
+        server.setLatencyMillis(5);
+
+        execute();
+
+        // The pages after the first one are listed concurrently, within the parallelism.
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}/labels"))
+                .isEqualTo(20_000 / RepositoryLabelSynchronizer.LIST_PAGE_SIZE);
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isZero();
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isZero();
+        assertThat(server.getRequestCount("DELETE /repos/{owner}/{repo}/labels/{name}")).isZero();
+        assertThat(server.getMaxConcurrentRequests().get())
+                .isGreaterThan(1)
+                .isLessThanOrEqualTo(ManageLabelGitHubAction.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteWithChanges_thenOneRequestPerChange() throws Exception {
+        var labels = newLabels(1_000, "00ff00");
+        for (var i = 0; i < labels.size(); i++) {
+            var label = labels.get(i);
+            if (i < 100) {
+                continue;
+            } else if (i < 200) {
+                server.putLabel(REPOSITORY, label.getName(), "0000ff", null);
+            } else {
+                server.putLabel(REPOSITORY, label.getName(), label.getColor(), null);
+            }
+        }
+        for (LabelDTO label : newLabels(100, "ffffff")) {
+            server.putLabel(REPOSITORY, "obsolete-" + label.getName(), label.getColor(), null);
+        }
+        withSource(labels);
+
+        execute();
+
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isEqualTo(100);
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isEqualTo(100);
+        assertThat(server.getRequestCount("DELETE /repos/{owner}/{repo}/labels/{name}")).isEqualTo(100);
+        assertThat(server.getLabels(REPOSITORY)).usingRecursiveFieldByFieldElementComparator().isEqualTo(labels);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteSmallCatalogOnLargeRepositoryWithSkipDelete_thenLookUpLabelsWithoutListing() throws Exception {
+        for (LabelDTO label : newLabels(5_000, "ffffff")) {
+            server.putLabel(REPOSITORY, label.getName(), label.getColor(), null);
+        }
+        var labels = new ArrayList<LabelDTO>();
+        for (var i = 0; i < 10; i++) {
+            // The first five labels exist and are updated, the other five are created.
+            labels.add(new LabelDTO(String.format("label-%05d", i * 1_000 + (i < 5 ? 0 : 99_999)), "00ff00"));
+        }
+        withSource(labels);
+        Files.writeString(workingDirectory.resolve("labels.yml"), "- name: \"label-04999\"\n  delete: true\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        when(ghActionsKitMock.getBooleanInput("skip_delete")).thenReturn(Optional.of(Boolean.TRUE));
+
+        execute();
+
+        // The first page is listed, and holds label-00000: the 9 other labels and the tombstone are looked up.
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}/labels")).isEqualTo(1);
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}/labels/{name}")).isEqualTo(10);
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isEqualTo(5);
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isEqualTo(5);
+        assertThat(server.getRequestCount("DELETE /repos/{owner}/{repo}/labels/{name}")).isEqualTo(1);
+        assertThat(server.getLabels(REPOSITORY)).hasSize(5_000 + 5 - 1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteWithLatency_thenWritesOverlap() throws Exception {
+        var labels = newLabels(100, "123456");
+        withSource(labels);
+        server.setLatencyMillis(40);
+
+        execute();
+
+        // The creations are sent concurrently, within the parallelism.
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isEqualTo(100);
+        assertThat(server.getMaxConcurrentRequests().get())
+                .isGreaterThan(1)
+                .isLessThanOrEqualTo(ManageLabelGitHubAction.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteWithSecondaryRateLimit_thenRetriedAndCompleted() throws Exception {
+        var labels = newLabels(60, "abcdef");
+        withSource(labels);
+        server.setSecondaryRateLimitPeriod(25);
+
+        execute();
+
+        assertThat(server.getSecondaryRateLimitCount().get()).isEqualTo(2);
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isEqualTo(62);
+        assertThat(server.getLabels(REPOSITORY)).hasSize(60);
+        verify(ghActionsKitMock).setOutput("retries", 2);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteTwiceWithCache_thenSecondRunOnlyVerifiesListing() throws Exception {
+        var labels = newLabels(250, "fedcba");
+        withSource(labels);
+        when(ghActionsKitMock.getInput("cache_dir"))
+                .thenReturn(Optional.of(workingDirectory.resolve("cache").toString()));
+
+        execute();
+        server.resetRequestCounts();
+
+        // Only the API root, the authenticated user and the 3 pages of 100 labels are requested.
+        execute();
+
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}")).isZero();
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}/labels")).isEqualTo(3);
+        assertThat(server.getRequestCount()).isEqualTo(5);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteWithMaxOperations_thenNextRunResumesWithoutListing() throws Exception {
+        var labels = newLabels(300, "00ff00");
+        for (var i = 0; i < 100; i++) {
+            server.putLabel(REPOSITORY, labels.get(i).getName(), "0000ff", null);
+        }
+        for (LabelDTO label : newLabels(50, "ffffff")) {
+            server.putLabel(REPOSITORY, "obsolete-" + label.getName(), label.getColor(), null);
+        }
+        withSource(labels);
+        when(ghActionsKitMock.getInput("cache_dir"))
+                .thenReturn(Optional.of(workingDirectory.resolve("cache").toString()));
+        when(ghActionsKitMock.getInput("max_operations")).thenReturn(Optional.of("120"));
+
+        // The 200 creations are planned first: the first run only creates 120 labels.
+        execute();
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isEqualTo(120);
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isZero();
+        server.resetRequestCounts();
+
+        // The second run resumes the plan: 80 creations, 40 updates, then the budget is exhausted again.
+        execute();
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}/labels")).isZero();
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isEqualTo(80);
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isEqualTo(40);
+        server.resetRequestCounts();
+
+        // The third run completes the plan: 60 updates and 50 deletions, then lists once to record the fingerprint.
+        execute();
+        assertThat(server.getRequestCount("GET /repos/{owner}/{repo}/labels")).isEqualTo(3);
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isEqualTo(60);
+        assertThat(server.getRequestCount("DELETE /repos/{owner}/{repo}/labels/{name}")).isEqualTo(50);
+        assertThat(server.getLabels(REPOSITORY)).hasSize(300).allMatch(label -> "00ff00".equals(label.getColor()));
+        server.resetRequestCounts();
+
+        // The fourth run finds the repository in sync.
+        execute();
+        assertThat(server.getRequestCount("POST /repos/{owner}/{repo}/labels")).isZero();
+        assertThat(server.getRequestCount("PATCH /repos/{owner}/{repo}/labels/{name}")).isZero();
+        assertThat(server.getRequestCount("DELETE /repos/{owner}/{repo}/labels/{name}")).isZero();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Runs the action.
+     */
+    private void execute() {
+        var githubAction = new ManageLabelGitHubAction();
+        githubAction.setGhActionsKit(ghActionsKitMock);
+        githubAction.execute();
+    }
+
+    /**
+     * Writes the given labels in the source file of the action.
+     * @param labels the labels.
+     * @throws Exception if an error occurs.
+     */
+    private void withSource(List<LabelDTO> labels) throws Exception {
+        var source = new StringBuilder();
+        for (LabelDTO label : labels) {
+            source.append(String.format("- name: \"%s\"%n  color: \"%s\"%n", label.getName(), label.getColor()));
+        }
+        var sourceFile = workingDirectory.resolve("labels.yml");
+        Files.writeString(sourceFile, source, StandardCharsets.UTF_8);
+        when(ghActionsKitMock.getRequiredMultilineInput("from")).thenReturn(new String[] {sourceFile.toString()});
+    }
+
+    /**
+     * Generates labels sorted by name.
+     * @param count the number of labels.
+     * @param color the color of the labels.
+     * @return the labels.
+     */
+    private static List<LabelDTO> newLabels(int count, String color) {
+        var labels = new ArrayList<LabelDTO>();
+        for (var i = 0; i < count; i++) {
+            labels.add(new LabelDTO(String.format("label-%05d", i), color));
+        }
+        return labels;
+    }
+}
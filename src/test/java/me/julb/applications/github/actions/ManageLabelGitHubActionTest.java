@@ -24,12 +24,14 @@
 package me.julb.applications.github.actions;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -39,23 +41,26 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
-import org.kohsuke.github.GHLabel;
-import org.kohsuke.github.GHLabel.Updater;
+import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.LocalPagedIterable;
@@ -118,7 +123,6 @@ class ManageLabelGitHubActionTest {
         githubAction = new ManageLabelGitHubAction();
         githubAction.setGhActionsKit(ghActionsKitMock);
         githubAction.setGhApi(ghApiMock);
-        githubAction.setGhRepository(ghRepositoryMock);
     }
 
     /**
@@ -172,77 +176,662 @@ class ManageLabelGitHubActionTest {
      * Test method.
      */
     @Test
-    void whenExecuteManageLabelsWithSkipDelete_thenLabelCreatedUpdatedNotDeleted() throws Exception {
+    void whenGetInputParallelismProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("parallelism")).thenReturn(Optional.of("8"));
+
+        assertThat(this.githubAction.getInputParallelism()).isEqualTo(8);
+
+        verify(this.ghActionsKitMock).getInput("parallelism");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputParallelismNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("parallelism")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputParallelism()).isEqualTo(ManageLabelGitHubAction.DEFAULT_PARALLELISM);
+
+        verify(this.ghActionsKitMock).getInput("parallelism");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputParallelismNotPositive_thenThrowIllegalArgumentException() throws Exception {
+        when(this.ghActionsKitMock.getInput("parallelism")).thenReturn(Optional.of("0"));
+
+        assertThrows(IllegalArgumentException.class, () -> this.githubAction.getInputParallelism());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputRateLimitStrategyProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("rate_limit_strategy")).thenReturn(Optional.of("split"));
+
+        assertThat(this.githubAction.getInputRateLimitStrategy()).isEqualTo(RateLimitStrategy.SPLIT);
+
+        verify(this.ghActionsKitMock).getInput("rate_limit_strategy");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputRateLimitStrategyNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("rate_limit_strategy")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputRateLimitStrategy()).isEqualTo(RateLimitStrategy.FAIL);
+
+        verify(this.ghActionsKitMock).getInput("rate_limit_strategy");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputLogVerbosityProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("log_verbosity")).thenReturn(Optional.of("summary"));
+
+        assertThat(this.githubAction.getInputLogVerbosity()).isEqualTo(LogVerbosity.SUMMARY);
+
+        verify(this.ghActionsKitMock).getInput("log_verbosity");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputLogVerbosityNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("log_verbosity")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputLogVerbosity()).isEqualTo(LogVerbosity.DETAILED);
+
+        verify(this.ghActionsKitMock).getInput("log_verbosity");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputWriteBackendProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("write_backend")).thenReturn(Optional.of("graphql"));
+
+        assertThat(this.githubAction.getInputWriteBackend()).isEqualTo(LabelWriteBackend.GRAPHQL);
+
+        verify(this.ghActionsKitMock).getInput("write_backend");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputWriteBackendNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("write_backend")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputWriteBackend()).isEqualTo(LabelWriteBackend.REST);
+
+        verify(this.ghActionsKitMock).getInput("write_backend");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputCacheDirProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("cache_dir")).thenReturn(Optional.of(".cache/labels"));
+
+        assertThat(this.githubAction.getInputCacheDir()).contains(".cache/labels");
+
+        verify(this.ghActionsKitMock).getInput("cache_dir");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenIsListingPrefetchableNotConnected_thenFalse() throws Exception {
+        assertThat(this.githubAction.isListingPrefetchable(false)).isFalse();
+        assertThat(this.githubAction.isListingPrefetchable(true)).isFalse();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputCacheDirNotProvided_thenReturnEmpty() throws Exception {
+        when(this.ghActionsKitMock.getInput("cache_dir")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputCacheDir()).isEmpty();
+
+        verify(this.ghActionsKitMock).getInput("cache_dir");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputGraphQLBatchSizeProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("graphql_batch_size")).thenReturn(Optional.of("20"));
+
+        assertThat(this.githubAction.getInputGraphQLBatchSize()).isEqualTo(20);
+
+        verify(this.ghActionsKitMock).getInput("graphql_batch_size");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputGraphQLBatchSizeNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("graphql_batch_size")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputGraphQLBatchSize())
+                .isEqualTo(ManageLabelGitHubAction.DEFAULT_GRAPHQL_BATCH_SIZE);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputTimeoutsProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("connect_timeout")).thenReturn(Optional.of("5"));
+        when(this.ghActionsKitMock.getInput("read_timeout")).thenReturn(Optional.of("120"));
+
+        assertThat(this.githubAction.getInputConnectTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(this.githubAction.getInputReadTimeout()).isEqualTo(Duration.ofSeconds(120));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputTimeoutsNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("connect_timeout")).thenReturn(Optional.empty());
+        when(this.ghActionsKitMock.getInput("read_timeout")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputConnectTimeout())
+                .isEqualTo(Duration.ofSeconds(ManageLabelGitHubAction.DEFAULT_CONNECT_TIMEOUT));
+        assertThat(this.githubAction.getInputReadTimeout())
+                .isEqualTo(Duration.ofSeconds(ManageLabelGitHubAction.DEFAULT_READ_TIMEOUT));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputReadTimeoutNotPositive_thenThrowIllegalArgumentException() throws Exception {
+        when(this.ghActionsKitMock.getInput("read_timeout")).thenReturn(Optional.of("0"));
+
+        assertThrows(IllegalArgumentException.class, () -> this.githubAction.getInputReadTimeout());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputOperationLimits_thenReturnValues() throws Exception {
+        when(this.ghActionsKitMock.getInput("max_operations")).thenReturn(Optional.of("500"), Optional.empty());
+        when(this.ghActionsKitMock.getInput("deadline")).thenReturn(Optional.of("3000"), Optional.empty());
+
+        assertThat(this.githubAction.getInputMaxOperations()).contains(500);
+        assertThat(this.githubAction.getInputDeadline()).contains(Duration.ofSeconds(3000));
+        assertThat(this.githubAction.getInputMaxOperations()).isEmpty();
+        assertThat(this.githubAction.getInputDeadline()).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputOperationLimitsNotPositive_thenThrowIllegalArgumentException() throws Exception {
+        when(this.ghActionsKitMock.getInput("max_operations")).thenReturn(Optional.of("0"));
+        when(this.ghActionsKitMock.getInput("deadline")).thenReturn(Optional.of("-1"));
+
+        assertThrows(IllegalArgumentException.class, () -> this.githubAction.getInputMaxOperations());
+        assertThrows(IllegalArgumentException.class, () -> this.githubAction.getInputDeadline());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetGraphQLUrl_thenReturnEndpoint() throws Exception {
+        when(this.ghActionsKitMock.getEnv("GITHUB_GRAPHQL_URL")).thenReturn(Optional.empty());
+        when(this.ghActionsKitMock.getGitHubApiUrl())
+                .thenReturn("https://api.github.com", "https://github.example.com/api/v3/");
+
+        assertThat(this.githubAction.getGraphQLUrl()).isEqualTo("https://api.github.com/graphql");
+        assertThat(this.githubAction.getGraphQLUrl()).isEqualTo("https://github.example.com/api/graphql");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputRepositoriesProvided_thenReturnValue() throws Exception {
+        when(this.ghActionsKitMock.getMultilineInput("repositories"))
+                .thenReturn(Optional.of(new String[] {"octocat/Hello-World", "octocat/*"}));
+
+        assertThat(this.githubAction.getInputRepositories()).containsExactly("octocat/Hello-World", "octocat/*");
+
+        verify(this.ghActionsKitMock).getMultilineInput("repositories");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputRepositoriesNotProvided_thenReturnCurrentRepository() throws Exception {
+        when(this.ghActionsKitMock.getMultilineInput("repositories")).thenReturn(Optional.empty());
+        when(this.ghActionsKitMock.getGitHubRepository()).thenReturn("octocat/Hello-World");
+
+        assertThat(this.githubAction.getInputRepositories()).containsExactly("octocat/Hello-World");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputRepositoryParallelismNotProvided_thenReturnDefaultValue() throws Exception {
+        when(this.ghActionsKitMock.getInput("repository_parallelism")).thenReturn(Optional.empty());
+
+        assertThat(this.githubAction.getInputRepositoryParallelism())
+                .isEqualTo(ManageLabelGitHubAction.DEFAULT_REPOSITORY_PARALLELISM);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteManageLabels_thenRepositorySynchronizedWithSourceLabels() throws Exception {
         var spy = spy(this.githubAction);
 
         var label1 = new LabelDTO("label1", "000000");
-        var label2 = new LabelDTO("label2", "111111", "some desc");
-        var ghLabel1 = mock(GHLabel.class);
-        var ghLabel3 = mock(GHLabel.class);
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
 
-        when(this.ghActionsKitMock.getGitHubRepository()).thenReturn("octocat/Hello-World");
         doReturn(new String[] {"file1.yml"}).when(spy).getInputFrom();
+        doReturn(new String[] {"octocat/Hello-World"}).when(spy).getInputRepositories();
         doReturn(true).when(spy).getInputSkipDelete();
 
         doNothing().when(spy).connectApi();
-        doReturn(Map.of("label1", label1, "label2", label2)).when(spy).getInputLabels(new String[] {"file1.yml"});
-        doReturn(Map.of("label1", ghLabel1, "label3", ghLabel3)).when(spy).getGHLabels();
-        doNothing().when(spy).createLabels(new TreeSet<>(List.of(label2)));
-        doNothing().when(spy).updateLabels(new TreeMap<>(Map.of(label1, ghLabel1)));
-
+        doReturn(Map.of(LabelKey.of("label1"), label1)).when(spy).getInputLabels(new String[] {"file1.yml"});
         when(this.ghApiMock.getRepository("octocat/Hello-World")).thenReturn(ghRepositoryMock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        when(synchronizerMock.synchronize(Map.of(LabelKey.of("label1"), label1)))
+                .thenReturn(new SynchronizationResult("octocat/Hello-World", 1, 0, 0, 0, null));
 
         spy.execute();
 
-        verify(this.ghActionsKitMock).getGitHubRepository();
-
         verify(spy).getInputFrom();
         verify(spy).getInputSkipDelete();
         verify(spy).connectApi();
-        verify(spy).createLabels(new TreeSet<>(List.of(label2)));
-        verify(spy).updateLabels(new TreeMap<>(Map.of(label1, ghLabel1)));
-        verify(spy, never()).deleteLabels(anyCollection());
-
+        verify(spy).getInputLabels(new String[] {"file1.yml"});
+        verify(synchronizerMock).synchronize(Map.of(LabelKey.of("label1"), label1));
         verify(this.ghApiMock).getRepository("octocat/Hello-World");
+        verify(this.ghActionsKitMock).info("| octocat/Hello-World | 1 | 0 | 0 | 0 | ok |");
+        verify(this.ghActionsKitMock)
+                .notice("1 repositories synchronized (0 incomplete, 0 failed): "
+                        + "1 labels created, 0 updated, 0 deleted.");
     }
 
     /**
      * Test method.
      */
     @Test
-    void whenExecuteManageLabelsWithoutSkipDelete_thenLabelCreatedUpdatedDeleted() throws Exception {
+    void whenExecuteManageLabelsOnSeveralRepositories_thenSourcesParsedOnceAndFailuresReported() throws Exception {
         var spy = spy(this.githubAction);
 
         var label1 = new LabelDTO("label1", "000000");
-        var label2 = new LabelDTO("label2", "111111", "some desc");
-        var ghLabel1 = mock(GHLabel.class);
-        var ghLabel3 = mock(GHLabel.class);
+        var ghRepository2Mock = mock(GHRepository.class);
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
+        var synchronizer2Mock = mock(RepositoryLabelSynchronizer.class);
 
-        when(this.ghActionsKitMock.getGitHubRepository()).thenReturn("octocat/Hello-World");
         doReturn(new String[] {"file1.yml"}).when(spy).getInputFrom();
-        doReturn(false).when(spy).getInputSkipDelete();
+        doReturn(new String[] {"octocat/repo1", "octocat/repo2"}).when(spy).getInputRepositories();
 
         doNothing().when(spy).connectApi();
-        doReturn(Map.of("label1", label1, "label2", label2)).when(spy).getInputLabels(new String[] {"file1.yml"});
-        doReturn(Map.of("label1", ghLabel1, "label3", ghLabel3)).when(spy).getGHLabels();
-        doNothing().when(spy).createLabels(new TreeSet<>(List.of(label2)));
-        doNothing().when(spy).updateLabels(new TreeMap<>(Map.of(label1, ghLabel1)));
-        doNothing().when(spy).deleteLabels(new ArrayList<>(List.of(ghLabel3)));
+        doReturn(Map.of(LabelKey.of("label1"), label1)).when(spy).getInputLabels(new String[] {"file1.yml"});
+        when(this.ghApiMock.getRepository("octocat/repo1")).thenReturn(ghRepositoryMock);
+        when(this.ghApiMock.getRepository("octocat/repo2")).thenReturn(ghRepository2Mock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        doReturn(synchronizer2Mock).when(spy).newSynchronizer(Mockito.eq(ghRepository2Mock), Mockito.any());
+        when(synchronizerMock.synchronize(Map.of(LabelKey.of("label1"), label1)))
+                .thenReturn(new SynchronizationResult("octocat/repo1", 1, 0, 0, 0, null));
+        when(synchronizer2Mock.synchronize(Map.of(LabelKey.of("label1"), label1))).thenThrow(new IOException("boom"));
+
+        assertThrows(CompletionException.class, () -> spy.execute());
+
+        verify(spy).getInputLabels(new String[] {"file1.yml"});
+        verify(synchronizerMock).synchronize(Map.of(LabelKey.of("label1"), label1));
+        verify(synchronizer2Mock).synchronize(Map.of(LabelKey.of("label1"), label1));
+        verify(this.ghActionsKitMock).info("| octocat/repo2 | 0 | 0 | 0 | 0 | failed |");
+        verify(this.ghActionsKitMock)
+                .notice("2 repositories synchronized (0 incomplete, 1 failed): "
+                        + "1 labels created, 0 updated, 0 deleted.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteManageLabels_thenSourcesLoadedWhileConnecting() throws Exception {
+        var spy = spy(this.githubAction);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
+        var connecting = new CountDownLatch(1);
+        var loadingSources = new CountDownLatch(1);
 
+        doReturn(new String[] {"file1.yml"}).when(spy).getInputFrom();
+        doReturn(new String[] {"octocat/Hello-World"}).when(spy).getInputRepositories();
+
+        // Each stage only completes once the other one is running.
+        doAnswer(invocation -> {
+            connecting.countDown();
+            assertThat(loadingSources.await(10, TimeUnit.SECONDS)).isTrue();
+            return null;
+        }).when(spy).connectApi();
+        doAnswer(invocation -> {
+            loadingSources.countDown();
+            assertThat(connecting.await(10, TimeUnit.SECONDS)).isTrue();
+            return Map.of(LabelKey.of("label1"), label1);
+        }).when(spy).getInputLabels(new String[] {"file1.yml"});
         when(this.ghApiMock.getRepository("octocat/Hello-World")).thenReturn(ghRepositoryMock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        when(synchronizerMock.synchronize(Map.of(LabelKey.of("label1"), label1)))
+                .thenReturn(new SynchronizationResult("octocat/Hello-World", 1, 0, 0, 0, null));
 
         spy.execute();
 
-        verify(this.ghActionsKitMock).getGitHubRepository();
+        verify(synchronizerMock).synchronize(Map.of(LabelKey.of("label1"), label1));
+        verify(this.ghActionsKitMock).info("| octocat/Hello-World | 1 | 0 | 0 | 0 | ok |");
+        verify(this.ghActionsKitMock)
+                .notice("1 repositories synchronized (0 incomplete, 0 failed): "
+                        + "1 labels created, 0 updated, 0 deleted.");
+    }
 
-        verify(spy).getInputFrom();
-        verify(spy).getInputSkipDelete();
+    /**
+     * Test method.
+     */
+    @Test
+    void whenExecuteManageLabelsWithInvalidSource_thenNoRepositorySynchronized() throws Exception {
+        var spy = spy(this.githubAction);
+
+        doReturn(new String[] {"file1.yml"}).when(spy).getInputFrom();
+        doReturn(new String[] {"octocat/Hello-World"}).when(spy).getInputRepositories();
+
+        doNothing().when(spy).connectApi();
+        doThrow(new IOException("boom")).when(spy).getInputLabels(new String[] {"file1.yml"});
+
+        var exception = assertThrows(CompletionException.class, () -> spy.execute());
+
+        assertThat(exception).hasCauseInstanceOf(IOException.class).hasRootCauseMessage("boom");
         verify(spy).connectApi();
-        verify(spy).createLabels(new TreeSet<>(List.of(label2)));
-        verify(spy).updateLabels(new TreeMap<>(Map.of(label1, ghLabel1)));
-        verify(spy).deleteLabels(new ArrayList<>(List.of(ghLabel3)));
+        verify(this.ghApiMock, never()).getRepository(anyString());
+        verify(spy, never()).newSynchronizer(Mockito.any(), Mockito.any());
+    }
 
-        verify(this.ghApiMock).getRepository("octocat/Hello-World");
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryUnchanged_thenReconciliationSkipped() throws Exception {
+        var label1 = new LabelDTO("label1", "000000");
+        var fingerprintStoreMock = mock(FingerprintStore.class);
+        when(fingerprintStoreMock.isUnchanged("octocat/Hello-World", "f1")).thenReturn(true);
+
+        var result = this.githubAction.synchronizeRepository(
+                "octocat/Hello-World",
+                Map.of(LabelKey.of("label1"), label1),
+                SynchronizationOptions.builder().build(),
+                fingerprintStoreMock,
+                "f1");
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getUpToDate()).isEqualTo(1);
+        verify(this.ghApiMock, never()).getRepository(anyString());
+        verify(fingerprintStoreMock, never()).record(anyString(), anyString(), anyList());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryChanged_thenReconciledAndFingerprintNotRecorded() throws Exception {
+        var spy = spy(this.githubAction);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
+        var fingerprintStoreMock = mock(FingerprintStore.class);
+        when(this.ghApiMock.getRepository("octocat/Hello-World")).thenReturn(ghRepositoryMock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        when(synchronizerMock.synchronize(Map.of(LabelKey.of("label1"), label1)))
+                .thenReturn(new SynchronizationResult("octocat/Hello-World", 1, 0, 0, 0, null));
+
+        var result = spy.synchronizeRepository(
+                "octocat/Hello-World",
+                Map.of(LabelKey.of("label1"), label1),
+                SynchronizationOptions.builder().build(),
+                fingerprintStoreMock,
+                "f1");
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        verify(fingerprintStoreMock).isUnchanged("octocat/Hello-World", "f1");
+        verify(fingerprintStoreMock, never()).record(anyString(), anyString(), anyList());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryInSync_thenFingerprintRecordedFromListedPages() throws Exception {
+        var spy = spy(this.githubAction);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
+        var fingerprintStoreMock = mock(FingerprintStore.class);
+        var pageUrl = "https://api.github.com/repos/octocat/Hello-World/labels?per_page=100";
+        var listedPages = List.of(new LabelListingFetcher.Page(pageUrl, "W/\"1\"", List.of(), List.of()));
+        when(this.ghApiMock.getRepository("octocat/Hello-World")).thenReturn(ghRepositoryMock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        when(synchronizerMock.synchronize(Map.of(LabelKey.of("label1"), label1)))
+                .thenReturn(new SynchronizationResult("octocat/Hello-World", 0, 0, 1, 0, null));
+        when(synchronizerMock.getListedPages()).thenReturn(listedPages);
+
+        var result = spy.synchronizeRepository(
+                "octocat/Hello-World",
+                Map.of(LabelKey.of("label1"), label1),
+                SynchronizationOptions.builder().build(),
+                fingerprintStoreMock,
+                "f1");
+
+        assertThat(result.getUpToDate()).isEqualTo(1);
+        verify(fingerprintStoreMock).record("octocat/Hello-World", "f1", listedPages);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryFails_thenFingerprintNotRecorded() throws Exception {
+        var fingerprintStoreMock = mock(FingerprintStore.class);
+        when(this.ghApiMock.getRepository("octocat/Hello-World")).thenThrow(new IOException("boom"));
+
+        var result = this.githubAction.synchronizeRepository(
+                "octocat/Hello-World",
+                Map.of(),
+                SynchronizationOptions.builder().build(),
+                fingerprintStoreMock,
+                "f1");
+
+        assertThat(result.isSuccessful()).isFalse();
+        verify(fingerprintStoreMock, never()).record(anyString(), anyString(), anyList());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryWithOperationBudgetExhausted_thenPostponed() throws Exception {
+        var operationBudget = new OperationBudget(1, null);
+        operationBudget.acquire(1);
+        this.githubAction.setOperationBudget(operationBudget);
+
+        var result = this.githubAction.synchronizeRepository(
+                "octocat/Hello-World",
+                Map.of(),
+                SynchronizationOptions.builder().build(),
+                null,
+                null);
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.isComplete()).isFalse();
+        verify(this.ghApiMock, never()).getRepository(anyString());
+        verify(this.ghActionsKitMock)
+                .info("[octocat/Hello-World] operation budget exhausted, synchronization deferred to a later run.");
+        verify(this.ghActionsKitMock, never()).notice(anyString());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryWithCheckpoint_thenResumedAndFingerprintNotRecordedUntilComplete(
+            @TempDir File tempDir) throws Exception {
+        var spy = spy(this.githubAction);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var labels = Map.of(label1.key(), label1);
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
+        var fingerprintStoreMock = mock(FingerprintStore.class);
+        when(this.ghActionsKitMock.getInput("cache_dir")).thenReturn(Optional.of(tempDir.getAbsolutePath()));
+        new CheckpointStore(tempDir.toPath().resolve("checkpoints"), "f1")
+                .open("octocat/Hello-World", new SyncPlan(List.of(label1), List.of(), List.of(), List.of()))
+                .close();
+        when(this.ghApiMock.getRepository("octocat/Hello-World")).thenReturn(ghRepositoryMock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        when(synchronizerMock.resume(Mockito.eq(labels), Mockito.any()))
+                .thenReturn(new SynchronizationResult("octocat/Hello-World", 0, 0, 0, 0, 1, false, null));
+
+        var result = spy.synchronizeRepository(
+                "octocat/Hello-World", labels, SynchronizationOptions.builder().build(), fingerprintStoreMock, "f1");
+
+        assertThat(result.getDeferred()).isEqualTo(1);
+        verify(synchronizerMock, never()).synchronize(Mockito.any());
+        verify(fingerprintStoreMock, never()).isUnchanged(anyString(), anyString());
+        verify(fingerprintStoreMock, never()).record(anyString(), anyString(), anyList());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeRepositoryWithCheckpointAndGraphQL_thenCheckpointDiscardedAndReconciled(@TempDir File tempDir)
+            throws Exception {
+        var spy = spy(this.githubAction);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var labels = Map.of(label1.key(), label1);
+        var synchronizerMock = mock(RepositoryLabelSynchronizer.class);
+        when(this.ghActionsKitMock.getInput("cache_dir")).thenReturn(Optional.of(tempDir.getAbsolutePath()));
+        var checkpointStore = new CheckpointStore(tempDir.toPath().resolve("checkpoints"), "f1");
+        checkpointStore.open("octocat/Hello-World", new SyncPlan(List.of(label1), List.of(), List.of(), List.of()))
+                .close();
+        when(this.ghApiMock.getRepository("octocat/Hello-World")).thenReturn(ghRepositoryMock);
+        doReturn(synchronizerMock).when(spy).newSynchronizer(Mockito.eq(ghRepositoryMock), Mockito.any());
+        when(synchronizerMock.synchronize(labels))
+                .thenReturn(new SynchronizationResult("octocat/Hello-World", 1, 0, 0, 0, null));
+
+        var options = SynchronizationOptions.builder().writeBackend(LabelWriteBackend.GRAPHQL).build();
+        var result = spy.synchronizeRepository("octocat/Hello-World", labels, options, null, "f1");
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        verify(synchronizerMock, never()).resume(Mockito.any(), Mockito.any());
+        verify(this.ghActionsKitMock).warning("[octocat/Hello-World] checkpoint not resumed with the GraphQL write "
+                + "backend, labels reconciled again.");
+        assertThat(checkpointStore.getCheckpointFile("octocat/Hello-World")).doesNotExist();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReportResultsNotComplete_thenReportDeferredStatus() throws Exception {
+        // @formatter:off
+        this.githubAction.reportResults(List.of(
+                new SynchronizationResult("octocat/repo1", 2, 0, 0, 0, 3, false, null),
+                SynchronizationResult.postponed("octocat/repo2")));
+        // @formatter:on
+
+        verify(this.ghActionsKitMock).info("| octocat/repo1 | 2 | 0 | 0 | 0 | partial, 3 deferred |");
+        verify(this.ghActionsKitMock).info("| octocat/repo2 | 0 | 0 | 0 | 0 | deferred |");
+        verify(this.ghActionsKitMock)
+                .notice("2 repositories synchronized (2 incomplete, 0 failed): "
+                        + "2 labels created, 0 updated, 0 deleted.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReportResultsWithStepSummary_thenAppendTableAndNoticeOnce(@TempDir File tempDir) throws Exception {
+        var stepSummary = new File(tempDir, "summary.md");
+        when(ghActionsKitMock.getEnv("GITHUB_STEP_SUMMARY")).thenReturn(Optional.of(stepSummary.getPath()));
+
+        // @formatter:off
+        this.githubAction.reportResults(List.of(
+                new SynchronizationResult("octocat/repo1", 1, 2, 3, 0, null),
+                new SynchronizationResult("octocat/repo2", 0, 1, 4, 2, null)));
+        // @formatter:on
+
+        assertThat(Files.readString(stepSummary.toPath()))
+                .startsWith("| Repository | Created | Updated | Up-to-date | Deleted | Status |")
+                .contains("| octocat/repo1 | 1 | 2 | 3 | 0 | ok |")
+                .contains("| octocat/repo2 | 0 | 1 | 4 | 2 | ok |");
+        verify(this.ghActionsKitMock, never()).info(anyString());
+        verify(this.ghActionsKitMock, times(1)).notice(anyString());
+        verify(this.ghActionsKitMock)
+                .notice("2 repositories synchronized (0 incomplete, 0 failed): "
+                        + "1 labels created, 2 updated, 2 deleted.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResolveRepositories_thenExpandGlobs() throws Exception {
+        var ghRepository1 = mock(GHRepository.class);
+        when(ghRepository1.getName()).thenReturn("service-b");
+        when(ghRepository1.getFullName()).thenReturn("octocat/service-b");
+        var ghRepository2 = mock(GHRepository.class);
+        when(ghRepository2.getName()).thenReturn("service-a");
+        when(ghRepository2.getFullName()).thenReturn("octocat/service-a");
+        var ghRepository3 = mock(GHRepository.class);
+        when(ghRepository3.getName()).thenReturn("website");
+
+        var ghOrganization = mock(GHOrganization.class);
+        when(ghOrganization.listRepositories())
+                .thenReturn(new LocalPagedIterable<>(List.of(ghRepository1, ghRepository2, ghRepository3)));
+        when(this.ghApiMock.getOrganization("octocat")).thenReturn(ghOrganization);
+
+        assertThat(this.githubAction.resolveRepositories(
+                        new String[] {"octocat/Hello-World", " octocat/service-* ", "", "octocat/Hello-World"}))
+                .containsExactly("octocat/Hello-World", "octocat/service-a", "octocat/service-b");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResolveRepositoriesInvalid_thenThrowIllegalArgumentException() throws Exception {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.githubAction.resolveRepositories(new String[] {"Hello-World"}));
     }
 
     // /**
@@ -464,21 +1053,37 @@ class ManageLabelGitHubActionTest {
      * Test method.
      */
     @Test
-    void whenGetGHLabels_thenReturnLabels() throws Exception {
-        var ghLabel1 = Mockito.mock(GHLabel.class);
-        when(ghLabel1.getName()).thenReturn("label1");
-
-        var ghLabel2 = Mockito.mock(GHLabel.class);
-        when(ghLabel2.getName()).thenReturn("LABEL2");
-
-        when(ghRepositoryMock.listLabels()).thenReturn(new LocalPagedIterable<>(List.of(ghLabel1, ghLabel2)));
+    void whenReportMetrics_thenSetOutputsAndAppendStepSummary(@TempDir File tempDir) throws Exception {
+        var stepSummary = new File(tempDir, "summary.md");
+        Files.writeString(stepSummary.toPath(), "previous step\n");
+        var runMetrics = new RunMetrics();
+        runMetrics.recordCall("GET /repos/{owner}/{repo}/labels", 1_000_000L);
+        runMetrics.recordRateLimitRemaining(4999);
+        this.githubAction.setRunMetrics(runMetrics);
+        when(ghActionsKitMock.getEnv("GITHUB_STEP_SUMMARY")).thenReturn(Optional.of(stepSummary.getPath()));
+
+        this.githubAction.reportMetrics();
+
+        verify(ghActionsKitMock).setOutput(Mockito.eq("metrics"), Mockito.contains("\"calls\":1"));
+        verify(ghActionsKitMock).setOutput("api_calls", 1);
+        verify(ghActionsKitMock).setOutput("retries", 0);
+        verify(ghActionsKitMock).setOutput("rate_limit_remaining_before", 4999);
+        verify(ghActionsKitMock).setOutput("rate_limit_remaining_after", 4999);
+        assertThat(Files.readString(stepSummary.toPath()))
+                .startsWith("previous step\n")
+                .contains("| `GET /repos/{owner}/{repo}/labels` | 1 | 1 | 1 | 1 | 1 |");
+    }
 
-        assertThat(this.githubAction.getGHLabels())
-                .containsAllEntriesOf(Map.of("label1", ghLabel1, "label2", ghLabel2));
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReportMetricsWithoutApiResponse_thenSetEmptyRateLimitOutputs() throws Exception {
+        this.githubAction.reportMetrics();
 
-        verify(ghRepositoryMock).listLabels();
-        verify(ghLabel1).getName();
-        verify(ghLabel2).getName();
+        verify(ghActionsKitMock).setOutput("api_calls", 0);
+        verify(ghActionsKitMock).setEmptyOutput("rate_limit_remaining_before");
+        verify(ghActionsKitMock).setEmptyOutput("rate_limit_remaining_after");
     }
 
     /**
@@ -503,23 +1108,87 @@ class ManageLabelGitHubActionTest {
                 .size()
                 .isEqualTo(8)
                 .returnToMap()
-                .containsKeys("label1", "label2", "label3", "label4", "label5", "label6", "label7", "label8");
+                .containsKeys(keys("label1", "label2", "label3", "label4", "label5", "label6", "label7", "label8"));
         // @formatter:on
 
         // Assert conflicting labels take the latest file read (here json)
-        assertThat(fetchedLabels.get("label1").getName()).isEqualTo("label1");
-        assertThat(fetchedLabels.get("label1").getColor()).isEqualTo("000000");
-        assertThat(fetchedLabels.get("label1").getDescription()).isEqualTo("label1 desc");
+        assertThat(fetchedLabels.get(LabelKey.of("label1")).getName()).isEqualTo("label1");
+        assertThat(fetchedLabels.get(LabelKey.of("label1")).getColor()).isEqualTo("000000");
+        assertThat(fetchedLabels.get(LabelKey.of("label1")).getDescription()).isEqualTo("label1 desc");
 
         // Assert label from .yaml loaded
-        assertThat(fetchedLabels.get("label2").getName()).isEqualTo("label2");
-        assertThat(fetchedLabels.get("label2").getColor()).isEqualTo("222222");
-        assertThat(fetchedLabels.get("label2").getDescription()).isEqualTo("label2 desc");
+        assertThat(fetchedLabels.get(LabelKey.of("label2")).getName()).isEqualTo("label2");
+        assertThat(fetchedLabels.get(LabelKey.of("label2")).getColor()).isEqualTo("222222");
+        assertThat(fetchedLabels.get(LabelKey.of("label2")).getDescription()).isEqualTo("label2 desc");
 
         // Assert label from .yml loaded
-        assertThat(fetchedLabels.get("label4").getName()).isEqualTo("label4");
-        assertThat(fetchedLabels.get("label4").getColor()).isEqualTo("444444");
-        assertThat(fetchedLabels.get("label4").getDescription()).isNull();
+        assertThat(fetchedLabels.get(LabelKey.of("label4")).getName()).isEqualTo("label4");
+        assertThat(fetchedLabels.get(LabelKey.of("label4")).getColor()).isEqualTo("444444");
+        assertThat(fetchedLabels.get(LabelKey.of("label4")).getDescription()).isNull();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputLabelsWithInvalidLabels_thenAllProblemsReported(@TempDir File tempDir) throws Exception {
+        var file1 = new File(tempDir, "labels1.yml");
+        var file2 = new File(tempDir, "labels2.json");
+        Files.writeString(file1.toPath(), "- name: bug\n  color: red\n- name: Bug\n  color: ff0000\n");
+        Files.writeString(file2.toPath(), "[{\"name\": \"bug\", \"color\": \"ff0000\"}]");
+
+        var e = assertThrows(IOException.class, () -> this.githubAction.getInputLabels(
+                new String[] {file1.getAbsolutePath(), file2.getAbsolutePath()}));
+
+        assertThat(e.getMessage()).isEqualTo("2 invalid labels found in sources.");
+        verify(this.ghActionsKitMock).error(Mockito.contains("line 1, column 3: label 'bug' color 'red'"));
+        verify(this.ghActionsKitMock).error(Mockito.contains("line 3, column 3: label 'Bug' is a duplicate"));
+        verify(this.ghActionsKitMock, never()).info(Mockito.contains("labels fetched"));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputLabelsFromGlob_thenMergeInLexicographicThenDeclaredOrder(@TempDir File tempDir) throws Exception {
+        var teamA = new File(tempDir, "labels/team-a");
+        var teamB = new File(tempDir, "labels/team-b");
+        Files.createDirectories(teamA.toPath());
+        Files.createDirectories(teamB.toPath());
+        Files.writeString(new File(teamB, "labels.yml").toPath(), "- name: bug\n  color: 00000b\n");
+        Files.writeString(new File(teamA, "labels.yml").toPath(), "- name: bug\n  color: 00000a\n- name: docs\n"
+                + "  color: 0000ff\n");
+        var override = new File(tempDir, "override.json");
+        Files.writeString(override.toPath(), "[{\"name\": \"docs\", \"color\": \"ffffff\"}]");
+
+        var fetchedLabels = this.githubAction.getInputLabels(
+                new String[] {tempDir + "/labels/**/*.yml", override.getAbsolutePath()});
+
+        assertThat(fetchedLabels).containsOnlyKeys(keys("bug", "docs"));
+        assertThat(fetchedLabels.get(LabelKey.of("bug")).getColor()).isEqualTo("00000b");
+        assertThat(fetchedLabels.get(LabelKey.of("docs")).getColor()).isEqualTo("ffffff");
+        var inOrder = inOrder(ghActionsKitMock);
+        inOrder.verify(ghActionsKitMock).startGroup("label sources");
+        inOrder.verify(ghActionsKitMock).info(String.format("source '%s': 2 labels fetched.", teamA + "/labels.yml"));
+        inOrder.verify(ghActionsKitMock).info(String.format("source '%s': 1 labels fetched.", teamB + "/labels.yml"));
+        inOrder.verify(ghActionsKitMock)
+                .info(String.format("source '%s': 1 labels fetched.", override.getAbsolutePath()));
+        inOrder.verify(ghActionsKitMock).endGroup();
+        verify(ghActionsKitMock).info("4 labels fetched from 3 sources.");
+        verify(ghActionsKitMock, never()).notice(anyString());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputLabelsFromInvalidSource_thenThrowIOException(@TempDir File tempDir) throws Exception {
+        var invalid = new File(tempDir, "invalid.json");
+        Files.writeString(invalid.toPath(), "{}");
+        var sources = new String[] {invalid.getAbsolutePath()};
+
+        var e = assertThrows(IOException.class, () -> this.githubAction.getInputLabels(sources));
+        assertThat(e.getMessage()).contains("an array of labels is expected");
     }
 
     /**
@@ -544,28 +1213,54 @@ class ManageLabelGitHubActionTest {
                     .size()
                     .isEqualTo(8)
                     .returnToMap()
-                    .containsKeys("label1", "label2", "label3", "label4", "label5", "label6", "label7", "label8");
+                    .containsKeys(keys("label1", "label2", "label3", "label4", "label5", "label6", "label7", "label8"));
             // @formatter:on
 
             // Assert conflicting labels take the latest file read (here json)
-            assertThat(fetchedLabels.get("label1").getName()).isEqualTo("label1");
-            assertThat(fetchedLabels.get("label1").getColor()).isEqualTo("000000");
-            assertThat(fetchedLabels.get("label1").getDescription()).isEqualTo("label1 desc");
+            assertThat(fetchedLabels.get(LabelKey.of("label1")).getName()).isEqualTo("label1");
+            assertThat(fetchedLabels.get(LabelKey.of("label1")).getColor()).isEqualTo("000000");
+            assertThat(fetchedLabels.get(LabelKey.of("label1")).getDescription()).isEqualTo("label1 desc");
 
             // Assert label from .yaml loaded
-            assertThat(fetchedLabels.get("label2").getName()).isEqualTo("label2");
-            assertThat(fetchedLabels.get("label2").getColor()).isEqualTo("222222");
-            assertThat(fetchedLabels.get("label2").getDescription()).isEqualTo("label2 desc");
+            assertThat(fetchedLabels.get(LabelKey.of("label2")).getName()).isEqualTo("label2");
+            assertThat(fetchedLabels.get(LabelKey.of("label2")).getColor()).isEqualTo("222222");
+            assertThat(fetchedLabels.get(LabelKey.of("label2")).getDescription()).isEqualTo("label2 desc");
 
             // Assert label from .yml loaded
-            assertThat(fetchedLabels.get("label4").getName()).isEqualTo("label4");
-            assertThat(fetchedLabels.get("label4").getColor()).isEqualTo("444444");
-            assertThat(fetchedLabels.get("label4").getDescription()).isNull();
+            assertThat(fetchedLabels.get(LabelKey.of("label4")).getName()).isEqualTo("label4");
+            assertThat(fetchedLabels.get(LabelKey.of("label4")).getColor()).isEqualTo("444444");
+            assertThat(fetchedLabels.get(LabelKey.of("label4")).getDescription()).isNull();
         } finally {
             nginx.stop();
         }
     }
 
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetInputLabelsFromRepeatedUrls_thenFetchOnceAndMergeInDeclaredOrder() throws Exception {
+        var spy = spy(this.githubAction);
+        var fetcherMock = mock(LabelSourceFetcher.class);
+        var sources = new String[] {"https://mirror/a.json", "https://mirror/b.yml", "https://mirror/a.json"};
+
+        doReturn(fetcherMock).when(spy).newLabelSourceFetcher();
+        var jsonSource = "[{\"name\": \"label1\", \"color\": \"000000\"}]";
+        var yamlSource = "- name: LABEL1\n  color: ffffff\n";
+        // @formatter:off
+        when(fetcherMock.fetch(List.of(sources))).thenReturn(Map.of(
+                "https://mirror/a.json", jsonSource.getBytes(StandardCharsets.UTF_8),
+                "https://mirror/b.yml", yamlSource.getBytes(StandardCharsets.UTF_8)));
+        // @formatter:on
+
+        var fetchedLabels = spy.getInputLabels(sources);
+
+        assertThat(fetchedLabels).containsOnlyKeys(keys("label1"));
+        assertThat(fetchedLabels.get(LabelKey.of("label1")).getColor()).isEqualTo("000000");
+        verify(fetcherMock).fetch(List.of(sources));
+        verify(spy, never()).getInputStream(anyString());
+    }
+
     /**
      * Test method.
      */
@@ -598,105 +1293,23 @@ class ManageLabelGitHubActionTest {
      * Test method.
      */
     @Test
-    void whenCreateLabels_thenCreateGhLabels() throws Exception {
-        var label1 = new LabelDTO("label1", "000000");
-        var label2 = new LabelDTO("label2", "000000");
-
-        assertDoesNotThrow(() -> {
-            this.githubAction.createLabels(List.of(label1, label2));
-        });
-
-        verify(ghActionsKitMock, times(2)).notice(Mockito.anyString());
-        verify(ghRepositoryMock).createLabel("label1", "000000", null);
-        verify(ghRepositoryMock).createLabel("label2", "000000", null);
-    }
-
-    /**
-     * Test method.
-     */
-    @Test
-    void whenCreateLabelsNull_thenThrowNullPointerException() throws Exception {
-        assertThrows(NullPointerException.class, () -> this.githubAction.createLabels(null));
-    }
-
-    /**
-     * Test method.
-     */
-    @Test
-    void whenUpdateLabels_thenUpdateGhLabels() throws Exception {
-        var label1 = new LabelDTO("label1", "000000");
-        var label2 = new LabelDTO("label2", "111111", "some desc");
-
-        var mockUpdater = mock(Updater.class);
-        when(mockUpdater.name(anyString())).thenReturn(mockUpdater);
-        when(mockUpdater.color(anyString())).thenReturn(mockUpdater);
-        when(mockUpdater.description(Mockito.any())).thenReturn(mockUpdater);
-        when(mockUpdater.done()).thenReturn(null);
-
-        var ghLabel1 = mock(GHLabel.class);
-        when(ghLabel1.update()).thenReturn(mockUpdater);
-        var ghLabel2 = mock(GHLabel.class);
-        when(ghLabel2.update()).thenReturn(mockUpdater);
-
-        assertDoesNotThrow(() -> {
-            this.githubAction.updateLabels(Map.of(label1, ghLabel1, label2, ghLabel2));
-        });
-
-        verify(ghActionsKitMock, times(2)).notice(Mockito.anyString());
-        verify(ghLabel1).update();
-        verify(ghLabel2).update();
-
-        verify(mockUpdater).name("label1");
-        verify(mockUpdater).color("000000");
-        verify(mockUpdater).description(null);
-        verify(mockUpdater).name("label2");
-        verify(mockUpdater).color("111111");
-        verify(mockUpdater).description("some desc");
-        verify(mockUpdater, times(2)).done();
-    }
-
-    /**
-     * Test method.
-     */
-    @Test
-    void whenUpdateLabelsNull_thenThrowNullPointerException() throws Exception {
-        assertThrows(NullPointerException.class, () -> this.githubAction.updateLabels(null));
-    }
-
-    /**
-     * Test method.
-     */
-    @Test
-    void whenDeleteLabels_thenDeleteGhLabels() throws Exception {
-        var ghLabel1 = Mockito.mock(GHLabel.class);
-        var ghLabel2 = Mockito.mock(GHLabel.class);
-
-        assertDoesNotThrow(() -> {
-            this.githubAction.deleteLabels(List.of(ghLabel1, ghLabel2));
-        });
-
-        verify(ghActionsKitMock, times(2)).notice(Mockito.anyString());
-        verify(ghLabel1).delete();
-        verify(ghLabel2).delete();
-    }
-
-    /**
-     * Test method.
-     */
-    @Test
-    void whenDeleteLabelsNull_thenThrowNullPointerException() throws Exception {
-        assertThrows(NullPointerException.class, () -> this.githubAction.deleteLabels(null));
+    void whenCreateLabelDTONull_thenThrowNullPointerException() throws Exception {
+        assertThrows(NullPointerException.class, () -> new LabelDTO(null, "000000"));
+        assertThrows(NullPointerException.class, () -> new LabelDTO("label1", null));
+        assertThrows(NullPointerException.class, () -> new LabelDTO(null, "000000", "some desc"));
+        assertThrows(NullPointerException.class, () -> new LabelDTO("label1", null, "some desc"));
     }
 
     /**
      * Test method.
      */
     @Test
-    void whenCreateLabelDTONull_thenThrowNullPointerException() throws Exception {
-        assertThrows(NullPointerException.class, () -> new LabelDTO(null, "000000"));
-        assertThrows(NullPointerException.class, () -> new LabelDTO("label1", null));
-        assertThrows(NullPointerException.class, () -> new LabelDTO(null, "000000", "some desc"));
-        assertThrows(NullPointerException.class, () -> new LabelDTO("label1", null, "some desc"));
+    void whenNormalizeLabelDTOFields_thenReturnComparableValues() throws Exception {
+        assertThat(LabelDTO.normalizeColor("#00AAFF")).isEqualTo("00aaff");
+        assertThat(LabelDTO.normalizeColor("00aaff")).isEqualTo("00aaff");
+        assertThat(LabelDTO.normalizeColor(null)).isEmpty();
+        assertThat(LabelDTO.normalizeDescription(null)).isEmpty();
+        assertThat(LabelDTO.normalizeDescription("desc")).isEqualTo("desc");
     }
 
     /**
@@ -719,4 +1332,15 @@ class ManageLabelGitHubActionTest {
         assertThat(label1.compareTo(label4)).isZero();
         assertThat(label1).isEqualTo(label4);
     }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Gets the keys of the given label names.
+     * @param names the label names.
+     * @return the keys.
+     */
+    private static LabelKey[] keys(String... names) {
+        return Arrays.stream(names).map(LabelKey::of).toArray(LabelKey[]::new);
+    }
 }
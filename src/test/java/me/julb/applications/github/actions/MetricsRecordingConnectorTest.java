@@ -0,0 +1,242 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * Test class for {@link MetricsRecordingConnector} class. <br>
+ * @author Julb.
+ */
+class MetricsRecordingConnectorTest {
+
+    /**
+     * The metrics of the run.
+     */
+    private RunMetrics runMetrics;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        runMetrics = new RunMetrics();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetOperation_thenReplaceNamesByPlaceholders() throws Exception {
+        var connector = new MetricsRecordingConnector(request -> null, runMetrics);
+
+        assertThat(connector.getOperation(mockRequest("GET", "https://api.github.com/")))
+                .isEqualTo("GET /");
+        assertThat(connector.getOperation(mockRequest("GET", "https://api.github.com/repos/o/r/labels?page=2")))
+                .isEqualTo("GET /repos/{owner}/{repo}/labels");
+        assertThat(connector.getOperation(mockRequest("PATCH", "https://ghe.local/api/v3/repos/o/r/labels/bug%20fix")))
+                .isEqualTo("PATCH /repos/{owner}/{repo}/labels/{name}");
+        assertThat(connector.getOperation(mockRequest("GET", "https://api.github.com/orgs/octocat/repos")))
+                .isEqualTo("GET /orgs/{owner}/repos");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSend_thenRecordCallAndRateLimit() throws Exception {
+        var request = mockRequest("POST", "https://api.github.com/repos/octocat/repo/labels");
+        var response = newResponse(request, 201, Map.of("X-RateLimit-Remaining", List.of("4321")));
+        var connector = new MetricsRecordingConnector(sent -> response, runMetrics);
+
+        assertThat(connector.send(request)).isSameAs(response);
+        assertThat(runMetrics.getCallCount()).isEqualTo(1);
+        assertThat(runMetrics.getOperationStats().get(0).getOperation())
+                .isEqualTo("POST /repos/{owner}/{repo}/labels");
+        assertThat(runMetrics.getRateLimitRemainingBefore()).isEqualTo(4321);
+        assertThat(runMetrics.getRetryCount()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendAgainAfterRateLimited_thenRecordRetry() throws Exception {
+        var request = mockRequest("GET", "https://api.github.com/repos/octocat/repo/labels");
+        var rateLimited = newResponse(request, 403, Map.of("X-RateLimit-Remaining", List.of("0")));
+        var response = newResponse(request, 200, Map.of("X-RateLimit-Remaining", List.of("4999")));
+        var responses = new ArrayDeque<>(List.of(rateLimited, response));
+        var connector = new MetricsRecordingConnector(sent -> responses.poll(), runMetrics);
+
+        connector.send(request);
+        assertThat(runMetrics.getRetryCount()).isZero();
+        assertThat(runMetrics.getRateLimitRemainingAfter()).isZero();
+
+        connector.send(request);
+        assertThat(runMetrics.getCallCount()).isEqualTo(2);
+        assertThat(runMetrics.getRetryCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenFinalAttemptRateLimited_thenRecordOnlyRetriesSent() throws Exception {
+        var request = mockRequest("GET", "https://api.github.com/repos/octocat/repo/labels");
+        var rateLimited = newResponse(request, 429, Map.of("Retry-After", List.of("1")));
+        var connector = new MetricsRecordingConnector(sent -> rateLimited, runMetrics);
+
+        connector.send(request);
+        connector.send(request);
+        connector.send(request);
+
+        assertThat(runMetrics.getCallCount()).isEqualTo(3);
+        assertThat(runMetrics.getRetryCount()).isEqualTo(2);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendOtherRequestAfterRateLimited_thenRecordNoRetry() throws Exception {
+        var request = mockRequest("GET", "https://api.github.com/repos/octocat/repo/labels");
+        var otherRequest = mockRequest("GET", "https://api.github.com/repos/octocat/other/labels");
+        var rateLimited = newResponse(request, 429, Map.of());
+        var response = newResponse(otherRequest, 200, Map.of());
+        var responses = new ArrayDeque<>(List.of(rateLimited, response));
+        var connector = new MetricsRecordingConnector(sent -> responses.poll(), runMetrics);
+
+        connector.send(request);
+        connector.send(otherRequest);
+
+        assertThat(runMetrics.getRetryCount()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendAgainAfterConnectionError_thenRecordRetryAndRethrow() throws Exception {
+        var request = mockRequest("GET", "https://api.github.com/");
+        var response = newResponse(request, 200, Map.of());
+        var failures = new AtomicInteger(1);
+        var connector = new MetricsRecordingConnector(
+                sent -> {
+                    if (failures.getAndDecrement() > 0) {
+                        throw new SocketException("connection reset");
+                    }
+                    return response;
+                },
+                runMetrics);
+
+        assertThrows(IOException.class, () -> connector.send(request));
+        assertThat(runMetrics.getCallCount()).isEqualTo(1);
+        assertThat(runMetrics.getRetryCount()).isZero();
+
+        assertThat(connector.send(request)).isSameAs(response);
+        assertThat(runMetrics.getCallCount()).isEqualTo(2);
+        assertThat(runMetrics.getRetryCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSendFailsWithUnknownHost_thenRecordCallWithoutRetry() throws Exception {
+        var request = mockRequest("GET", "https://api.github.com/");
+        var connector = new MetricsRecordingConnector(
+                sent -> {
+                    throw new UnknownHostException("api.github.com");
+                },
+                runMetrics);
+
+        assertThrows(IOException.class, () -> connector.send(request));
+        assertThat(runMetrics.getCallCount()).isEqualTo(1);
+        assertThat(runMetrics.getRetryCount()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenIsRateLimited_thenOnlyRateLimitResponses() throws Exception {
+        assertThat(MetricsRecordingConnector.isRateLimited(429, null, null)).isTrue();
+        assertThat(MetricsRecordingConnector.isRateLimited(403, 0, null)).isTrue();
+        assertThat(MetricsRecordingConnector.isRateLimited(403, 12, "60")).isTrue();
+        assertThat(MetricsRecordingConnector.isRateLimited(403, 12, null)).isFalse();
+        assertThat(MetricsRecordingConnector.isRateLimited(200, 0, null)).isFalse();
+    }
+
+    // ------------------------------------------ Utility methods.
+
+    /**
+     * Mocks a request.
+     * @param method the HTTP method.
+     * @param url the URL.
+     * @return the request.
+     * @throws Exception if an error occurs.
+     */
+    private GitHubConnectorRequest mockRequest(String method, String url) throws Exception {
+        var request = mock(GitHubConnectorRequest.class);
+        when(request.method()).thenReturn(method);
+        when(request.url()).thenReturn(new URL(url));
+        return request;
+    }
+
+    /**
+     * Creates a response without body.
+     * @param request the request.
+     * @param statusCode the status code.
+     * @param headers the headers.
+     * @return the response.
+     */
+    private GitHubConnectorResponse newResponse(
+            GitHubConnectorRequest request, int statusCode, Map<String, List<String>> headers) {
+        return new GitHubConnectorResponse.ByteArrayResponse(request, statusCode, headers) {
+            @Override
+            protected InputStream rawBodyStream() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link OperationBudget} class. <br>
+ * @author Julb.
+ */
+class OperationBudgetTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUnlimited_thenAcquireAllOperations() throws Exception {
+        var operationBudget = OperationBudget.unlimited();
+
+        assertThat(operationBudget.isLimited()).isFalse();
+        assertThat(operationBudget.acquire(1_000)).isEqualTo(1_000);
+        assertThat(operationBudget.acquire(0)).isZero();
+        assertThat(operationBudget.isExhausted()).isFalse();
+        assertThat(operationBudget.getRemaining()).isEqualTo(OperationBudget.UNLIMITED);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenMaxOperations_thenAcquireUntilExhausted() throws Exception {
+        var operationBudget = new OperationBudget(5, null);
+
+        assertThat(operationBudget.isLimited()).isTrue();
+        assertThat(operationBudget.acquire(3)).isEqualTo(3);
+        assertThat(operationBudget.acquire(3)).isEqualTo(2);
+        assertThat(operationBudget.isExhausted()).isTrue();
+        assertThat(operationBudget.acquire(3)).isZero();
+        assertThat(operationBudget.getRemaining()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenDeadlinePassed_thenAcquireNothing() throws Exception {
+        var now = Instant.parse("2022-01-01T00:00:00Z");
+        var operationBudget = new OperationBudget(OperationBudget.UNLIMITED, now.plus(Duration.ofMinutes(1)));
+        operationBudget.setClock(Clock.fixed(now, ZoneOffset.UTC));
+
+        assertThat(operationBudget.isLimited()).isTrue();
+        assertThat(operationBudget.acquire(10)).isEqualTo(10);
+        assertThat(operationBudget.isExhausted()).isFalse();
+
+        operationBudget.setClock(Clock.fixed(now.plus(Duration.ofMinutes(1)), ZoneOffset.UTC));
+        assertThat(operationBudget.acquire(10)).isZero();
+        assertThat(operationBudget.isExhausted()).isTrue();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenMaxOperationsInvalid_thenThrowIllegalArgumentException() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new OperationBudget(0, null));
+    }
+}
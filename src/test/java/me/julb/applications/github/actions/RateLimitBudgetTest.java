@@ -0,0 +1,253 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHub;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Test class for {@link RateLimitBudget} class. <br>
+ * @author Julb.
+ */
+@ExtendWith(MockitoExtension.class)
+class RateLimitBudgetTest {
+
+    /**
+     * A mock for GitHub API.
+     */
+    @Mock
+    private GitHub ghApiMock;
+
+    /**
+     * The sleeps recorded.
+     */
+    private List<Long> sleeps;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        sleeps = new ArrayList<>();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPlanWithinBudget_thenDoNotWait() throws Exception {
+        var rateLimit = mockRateLimit(100, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var budget = newBudget(RateLimitStrategy.FAIL);
+        assertDoesNotThrow(() -> budget.reserve(100));
+
+        assertThat(sleeps).isEmpty();
+        assertThat(budget.getRemaining()).isEqualTo(100);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPlanExceedsBudgetWithFail_thenThrowIOException() throws Exception {
+        var rateLimit = mockRateLimit(10, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var budget = newBudget(RateLimitStrategy.FAIL);
+        assertThrows(IOException.class, () -> budget.reserve(11));
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPlanExceedsBudgetWithWait_thenWaitForReset() throws Exception {
+        var rateLimit1 = mockRateLimit(10, 5000);
+        var rateLimit2 = mockRateLimit(5000, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit1, rateLimit2);
+
+        var budget = newBudget(RateLimitStrategy.WAIT);
+        assertDoesNotThrow(() -> budget.reserve(11));
+
+        assertThat(sleeps).hasSize(1);
+        assertThat(budget.getRemaining()).isEqualTo(5000);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPlanExceedsLimitWithWait_thenThrowIOException() throws Exception {
+        var rateLimit = mockRateLimit(10, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var budget = newBudget(RateLimitStrategy.WAIT);
+        assertThrows(IOException.class, () -> budget.reserve(5001));
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenAcquireExhaustedBudgetWithSplit_thenWaitForReset() throws Exception {
+        var rateLimit1 = mockRateLimit(2, 5000);
+        var rateLimit2 = mockRateLimit(5000, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit1, rateLimit2);
+
+        var budget = newBudget(RateLimitStrategy.SPLIT);
+        var reservation = budget.reserve(3);
+        reservation.acquire();
+        reservation.acquire();
+        assertThat(sleeps).isEmpty();
+
+        reservation.acquire();
+        assertThat(sleeps).hasSize(1);
+        assertThat(budget.getRemaining()).isEqualTo(4999);
+        assertThat(budget.getReserved()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReservationsExceedBudgetWithFail_thenThrowIOException() throws Exception {
+        var rateLimit = mockRateLimit(100, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var budget = newBudget(RateLimitStrategy.FAIL);
+        assertDoesNotThrow(() -> budget.reserve(60));
+        assertThrows(IOException.class, () -> budget.reserve(60));
+
+        assertThat(budget.getReserved()).isEqualTo(60);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenReservationClosed_thenUnacquiredCallsReleased() throws Exception {
+        var rateLimit = mockRateLimit(100, 5000);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var budget = newBudget(RateLimitStrategy.FAIL);
+        var reservation = budget.reserve(60);
+        reservation.acquire();
+        assertThat(budget.getReserved()).isEqualTo(59);
+
+        reservation.close();
+        assertThat(budget.getReserved()).isZero();
+        assertDoesNotThrow(() -> budget.reserve(60));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRateLimitRequested_thenBudgetNotLocked() throws Exception {
+        var rateLimit = mockRateLimit(100, 5000);
+        var requested = new CountDownLatch(1);
+        var answered = new CountDownLatch(1);
+        when(ghApiMock.getRateLimit()).thenReturn(rateLimit).thenAnswer(invocation -> {
+            requested.countDown();
+            answered.await();
+            return rateLimit;
+        });
+
+        var budget = newBudget(RateLimitStrategy.FAIL);
+        var reservation = budget.reserve(10);
+        var executorService = Executors.newSingleThreadExecutor();
+        try {
+            var pendingReservation = executorService.submit(() -> budget.reserve(10));
+            assertThat(requested.await(5, TimeUnit.SECONDS)).isTrue();
+
+            reservation.acquire();
+            assertThat(budget.getReserved()).isEqualTo(9);
+
+            answered.countDown();
+            pendingReservation.get(5, TimeUnit.SECONDS);
+            assertThat(budget.getRemaining()).isEqualTo(99);
+            assertThat(budget.getReserved()).isEqualTo(19);
+        } finally {
+            answered.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateBudgetNull_thenThrowNullPointerException() throws Exception {
+        assertThrows(NullPointerException.class, () -> new RateLimitBudget(null, RateLimitStrategy.FAIL));
+        assertThrows(NullPointerException.class, () -> new RateLimitBudget(ghApiMock, null));
+    }
+
+    /**
+     * Creates a budget recording its sleeps.
+     * @param strategy the strategy.
+     * @return the budget.
+     */
+    private RateLimitBudget newBudget(RateLimitStrategy strategy) {
+        var budget = new RateLimitBudget(ghApiMock, strategy);
+        budget.setSleeper(sleeps::add);
+        return budget;
+    }
+
+    /**
+     * Creates a rate limit mock.
+     * @param remaining the remaining calls.
+     * @param limit the limit of calls.
+     * @return the rate limit mock.
+     */
+    private static GHRateLimit mockRateLimit(int remaining, int limit) {
+        var ghRateLimit = mock(GHRateLimit.class);
+        when(ghRateLimit.getCore())
+                .thenReturn(new GHRateLimit.Record(limit, remaining, Instant.now().getEpochSecond() + 3600));
+        return ghRateLimit;
+    }
+}
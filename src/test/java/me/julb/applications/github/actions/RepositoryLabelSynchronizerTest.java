@@ -0,0 +1,920 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.LocalPagedIterable;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import me.julb.sdk.github.actions.kit.GitHubActionsKit;
+
+/**
+ * Test class for {@link RepositoryLabelSynchronizer} class. <br>
+ * @author Julb.
+ */
+@ExtendWith(MockitoExtension.class)
+class RepositoryLabelSynchronizerTest {
+
+    /**
+     * The URL of the first label listing page.
+     */
+    private static final String PAGE_URL = "https://api.github.com/repos/octocat/Hello-World/labels?per_page=100";
+
+    /**
+     * The URL prefix of the labels of the repository.
+     */
+    private static final String LABELS_URL = "https://api.github.com/repos/octocat/Hello-World/labels/";
+
+    /**
+     * The class under test.
+     */
+    private RepositoryLabelSynchronizer synchronizer = null;
+
+    /**
+     * The requests sent by the REST label writers.
+     */
+    private final List<GitHubConnectorRequest> sentRequests = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * A mock for GitHub action kit.
+     */
+    @Mock
+    private GitHubActionsKit ghActionsKitMock;
+
+    /**
+     * A mock for GitHub API.
+     */
+    @Mock
+    private GitHub ghApiMock;
+
+    /**
+     * A mock for GitHub repository.
+     */
+    @Mock
+    private GHRepository ghRepositoryMock;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        Mockito.lenient().when(ghRepositoryMock.getFullName()).thenReturn("octocat/Hello-World");
+        synchronizer = newSynchronizer(SynchronizationOptions.builder().build());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeWithSkipDelete_thenLabelCreatedUpdatedNotDeleted() throws Exception {
+        var spy = spy(newSynchronizer(SynchronizationOptions.builder().skipDelete(true).build()));
+
+        var label1 = new LabelDTO("label1", "000000");
+        var label2 = new LabelDTO("label2", "111111", "some desc");
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "ffffff", null);
+        var existingLabel3 = new ExistingLabel(3, "LA_3", "label3", "000000", null);
+
+        // @formatter:off
+        doReturn(Map.of(LabelKey.of("label1"), existingLabel1, LabelKey.of("label3"), existingLabel3))
+                .when(spy)
+                .getAllLabels();
+        // @formatter:on
+        doNothing().when(spy).createLabels(List.of(label2));
+        doNothing().when(spy).updateLabels(List.of(Map.entry(label1, existingLabel1)));
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var result = spy.synchronize(Map.of(LabelKey.of("label1"), label1, LabelKey.of("label2"), label2));
+
+        verify(spy).createLabels(List.of(label2));
+        verify(spy).updateLabels(List.of(Map.entry(label1, existingLabel1)));
+        verify(spy, never()).deleteLabels(anyList());
+
+        assertThat(result.getRepository()).isEqualTo("octocat/Hello-World");
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getDeleted()).isZero();
+        assertThat(result.isSuccessful()).isTrue();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeWithoutSkipDelete_thenLabelCreatedUpdatedDeleted() throws Exception {
+        var spy = spy(this.synchronizer);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var label2 = new LabelDTO("label2", "111111", "some desc");
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "ffffff", null);
+        var existingLabel3 = new ExistingLabel(3, "LA_3", "label3", "000000", null);
+
+        // @formatter:off
+        doReturn(Map.of(LabelKey.of("label1"), existingLabel1, LabelKey.of("label3"), existingLabel3))
+                .when(spy)
+                .getAllLabels();
+        // @formatter:on
+        doNothing().when(spy).createLabels(List.of(label2));
+        doNothing().when(spy).updateLabels(List.of(Map.entry(label1, existingLabel1)));
+        doNothing().when(spy).deleteLabels(List.of(existingLabel3));
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var result = spy.synchronize(Map.of(LabelKey.of("label1"), label1, LabelKey.of("label2"), label2));
+
+        verify(spy).createLabels(List.of(label2));
+        verify(spy).updateLabels(List.of(Map.entry(label1, existingLabel1)));
+        verify(spy).deleteLabels(List.of(existingLabel3));
+
+        assertThat(result.getDeleted()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeWithoutRateLimitBudget_thenFailBeforeWrites() throws Exception {
+        var spy = spy(this.synchronizer);
+
+        var label1 = new LabelDTO("label1", "000000");
+        var label2 = new LabelDTO("label2", "111111", "some desc");
+
+        doReturn(Map.of()).when(spy).getAllLabels();
+
+        var rateLimit = mockRateLimit(1, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var labels = Map.of(LabelKey.of("label1"), label1, LabelKey.of("label2"), label2);
+        assertThrows(IOException.class, () -> spy.synchronize(labels));
+
+        verify(spy, never()).createLabels(anyList());
+        verify(ghRepositoryMock, never()).createLabel(anyString(), anyString(), Mockito.any());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeUpToDate_thenLabelNotUpdated() throws Exception {
+        var spy = spy(newSynchronizer(SynchronizationOptions.builder().skipDelete(true).build()));
+
+        var label1 = new LabelDTO("label1", "000000");
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "000000", null);
+
+        doReturn(Map.of(LabelKey.of("label1"), existingLabel1)).when(spy).getAllLabels();
+
+        var result = spy.synchronize(Map.of(LabelKey.of("label1"), label1));
+
+        verify(spy).createLabels(List.of());
+        verify(spy).updateLabels(List.of());
+        verify(this.ghActionsKitMock).info("[octocat/Hello-World] 1 labels up-to-date, update skipped.");
+        verify(this.ghActionsKitMock, never()).notice(anyString());
+        assertThat(result.getUpToDate()).isEqualTo(1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenNewLabelWriter_thenReturnBackendImplementation() throws Exception {
+        when(this.ghRepositoryMock.getNodeId()).thenReturn("R_1");
+
+        assertThat(this.synchronizer.newLabelWriter()).isInstanceOf(RestLabelWriter.class);
+
+        // @formatter:off
+        var graphQLOptions = SynchronizationOptions.builder()
+                .writeBackend(LabelWriteBackend.GRAPHQL)
+                .graphQLUrl("http://localhost/graphql")
+                .token("token")
+                .build();
+        // @formatter:on
+        assertThat(newSynchronizer(graphQLOptions).newLabelWriter()).isInstanceOf(GraphQLLabelWriter.class);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetAllLabels_thenReturnProjectedLabels() throws Exception {
+        var ghLabel1 = Mockito.mock(GHLabel.class);
+        when(ghLabel1.getName()).thenReturn("label1");
+
+        var ghLabel2 = Mockito.mock(GHLabel.class);
+        when(ghLabel2.getName()).thenReturn("LABEL2");
+
+        when(ghRepositoryMock.listLabels()).thenReturn(new LocalPagedIterable<>(List.of(ghLabel1, ghLabel2)));
+
+        // @formatter:off
+        assertThat(this.synchronizer.getAllLabels()).isEqualTo(Map.of(
+                LabelKey.of("label1"), new ExistingLabel(0, null, "label1", null, null),
+                LabelKey.of("label2"), new ExistingLabel(0, null, "LABEL2", null, null)));
+        // @formatter:on
+
+        verify(ghRepositoryMock).listLabels();
+        verify(ghLabel1).getName();
+        verify(ghLabel2).getName();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetAllLabelsWithSameKey_thenThrowIOException() throws Exception {
+        var existingBug1 = new ExistingLabel(1, "LA_1", "Bug", "ff0000", null);
+        var existingBug2 = new ExistingLabel(2, "LA_2", "bug", "00ff00", null);
+        var page = new LabelListingFetcher.Page(PAGE_URL, null, List.of(existingBug1, existingBug2), List.of());
+        this.synchronizer.setPrefetchedListing(CompletableFuture.completedFuture(List.of(page)));
+
+        var exception = assertThrows(IOException.class, () -> this.synchronizer.getAllLabels());
+        assertThat(exception.getMessage())
+                .isEqualTo("existing labels 'Bug' and 'bug' have the same name regardless of case.");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetAllLabelsWithPrefetchedListing_thenListingNotRepeated() throws Exception {
+        var labelListingFetcher = mock(LabelListingFetcher.class);
+        this.synchronizer.setLabelListingFetcher(labelListingFetcher);
+        var existingBug = new ExistingLabel(1, "LA_1", "bug", "ff0000", null);
+        var page = new LabelListingFetcher.Page(PAGE_URL, "W/\"1\"", List.of(existingBug), List.of());
+        this.synchronizer.setPrefetchedListing(CompletableFuture.completedFuture(List.of(page)));
+
+        assertThat(this.synchronizer.getAllLabels()).isEqualTo(Map.of(LabelKey.of("bug"), existingBug));
+        assertThat(this.synchronizer.getListedPages()).containsExactly(page);
+        verifyNoInteractions(labelListingFetcher);
+        verify(ghRepositoryMock, never()).listLabels();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetExistingLabelsOfSmallCatalogWithSkipDelete_thenLookUpLabelsByName() throws Exception {
+        var synchronizer = newSynchronizer(SynchronizationOptions.builder().skipDelete(true).build());
+        var labelListingFetcher = mock(LabelListingFetcher.class);
+        synchronizer.setLabelListingFetcher(labelListingFetcher);
+
+        var existingDocs = new ExistingLabel(1, "LA_1", "docs", "0000ff", null);
+        var ghLabelBug = mock(GHLabel.class);
+        when(ghLabelBug.getId()).thenReturn(2L);
+        when(ghLabelBug.getNodeId()).thenReturn("LA_2");
+        when(ghLabelBug.getName()).thenReturn("Bug");
+        when(ghLabelBug.getColor()).thenReturn("ff0000");
+        var firstPage = new LabelListingFetcher.Page(PAGE_URL, "W/\"1\"", List.of(existingDocs), List.of(
+                "<https://api.github.com/repositories/1/labels?per_page=100&page=2>; rel=\"next\", "
+                        + "<https://api.github.com/repositories/1/labels?per_page=100&page=50>; rel=\"last\""));
+        when(labelListingFetcher.fetchFirstPage("octocat/Hello-World")).thenReturn(firstPage);
+        when(ghRepositoryMock.getLabel("bug")).thenReturn(ghLabelBug);
+        when(ghRepositoryMock.getLabel("wontfix")).thenThrow(new GHFileNotFoundException());
+
+        var labels = Map.of(
+                LabelKey.of("docs"), new LabelDTO("docs", "0000ff"),
+                LabelKey.of("bug"), new LabelDTO("bug", "ff0000"),
+                LabelKey.of("wontfix"), LabelDTO.tombstone("wontfix"));
+
+        // @formatter:off
+        assertThat(synchronizer.getExistingLabels(labels)).isEqualTo(Map.of(
+                LabelKey.of("docs"), existingDocs,
+                LabelKey.of("bug"), new ExistingLabel(2, "LA_2", "Bug", "ff0000", null)));
+        // @formatter:on
+
+        verify(labelListingFetcher, never()).listPages(firstPage);
+        assertThat(synchronizer.getListedPages()).isNull();
+        verify(ghRepositoryMock, never()).listLabels();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenGetExistingLabelsOfLargeCatalogWithSkipDelete_thenListAllPages() throws Exception {
+        var synchronizer = newSynchronizer(SynchronizationOptions.builder().skipDelete(true).build());
+        var labelListingFetcher = mock(LabelListingFetcher.class);
+        synchronizer.setLabelListingFetcher(labelListingFetcher);
+
+        var existingDocs = new ExistingLabel(1, "LA_1", "docs", "0000ff", null);
+        var existingBug = new ExistingLabel(2, "LA_2", "bug", "ff0000", null);
+        var firstPage = new LabelListingFetcher.Page(PAGE_URL, "W/\"1\"", List.of(existingDocs), List.of(
+                "<https://api.github.com/repositories/1/labels?per_page=100&page=2>; rel=\"last\""));
+        var secondPage = new LabelListingFetcher.Page(PAGE_URL + "&page=2", "W/\"2\"", List.of(existingBug), List.of());
+        when(labelListingFetcher.fetchFirstPage("octocat/Hello-World")).thenReturn(firstPage);
+        when(labelListingFetcher.listPages(firstPage)).thenReturn(List.of(firstPage, secondPage));
+
+        var labels = Map.of(
+                LabelKey.of("bug"), new LabelDTO("bug", "ff0000"),
+                LabelKey.of("feature"), new LabelDTO("feature", "00ff00"));
+
+        assertThat(synchronizer.getExistingLabels(labels))
+                .isEqualTo(Map.of(LabelKey.of("docs"), existingDocs, LabelKey.of("bug"), existingBug));
+
+        verify(ghRepositoryMock, never()).getLabel(anyString());
+        assertThat(synchronizer.getListedPages()).containsExactly(firstPage, secondPage);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeLabels_thenOnlyLabelsOfNamesLookedUpAndReconciled() throws Exception {
+        var spy = spy(newSynchronizer(SynchronizationOptions.builder().build()));
+
+        var labelBug = new LabelDTO("type: bug", "ff0000", null, List.of("bug"));
+        var ghLabelBug = mock(GHLabel.class);
+        when(ghLabelBug.getName()).thenReturn("bug");
+        var ghLabelStale = mock(GHLabel.class);
+        when(ghLabelStale.getName()).thenReturn("stale");
+        when(ghRepositoryMock.getLabel("bug")).thenReturn(ghLabelBug);
+        when(ghRepositoryMock.getLabel("stale")).thenReturn(ghLabelStale);
+        when(ghRepositoryMock.getLabel("type: bug")).thenThrow(new GHFileNotFoundException());
+        var existingBug = new ExistingLabel(0, null, "bug", null, null);
+        var existingStale = new ExistingLabel(0, null, "stale", null, null);
+        doNothing().when(spy).updateLabels(List.of(Map.entry(labelBug, existingBug)));
+        doNothing().when(spy).deleteLabels(List.of(existingStale));
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var labels = Map.of(
+                LabelKey.of("type: bug"), labelBug,
+                LabelKey.of("docs"), new LabelDTO("docs", "0000ff"),
+                LabelKey.of("feature"), new LabelDTO("feature", "00ff00"));
+        var result = spy.synchronizeLabels(labels, List.of("bug", "stale"));
+
+        verify(spy).updateLabels(List.of(Map.entry(labelBug, existingBug)));
+        verify(spy).deleteLabels(List.of(existingStale));
+        verify(spy).createLabels(List.of());
+        verify(ghRepositoryMock, never()).getLabel("docs");
+        verify(ghRepositoryMock, never()).getLabel("feature");
+        verify(ghRepositoryMock, never()).listLabels();
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getDeleted()).isEqualTo(1);
+        assertThat(result.isSuccessful()).isTrue();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeWithOperationBudget_thenDeferOperationsLeft(@TempDir Path tempDir) throws Exception {
+        var spy = spy(newSynchronizer(SynchronizationOptions.builder().skipDelete(true).build()));
+        var checkpointStore = new CheckpointStore(tempDir, "f1");
+        spy.setCheckpointStore(checkpointStore);
+        spy.setOperationBudget(new OperationBudget(2, null));
+        doReturn(Map.of()).when(spy).getAllLabels();
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var labelA = new LabelDTO("a", "000000");
+        var labelB = new LabelDTO("b", "000000");
+        var labelC = new LabelDTO("c", "000000");
+        var result = spy.synchronize(Map.of(labelA.key(), labelA, labelB.key(), labelB, labelC.key(), labelC));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getDeferred()).isEqualTo(1);
+        assertThat(result.isComplete()).isFalse();
+        verify(ghRepositoryMock).createLabel("a", "000000", null);
+        verify(ghRepositoryMock).createLabel("b", "000000", null);
+        verify(ghRepositoryMock, never()).createLabel("c", "000000", null);
+        verify(ghActionsKitMock)
+                .info("[octocat/Hello-World] operation budget exhausted, 1 operations deferred to a later run.");
+        assertThat(checkpointStore.read("octocat/Hello-World").getCreates()).containsExactly("c");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResumeCheckpoint_thenApplyOperationsLeftWithoutListing(@TempDir Path tempDir) throws Exception {
+        var spy = spy(newSynchronizer(SynchronizationOptions.builder().build()));
+        var checkpointStore = new CheckpointStore(tempDir, "f1");
+        spy.setCheckpointStore(checkpointStore);
+
+        var labelA = new LabelDTO("a", "000000");
+        var labelB = new LabelDTO("b", "000000");
+        var plan = new SyncPlan(List.of(labelA, labelB), List.of(), List.of(), List.of());
+        try (var journal = checkpointStore.open("octocat/Hello-World", plan)) {
+            journal.record(CheckpointStore.OperationType.CREATE, "a");
+        }
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var result = spy.resume(
+                Map.of(labelA.key(), labelA, labelB.key(), labelB), checkpointStore.read("octocat/Hello-World"));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.isComplete()).isTrue();
+        verify(ghRepositoryMock, never()).createLabel("a", "000000", null);
+        verify(ghRepositoryMock).createLabel("b", "000000", null);
+        verify(spy, never()).getAllLabels();
+        verify(ghActionsKitMock).info("[octocat/Hello-World] resuming 1 operations from checkpoint.");
+        assertThat(checkpointStore.getCheckpointFile("octocat/Hello-World")).doesNotExist();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResumeCheckpointWithLabelAlreadyCreated_thenReportCreated(@TempDir Path tempDir) throws Exception {
+        var checkpointStore = new CheckpointStore(tempDir, "f1");
+        this.synchronizer.setCheckpointStore(checkpointStore);
+
+        var labelA = new LabelDTO("a", "000000");
+        var labelB = new LabelDTO("b", "000000");
+        var plan = new SyncPlan(List.of(labelA, labelB), List.of(), List.of(), List.of());
+        checkpointStore.open("octocat/Hello-World", plan).close();
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+        // @formatter:off
+        when(ghRepositoryMock.createLabel("a", "000000", null)).thenThrow(new HttpException(
+                "{\"message\":\"Validation Failed\",\"errors\":[{\"resource\":\"Label\",\"code\":\"already_exists\","
+                        + "\"field\":\"name\"}]}",
+                422,
+                "Unprocessable Entity",
+                "https://api.github.com/repos/octocat/Hello-World/labels"));
+        // @formatter:on
+        var ghLabelA = mock(GHLabel.class);
+        when(ghLabelA.getName()).thenReturn("a");
+        when(ghLabelA.getColor()).thenReturn("000000");
+        when(ghRepositoryMock.getLabel("a")).thenReturn(ghLabelA);
+
+        var result = this.synchronizer.resume(
+                Map.of(labelA.key(), labelA, labelB.key(), labelB), checkpointStore.read("octocat/Hello-World"));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.isComplete()).isTrue();
+        verify(ghRepositoryMock).createLabel("b", "000000", null);
+        assertThat(checkpointStore.getCheckpointFile("octocat/Hello-World")).doesNotExist();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateLabelAlreadyCreatedDifferentlyAndIdempotent_thenLabelUpdated() throws Exception {
+        // @formatter:off
+        when(ghRepositoryMock.createLabel("a", "000000", "desc")).thenThrow(new HttpException(
+                "{\"errors\":[{\"code\":\"already_exists\"}]}", 422, "Unprocessable Entity", null));
+        // @formatter:on
+        var ghLabelA = mock(GHLabel.class);
+        when(ghLabelA.getName()).thenReturn("a");
+        when(ghLabelA.getColor()).thenReturn("ffffff");
+        when(ghRepositoryMock.getLabel("a")).thenReturn(ghLabelA);
+        var restLabelWriter = newRestLabelWriter(200);
+        restLabelWriter.setIdempotent(true);
+
+        var label = new LabelDTO("a", "000000", "desc");
+        var created = new ArrayList<LabelDTO>();
+        restLabelWriter.createLabels(List.of(label), created::add);
+
+        assertThat(created).containsExactly(label);
+        // @formatter:off
+        assertThat(getSentRequests()).containsExactly(
+                "PATCH " + LABELS_URL + "a {\"color\":\"000000\",\"description\":\"desc\"}");
+        // @formatter:on
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUpdateLabelAlreadyRenamedAndIdempotent_thenReportUpdated() throws Exception {
+        var ghLabel = mock(GHLabel.class);
+        when(ghLabel.getName()).thenReturn("type: bug");
+        when(ghLabel.getColor()).thenReturn("ff0000");
+        when(ghRepositoryMock.getLabel("type: bug")).thenReturn(ghLabel);
+        var restLabelWriter = newRestLabelWriter(404);
+
+        var entry = Map.entry(new LabelDTO("type: bug", "ff0000"), new ExistingLabel(1, "LA_1", "bug", "ff0000", null));
+        var labels = List.of(entry);
+        assertThrows(HttpException.class, () -> restLabelWriter.updateLabels(labels, label -> {}));
+
+        restLabelWriter.setIdempotent(true);
+        var updated = new ArrayList<Map.Entry<LabelDTO, ExistingLabel>>();
+        restLabelWriter.updateLabels(labels, updated::add);
+
+        assertThat(updated).containsExactly(entry);
+        // @formatter:off
+        assertThat(getSentRequests()).containsExactly(
+                "PATCH " + LABELS_URL + "bug {\"new_name\":\"type: bug\"}",
+                "PATCH " + LABELS_URL + "bug {\"new_name\":\"type: bug\"}");
+        // @formatter:on
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenDeleteLabelAlreadyDeletedAndIdempotent_thenReportDeleted() throws Exception {
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "ffffff", null);
+        var restLabelWriter = newRestLabelWriter(404);
+
+        var labels = List.of(existingLabel1);
+        var exception = assertThrows(HttpException.class, () -> restLabelWriter.deleteLabels(labels, label -> {}));
+        assertThat(exception.getResponseCode()).isEqualTo(404);
+
+        restLabelWriter.setIdempotent(true);
+        var deleted = new ArrayList<ExistingLabel>();
+        restLabelWriter.deleteLabels(labels, deleted::add);
+        assertThat(deleted).containsExactly(existingLabel1);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateLabelAlreadyExistingWithoutResume_thenThrowHttpException() throws Exception {
+        // @formatter:off
+        when(ghRepositoryMock.createLabel("a", "000000", null)).thenThrow(new HttpException(
+                "{\"errors\":[{\"code\":\"already_exists\"}]}", 422, "Unprocessable Entity", null));
+        // @formatter:on
+        this.synchronizer.setLabelWriter(newRestLabelWriter(200));
+
+        var labels = List.of(new LabelDTO("a", "000000"));
+        assertThrows(HttpException.class, () -> this.synchronizer.createLabels(labels));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenResumeCheckpointFails_thenDiscardCheckpoint(@TempDir Path tempDir) throws Exception {
+        var checkpointStore = new CheckpointStore(tempDir, "f1");
+        this.synchronizer.setCheckpointStore(checkpointStore);
+
+        var labelA = new LabelDTO("a", "000000");
+        var plan = new SyncPlan(List.of(labelA), List.of(), List.of(), List.of());
+        checkpointStore.open("octocat/Hello-World", plan).close();
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+        when(ghRepositoryMock.createLabel("a", "000000", null)).thenThrow(new IOException("boom"));
+
+        var checkpoint = checkpointStore.read("octocat/Hello-World");
+        var labels = Map.of(labelA.key(), labelA);
+        assertThrows(IOException.class, () -> this.synchronizer.resume(labels, checkpoint));
+        assertThat(checkpointStore.getCheckpointFile("octocat/Hello-World")).doesNotExist();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeTombstoneWithSkipDelete_thenLabelDeleted() throws Exception {
+        var spy = spy(newSynchronizer(SynchronizationOptions.builder().skipDelete(true).build()));
+
+        var existingWontfix = new ExistingLabel(1, "LA_1", "wontfix", "ffffff", null);
+        var existingOther = new ExistingLabel(2, "LA_2", "other", "ffffff", null);
+
+        // @formatter:off
+        doReturn(Map.of(LabelKey.of("wontfix"), existingWontfix, LabelKey.of("other"), existingOther))
+                .when(spy)
+                .getAllLabels();
+        // @formatter:on
+        doNothing().when(spy).deleteLabels(List.of(existingWontfix));
+
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        var result = spy.synchronize(Map.of(LabelKey.of("wontfix"), LabelDTO.tombstone("wontfix")));
+
+        verify(spy).deleteLabels(List.of(existingWontfix));
+        assertThat(result.getDeleted()).isEqualTo(1);
+        assertThat(result.getUpToDate()).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateLabels_thenCreateGhLabels() throws Exception {
+        var label1 = new LabelDTO("label1", "000000");
+        var label2 = new LabelDTO("label2", "#00AAFF");
+
+        assertDoesNotThrow(() -> {
+            this.synchronizer.createLabels(List.of(label1, label2));
+        });
+
+        verify(ghActionsKitMock, never()).notice(Mockito.anyString());
+        verify(ghRepositoryMock).createLabel("label1", "000000", null);
+        verify(ghRepositoryMock).createLabel("label2", "00aaff", null);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateLabelsInParallel_thenCreateGhLabels() throws Exception {
+        var labels = new ArrayList<LabelDTO>();
+        for (var i = 0; i < 20; i++) {
+            labels.add(new LabelDTO("label" + i, "000000"));
+        }
+
+        this.synchronizer = newSynchronizer(SynchronizationOptions.builder().parallelism(4).build());
+        assertDoesNotThrow(() -> {
+            this.synchronizer.createLabels(labels);
+        });
+
+        verify(ghActionsKitMock, never()).notice(Mockito.anyString());
+        for (var i = 0; i < 20; i++) {
+            verify(ghRepositoryMock).createLabel("label" + i, "000000", null);
+        }
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenCreateLabelsNull_thenThrowNullPointerException() throws Exception {
+        assertThrows(NullPointerException.class, () -> this.synchronizer.createLabels(null));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUpdateLabels_thenUpdateGhLabels() throws Exception {
+        var label1 = new LabelDTO("label1", "000000");
+        var label2 = new LabelDTO("label2", "111111", "some desc");
+
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "LABEL1", "#FFFFFF", "old desc");
+        var existingLabel2 = new ExistingLabel(2, "LA_2", "Label2", "ffffff", null);
+        this.synchronizer.setLabelWriter(newRestLabelWriter(200));
+
+        var labelsToUpdate = List.of(Map.entry(label1, existingLabel1), Map.entry(label2, existingLabel2));
+        assertDoesNotThrow(() -> {
+            this.synchronizer.updateLabels(labelsToUpdate);
+        });
+
+        verify(ghActionsKitMock, never()).notice(Mockito.anyString());
+        // @formatter:off
+        assertThat(getSentRequests()).containsExactly(
+                "PATCH " + LABELS_URL + "LABEL1 {\"new_name\":\"label1\",\"color\":\"000000\",\"description\":\"\"}",
+                "PATCH " + LABELS_URL + "Label2 "
+                        + "{\"new_name\":\"label2\",\"color\":\"111111\",\"description\":\"some desc\"}");
+        // @formatter:on
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUpdateLabelPartiallyChanged_thenOnlyChangedFieldsSent() throws Exception {
+        var label1 = new LabelDTO("label1", "#00AAFF", "some desc");
+
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "00aaff", "");
+        this.synchronizer.setLabelWriter(newRestLabelWriter(200));
+
+        this.synchronizer.updateLabels(List.of(Map.entry(label1, existingLabel1)));
+
+        assertThat(getSentRequests()).containsExactly("PATCH " + LABELS_URL + "label1 {\"description\":\"some desc\"}");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUpdateLabelMatchedByAlias_thenRenameLabel() throws Exception {
+        var label1 = new LabelDTO("type: bug", "ff0000", null, List.of("bug"));
+
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "bug", "ff0000", null);
+        this.synchronizer.setLabelWriter(newRestLabelWriter(200));
+
+        this.synchronizer.updateLabels(List.of(Map.entry(label1, existingLabel1)));
+
+        assertThat(getSentRequests()).containsExactly("PATCH " + LABELS_URL + "bug {\"new_name\":\"type: bug\"}");
+        verify(this.ghActionsKitMock, never()).notice(Mockito.anyString());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronize_thenLabelLinesGroupedAndPhasesSummarized() throws Exception {
+        var spy = spy(this.synchronizer);
+        spy.setLog(new GroupedLog(this.ghActionsKitMock));
+
+        var label1 = new LabelDTO("type: bug", "ff0000", null, List.of("bug"));
+        var label2 = new LabelDTO("docs", "0000ff");
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "bug", "ff0000", null);
+        var existingLabel3 = new ExistingLabel(3, "LA_3", "wontfix", "ffffff", null);
+        var restLabelWriter = newRestLabelWriter(200);
+        doReturn(restLabelWriter).when(spy).newLabelWriter();
+
+        // @formatter:off
+        doReturn(Map.of(LabelKey.of("bug"), existingLabel1, LabelKey.of("wontfix"), existingLabel3))
+                .when(spy)
+                .getAllLabels();
+        // @formatter:on
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        spy.synchronize(Map.of(label1.key(), label1, label2.key(), label2));
+
+        var inOrder = inOrder(this.ghActionsKitMock);
+        inOrder.verify(this.ghActionsKitMock).startGroup("[octocat/Hello-World] labels created");
+        inOrder.verify(this.ghActionsKitMock).info("label 'docs' created.");
+        inOrder.verify(this.ghActionsKitMock).endGroup();
+        inOrder.verify(this.ghActionsKitMock).startGroup("[octocat/Hello-World] labels updated");
+        inOrder.verify(this.ghActionsKitMock).info("label 'bug' renamed to 'type: bug'.");
+        inOrder.verify(this.ghActionsKitMock).endGroup();
+        inOrder.verify(this.ghActionsKitMock).startGroup("[octocat/Hello-World] labels deleted");
+        inOrder.verify(this.ghActionsKitMock).info("label 'wontfix' deleted.");
+        inOrder.verify(this.ghActionsKitMock).endGroup();
+        verify(this.ghActionsKitMock).info("[octocat/Hello-World] 1 labels created.");
+        verify(this.ghActionsKitMock).info("[octocat/Hello-World] 1 labels updated.");
+        verify(this.ghActionsKitMock).info("[octocat/Hello-World] 1 labels deleted.");
+        verify(this.ghActionsKitMock, never()).notice(anyString());
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenSynchronizeWithSummaryVerbosity_thenOnlyPhasesSummarized() throws Exception {
+        var log = new GroupedLog(this.ghActionsKitMock);
+        log.setVerbosity(LogVerbosity.SUMMARY);
+        var spy = spy(this.synchronizer);
+        spy.setLog(log);
+
+        var label1 = new LabelDTO("docs", "0000ff");
+        doReturn(Map.of()).when(spy).getAllLabels();
+        var rateLimit = mockRateLimit(5000, 5000);
+        when(this.ghApiMock.getRateLimit()).thenReturn(rateLimit);
+
+        spy.synchronize(Map.of(label1.key(), label1));
+
+        verify(this.ghActionsKitMock, never()).startGroup(anyString());
+        verify(this.ghActionsKitMock).info("[octocat/Hello-World] 1 labels created.");
+        verify(this.ghActionsKitMock, never()).info(Mockito.contains("label '"));
+        verify(this.ghActionsKitMock, never()).info(Mockito.contains("labels deleted"));
+        verify(this.ghActionsKitMock, never()).info(Mockito.contains("up-to-date"));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenUpdateLabelsNull_thenThrowNullPointerException() throws Exception {
+        assertThrows(NullPointerException.class, () -> this.synchronizer.updateLabels(null));
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenDeleteLabels_thenDeleteGhLabels() throws Exception {
+        var existingLabel1 = new ExistingLabel(1, "LA_1", "label1", "000000", null);
+        var existingLabel2 = new ExistingLabel(2, "LA_2", "label 2", "000000", null);
+        this.synchronizer.setLabelWriter(newRestLabelWriter(200));
+
+        assertDoesNotThrow(() -> {
+            this.synchronizer.deleteLabels(List.of(existingLabel1, existingLabel2));
+        });
+
+        verify(ghActionsKitMock, never()).notice(Mockito.anyString());
+        // @formatter:off
+        assertThat(getSentRequests()).containsExactly(
+                "DELETE " + LABELS_URL + "label1",
+                "DELETE " + LABELS_URL + "label%202");
+        // @formatter:on
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenDeleteLabelsNull_thenThrowNullPointerException() throws Exception {
+        assertThrows(NullPointerException.class, () -> this.synchronizer.deleteLabels(null));
+    }
+
+    /**
+     * Creates a synchronizer with the given options.
+     * @param options the options.
+     * @return the synchronizer.
+     */
+    private RepositoryLabelSynchronizer newSynchronizer(SynchronizationOptions options) {
+        return new RepositoryLabelSynchronizer(ghActionsKitMock, ghApiMock, ghRepositoryMock, options);
+    }
+
+    /**
+     * Creates a REST label writer sending the write calls to a connector recording them.
+     * @param statusCode the status code of the responses of the connector.
+     * @return the REST label writer.
+     */
+    private RestLabelWriter newRestLabelWriter(int statusCode) {
+        Mockito.lenient().when(ghApiMock.getApiUrl()).thenReturn("https://api.github.com");
+        GitHubConnector connector = request -> {
+            sentRequests.add(request);
+            return new GitHubConnectorResponse.ByteArrayResponse(request, statusCode, Map.of()) {
+                @Override
+                protected InputStream rawBodyStream() {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+            };
+        };
+        // @formatter:off
+        return new RestLabelWriter(
+                ghApiMock, ghRepositoryMock, connector, "token", new LabelOperationExecutor(1), null);
+        // @formatter:on
+    }
+
+    /**
+     * Gets the requests sent by the REST label writers.
+     * @return the requests, as {@code METHOD URL BODY}.
+     * @throws IOException if a body cannot be read.
+     */
+    private List<String> getSentRequests() throws IOException {
+        var requests = new ArrayList<String>();
+        for (GitHubConnectorRequest request : sentRequests) {
+            var line = request.method() + " " + request.url();
+            if (request.hasBody()) {
+                line += " " + new String(request.body().readAllBytes(), StandardCharsets.UTF_8);
+            }
+            requests.add(line);
+        }
+        return requests;
+    }
+
+    /**
+     * Creates a rate limit mock.
+     * @param remaining the remaining calls.
+     * @param limit the limit of calls.
+     * @return the rate limit mock.
+     */
+    private static GHRateLimit mockRateLimit(int remaining, int limit) {
+        var ghRateLimit = mock(GHRateLimit.class);
+        when(ghRateLimit.getCore())
+                .thenReturn(new GHRateLimit.Record(limit, remaining, Instant.now().getEpochSecond() + 3600));
+        return ghRateLimit;
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2022 Julb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.julb.applications.github.actions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link RunMetrics} class. <br>
+ * @author Julb.
+ */
+class RunMetricsTest {
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRecordPhases_thenSumTimePerPhase() throws Exception {
+        var runMetrics = new RunMetrics();
+
+        runMetrics.recordPhase(RunMetrics.Phase.LISTING, TimeUnit.MILLISECONDS.toNanos(120));
+        runMetrics.recordPhase(RunMetrics.Phase.LISTING, TimeUnit.MILLISECONDS.toNanos(80));
+        try (var timer = runMetrics.start(RunMetrics.Phase.CREATE)) {
+            Thread.sleep(5);
+        }
+
+        assertThat(runMetrics.getPhaseMillis(RunMetrics.Phase.LISTING)).isEqualTo(200);
+        assertThat(runMetrics.getPhaseMillis(RunMetrics.Phase.CREATE)).isGreaterThanOrEqualTo(5);
+        assertThat(runMetrics.getPhaseMillis(RunMetrics.Phase.DELETE)).isZero();
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRecordCalls_thenComputeStatsPerOperation() throws Exception {
+        var runMetrics = new RunMetrics();
+        for (var i = 1; i <= 100; i++) {
+            runMetrics.recordCall("POST /repos/{owner}/{repo}/labels", TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        runMetrics.recordCall("GET /repos/{owner}/{repo}/labels", TimeUnit.MILLISECONDS.toNanos(40));
+
+        var stats = runMetrics.getOperationStats();
+
+        assertThat(runMetrics.getCallCount()).isEqualTo(101);
+        assertThat(stats).extracting(RunMetrics.OperationStats::getOperation).containsExactly(
+                "GET /repos/{owner}/{repo}/labels", "POST /repos/{owner}/{repo}/labels");
+        assertThat(stats.get(0).getCalls()).isEqualTo(1);
+        assertThat(stats.get(0).getP50Millis()).isEqualTo(40);
+        assertThat(stats.get(0).getMaxMillis()).isEqualTo(40);
+        assertThat(stats.get(1).getCalls()).isEqualTo(100);
+        assertThat(stats.get(1).getP50Millis()).isEqualTo(50);
+        assertThat(stats.get(1).getP90Millis()).isEqualTo(90);
+        assertThat(stats.get(1).getP99Millis()).isEqualTo(99);
+        assertThat(stats.get(1).getMaxMillis()).isEqualTo(100);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenPercentileOfEmptyLatencies_thenZero() throws Exception {
+        assertThat(RunMetrics.percentileMillis(List.of(), 50)).isZero();
+        assertThat(RunMetrics.percentileMillis(List.of(TimeUnit.MILLISECONDS.toNanos(7)), 1)).isEqualTo(7);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenRecordRateLimitRemaining_thenKeepFirstAndLast() throws Exception {
+        var runMetrics = new RunMetrics();
+        assertThat(runMetrics.getRateLimitRemainingBefore()).isNull();
+
+        runMetrics.recordRateLimitRemaining(5000);
+        runMetrics.recordRateLimitRemaining(4990);
+        runMetrics.recordRateLimitRemaining(4980);
+
+        assertThat(runMetrics.getRateLimitRemainingBefore()).isEqualTo(5000);
+        assertThat(runMetrics.getRateLimitRemainingAfter()).isEqualTo(4980);
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenToMarkdown_thenWriteTables() throws Exception {
+        var runMetrics = new RunMetrics();
+        runMetrics.recordPhase(RunMetrics.Phase.CONNECT, TimeUnit.MILLISECONDS.toNanos(12));
+        runMetrics.recordCall("GET /", TimeUnit.MILLISECONDS.toNanos(3));
+        runMetrics.recordRetry();
+
+        var markdown = runMetrics.toMarkdown();
+
+        assertThat(markdown).contains("| connect | 12 |");
+        assertThat(markdown).contains("| `GET /` | 1 | 3 | 3 | 3 | 3 |");
+        assertThat(markdown).contains("| 1 | 1 | n/a | n/a |");
+    }
+
+    /**
+     * Test method.
+     */
+    @Test
+    void whenToJson_thenWriteDocument() throws Exception {
+        var runMetrics = new RunMetrics();
+        runMetrics.recordPhase(RunMetrics.Phase.UPDATE, TimeUnit.MILLISECONDS.toNanos(30));
+        runMetrics.recordCall("PATCH /repos/{owner}/{repo}/labels/{name}", TimeUnit.MILLISECONDS.toNanos(15));
+        runMetrics.recordRateLimitRemaining(4999);
+
+        var json = new ObjectMapper().readTree(runMetrics.toJson());
+
+        assertThat(json.at("/phases/update").asLong()).isEqualTo(30);
+        assertThat(json.at("/phases/sources").asLong()).isZero();
+        assertThat(json.get("operations").get("PATCH /repos/{owner}/{repo}/labels/{name}").get("p90").asLong())
+                .isEqualTo(15);
+        assertThat(json.get("calls").asInt()).isEqualTo(1);
+        assertThat(json.get("retries").asInt()).isZero();
+        assertThat(json.at("/rateLimitRemaining/before").asInt()).isEqualTo(4999);
+        assertThat(json.at("/rateLimitRemaining/after").asInt()).isEqualTo(4999);
+    }
+}